@@ -1,5 +1,11 @@
 package com.pomodone.app;
 
+import com.pomodone.config.DatabaseBootstrap;
+import com.pomodone.repository.SessionJournal;
+import com.pomodone.service.AlarmSoundEngine;
+import com.pomodone.service.DeadlineReminderService;
+import com.pomodone.service.OverdueSweeper;
+import com.pomodone.service.PomodoroTimerManager;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -20,6 +26,17 @@ public class MainApp extends Application {
 
     @Override
     public void start(Stage stage) throws Exception {
+        // koneksi + migrasi DB jalan di background, window tidak perlu nunggu
+        DatabaseBootstrap.start();
+        // suara alarm di-decode sekarang, bukan pas sesi habis
+        AlarmSoundEngine.getInstance().preload();
+        // sesi yang belum sempat masuk DB di run sebelumnya (crash/DB mati) dikirim ulang
+        SessionJournal.getInstance();
+        // status TERLAMBAT ditulis ke DB pas tenggat lewat, termasuk yang lewat selama app ditutup
+        OverdueSweeper.getInstance();
+        // pengingat 24 jam/1 jam/10 menit sebelum tenggat
+        DeadlineReminderService.getInstance();
+
         Parent root = FXMLLoader.load(getClass().getResource("/fxml/MainWindow.fxml"));
         Scene scene = new Scene(root);
         stage.setTitle("Pomodone");
@@ -38,4 +55,13 @@ public class MainApp extends Application {
         stage.setScene(scene);
         stage.show();
     }
+
+    @Override
+    public void stop() {
+        // timer berhenti duluan: tidak ada sesi/checkpoint baru yang ditulis selagi journal dan writer ditutup
+        PomodoroTimerManager.getInstance().shutdown();
+        // journal dikirim dulu semampunya, sisanya aman di file; lalu antrean writer di-commit sebelum JVM keluar
+        SessionJournal.getInstance().shutdown(2000);
+        DatabaseBootstrap.shutdown();
+    }
 }
@@ -0,0 +1,18 @@
+package com.pomodone.codegen;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Kolom tabel untuk field model ber-@RowMapped. key = primary key dari DB (tidak ikut INSERT, jadi WHERE di
+// UPDATE); updatable = false buat kolom yang cuma diisi sekali (misal created_at).
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface Column {
+    String value();
+
+    boolean key() default false;
+
+    boolean updatable() default true;
+}
@@ -0,0 +1,17 @@
+package com.pomodone.codegen;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Tandai model yang barisnya dibaca/ditulis repository. RowMapperProcessor membuat class <Model>Rows di
+// mapperPackage: daftar kolom, SQL insert/update, map(ResultSet) pakai index kolom dan binder parameter.
+// Yang ikut cuma field ber-@Column, urutannya urutan deklarasi field.
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface RowMapped {
+    String table();
+
+    String mapperPackage() default "com.pomodone.repository";
+}
@@ -0,0 +1,293 @@
+package com.pomodone.codegen;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedSourceVersion;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Annotation processor buat @RowMapped: tiap model dapat class <Model>Rows (package-private, di mapperPackage).
+// Kodenya sengaja "bodoh": kolom dibaca per index dengan urutan tetap (COLUMNS dipakai sebagai SELECT list),
+// Timestamp diambil sekali per kolom, enum di-parse lewat switch, tanpa refleksi atau lookup nama kolom.
+// Model dibuat lewat static builder() kalau ada, kalau tidak lewat constructor yang parameternya sama
+// dengan field @Column (urutan dan tipe). Dijalankan di compile utama (lihat maven-compiler-plugin di pom).
+@SupportedAnnotationTypes("com.pomodone.codegen.RowMapped")
+@SupportedSourceVersion(SourceVersion.RELEASE_21)
+public final class RowMapperProcessor extends AbstractProcessor {
+
+    private enum Kind { LONG, INT, BOOLEAN, DOUBLE, BOXED_LONG, BOXED_INT, STRING, LOCAL_DATE_TIME, ENUM }
+
+    private record Field(String name, String column, TypeMirror type, Kind kind, boolean key, boolean updatable) {}
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(RowMapped.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@RowMapped cuma untuk class");
+                continue;
+            }
+            try {
+                generate((TypeElement) element);
+            } catch (IOException e) {
+                error(element, "Gagal menulis row mapper: " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement model) throws IOException {
+        RowMapped mapped = model.getAnnotation(RowMapped.class);
+        List<Field> fields = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(model.getEnclosedElements())) {
+            Column column = field.getAnnotation(Column.class);
+            if (column == null) {
+                continue;
+            }
+            Kind kind = kindOf(field.asType());
+            if (kind == null) {
+                error(field, "Tipe " + field.asType() + " belum didukung row mapper");
+                return;
+            }
+            fields.add(new Field(field.getSimpleName().toString(), column.value(), field.asType(), kind,
+                    column.key(), column.updatable()));
+        }
+        if (fields.isEmpty()) {
+            error(model, "Model @RowMapped tanpa field @Column");
+            return;
+        }
+        boolean useBuilder = hasStaticBuilder(model);
+        if (!useBuilder && !hasMatchingConstructor(model, fields)) {
+            error(model, "Butuh static builder() atau constructor dengan parameter sesuai field @Column");
+            return;
+        }
+
+        String modelName = model.getSimpleName().toString();
+        String modelType = model.getQualifiedName().toString();
+        String className = modelName + "Rows";
+        String table = mapped.table();
+        List<Field> insertable = fields.stream().filter(f -> !f.key()).toList();
+        List<Field> keys = fields.stream().filter(Field::key).toList();
+        List<Field> updatable = insertable.stream().filter(Field::updatable).toList();
+
+        try (PrintWriter out = new PrintWriter(processingEnv.getFiler()
+                .createSourceFile(mapped.mapperPackage() + "." + className, model).openWriter())) {
+            out.println("package " + mapped.mapperPackage() + ";");
+            out.println();
+            out.println("// Dibuat RowMapperProcessor dari @RowMapped di " + modelName + ", jangan diedit manual.");
+            out.println("@javax.annotation.processing.Generated(\"" + RowMapperProcessor.class.getName() + "\")");
+            out.println("final class " + className + " {");
+            out.println("    static final String TABLE = \"" + table + "\";");
+            out.println("    static final int COLUMN_COUNT = " + fields.size() + ";");
+            out.println("    // SELECT list dengan urutan yang sama dengan map(); diberi nama tabel supaya aman di JOIN");
+            out.println("    static final String COLUMNS = \"" + fields.stream()
+                    .map(f -> table + "." + f.column()).collect(Collectors.joining(", ")) + "\";");
+            out.println("    static final String SELECT_FROM = \"SELECT \" + COLUMNS + \" FROM " + table + "\";");
+            out.println("    static final String INSERT_SQL = \"INSERT INTO " + table + " ("
+                    + insertable.stream().map(Field::column).collect(Collectors.joining(", ")) + ") VALUES ("
+                    + insertable.stream().map(f -> "?").collect(Collectors.joining(", ")) + ")\";");
+            if (!keys.isEmpty()) {
+                out.println("    static final String UPDATE_SQL = \"UPDATE " + table + " SET "
+                        + updatable.stream().map(f -> f.column() + " = ?").collect(Collectors.joining(", "))
+                        + " WHERE " + keys.stream().map(f -> f.column() + " = ?").collect(Collectors.joining(" AND "))
+                        + "\";");
+            }
+            out.println();
+            out.println("    private " + className + "() {");
+            out.println("    }");
+            out.println();
+            out.println("    static " + modelType + " map(java.sql.ResultSet rs) throws java.sql.SQLException {");
+            out.println("        return map(rs, 1);");
+            out.println("    }");
+            out.println();
+            out.println("    // first = index kolom pertama model ini di SELECT list");
+            out.println("    static " + modelType + " map(java.sql.ResultSet rs, int first) throws java.sql.SQLException {");
+            for (int i = 0; i < fields.size(); i++) {
+                writeRead(out, fields.get(i), index(i));
+            }
+            if (useBuilder) {
+                out.println("        return " + modelType + ".builder()");
+                for (Field field : fields) {
+                    out.println("                ." + field.name() + "(" + valueOf(field) + ")");
+                }
+                out.println("                .build();");
+            } else {
+                out.println("        return new " + modelType + "(" + fields.stream()
+                        .map(this::valueOf).collect(Collectors.joining(", ")) + ");");
+            }
+            out.println("    }");
+            out.println();
+            writeBinder(out, "bindInsert", modelType, insertable, "INSERT_SQL");
+            if (!keys.isEmpty()) {
+                List<Field> updateParams = new ArrayList<>(updatable);
+                updateParams.addAll(keys);
+                out.println();
+                writeBinder(out, "bindUpdate", modelType, updateParams, "UPDATE_SQL");
+            }
+            for (TypeMirror enumType : fields.stream().filter(f -> f.kind() == Kind.ENUM)
+                    .map(Field::type).distinct().toList()) {
+                out.println();
+                writeEnumParser(out, (TypeElement) ((DeclaredType) enumType).asElement());
+            }
+            out.println("}");
+        }
+    }
+
+    private void writeRead(PrintWriter out, Field field, String index) {
+        String name = field.name();
+        switch (field.kind()) {
+            case LONG -> out.println("        long " + name + " = rs.getLong(" + index + ");");
+            case INT -> out.println("        int " + name + " = rs.getInt(" + index + ");");
+            case BOOLEAN -> out.println("        boolean " + name + " = rs.getBoolean(" + index + ");");
+            case DOUBLE -> out.println("        double " + name + " = rs.getDouble(" + index + ");");
+            case BOXED_LONG -> {
+                out.println("        long " + name + "Raw = rs.getLong(" + index + ");");
+                out.println("        Long " + name + " = rs.wasNull() ? null : " + name + "Raw;");
+            }
+            case BOXED_INT -> {
+                out.println("        int " + name + "Raw = rs.getInt(" + index + ");");
+                out.println("        Integer " + name + " = rs.wasNull() ? null : " + name + "Raw;");
+            }
+            case STRING -> out.println("        String " + name + " = rs.getString(" + index + ");");
+            case LOCAL_DATE_TIME -> out.println("        java.sql.Timestamp " + name + " = rs.getTimestamp(" + index + ");");
+            case ENUM -> out.println("        " + field.type() + " " + name + " = parse"
+                    + simpleName(field.type()) + "(rs.getString(" + index + "));");
+        }
+    }
+
+    private String valueOf(Field field) {
+        if (field.kind() == Kind.LOCAL_DATE_TIME) {
+            return field.name() + " != null ? " + field.name() + ".toLocalDateTime() : null";
+        }
+        return field.name();
+    }
+
+    private void writeBinder(PrintWriter out, String method, String modelType, List<Field> params, String sqlName) {
+        out.println("    // isi parameter " + sqlName + " mulai dari index first, return index parameter berikutnya");
+        out.println("    static int " + method + "(java.sql.PreparedStatement ps, int first, " + modelType
+                + " row) throws java.sql.SQLException {");
+        for (int i = 0; i < params.size(); i++) {
+            Field field = params.get(i);
+            String index = index(i);
+            String getter = "row." + getterName(field) + "()";
+            switch (field.kind()) {
+                case LONG -> out.println("        ps.setLong(" + index + ", " + getter + ");");
+                case INT -> out.println("        ps.setInt(" + index + ", " + getter + ");");
+                case BOOLEAN -> out.println("        ps.setBoolean(" + index + ", " + getter + ");");
+                case DOUBLE -> out.println("        ps.setDouble(" + index + ", " + getter + ");");
+                case BOXED_LONG, BOXED_INT -> {
+                    String setter = field.kind() == Kind.BOXED_LONG ? "setLong" : "setInt";
+                    String sqlType = field.kind() == Kind.BOXED_LONG ? "BIGINT" : "INTEGER";
+                    out.println("        if (" + getter + " != null) {");
+                    out.println("            ps." + setter + "(" + index + ", " + getter + ");");
+                    out.println("        } else {");
+                    out.println("            ps.setNull(" + index + ", java.sql.Types." + sqlType + ");");
+                    out.println("        }");
+                }
+                case STRING -> out.println("        ps.setString(" + index + ", " + getter + ");");
+                case LOCAL_DATE_TIME -> out.println("        ps.setTimestamp(" + index + ", " + getter
+                        + " != null ? java.sql.Timestamp.valueOf(" + getter + ") : null);");
+                case ENUM -> out.println("        ps.setString(" + index + ", " + getter + " != null ? "
+                        + getter + ".name() : null);");
+            }
+        }
+        out.println("        return first + " + params.size() + ";");
+        out.println("    }");
+    }
+
+    // sama dengan Enum.valueOf (termasuk exception-nya), tanpa lewat map enumConstantDirectory
+    private void writeEnumParser(PrintWriter out, TypeElement enumType) {
+        String type = enumType.getQualifiedName().toString();
+        out.println("    private static " + type + " parse" + enumType.getSimpleName() + "(String value) {");
+        out.println("        return switch (value) {");
+        for (Element constant : enumType.getEnclosedElements()) {
+            if (constant.getKind() == ElementKind.ENUM_CONSTANT) {
+                out.println("            case \"" + constant.getSimpleName() + "\" -> " + type + "."
+                        + constant.getSimpleName() + ";");
+            }
+        }
+        out.println("            default -> throw new IllegalArgumentException(\"No enum constant " + type + ".\" + value);");
+        out.println("        };");
+        out.println("    }");
+    }
+
+    private Kind kindOf(TypeMirror type) {
+        switch (type.getKind()) {
+            case LONG: return Kind.LONG;
+            case INT: return Kind.INT;
+            case BOOLEAN: return Kind.BOOLEAN;
+            case DOUBLE: return Kind.DOUBLE;
+            case DECLARED:
+                Element element = ((DeclaredType) type).asElement();
+                if (element.getKind() == ElementKind.ENUM) {
+                    return Kind.ENUM;
+                }
+                return switch (((TypeElement) element).getQualifiedName().toString()) {
+                    case "java.lang.Long" -> Kind.BOXED_LONG;
+                    case "java.lang.Integer" -> Kind.BOXED_INT;
+                    case "java.lang.String" -> Kind.STRING;
+                    case "java.time.LocalDateTime" -> Kind.LOCAL_DATE_TIME;
+                    default -> null;
+                };
+            default: return null;
+        }
+    }
+
+    private boolean hasStaticBuilder(TypeElement model) {
+        return ElementFilter.methodsIn(model.getEnclosedElements()).stream()
+                .anyMatch(method -> method.getSimpleName().contentEquals("builder")
+                        && method.getParameters().isEmpty()
+                        && method.getModifiers().contains(Modifier.STATIC)
+                        && method.getModifiers().contains(Modifier.PUBLIC));
+    }
+
+    private boolean hasMatchingConstructor(TypeElement model, List<Field> fields) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(model.getEnclosedElements())) {
+            List<? extends VariableElement> params = constructor.getParameters();
+            if (params.size() != fields.size()) {
+                continue;
+            }
+            boolean matches = true;
+            for (int i = 0; i < params.size() && matches; i++) {
+                matches = processingEnv.getTypeUtils().isSameType(params.get(i).asType(), fields.get(i).type());
+            }
+            if (matches) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String index(int offset) {
+        return offset == 0 ? "first" : "first + " + offset;
+    }
+
+    private static String getterName(Field field) {
+        String prefix = field.type().getKind() == TypeKind.BOOLEAN ? "is" : "get";
+        return prefix + Character.toUpperCase(field.name().charAt(0)) + field.name().substring(1);
+    }
+
+    private static String simpleName(TypeMirror type) {
+        return ((DeclaredType) type).asElement().getSimpleName().toString();
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
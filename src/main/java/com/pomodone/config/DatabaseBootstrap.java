@@ -0,0 +1,142 @@
+package com.pomodone.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Nyiapin DatabaseConfig di background sejak MainApp.start, jadi window bisa langsung tampil.
+// Kalau DB_URL ke Postgres: koneksinya dicoba dengan batas waktu pendek sambil SQLite fallback
+// disiapkan paralel, yang tidak kepakai ditutup. Migrasi Flyway jalan di thread bootstrap juga.
+public final class DatabaseBootstrap {
+    private static final Logger log = LoggerFactory.getLogger(DatabaseBootstrap.class);
+    static final long PROBE_TIMEOUT_MS = 2000;
+    private static final Executor BOOTSTRAP_EXECUTOR =
+            task -> Thread.ofVirtual().name("pomodone-db-bootstrap").start(task);
+    private static final AtomicReference<CompletableFuture<DatabaseConfig>> READY = new AtomicReference<>();
+
+    record Settings(String url, String user, String password, String fallbackUrl) {
+        static Settings fromEnv() {
+            Map<String, String> env = DatabaseConfig.loadEnv();
+            String fallbackUrl = "jdbc:sqlite:" + DatabaseConfig.defaultDataDir().resolve("pomodone.db");
+            return new Settings(
+                    DatabaseConfig.firstNonEmpty(env.get("DB_URL"), fallbackUrl),
+                    DatabaseConfig.firstNonEmpty(env.get("DB_USER"), "postgres"),
+                    DatabaseConfig.firstNonEmpty(env.get("DB_PASSWORD"), ""),
+                    fallbackUrl);
+        }
+    }
+
+    private DatabaseBootstrap() {
+    }
+
+    // Aman dipanggil berkali-kali, bootstrap cuma jalan sekali. Stage-nya selesai begitu DB siap
+    // dipakai (atau gagal total), UI cukup render dulu lalu isi data setelahnya.
+    public static CompletionStage<DatabaseConfig> start() {
+        return readyFuture().minimalCompletionStage();
+    }
+
+    // Dipanggil waktu app ditutup; kalau bootstrap belum selesai/gagal tidak ada yang perlu ditutup
+    public static void shutdown() {
+        CompletableFuture<DatabaseConfig> ready = READY.get();
+        if (ready != null && ready.isDone() && !ready.isCompletedExceptionally()) {
+            ready.join().shutdown();
+        }
+    }
+
+    static DatabaseConfig awaitConfig() {
+        try {
+            return readyFuture().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof com.pomodone.exception.DatabaseException databaseException) {
+                throw databaseException;
+            }
+            throw new com.pomodone.exception.DatabaseException("Gagal inisialisasi database: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private static CompletableFuture<DatabaseConfig> readyFuture() {
+        CompletableFuture<DatabaseConfig> existing = READY.get();
+        if (existing != null) {
+            return existing;
+        }
+        CompletableFuture<DatabaseConfig> created = new CompletableFuture<>();
+        if (!READY.compareAndSet(null, created)) {
+            return READY.get();
+        }
+        BOOTSTRAP_EXECUTOR.execute(() -> {
+            try {
+                created.complete(bootstrap(Settings.fromEnv(), PROBE_TIMEOUT_MS));
+            } catch (Throwable e) {
+                log.error("Bootstrap database gagal", e);
+                created.completeExceptionally(e);
+            }
+        });
+        return created;
+    }
+
+    static DatabaseConfig bootstrap(Settings settings, long probeTimeoutMillis) {
+        if (DatabaseConfig.isSqlite(settings.url())) {
+            return openSqlite(settings.url());
+        }
+
+        // dua-duanya jalan bareng: kalau Postgres gagal/kelamaan, SQLite sudah siap dipakai
+        CompletableFuture<HikariDataSource> fallback = CompletableFuture.supplyAsync(
+                () -> DatabaseConfig.buildSqliteDataSource(settings.fallbackUrl()), BOOTSTRAP_EXECUTOR);
+        CompletableFuture<HikariDataSource> probe = CompletableFuture.supplyAsync(
+                () -> DatabaseConfig.buildPostgresDataSource(settings.url(), settings.user(), settings.password(), probeTimeoutMillis),
+                BOOTSTRAP_EXECUTOR);
+
+        HikariDataSource primary;
+        try {
+            // batas keras, jaga-jaga driver nyangkut lebih lama dari timeout-nya sendiri
+            primary = probe.copy().orTimeout(probeTimeoutMillis * 2, TimeUnit.MILLISECONDS).join();
+        } catch (CompletionException e) {
+            // pool yang telat jadi tetap ditutup biar tidak bocor
+            probe.thenAccept(DatabaseConfig::closeQuietly);
+            return useFallback(fallback, settings.fallbackUrl(), e.getCause());
+        }
+
+        try {
+            DatabaseConfig.runMigrations(primary);
+        } catch (RuntimeException e) {
+            DatabaseConfig.closeQuietly(primary);
+            return useFallback(fallback, settings.fallbackUrl(), e);
+        }
+        primary.getHikariConfigMXBean().setConnectionTimeout(DatabaseConfig.POOL_CONNECTION_TIMEOUT_MS);
+        fallback.whenComplete((ds, e) -> DatabaseConfig.closeQuietly(ds));
+        return new DatabaseConfig(primary, settings.url());
+    }
+
+    private static DatabaseConfig useFallback(CompletableFuture<HikariDataSource> fallback, String fallbackUrl, Throwable reason) {
+        // Koneksi utama gagal (URL salah/psql down), pakai SQLite sebagai fallback lokal
+        log.warn("Koneksi DB utama gagal, fallback ke SQLite: {}", String.valueOf(reason));
+        HikariDataSource sqlite;
+        try {
+            sqlite = fallback.join();
+        } catch (CompletionException e) {
+            throw new com.pomodone.exception.DatabaseException("Gagal inisialisasi SQLite: " + e.getCause().getMessage(), e.getCause());
+        }
+        DatabaseConfig.runMigrations(sqlite);
+        return new DatabaseConfig(sqlite, fallbackUrl);
+    }
+
+    private static DatabaseConfig openSqlite(String url) {
+        HikariDataSource sqlite = null;
+        try {
+            sqlite = DatabaseConfig.buildSqliteDataSource(url);
+            DatabaseConfig.runMigrations(sqlite);
+            return new DatabaseConfig(sqlite, url);
+        } catch (Exception e) {
+            DatabaseConfig.closeQuietly(sqlite);
+            throw new com.pomodone.exception.DatabaseException("Gagal inisialisasi SQLite: " + e.getMessage(), e);
+        }
+    }
+}
@@ -14,52 +14,59 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 public class DatabaseConfig {
     private static final Logger log = LoggerFactory.getLogger(DatabaseConfig.class);
     private static final String USER_HOME = "user.home";
+    private static final int SQLITE_READ_POOL_SIZE = 4;
+    private static final int SQLITE_BUSY_TIMEOUT_MS = 5000;
+    static final long POOL_CONNECTION_TIMEOUT_MS = 30_000;
     private final DataSource dataSource;
+    private final DataSource writeSource;
+    private final DatabaseWriter writer;
+    private final SqlDialect dialect;
+
+    // Dibangun DatabaseBootstrap setelah DB pemenang (Postgres/SQLite) siap dan sudah dimigrasi
+    DatabaseConfig(DataSource resolved, String resolvedUrl) {
+        this.dialect = SqlDialect.fromUrl(resolvedUrl);
+        this.writer = new DatabaseWriter(resolved);
+        this.writeSource = resolved;
+        // SQLite: baca lewat pool terpisah (WAL), jadi tidak antre di belakang koneksi tulis
+        this.dataSource = dialect == SqlDialect.SQLITE ? buildSqliteReadDataSource(resolvedUrl) : resolved;
+    }
 
-    private DatabaseConfig() {
-        Map<String, String> env = loadEnv();
-        String defaultSqliteUrl = "jdbc:sqlite:" + defaultDataDir().resolve("pomodone.db");
-        String url = firstNonEmpty(env.get("DB_URL"), defaultSqliteUrl);
-        String user = firstNonEmpty(env.get("DB_USER"), "postgres");
-        String password = firstNonEmpty(env.get("DB_PASSWORD"), "");
+    // Nunggu bootstrap selesai (kalau MainApp belum memulainya, dimulai sekarang). Jangan dipanggil
+    // dari thread JavaFX: semua akses DB dari view lewat AsyncScope.
+    public static DatabaseConfig getInstance() {
+        return DatabaseBootstrap.awaitConfig();
+    }
 
-        DataSource primary = null;
-        DataSource resolved;
-        try {
-            primary = buildDataSource(url, user, password);
-            runMigrations(primary);
-            resolved = primary;
-        } catch (Exception e) {
-            if (primary instanceof HikariDataSource hikariDataSource) {
-                hikariDataSource.close();
-            }
-            if (isSqlite(url)) {
-                throw new com.pomodone.exception.DatabaseException("Gagal inisialisasi SQLite: " + e.getMessage(), e);
-            }
-            // Koneksi utama gagal (URL salah/psql down), pakai SQLite sebagai fallback lokal
-            log.warn("Koneksi DB utama gagal, fallback ke SQLite: {}", e.getMessage());
-            String fallbackUrl = defaultSqliteUrl;
-            DataSource fallback = buildDataSource(fallbackUrl, null, null);
-            runMigrations(fallback);
-            resolved = fallback;
-        }
-        this.dataSource = resolved;
+    // Koneksi baca. Di SQLite koneksinya query_only, semua tulisan wajib lewat getWriter()
+    public Connection getConnection() throws SQLException {
+        return dataSource.getConnection();
     }
 
-    private static class Holder {
-        private static final DatabaseConfig INSTANCE = new DatabaseConfig();
+    public DatabaseWriter getWriter() {
+        return writer;
     }
 
-    public static DatabaseConfig getInstance() {
-        return Holder.INSTANCE;
+    public void shutdown() {
+        writer.shutdown(5000);
+        closeQuietly(dataSource);
+        if (writeSource != dataSource) {
+            closeQuietly(writeSource);
+        }
     }
 
-    public Connection getConnection() throws SQLException {
-        return dataSource.getConnection();
+    static void closeQuietly(DataSource ds) {
+        if (ds instanceof HikariDataSource hikariDataSource) {
+            hikariDataSource.close();
+        }
+    }
+
+    public SqlDialect getDialect() {
+        return dialect;
     }
 
     public boolean testConnection() {
@@ -70,7 +77,7 @@ public class DatabaseConfig {
         }
     }
 
-    private void runMigrations(DataSource ds) {
+    static void runMigrations(DataSource ds) {
         try {
             Flyway.configure()
                     .dataSource(ds)
@@ -83,11 +90,11 @@ public class DatabaseConfig {
         }
     }
 
-    private boolean isSqlite(String url) {
+    static boolean isSqlite(String url) {
         return url != null && url.startsWith("jdbc:sqlite");
     }
 
-    private Path defaultDataDir() {
+    public static Path defaultDataDir() {
         String os = System.getProperty("os.name", "").toLowerCase();
         Path base;
         if (os.contains("win")) {
@@ -109,7 +116,7 @@ public class DatabaseConfig {
         return dataDir;
     }
 
-    private String firstNonEmpty(String... values) {
+    static String firstNonEmpty(String... values) {
         for (String value : values) {
             if (value != null && !value.isBlank()) {
                 return value;
@@ -118,26 +125,55 @@ public class DatabaseConfig {
         return null;
     }
 
-    private DataSource buildDataSource(String url, String user, String password) {
+    static HikariDataSource buildSqliteDataSource(String url) {
         HikariConfig config = new HikariConfig();
         config.setJdbcUrl(url);
-        boolean sqlite = isSqlite(url);
-        if (sqlite) {
-            config.setDriverClassName("org.sqlite.JDBC");
-            config.setMaximumPoolSize(1);
-            config.setConnectionTestQuery("SELECT 1");
-            config.setPoolName("PomodoneSqlitePool");
-        } else {
-            config.setDriverClassName("org.postgresql.Driver");
-            config.setUsername(user);
-            config.setPassword(password);
-            config.setMaximumPoolSize(5);
-            config.setPoolName("PomodonePgPool");
-        }
+        config.setDriverClassName("org.sqlite.JDBC");
+        // satu koneksi tulis, dipakai migrasi lalu thread DatabaseWriter
+        config.setMaximumPoolSize(1);
+        config.setConnectionTestQuery("SELECT 1");
+        config.setPoolName("PomodoneSqlitePool");
+        applySqlitePragmas(config);
+        return new HikariDataSource(config);
+    }
+
+    // Timeout pendek cuma buat probe awal; setelah lolos, timeout pinjam koneksi dibalikin ke normal
+    static HikariDataSource buildPostgresDataSource(String url, String user, String password, long connectTimeoutMillis) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setDriverClassName("org.postgresql.Driver");
+        config.setUsername(user);
+        config.setPassword(password);
+        config.setMaximumPoolSize(5);
+        config.setPoolName("PomodonePgPool");
+        config.setConnectionTimeout(connectTimeoutMillis);
+        // loginTimeout pgjdbc dalam detik, minimal 1
+        long timeoutSeconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(connectTimeoutMillis));
+        config.addDataSourceProperty("connectTimeout", String.valueOf(timeoutSeconds));
+        config.addDataSourceProperty("loginTimeout", String.valueOf(timeoutSeconds));
         return new HikariDataSource(config);
     }
 
-    private Map<String, String> loadEnv() {
+    private static DataSource buildSqliteReadDataSource(String url) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setDriverClassName("org.sqlite.JDBC");
+        config.setMaximumPoolSize(SQLITE_READ_POOL_SIZE);
+        config.setConnectionTestQuery("SELECT 1");
+        config.setPoolName("PomodoneSqliteReadPool");
+        // tulisan nyasar lewat koneksi baca langsung gagal, bukan diam-diam rebutan lock
+        config.setConnectionInitSql("PRAGMA query_only = 1");
+        applySqlitePragmas(config);
+        return new HikariDataSource(config);
+    }
+
+    private static void applySqlitePragmas(HikariConfig config) {
+        // WAL: pembaca lihat snapshot terakhir yang ke-commit tanpa nunggu penulis
+        config.addDataSourceProperty("journal_mode", "WAL");
+        config.addDataSourceProperty("busy_timeout", String.valueOf(SQLITE_BUSY_TIMEOUT_MS));
+    }
+
+    static Map<String, String> loadEnv() {
         Map<String, String> env = new HashMap<>(System.getenv());
         Path envFile = Paths.get(".env");
         if (Files.exists(envFile)) {
@@ -0,0 +1,170 @@
+package com.pomodone.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Satu thread khusus untuk semua tulisan ke database. Tulisan yang datang berdekatan digabung
+// jadi satu transaksi (group commit): tiap operasi dibungkus savepoint, jadi kalau satu gagal
+// yang lain tetap ke-commit. Future baru diselesaikan setelah commit sukses.
+public class DatabaseWriter {
+    private static final Logger log = LoggerFactory.getLogger(DatabaseWriter.class);
+    private static final int MAX_BATCH = 64;
+    private static final long POLL_MILLIS = 200;
+
+    @FunctionalInterface
+    public interface Work<T> {
+        T execute(Connection conn) throws SQLException;
+    }
+
+    private record PendingWrite<T>(Work<T> work, CompletableFuture<T> future) {}
+
+    private final DataSource dataSource;
+    private final BlockingQueue<PendingWrite<?>> queue = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    // cek running + masuk antrean harus satu langkah dengan shutdown, kalau tidak tulisan bisa masuk
+    // antrean setelah runLoop keluar dan future-nya tidak pernah selesai
+    private final Object submitLock = new Object();
+    private volatile boolean running = true;
+
+    public DatabaseWriter(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.thread = new Thread(this::runLoop, "pomodone-db-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    public <T> CompletableFuture<T> submit(Work<T> work) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        synchronized (submitLock) {
+            if (running) {
+                queue.add(new PendingWrite<>(work, future));
+                return future;
+            }
+        }
+        future.completeExceptionally(new SQLException("Database writer sudah dihentikan"));
+        return future;
+    }
+
+    // Versi blocking buat caller yang butuh hasilnya langsung; error SQL dilempar balik apa adanya
+    public <T> T submitAndWait(Work<T> work) throws SQLException {
+        if (Thread.currentThread() == thread) {
+            // dipanggil dari dalam Work lain, tunggu di sini = deadlock
+            throw new IllegalStateException("submitAndWait tidak boleh dipanggil dari thread writer");
+        }
+        try {
+            return submit(work).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new SQLException(cause);
+        }
+    }
+
+    // Tolak tulisan baru, habiskan antrean, lalu tunggu thread writer selesai
+    public void shutdown(long timeoutMillis) {
+        synchronized (submitLock) {
+            running = false;
+        }
+        try {
+            thread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            log.warn("Database writer belum selesai setelah {} ms, {} tulisan masih antre", timeoutMillis, queue.size());
+        }
+    }
+
+    private void runLoop() {
+        while (running || !queue.isEmpty()) {
+            PendingWrite<?> first;
+            try {
+                first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (first == null) {
+                continue;
+            }
+            List<PendingWrite<?>> batch = new ArrayList<>();
+            batch.add(first);
+            queue.drainTo(batch, MAX_BATCH - 1);
+            writeBatch(batch);
+        }
+        // cuma tersisa kalau thread writer di-interrupt; jangan biarkan pemanggil menunggu selamanya
+        List<PendingWrite<?>> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        for (PendingWrite<?> write : leftover) {
+            write.future().completeExceptionally(new SQLException("Database writer sudah dihentikan"));
+        }
+    }
+
+    private void writeBatch(List<PendingWrite<?>> batch) {
+        List<Runnable> completions = new ArrayList<>(batch.size());
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                for (PendingWrite<?> write : batch) {
+                    completions.add(apply(conn, write));
+                }
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                rollbackQuietly(conn);
+                failAll(batch, e);
+                return;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            failAll(batch, e);
+            return;
+        }
+        completions.forEach(Runnable::run);
+    }
+
+    private <T> Runnable apply(Connection conn, PendingWrite<T> write) throws SQLException {
+        Savepoint savepoint = conn.setSavepoint();
+        try {
+            T result = write.work().execute(conn);
+            conn.releaseSavepoint(savepoint);
+            return () -> write.future().complete(result);
+        } catch (SQLException | RuntimeException e) {
+            // cuma operasi ini yang dibatalkan, sisa batch tetap jalan
+            conn.rollback(savepoint);
+            return () -> write.future().completeExceptionally(e);
+        }
+    }
+
+    private void failAll(List<PendingWrite<?>> batch, Throwable error) {
+        log.error("Gagal commit {} tulisan ke database", batch.size(), error);
+        for (PendingWrite<?> write : batch) {
+            write.future().completeExceptionally(error);
+        }
+    }
+
+    private void rollbackQuietly(Connection conn) {
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            log.warn("Rollback batch gagal", e);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.pomodone.config;
+
+public enum SqlDialect {
+    SQLITE,
+    POSTGRES;
+
+    public static SqlDialect fromUrl(String url) {
+        return url != null && url.startsWith("jdbc:sqlite") ? SQLITE : POSTGRES;
+    }
+}
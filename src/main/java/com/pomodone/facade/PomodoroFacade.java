@@ -1,8 +1,9 @@
 package com.pomodone.facade;
 
+import com.pomodone.model.pomodoro.PomodoroMode;
+import com.pomodone.model.pomodoro.TimerSnapshot;
+import com.pomodone.model.pomodoro.TimerState;
 import com.pomodone.service.PomodoroService;
-import javafx.beans.property.ReadOnlyBooleanProperty;
-import javafx.beans.property.ReadOnlyDoubleProperty;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.ReadOnlyStringProperty;
 
@@ -13,7 +14,7 @@ public class PomodoroFacade {
         this.pomodoroService = PomodoroService.getInstance();
     }
 
-    public void selectMode(PomodoroService.PomodoroMode mode) {
+    public void selectMode(PomodoroMode mode) {
         pomodoroService.selectMode(mode);
     }
 
@@ -29,31 +30,23 @@ public class PomodoroFacade {
         pomodoroService.stopAndResetTimer();
     }
 
-    public ReadOnlyStringProperty hoursProperty() {
-        return pomodoroService.hoursProperty();
+    public void setDisplayActive(boolean active) {
+        pomodoroService.setDisplayActive(active);
     }
 
-    public ReadOnlyStringProperty minutesProperty() {
-        return pomodoroService.minutesProperty();
+    public PomodoroMode getCurrentMode() {
+        return pomodoroService.getCurrentMode();
     }
 
-    public ReadOnlyStringProperty secondsProperty() {
-        return pomodoroService.secondsProperty();
-    }
-
-    public ReadOnlyBooleanProperty showHoursProperty() {
-        return pomodoroService.showHoursProperty();
+    public ReadOnlyObjectProperty<TimerSnapshot> timerSnapshotProperty() {
+        return pomodoroService.timerSnapshotProperty();
     }
 
     public ReadOnlyStringProperty statusStringProperty() {
         return pomodoroService.statusStringProperty();
     }
 
-    public ReadOnlyObjectProperty<PomodoroService.TimerState> timerStateProperty() {
+    public ReadOnlyObjectProperty<TimerState> timerStateProperty() {
         return pomodoroService.timerStateProperty();
     }
-
-    public ReadOnlyDoubleProperty progressProperty() {
-        return pomodoroService.progressProperty();
-    }
 }
\ No newline at end of file
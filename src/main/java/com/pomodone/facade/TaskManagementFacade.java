@@ -7,28 +7,40 @@ import org.slf4j.LoggerFactory;
 
 import com.pomodone.model.task.TaskDifficulty;
 import com.pomodone.model.task.TaskStatus;
+import com.pomodone.service.DeadlineReminderService;
 import com.pomodone.service.TaskService;
 
 //Facade yang digunakan untuk TAsk
 public class TaskManagementFacade {
     private final TaskService taskService;
+    private final DeadlineReminderService reminderService;
     private static final Logger log = LoggerFactory.getLogger(TaskManagementFacade.class);
 
     public TaskManagementFacade() {
-        this.taskService = new TaskService();
+        this(new TaskService(), DeadlineReminderService.getInstance());
     }
 
+    // buat test
+    TaskManagementFacade(TaskService taskService, DeadlineReminderService reminderService) {
+        this.taskService = taskService;
+        this.reminderService = reminderService;
+    }
+
+    // pengingat tenggat cuma diperbarui untuk task yang disentuh
     public void addTask(String title, String description, LocalDateTime deadline, TaskDifficulty difficulty) {
-        taskService.createNewTask(title, description, deadline, difficulty);
+        long id = taskService.createNewTask(title, description, deadline, difficulty);
+        reminderService.taskChanged(id);
     }
 
     public void destroyTask(int id){
         taskService.deleteTask(id);
+        reminderService.taskRemoved(id);
     }
 
     public void saveTask(long id, String newTitle, String newDescription,LocalDateTime newDueDate, TaskDifficulty newDifficulty, TaskStatus newStatus){
         log.info("Menyimpan perubahan task {}", id);
         taskService.updateTask(id, newTitle, newDescription, newDueDate, newDifficulty, newStatus);
+        reminderService.taskChanged(id);
 
     }
 }
@@ -0,0 +1,57 @@
+package com.pomodone.model.dashboard;
+
+import com.pomodone.model.task.Task;
+import com.pomodone.model.user.User;
+
+import java.util.List;
+import java.util.Optional;
+
+// Semua angka mentah dashboard dari satu kali baca database. Snapshot dibagi lewat QueryResultCache,
+// jadi User (yang punya setter) disalin masuk dan keluar; Task sudah immutable.
+public class DashboardSnapshot {
+    private final int activeTasks;
+    private final int completedTasks;
+    private final int completedOnTimeTasks;
+    private final int todaySessions;
+    private final User user;
+    private final List<Task> priorityTasks;
+
+    public DashboardSnapshot(int activeTasks, int completedTasks, int completedOnTimeTasks,
+                             int todaySessions, User user, List<Task> priorityTasks) {
+        this.activeTasks = activeTasks;
+        this.completedTasks = completedTasks;
+        this.completedOnTimeTasks = completedOnTimeTasks;
+        this.todaySessions = todaySessions;
+        this.user = copy(user);
+        this.priorityTasks = List.copyOf(priorityTasks);
+    }
+
+    public int getActiveTasks() {
+        return activeTasks;
+    }
+
+    public int getCompletedTasks() {
+        return completedTasks;
+    }
+
+    public int getCompletedOnTimeTasks() {
+        return completedOnTimeTasks;
+    }
+
+    public int getTodaySessions() {
+        return todaySessions;
+    }
+
+    public Optional<User> getUser() {
+        return Optional.ofNullable(copy(user));
+    }
+
+    public List<Task> getPriorityTasks() {
+        return priorityTasks;
+    }
+
+    private static User copy(User user) {
+        return user == null ? null
+                : new User(user.getId(), user.getName(), user.getDailyPomodoroTarget(), user.getWeeklyPomodoroTarget());
+    }
+}
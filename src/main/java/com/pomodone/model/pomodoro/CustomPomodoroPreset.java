@@ -1,12 +1,23 @@
 package com.pomodone.model.pomodoro;
 
+import com.pomodone.codegen.Column;
+import com.pomodone.codegen.RowMapped;
+
+@RowMapped(table = "pomodoro_custom_presets")
 public class CustomPomodoroPreset {
+    @Column(value = "id", key = true)
     private final long id;
+    @Column("user_id")
     private final long userId;
+    @Column("preset_name")
     private final String presetName;
+    @Column("focus_minutes")
     private final int focusMinutes;
+    @Column("short_break_minutes")
     private final int shortBreakMinutes;
+    @Column("long_break_minutes")
     private final int longBreakMinutes;
+    @Column("rounds")
     private final int rounds;
 
     public CustomPomodoroPreset(long id, long userId, String presetName, int focusMinutes, int shortBreakMinutes, int longBreakMinutes, int rounds) {
@@ -46,4 +57,8 @@ public class CustomPomodoroPreset {
     public int getRounds() {
         return rounds;
     }
+
+    public CustomPomodoroPreset withUserId(long newUserId) {
+        return new CustomPomodoroPreset(id, newUserId, presetName, focusMinutes, shortBreakMinutes, longBreakMinutes, rounds);
+    }
 }
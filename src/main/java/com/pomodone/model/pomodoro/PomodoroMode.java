@@ -0,0 +1,7 @@
+package com.pomodone.model.pomodoro;
+
+public enum PomodoroMode {
+    CLASSIC,
+    INTENSE,
+    CUSTOM
+}
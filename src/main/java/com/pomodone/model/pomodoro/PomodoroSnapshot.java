@@ -0,0 +1,85 @@
+package com.pomodone.model.pomodoro;
+
+import com.pomodone.util.Countdown;
+
+import java.time.Duration;
+
+// Keadaan timer pada satu titik waktu, immutable jadi aman dioper dari thread timer ke thread UI
+public final class PomodoroSnapshot {
+    private final TimerState timerState;
+    private final SessionType sessionType;
+    private final PomodoroMode mode;
+    private final PomodoroSettings settings;
+    private final int roundsCompleted;
+    private final Duration sessionDuration;
+    private final long remainingNanos;
+    private final long sampledAtNanos;
+    private final double progress;
+    private final boolean alarmRinging;
+
+    public PomodoroSnapshot(TimerState timerState, SessionType sessionType, PomodoroMode mode, PomodoroSettings settings,
+                            int roundsCompleted, Duration sessionDuration, long remainingNanos, long sampledAtNanos,
+                            double progress, boolean alarmRinging) {
+        this.timerState = timerState;
+        this.sessionType = sessionType;
+        this.mode = mode;
+        this.settings = settings;
+        this.roundsCompleted = roundsCompleted;
+        this.sessionDuration = sessionDuration;
+        this.remainingNanos = remainingNanos;
+        this.sampledAtNanos = sampledAtNanos;
+        this.progress = progress;
+        this.alarmRinging = alarmRinging;
+    }
+
+    public TimerState getTimerState() {
+        return timerState;
+    }
+
+    public SessionType getSessionType() {
+        return sessionType;
+    }
+
+    public PomodoroMode getMode() {
+        return mode;
+    }
+
+    public PomodoroSettings getSettings() {
+        return settings;
+    }
+
+    public int getRoundsCompleted() {
+        return roundsCompleted;
+    }
+
+    public Duration getSessionDuration() {
+        return sessionDuration;
+    }
+
+    public long getRemainingSeconds() {
+        return Countdown.ceilSeconds(remainingNanos);
+    }
+
+    public long getRemainingNanos() {
+        return remainingNanos;
+    }
+
+    // nanoTime saat remainingNanos diambil
+    public long getSampledAtNanos() {
+        return sampledAtNanos;
+    }
+
+    // sisa waktu sedang berkurang (bukan pause/stop/alarm), jadi boleh diinterpolasi dari sampledAtNanos
+    public boolean isTicking() {
+        return timerState == TimerState.RUNNING && !alarmRinging;
+    }
+
+    public double getProgress() {
+        return progress;
+    }
+
+    // sesi sudah habis, sesi berikutnya mulai setelah alarm selesai
+    public boolean isAlarmRinging() {
+        return alarmRinging;
+    }
+}
@@ -0,0 +1,88 @@
+package com.pomodone.model.pomodoro;
+
+import com.pomodone.codegen.Column;
+import com.pomodone.codegen.RowMapped;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// Satu sesi fokus yang sudah selesai/dibatalkan, siap dicatat. clientRef dibuat di app (UUID) dan disimpan
+// unik di DB, jadi sesi yang sama boleh dikirim ulang berkali-kali tanpa dobel.
+@RowMapped(table = "pomodoro_sessions")
+public final class SessionRecord {
+    @Column("client_ref")
+    private final String clientRef;
+    @Column("user_id")
+    private final long userId;
+    @Column("task_id")
+    private final Long taskId;
+    @Column("started_at")
+    private final LocalDateTime startedAt;
+    @Column("ended_at")
+    private final LocalDateTime endedAt;
+    @Column("duration_seconds")
+    private final long durationSeconds;
+    @Column("paused_seconds")
+    private final long pausedSeconds;
+    @Column("pause_count")
+    private final int pauseCount;
+    @Column("mode")
+    private final PomodoroMode mode;
+    @Column("status")
+    private final SessionStatus status;
+
+    public SessionRecord(String clientRef, long userId, Long taskId, LocalDateTime startedAt, LocalDateTime endedAt,
+                         long durationSeconds, long pausedSeconds, int pauseCount, PomodoroMode mode,
+                         SessionStatus status) {
+        this.clientRef = Objects.requireNonNull(clientRef);
+        this.userId = userId;
+        this.taskId = taskId;
+        this.startedAt = Objects.requireNonNull(startedAt);
+        this.endedAt = Objects.requireNonNull(endedAt);
+        this.durationSeconds = durationSeconds;
+        this.pausedSeconds = pausedSeconds;
+        this.pauseCount = pauseCount;
+        this.mode = Objects.requireNonNull(mode);
+        this.status = Objects.requireNonNull(status);
+    }
+
+    public String getClientRef() {
+        return clientRef;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getEndedAt() {
+        return endedAt;
+    }
+
+    public long getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public long getPausedSeconds() {
+        return pausedSeconds;
+    }
+
+    public int getPauseCount() {
+        return pauseCount;
+    }
+
+    public PomodoroMode getMode() {
+        return mode;
+    }
+
+    public SessionStatus getStatus() {
+        return status;
+    }
+}
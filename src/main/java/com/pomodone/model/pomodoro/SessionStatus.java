@@ -0,0 +1,6 @@
+package com.pomodone.model.pomodoro;
+
+public enum SessionStatus {
+    COMPLETED,
+    CANCELLED
+}
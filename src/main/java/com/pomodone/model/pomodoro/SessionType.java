@@ -0,0 +1,7 @@
+package com.pomodone.model.pomodoro;
+
+public enum SessionType {
+    FOCUS,
+    SHORT_BREAK,
+    LONG_BREAK
+}
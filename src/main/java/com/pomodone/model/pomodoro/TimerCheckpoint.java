@@ -0,0 +1,87 @@
+package com.pomodone.model.pomodoro;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+// State timer yang cukup buat melanjutkan sesi setelah app ditutup/crash. Sisa waktu disimpan bersama
+// jam dinding saat disimpan (savedAt), jadi waktu yang lewat selama app mati bisa dihitung waktu restore.
+public final class TimerCheckpoint {
+    private final PomodoroMode mode;
+    private final PomodoroSettings settings;
+    private final TimerState timerState;
+    private final SessionType sessionType;
+    private final int roundsCompleted;
+    private final Duration sessionDuration;
+    private final Duration remaining;
+    private final Duration paused;
+    private final int pauseCount;
+    private final Instant startedAt;
+    private final Instant savedAt;
+    private final boolean alarmRinging;
+
+    public TimerCheckpoint(PomodoroMode mode, PomodoroSettings settings, TimerState timerState, SessionType sessionType,
+                           int roundsCompleted, Duration sessionDuration, Duration remaining, Duration paused,
+                           int pauseCount, Instant startedAt, Instant savedAt, boolean alarmRinging) {
+        this.mode = Objects.requireNonNull(mode);
+        this.settings = Objects.requireNonNull(settings);
+        this.timerState = Objects.requireNonNull(timerState);
+        this.sessionType = Objects.requireNonNull(sessionType);
+        this.roundsCompleted = roundsCompleted;
+        this.sessionDuration = Objects.requireNonNull(sessionDuration);
+        this.remaining = Objects.requireNonNull(remaining);
+        this.paused = Objects.requireNonNull(paused);
+        this.pauseCount = pauseCount;
+        this.startedAt = Objects.requireNonNull(startedAt);
+        this.savedAt = Objects.requireNonNull(savedAt);
+        this.alarmRinging = alarmRinging;
+    }
+
+    public PomodoroMode getMode() {
+        return mode;
+    }
+
+    public PomodoroSettings getSettings() {
+        return settings;
+    }
+
+    public TimerState getTimerState() {
+        return timerState;
+    }
+
+    public SessionType getSessionType() {
+        return sessionType;
+    }
+
+    public int getRoundsCompleted() {
+        return roundsCompleted;
+    }
+
+    public Duration getSessionDuration() {
+        return sessionDuration;
+    }
+
+    public Duration getRemaining() {
+        return remaining;
+    }
+
+    public Duration getPaused() {
+        return paused;
+    }
+
+    public int getPauseCount() {
+        return pauseCount;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getSavedAt() {
+        return savedAt;
+    }
+
+    public boolean isAlarmRinging() {
+        return alarmRinging;
+    }
+}
@@ -0,0 +1,98 @@
+package com.pomodone.model.pomodoro;
+
+import com.pomodone.util.TwoDigits;
+
+import java.util.concurrent.TimeUnit;
+
+// Semua yang ditampilkan angka timer dalam satu objek, jadi satu tick = satu perubahan property
+// (bukan jam/menit/detik/progress masing-masing memicu listener sendiri)
+public final class TimerSnapshot {
+    private static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long remainingSeconds;
+    private final String hours;
+    private final String minutes;
+    private final String seconds;
+    private final boolean showHours;
+    private final double progress;
+    // buat interpolasi progress bar di antara tick: sisa waktu persisnya + kapan diambil (nanoTime)
+    private final long remainingNanos;
+    private final long sampledAtNanos;
+    private final long sessionNanos;
+    private final boolean ticking;
+
+    private TimerSnapshot(long remainingSeconds, boolean showHours, double progress,
+                          long remainingNanos, long sampledAtNanos, long sessionNanos, boolean ticking) {
+        this.remainingSeconds = remainingSeconds;
+        this.hours = TwoDigits.of(remainingSeconds / 3600);
+        this.minutes = TwoDigits.of((remainingSeconds % 3600) / 60);
+        this.seconds = TwoDigits.of(remainingSeconds % 60);
+        this.showHours = showHours;
+        this.progress = progress;
+        this.remainingNanos = remainingNanos;
+        this.sampledAtNanos = sampledAtNanos;
+        this.sessionNanos = sessionNanos;
+        this.ticking = ticking;
+    }
+
+    // jam ditampilkan kalau sesinya sendiri >= 1 jam, biar layout tidak loncat di tengah sesi
+    public static TimerSnapshot of(long remainingSeconds, long sessionSeconds, double progress) {
+        long remaining = Math.max(0, remainingSeconds);
+        boolean showHours = sessionSeconds >= 3600 || remaining >= 3600;
+        return new TimerSnapshot(remaining, showHours, progress,
+                remaining * SECOND_NANOS, 0, sessionSeconds * SECOND_NANOS, false);
+    }
+
+    public static TimerSnapshot of(PomodoroSnapshot snapshot) {
+        long remaining = Math.max(0, snapshot.getRemainingSeconds());
+        long sessionNanos = snapshot.getSessionDuration().toNanos();
+        boolean showHours = snapshot.getSessionDuration().getSeconds() >= 3600 || remaining >= 3600;
+        return new TimerSnapshot(remaining, showHours, snapshot.getProgress(),
+                snapshot.getRemainingNanos(), snapshot.getSampledAtNanos(), sessionNanos, snapshot.isTicking());
+    }
+
+    public long getRemainingSeconds() {
+        return remainingSeconds;
+    }
+
+    public String getHours() {
+        return hours;
+    }
+
+    public String getMinutes() {
+        return minutes;
+    }
+
+    public String getSeconds() {
+        return seconds;
+    }
+
+    public boolean isShowHours() {
+        return showHours;
+    }
+
+    public double getProgress() {
+        return progress;
+    }
+
+    public boolean isTicking() {
+        return ticking;
+    }
+
+    // progress pada nanoTime tertentu, dihitung dari deadline yang sama dengan engine. Kalau timer tidak
+    // jalan (pause/stop/alarm) hasilnya progress snapshot apa adanya.
+    public double progressAt(long nowNanos) {
+        if (!ticking || sessionNanos <= 0) return progress;
+        long remaining = Math.max(0, remainingNanos - Math.max(0, nowNanos - sampledAtNanos));
+        return (double) (sessionNanos - remaining) / sessionNanos;
+    }
+
+    // buat buang update yang isinya sama persis (mis. snapshot karena ganti state, angka tidak berubah)
+    public boolean sameDisplayAs(TimerSnapshot other) {
+        return other != null
+                && remainingSeconds == other.remainingSeconds
+                && showHours == other.showHours
+                && ticking == other.ticking
+                && Double.compare(progress, other.progress) == 0;
+    }
+}
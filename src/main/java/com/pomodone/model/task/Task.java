@@ -1,16 +1,28 @@
 package com.pomodone.model.task;
 
+import com.pomodone.codegen.Column;
+import com.pomodone.codegen.RowMapped;
+
 import java.time.LocalDateTime;
 import java.util.Objects;
 
+@RowMapped(table = "tasks")
 public class Task {
+    @Column(value = "id", key = true)
     private final long id;
+    @Column("judul_tugas")
     private final String title;
+    @Column("deskripsi_tugas")
     private final String description;
+    @Column("tenggat_tugas")
     private final LocalDateTime dueDate;
+    @Column("tingkat_kesulitan")
     private final TaskDifficulty difficulty;
+    @Column("status")
     private final TaskStatus status;
+    @Column(value = "created_at", updatable = false)
     private final LocalDateTime createdAt;
+    @Column("updated_at")
     private final LocalDateTime updatedAt;
 
     Task(TaskBuilder builder) {
@@ -88,12 +100,14 @@ public class Task {
 
     private TaskStatus resolveStatus(TaskBuilder builder) {
         TaskStatus initialStatus = Objects.requireNonNull(builder.status, "status wajib diisi");
-        if (builder.dueDate == null) {
-            return initialStatus;
-        }
-        if (!initialStatus.isFinished() && builder.dueDate.isBefore(LocalDateTime.now())) {
+        boolean pastDue = builder.dueDate != null && builder.dueDate.isBefore(LocalDateTime.now());
+        if (initialStatus == TaskStatus.BELUM_SELESAI && pastDue) {
             return TaskStatus.TERLAMBAT;
         }
+        // status tersimpan di DB, jadi tenggat yang dimundurkan/dihapus harus balik ke belum selesai
+        if (initialStatus == TaskStatus.TERLAMBAT && !pastDue) {
+            return TaskStatus.BELUM_SELESAI;
+        }
         return initialStatus;
     }
 
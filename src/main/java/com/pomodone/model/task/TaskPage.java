@@ -0,0 +1,26 @@
+package com.pomodone.model.task;
+
+import java.util.List;
+
+public final class TaskPage {
+    private final List<Task> items;
+    private final TaskPageCursor nextCursor;
+
+    public TaskPage(List<Task> items, TaskPageCursor nextCursor) {
+        this.items = List.copyOf(items);
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Task> getItems() {
+        return items;
+    }
+
+    // null kalau sudah halaman terakhir
+    public TaskPageCursor getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
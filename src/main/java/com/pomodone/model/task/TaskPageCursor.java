@@ -0,0 +1,17 @@
+package com.pomodone.model.task;
+
+import java.util.Collections;
+import java.util.List;
+
+// Posisi terakhir di halaman (nilai kolom ORDER BY apa adanya dari DB), dipakai buat keyset pagination
+public final class TaskPageCursor {
+    private final List<Object> keyValues;
+
+    public TaskPageCursor(List<Object> keyValues) {
+        this.keyValues = Collections.unmodifiableList(keyValues);
+    }
+
+    public List<Object> getKeyValues() {
+        return keyValues;
+    }
+}
@@ -0,0 +1,129 @@
+package com.pomodone.model.task;
+
+import com.pomodone.util.SortDirection;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+// Spesifikasi query task (filter status, search, urutan, limit/offset) yang dikompilasi repository jadi SQL
+public final class TaskQuery {
+    private final Set<TaskStatus> statuses;
+    private final String searchText;
+    private final TaskSortField sortField;
+    private final SortDirection direction;
+    private final Integer limit;
+    private final int offset;
+
+    private TaskQuery(Builder builder) {
+        this.statuses = Collections.unmodifiableSet(EnumSet.copyOf(builder.statuses));
+        this.searchText = builder.searchText;
+        this.sortField = builder.sortField;
+        this.direction = builder.direction;
+        this.limit = builder.limit;
+        this.offset = builder.offset;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Set<TaskStatus> getStatuses() {
+        return statuses;
+    }
+
+    public String getSearchText() {
+        return searchText;
+    }
+
+    public boolean hasSearchText() {
+        return searchText != null && !searchText.isEmpty();
+    }
+
+    public TaskSortField getSortField() {
+        return sortField;
+    }
+
+    public SortDirection getDirection() {
+        return direction;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TaskQuery other)) return false;
+        return offset == other.offset
+                && statuses.equals(other.statuses)
+                && Objects.equals(searchText, other.searchText)
+                && sortField == other.sortField
+                && direction == other.direction
+                && Objects.equals(limit, other.limit);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(statuses, searchText, sortField, direction, limit, offset);
+    }
+
+    public static final class Builder {
+        private final EnumSet<TaskStatus> statuses = EnumSet.allOf(TaskStatus.class);
+        private String searchText;
+        private TaskSortField sortField = TaskSortField.DUE_DATE;
+        private SortDirection direction = SortDirection.ASC;
+        private Integer limit;
+        private int offset;
+
+        private Builder() {
+        }
+
+        public Builder statuses(Collection<TaskStatus> statuses) {
+            this.statuses.clear();
+            if (statuses != null) {
+                this.statuses.addAll(statuses);
+            }
+            return this;
+        }
+
+        public Builder searchText(String searchText) {
+            String trimmed = searchText != null ? searchText.trim() : "";
+            this.searchText = trimmed.isEmpty() ? null : trimmed;
+            return this;
+        }
+
+        public Builder sortBy(TaskSortField field, SortDirection direction) {
+            this.sortField = Objects.requireNonNullElse(field, TaskSortField.DUE_DATE);
+            this.direction = SortDirection.orDefault(direction, SortDirection.ASC);
+            return this;
+        }
+
+        public Builder limit(Integer limit) {
+            if (limit != null && limit <= 0) {
+                throw new IllegalArgumentException("limit harus positif");
+            }
+            this.limit = limit;
+            return this;
+        }
+
+        public Builder offset(int offset) {
+            if (offset < 0) {
+                throw new IllegalArgumentException("offset tidak boleh negatif");
+            }
+            this.offset = offset;
+            return this;
+        }
+
+        public TaskQuery build() {
+            return new TaskQuery(this);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.pomodone.model.task;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// Satu pengingat: task ini tenggatnya tinggal leadTime lagi
+public final class TaskReminder {
+    private final long taskId;
+    private final String title;
+    private final LocalDateTime dueDate;
+    private final Duration leadTime;
+
+    public TaskReminder(long taskId, String title, LocalDateTime dueDate, Duration leadTime) {
+        this.taskId = taskId;
+        this.title = title;
+        this.dueDate = dueDate;
+        this.leadTime = leadTime;
+    }
+
+    public long getTaskId() {
+        return taskId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+
+    public Duration getLeadTime() {
+        return leadTime;
+    }
+
+    public LocalDateTime getFireAt() {
+        return dueDate.minus(leadTime);
+    }
+}
@@ -0,0 +1,7 @@
+package com.pomodone.model.task;
+
+public enum TaskSortField {
+    TITLE,
+    DUE_DATE,
+    DIFFICULTY
+}
@@ -1,9 +1,17 @@
 package com.pomodone.model.user;
 
+import com.pomodone.codegen.Column;
+import com.pomodone.codegen.RowMapped;
+
+@RowMapped(table = "users")
 public class User {
+    @Column(value = "id", key = true)
     private long id;
+    @Column("name")
     private String name;
+    @Column("daily_pomodoro_target")
     private int dailyPomodoroTarget;
+    @Column("weekly_pomodoro_target")
     private int weeklyPomodoroTarget;
 
     public User() {}
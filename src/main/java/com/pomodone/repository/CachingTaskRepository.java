@@ -0,0 +1,271 @@
+package com.pomodone.repository;
+
+import com.pomodone.model.task.Task;
+import com.pomodone.model.task.TaskPage;
+import com.pomodone.model.task.TaskPageCursor;
+import com.pomodone.model.task.TaskQuery;
+import com.pomodone.model.task.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Decorator TaskRepository yang dipakai bareng semua service/controller. Task per id disimpan di map LRU
+// terbatas, hasil list (findAll, halaman Task List, search, top tenggat) disimpan per parameter. Tulisan
+// lewat sini langsung memperbarui cache (write-through), jadi baca-sebelum-tulis di update dan reload
+// view yang datanya belum berubah tidak sampai ke DB.
+// Invalidasi: update/save -> entry task itu diganti, list dibuang (task bisa masuk/keluar filter mana saja);
+// delete -> cuma list yang berisi task itu yang dibuang; markOverdue -> task yang baru telat dibuang dari cache.
+public class CachingTaskRepository extends TaskRepository {
+    static final int MAX_TASKS = 2000;
+    static final int MAX_LISTS = 64;
+    private static CachingTaskRepository instance;
+
+    private final TaskRepository delegate;
+    private final Map<Long, Task> tasks;
+    private final Map<ListKey, CachedList> lists;
+    // naik tiap tulisan; hasil load yang mulai sebelum tulisan tidak disimpan karena bisa basi
+    private long version;
+    private long hits;
+    private long misses;
+
+    public CachingTaskRepository(TaskRepository delegate) {
+        this(delegate, MAX_TASKS, MAX_LISTS);
+    }
+
+    CachingTaskRepository(TaskRepository delegate, int maxTasks, int maxLists) {
+        this.delegate = delegate;
+        this.tasks = lruMap(maxTasks);
+        this.lists = lruMap(maxLists);
+    }
+
+    public static synchronized CachingTaskRepository getInstance() {
+        if (instance == null) {
+            instance = new CachingTaskRepository(new TaskRepository());
+        }
+        return instance;
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    @Override
+    public Task findById(long id) {
+        long loadVersion;
+        synchronized (this) {
+            Task cached = tasks.get(id);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+            loadVersion = version;
+        }
+        Task loaded = delegate.findById(id);
+        synchronized (this) {
+            if (loaded != null && loadVersion == version) {
+                tasks.put(id, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    @Override
+    public long save(Task task) {
+        long id;
+        try {
+            id = delegate.save(task);
+        } finally {
+            synchronized (this) {
+                version++;
+                lists.clear();
+            }
+        }
+        synchronized (this) {
+            tasks.put(id, withId(task, id));
+        }
+        return id;
+    }
+
+    @Override
+    public void update(Task updatedTask) {
+        Task oldTask = findById(updatedTask.getId());
+        if (oldTask == null) {
+            throw new IllegalArgumentException("Task dengan ID " + updatedTask.getId() + " tidak ditemukan");
+        }
+        Task mergedTask = oldTask.withUpdatedFields(updatedTask);
+        try {
+            delegate.writeUpdate(mergedTask);
+        } catch (RuntimeException e) {
+            // tidak tahu tulisannya masuk atau tidak, baca ulang dari DB nanti
+            synchronized (this) {
+                version++;
+                tasks.remove(mergedTask.getId());
+                lists.clear();
+            }
+            throw e;
+        }
+        synchronized (this) {
+            version++;
+            tasks.put(mergedTask.getId(), mergedTask);
+            lists.clear();
+        }
+    }
+
+    @Override
+    public void delete(int id) {
+        try {
+            delegate.delete(id);
+        } finally {
+            synchronized (this) {
+                version++;
+                tasks.remove((long) id);
+                // list yang tidak berisi task ini tidak berubah
+                lists.values().removeIf(list -> list.ids.contains((long) id));
+            }
+        }
+    }
+
+    @Override
+    public int markOverdue(LocalDateTime now) {
+        int marked = delegate.markOverdue(now);
+        if (marked > 0) {
+            synchronized (this) {
+                version++;
+                tasks.values().removeIf(task -> task.getStatus() == TaskStatus.BELUM_SELESAI
+                        && task.getDueDate() != null && task.getDueDate().isBefore(now));
+                lists.clear();
+            }
+        }
+        return marked;
+    }
+
+    @Override
+    public List<Task> findAll() {
+        return new ArrayList<>(cachedList(new ListKey("findAll", List.of()), delegate::findAll, Function.identity()));
+    }
+
+    @Override
+    public List<Task> findTopByDueDate(int limit) {
+        return new ArrayList<>(cachedList(new ListKey("findTopByDueDate", List.of(limit)),
+                () -> delegate.findTopByDueDate(limit), Function.identity()));
+    }
+
+    @Override
+    public List<Task> findByQuery(TaskQuery query) {
+        return new ArrayList<>(cachedList(new ListKey("findByQuery", Arrays.asList(query)),
+                () -> delegate.findByQuery(query), Function.identity()));
+    }
+
+    @Override
+    public List<Task> search(String text, int limit) {
+        return new ArrayList<>(cachedList(new ListKey("search", Arrays.asList(text, limit)),
+                () -> delegate.search(text, limit), Function.identity()));
+    }
+
+    @Override
+    public TaskPage findPage(TaskQuery query, TaskPageCursor after, int pageSize) {
+        List<Object> cursor = after != null ? after.getKeyValues() : null;
+        return cachedList(new ListKey("findPage", Arrays.asList(query, cursor, pageSize)),
+                () -> delegate.findPage(query, after, pageSize), TaskPage::getItems);
+    }
+
+    // di bawah ini tidak di-cache: jarang dipanggil, dan sweeper/pengingat tenggat butuh angka yang segar
+
+    @Override
+    public Optional<Task> findByTitle(String title) {
+        return delegate.findByTitle(title);
+    }
+
+    @Override
+    public int countActiveTasks() {
+        return delegate.countActiveTasks();
+    }
+
+    @Override
+    public int countCompletedTasks() {
+        return delegate.countCompletedTasks();
+    }
+
+    @Override
+    public int countCompletedOnTimeTasks() {
+        return delegate.countCompletedOnTimeTasks();
+    }
+
+    @Override
+    public Optional<LocalDateTime> findNextDueDate(LocalDateTime now) {
+        return delegate.findNextDueDate(now);
+    }
+
+    @Override
+    public List<Task> findPendingDueAfter(LocalDateTime dueAfter, long idAfter, int limit) {
+        return delegate.findPendingDueAfter(dueAfter, idAfter, limit);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T cachedList(ListKey key, Supplier<T> loader, Function<T, List<Task>> items) {
+        long loadVersion;
+        synchronized (this) {
+            CachedList cached = lists.get(key);
+            if (cached != null) {
+                hits++;
+                return (T) cached.value;
+            }
+            misses++;
+            loadVersion = version;
+        }
+        T loaded = loader.get();
+        synchronized (this) {
+            if (loadVersion == version) {
+                List<Task> loadedTasks = items.apply(loaded);
+                Set<Long> ids = new HashSet<>();
+                for (Task task : loadedTasks) {
+                    ids.add(task.getId());
+                    // task yang tampil di list biasanya yang berikutnya dibuka/diedit
+                    tasks.put(task.getId(), task);
+                }
+                lists.put(key, new CachedList(loaded instanceof List<?> list ? List.copyOf(list) : loaded, ids));
+            }
+        }
+        return loaded;
+    }
+
+    private static Task withId(Task task, long id) {
+        return Task.builder()
+                .id(id)
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .dueDate(task.getDueDate())
+                .difficulty(task.getDifficulty())
+                .status(task.getStatus())
+                .createdAt(task.getCreatedAt())
+                .updatedAt(task.getUpdatedAt())
+                .build();
+    }
+
+    private static <K, V> Map<K, V> lruMap(int maxEntries) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    private record ListKey(String kind, List<Object> args) {}
+
+    private record CachedList(Object value, Set<Long> ids) {}
+}
@@ -0,0 +1,98 @@
+package com.pomodone.repository;
+
+import com.pomodone.config.DatabaseConfig;
+import com.pomodone.model.dashboard.DashboardSnapshot;
+import com.pomodone.model.task.Task;
+import com.pomodone.model.user.User;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Data dashboard dalam satu koneksi + dua statement, gantiin lima-tujuh round trip
+// (count task x3, count sesi, user, top task) yang dulu masing-masing buka koneksi sendiri.
+public class DashboardSnapshotRepository {
+
+    // Tiap count jadi scalar subquery biar SQLite bisa COUNT langsung dari idx_tasks_status_due
+    // (tanpa decode baris). Versi SUM(CASE ...) satu pass sempat dicoba, tapi di 100k task malah
+    // lebih lambat karena CASE dievaluasi per baris (lihat DashboardSnapshotBenchmark).
+    static final String SUMMARY_SQL = """
+        SELECT (SELECT COUNT(*) FROM tasks WHERE status <> 'SELESAI') AS active_tasks,
+               (SELECT COUNT(*) FROM tasks WHERE status = 'SELESAI') AS completed_tasks,
+               (SELECT COUNT(*) FROM tasks
+                WHERE status = 'SELESAI'
+                  AND (tenggat_tugas IS NULL OR updated_at <= tenggat_tugas)) AS completed_on_time,
+               (SELECT COALESCE(SUM(session_count), 0) FROM pomodoro_daily_stats
+                WHERE user_id = ? AND epoch_day = ?) AS today_sessions,
+               u.id AS user_id,
+               u.name AS user_name,
+               u.daily_pomodoro_target,
+               u.weekly_pomodoro_target
+        FROM (SELECT 1 AS one) anchor
+        LEFT JOIN users u ON u.id = ?
+    """;
+
+    private static final List<String> SNAPSHOT_TABLES =
+            List.of(TableVersions.TASKS, TableVersions.POMODORO_DAILY_STATS, TableVersions.USERS);
+
+    // dashboard dibuka lagi tanpa tulisan di antaranya: hasil sebelumnya dipakai, koneksi pun tidak diambil
+    public DashboardSnapshot load(long userId, LocalDate today, int topTaskLimit) {
+        try {
+            return QueryResultCache.getInstance().get(SUMMARY_SQL + TaskRepository.FIND_TOP_BY_DUE_SQL,
+                    List.of(userId, today.toEpochDay(), topTaskLimit), SNAPSHOT_TABLES, () -> {
+                try (Connection conn = DatabaseConfig.getInstance().getConnection()) {
+                    return load(conn, userId, today, topTaskLimit);
+                }
+            });
+        } catch (SQLException e) {
+            throw new com.pomodone.exception.DatabaseException("Gagal memuat data dashboard", e);
+        }
+    }
+
+    static DashboardSnapshot load(Connection conn, long userId, LocalDate today, int topTaskLimit) throws SQLException {
+        int activeTasks = 0;
+        int completedTasks = 0;
+        int completedOnTime = 0;
+        int todaySessions = 0;
+        User user = null;
+
+        try (PreparedStatement pstmt = conn.prepareStatement(SUMMARY_SQL)) {
+            pstmt.setLong(1, userId);
+            pstmt.setLong(2, today.toEpochDay());
+            pstmt.setLong(3, userId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    activeTasks = rs.getInt("active_tasks");
+                    completedTasks = rs.getInt("completed_tasks");
+                    completedOnTime = rs.getInt("completed_on_time");
+                    todaySessions = rs.getInt("today_sessions");
+                    long foundUserId = rs.getLong("user_id");
+                    if (!rs.wasNull()) {
+                        user = new User(
+                                foundUserId,
+                                rs.getString("user_name"),
+                                rs.getInt("daily_pomodoro_target"),
+                                rs.getInt("weekly_pomodoro_target")
+                        );
+                    }
+                }
+            }
+        }
+
+        List<Task> priorityTasks = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(TaskRepository.FIND_TOP_BY_DUE_SQL)) {
+            pstmt.setInt(1, Math.max(1, topTaskLimit));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    priorityTasks.add(TaskRows.map(rs));
+                }
+            }
+        }
+
+        return new DashboardSnapshot(activeTasks, completedTasks, completedOnTime, todaySessions, user, priorityTasks);
+    }
+}
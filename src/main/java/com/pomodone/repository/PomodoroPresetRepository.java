@@ -2,6 +2,7 @@ package com.pomodone.repository;
 
 import com.pomodone.config.DatabaseConfig;
 import com.pomodone.model.pomodoro.CustomPomodoroPreset;
+import com.pomodone.util.WTinyLfuCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -12,11 +13,28 @@ import java.sql.SQLException;
 
 public class PomodoroPresetRepository {
     private static final Logger log = LoggerFactory.getLogger(PomodoroPresetRepository.class);
+    // preset terakhir per user, dibaca tiap halaman Pomodoro dibuka; preset immutable jadi aman dibagi
+    private static final WTinyLfuCache<Long, CustomPomodoroPreset> LATEST_CACHE =
+            WTinyLfuCache.<Long, CustomPomodoroPreset>builder()
+                    .maximumSize(64)
+                    .build();
 
+    // null (belum pernah simpan preset) tidak di-cache, jadi query lagi sampai ada upsert pertama
     public CustomPomodoroPreset findLatestByUser(long userId) {
-        String sql = """
-            SELECT id, user_id, preset_name, focus_minutes, short_break_minutes, long_break_minutes, rounds
-            FROM pomodoro_custom_presets
+        CustomPomodoroPreset cached = LATEST_CACHE.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+        long version = TableVersions.getInstance().version(TableVersions.POMODORO_CUSTOM_PRESETS);
+        CustomPomodoroPreset preset = loadLatest(userId);
+        if (preset != null) {
+            TableVersions.getInstance().putIfUnchanged(LATEST_CACHE, TableVersions.POMODORO_CUSTOM_PRESETS, version, userId, preset);
+        }
+        return preset;
+    }
+
+    private CustomPomodoroPreset loadLatest(long userId) {
+        String sql = CustomPomodoroPresetRows.SELECT_FROM + """
             WHERE user_id = ?
             ORDER BY updated_at DESC
             LIMIT 1
@@ -28,7 +46,7 @@ public class PomodoroPresetRepository {
             pstmt.setLong(1, userId);
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    return mapRow(rs);
+                    return CustomPomodoroPresetRows.map(rs);
                 }
             }
         } catch (SQLException e) {
@@ -38,9 +56,7 @@ public class PomodoroPresetRepository {
     }
 
     public void upsert(long userId, CustomPomodoroPreset preset) {
-        String sql = """
-            INSERT INTO pomodoro_custom_presets (user_id, preset_name, focus_minutes, short_break_minutes, long_break_minutes, rounds)
-            VALUES (?, ?, ?, ?, ?, ?)
+        String sql = CustomPomodoroPresetRows.INSERT_SQL + """
             -- Upsert portable: ON CONFLICT ada di Postgres/SQLite modern
             ON CONFLICT (user_id, preset_name) DO UPDATE SET
                 focus_minutes = EXCLUDED.focus_minutes,
@@ -50,30 +66,19 @@ public class PomodoroPresetRepository {
                 updated_at = CURRENT_TIMESTAMP
         """;
 
-        try (Connection conn = DatabaseConfig.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setLong(1, userId);
-            pstmt.setString(2, preset.getPresetName());
-            pstmt.setInt(3, preset.getFocusMinutes());
-            pstmt.setInt(4, preset.getShortBreakMinutes());
-            pstmt.setInt(5, preset.getLongBreakMinutes());
-            pstmt.setInt(6, preset.getRounds());
-            pstmt.executeUpdate();
+        try {
+            DatabaseConfig.getInstance().getWriter().submitAndWait(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    // pemiliknya dari argumen, bukan userId di preset
+                    CustomPomodoroPresetRows.bindInsert(pstmt, 1, preset.withUserId(userId));
+                    return pstmt.executeUpdate();
+                }
+            });
         } catch (SQLException e) {
             throw new com.pomodone.exception.DatabaseException("Gagal menyimpan custom pomodoro preset: " + e.getMessage(), e);
+        } finally {
+            TableVersions.getInstance().bump(TableVersions.POMODORO_CUSTOM_PRESETS);
+            LATEST_CACHE.invalidate(userId);
         }
     }
-
-    private CustomPomodoroPreset mapRow(ResultSet rs) throws SQLException {
-        return new CustomPomodoroPreset(
-                rs.getLong("id"),
-                rs.getLong("user_id"),
-                rs.getString("preset_name"),
-                rs.getInt("focus_minutes"),
-                rs.getInt("short_break_minutes"),
-                rs.getInt("long_break_minutes"),
-                rs.getInt("rounds")
-        );
-    }
 }
@@ -1,7 +1,9 @@
 package com.pomodone.repository;
 
 import com.pomodone.config.DatabaseConfig;
-import com.pomodone.service.PomodoroService;
+import com.pomodone.config.SqlDialect;
+import com.pomodone.model.pomodoro.SessionRecord;
+import com.pomodone.model.pomodoro.SessionStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -10,49 +12,145 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public class PomodoroSessionRepository {
     private static final Logger log = LoggerFactory.getLogger(PomodoroSessionRepository.class);
 
-    public void insertCompletedSession(long userId, LocalDateTime startedAt, LocalDateTime endedAt, long durationSeconds, PomodoroService.PomodoroMode mode) {
-        String sql = """
-            INSERT INTO pomodoro_sessions (user_id, started_at, ended_at, duration_seconds, mode, status)
-            -- CURRENT_TIMESTAMP di default kolom, jadi query tetap portable
-            VALUES (?, ?, ?, ?, ?, 'COMPLETED')
-        """;
-
-        try (Connection conn = DatabaseConfig.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setLong(1, userId);
-            pstmt.setTimestamp(2, Timestamp.valueOf(startedAt));
-            pstmt.setTimestamp(3, Timestamp.valueOf(endedAt));
-            pstmt.setLong(4, durationSeconds);
-            pstmt.setString(5, mode.name());
-            pstmt.executeUpdate();
+    // created_at diisi CURRENT_TIMESTAMP di default kolom, jadi query tetap portable
+    static final String INSERT_SESSION_SQL = SessionRecordRows.INSERT_SQL + """
+        -- sesi yang sama dari replay journal diabaikan
+        ON CONFLICT (client_ref) DO NOTHING
+    """;
+
+    // ON CONFLICT ... DO UPDATE didukung SQLite (3.24+) dan PostgreSQL
+    static final String UPSERT_DAILY_SQL = """
+        INSERT INTO pomodoro_daily_stats (user_id, epoch_day, mode, session_count, focus_seconds)
+        VALUES (?, ?, ?, 1, ?)
+        ON CONFLICT (user_id, epoch_day, mode) DO UPDATE SET
+            session_count = pomodoro_daily_stats.session_count + 1,
+            focus_seconds = pomodoro_daily_stats.focus_seconds + excluded.focus_seconds
+    """;
+
+    // urutan kolom sama dengan SessionRecordRows.COLUMNS; sesi sebelum V7 belum punya client_ref,
+    // jadi diberi ref pengganti dari id supaya tetap bisa jadi SessionRecord. Jalan di idx_pomo_sessions_user_started.
+    static final String STREAM_SESSIONS_SQL = """
+        SELECT COALESCE(client_ref, 'legacy-' || id), user_id, task_id, started_at, ended_at,
+               duration_seconds, paused_seconds, pause_count, mode, status
+        FROM pomodoro_sessions
+        WHERE user_id = ? AND started_at >= ? AND started_at < ?
+        ORDER BY started_at
+    """;
+
+    static final String SUM_DAILY_SQL = """
+        SELECT COALESCE(SUM(session_count), 0), COALESCE(SUM(focus_seconds), 0)
+        FROM pomodoro_daily_stats
+        WHERE user_id = ? AND epoch_day BETWEEN ? AND ?
+    """;
+
+    // Async lewat thread writer: sesi + rollup ditulis di transaksi yang sama. Dipanggil worker SessionJournal,
+    // future-nya selesai setelah commit, baru sesinya boleh ditandai beres di journal.
+    public CompletableFuture<Void> insertSession(SessionRecord session) {
+        return DatabaseConfig.getInstance().getWriter().<Void>submit(conn -> {
+            writeSession(conn, session);
+            return null;
+        }).whenComplete((ignored, error) -> TableVersions.getInstance()
+                .bump(TableVersions.POMODORO_SESSIONS, TableVersions.POMODORO_DAILY_STATS));
+    }
+
+    // Tanpa commit sendiri: dipanggil di dalam transaksi DatabaseWriter (satu savepoint per sesi),
+    // jadi rollup tidak pernah beda dengan riwayat sesi. durationSeconds = waktu fokus yang benar-benar
+    // jalan, pause dicatat terpisah; taskId null = timer umum. Return false kalau sesi ini sudah pernah masuk.
+    static boolean writeSession(Connection conn, SessionRecord session) throws SQLException {
+        try (PreparedStatement insert = conn.prepareStatement(INSERT_SESSION_SQL);
+             PreparedStatement upsert = conn.prepareStatement(UPSERT_DAILY_SQL)) {
+            SessionRecordRows.bindInsert(insert, 1, session);
+            if (insert.executeUpdate() == 0) {
+                return false; // replay, rollup-nya sudah dihitung waktu pertama masuk
+            }
+            // rollup cuma menghitung sesi yang selesai, sama seperti backfill V4
+            if (session.getStatus() != SessionStatus.COMPLETED) {
+                return true;
+            }
+
+            // sesi dihitung di hari mulainya, sama seperti query lama (started_at >= awal hari)
+            upsert.setLong(1, session.getUserId());
+            upsert.setLong(2, session.getStartedAt().toLocalDate().toEpochDay());
+            upsert.setString(3, session.getMode().name());
+            upsert.setLong(4, session.getDurationSeconds());
+            upsert.executeUpdate();
+            return true;
+        }
+    }
+
+    // Error yang tidak akan sembuh kalau dicoba ulang (FK/CHECK/NOT NULL), beda dengan DB mati atau lock.
+    // Postgres pakai SQLState kelas 23, sqlite-jdbc pakai error code SQLITE_CONSTRAINT (19).
+    public static boolean isConstraintViolation(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof SQLException sql
+                    && ((sql.getSQLState() != null && sql.getSQLState().startsWith("23")) || sql.getErrorCode() == 19)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Riwayat sesi user dengan started_at di [from, to), urut waktu mulai, diserahkan satu per satu ke consumer
+    // (di thread pemanggil) tanpa ditampung; buat export/analitik. Return jumlah sesi.
+    public long streamSessions(long userId, LocalDateTime from, LocalDateTime to, Consumer<SessionRecord> consumer) {
+        try {
+            return streamSessions(DatabaseConfig.getInstance()::getConnection, DatabaseConfig.getInstance().getDialect(),
+                    userId, from, to, consumer, RowStreamer.QUEUE_CAPACITY);
         } catch (SQLException e) {
-            throw new com.pomodone.exception.DatabaseException("Gagal menyimpan sesi pomodoro: " + e.getMessage(), e);
+            throw new com.pomodone.exception.DatabaseException("Gagal membaca stream sesi pomodoro", e);
         }
     }
 
-    public int countSessionsSince(long userId, LocalDateTime startInclusive) {
-        String sql = """
-            SELECT COUNT(*) FROM pomodoro_sessions
-            WHERE user_id = ? AND status = 'COMPLETED' AND started_at >= ?
-        """;
-        try (Connection conn = DatabaseConfig.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setLong(1, userId);
-            pstmt.setTimestamp(2, Timestamp.valueOf(startInclusive));
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt(1);
+    static long streamSessions(RowStreamer.ConnectionSource source, SqlDialect dialect, long userId,
+                               LocalDateTime from, LocalDateTime to, Consumer<SessionRecord> consumer,
+                               int queueCapacity) throws SQLException {
+        List<Object> params = List.of(userId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+        return RowStreamer.stream(source, dialect, STREAM_SESSIONS_SQL, params, SessionRecordRows::map,
+                consumer, queueCapacity);
+    }
+
+    public int countSessionsBetween(long userId, LocalDate fromInclusive, LocalDate toInclusive) {
+        return (int) sumDaily(userId, fromInclusive, toInclusive).count();
+    }
+
+    public long sumFocusSecondsBetween(long userId, LocalDate fromInclusive, LocalDate toInclusive) {
+        return sumDaily(userId, fromInclusive, toInclusive).focusSeconds();
+    }
+
+    // nilai di QueryResultCache dibagi semua pemanggil, jadi harus immutable
+    private record DailySums(long count, long focusSeconds) {
+        static final DailySums EMPTY = new DailySums(0, 0);
+    }
+
+    // baca rollup (maks. satu baris per hari per mode), bukan COUNT seluruh riwayat sesi;
+    // hasilnya dipakai lagi sampai ada sesi baru yang masuk
+    private DailySums sumDaily(long userId, LocalDate fromInclusive, LocalDate toInclusive) {
+        List<Object> params = List.of(userId, fromInclusive.toEpochDay(), toInclusive.toEpochDay());
+        try {
+            return QueryResultCache.getInstance().get(SUM_DAILY_SQL, params,
+                    List.of(TableVersions.POMODORO_DAILY_STATS), () -> {
+                try (Connection conn = DatabaseConfig.getInstance().getConnection();
+                     PreparedStatement pstmt = conn.prepareStatement(SUM_DAILY_SQL)) {
+                    pstmt.setLong(1, userId);
+                    pstmt.setLong(2, fromInclusive.toEpochDay());
+                    pstmt.setLong(3, toInclusive.toEpochDay());
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        return rs.next() ? new DailySums(rs.getLong(1), rs.getLong(2)) : DailySums.EMPTY;
+                    }
                 }
-            }
+            });
         } catch (SQLException e) {
-            log.error("Gagal menghitung sesi pomodoro", e);
+            log.error("Gagal membaca rekap sesi pomodoro", e);
         }
-        return 0;
+        return DailySums.EMPTY;
     }
 }
@@ -0,0 +1,78 @@
+package com.pomodone.repository;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Cache hasil query agregat (count, sum, snapshot dashboard) dengan key SQL + parameter. Tiap hasil
+// menyimpan versi tabel yang dibacanya (TableVersions); selama tidak ada tulisan ke tabel-tabel itu
+// hasilnya dipakai lagi tanpa SQL sama sekali. Hasilnya harus immutable, dibagi ke semua pemanggil.
+public final class QueryResultCache {
+    static final int MAX_ENTRIES = 256;
+    private static QueryResultCache instance;
+
+    @FunctionalInterface
+    public interface Loader<T> {
+        T load() throws SQLException;
+    }
+
+    private final TableVersions tableVersions;
+    private final Map<Key, Entry> entries;
+    private long hits;
+    private long misses;
+
+    QueryResultCache(TableVersions tableVersions, int maxEntries) {
+        this.tableVersions = tableVersions;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public static synchronized QueryResultCache getInstance() {
+        if (instance == null) {
+            instance = new QueryResultCache(TableVersions.getInstance(), MAX_ENTRIES);
+        }
+        return instance;
+    }
+
+    // tables = semua tabel yang dibaca sql; versinya diambil sebelum query jalan, jadi tulisan yang
+    // selesai di tengah query bikin hasil ini langsung dianggap basi di pemanggilan berikutnya
+    @SuppressWarnings("unchecked")
+    public <T> T get(String sql, List<Object> params, List<String> tables, Loader<T> loader) throws SQLException {
+        Key key = new Key(sql, params);
+        long[] seen = new long[tables.size()];
+        for (int i = 0; i < seen.length; i++) {
+            seen[i] = tableVersions.version(tables.get(i));
+        }
+        synchronized (this) {
+            Entry cached = entries.get(key);
+            if (cached != null && Arrays.equals(cached.versions, seen)) {
+                hits++;
+                return (T) cached.value;
+            }
+            misses++;
+        }
+        T value = loader.load();
+        synchronized (this) {
+            entries.put(key, new Entry(value, seen));
+        }
+        return value;
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    private record Key(String sql, List<Object> params) {}
+
+    private record Entry(Object value, long[] versions) {}
+}
@@ -0,0 +1,171 @@
+package com.pomodone.repository;
+
+import com.pomodone.config.SqlDialect;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Scan query besar tanpa menampung semua baris. Thread "pomodone-stream" membaca cursor forward-only
+// (fetchSize terbatas) dan memetakan baris ke antrean terbatas; consumer jalan di thread pemanggil. Kalau
+// consumer lambat antrean penuh dan pembaca berhenti menunggu (back-pressure), jadi memori tetap
+// ~QUEUE_CAPACITY + FETCH_SIZE baris berapa pun jumlah barisnya. Postgres baru benar-benar pakai cursor
+// kalau autocommit mati; SQLite memang melangkah per baris, fetchSize cuma petunjuk.
+final class RowStreamer {
+    static final int FETCH_SIZE = 500;
+    static final int QUEUE_CAPACITY = 1000;
+    private static final long OFFER_POLL_MILLIS = 50;
+    private static final Object END = new Object();
+
+    @FunctionalInterface
+    interface ConnectionSource {
+        Connection open() throws SQLException;
+    }
+
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    private record Failure(Throwable error) {}
+
+    private RowStreamer() {
+    }
+
+    // return jumlah baris yang diterima consumer; exception dari consumer diteruskan apa adanya setelah
+    // pembaca dihentikan dan koneksinya ditutup
+    @SuppressWarnings("unchecked")
+    static <T> long stream(ConnectionSource source, SqlDialect dialect, String sql, List<Object> params,
+                           RowMapper<T> mapper, Consumer<? super T> consumer, int queueCapacity) throws SQLException {
+        BlockingQueue<Object> queue = new ArrayBlockingQueue<>(queueCapacity);
+        Reader<T> reader = new Reader<>(source, dialect, sql, params, mapper, queue);
+        Thread thread = new Thread(reader, "pomodone-stream");
+        thread.setDaemon(true);
+        thread.start();
+
+        long count = 0;
+        boolean finished = false;
+        try {
+            while (true) {
+                Object item = queue.take();
+                if (item == END) {
+                    finished = true;
+                    return count;
+                }
+                if (item instanceof Failure failure) {
+                    finished = true;
+                    if (failure.error() instanceof SQLException e) {
+                        throw e;
+                    }
+                    if (failure.error() instanceof Error e) {
+                        throw e;
+                    }
+                    throw (RuntimeException) failure.error();
+                }
+                consumer.accept((T) item);
+                count++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new com.pomodone.exception.DatabaseException("Stream baris dibatalkan", e);
+        } finally {
+            if (!finished) {
+                // consumer gagal/dibatalkan: hentikan pembaca dan tunggu koneksinya kembali ke pool
+                reader.cancelled = true;
+                queue.clear();
+                joinQuietly(thread);
+            }
+        }
+    }
+
+    private static void joinQuietly(Thread thread) {
+        boolean interrupted = Thread.interrupted();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            interrupted = true;
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static final class Reader<T> implements Runnable {
+        private final ConnectionSource source;
+        private final SqlDialect dialect;
+        private final String sql;
+        private final List<Object> params;
+        private final RowMapper<T> mapper;
+        private final BlockingQueue<Object> queue;
+        volatile boolean cancelled;
+
+        Reader(ConnectionSource source, SqlDialect dialect, String sql, List<Object> params,
+               RowMapper<T> mapper, BlockingQueue<Object> queue) {
+            this.source = source;
+            this.dialect = dialect;
+            this.sql = sql;
+            this.params = params;
+            this.mapper = mapper;
+            this.queue = queue;
+        }
+
+        @Override
+        public void run() {
+            Object last = END;
+            try (Connection conn = source.open()) {
+                boolean cursorTransaction = dialect == SqlDialect.POSTGRES && conn.getAutoCommit();
+                if (cursorTransaction) {
+                    conn.setAutoCommit(false);
+                }
+                try {
+                    readAll(conn);
+                } finally {
+                    if (cursorTransaction) {
+                        conn.rollback(); // cuma baca, tidak ada yang perlu di-commit
+                        conn.setAutoCommit(true);
+                    }
+                }
+            } catch (SQLException | RuntimeException | Error e) {
+                // apa pun yang gagal harus sampai ke pemanggil, kalau tidak dia menunggu selamanya
+                last = new Failure(e);
+            }
+            offer(last);
+        }
+
+        private void readAll(Connection conn) throws SQLException {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY)) {
+                pstmt.setFetchSize(FETCH_SIZE);
+                TaskRepository.bindParams(pstmt, params);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (!cancelled && rs.next()) {
+                        if (!offer(mapper.map(rs))) {
+                            return;
+                        }
+                    }
+                }
+            }
+        }
+
+        // false kalau pemanggil sudah berhenti menunggu
+        private boolean offer(Object item) {
+            try {
+                while (!cancelled) {
+                    if (queue.offer(item, OFFER_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+    }
+}
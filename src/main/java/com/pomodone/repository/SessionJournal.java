@@ -0,0 +1,346 @@
+package com.pomodone.repository;
+
+import com.pomodone.config.DatabaseConfig;
+import com.pomodone.model.pomodoro.PomodoroMode;
+import com.pomodone.model.pomodoro.SessionRecord;
+import com.pomodone.model.pomodoro.SessionStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Journal lokal buat sesi pomodoro: sesi ditulis dulu ke file append-only (di-fsync) baru dikirim ke DB
+// oleh thread worker sendiri, jadi timer tidak pernah nunggu DB dan sesi tidak hilang walau DB mati atau
+// app crash. Tiap sesi punya clientRef; kalau DB sudah commit, ditulis baris ack. Waktu start, sesi tanpa
+// ack dikirim ulang, dan DB mengabaikan clientRef yang sudah ada (replay idempotent).
+//
+// Format per baris (tab-separated):
+//   S <ref> <user> <task|-> <mulai> <selesai> <durasi> <pause_detik> <pause_count> <mode> <status>
+//   A <ref>
+public class SessionJournal {
+    private static final Logger log = LoggerFactory.getLogger(SessionJournal.class);
+    static final String FILE_NAME = "session-journal.log";
+    static final String REJECTED_SUFFIX = ".rejected";
+    private static final int MAX_BATCH = 64;
+    private static final Duration MIN_RETRY = Duration.ofSeconds(1);
+    private static final Duration MAX_RETRY = Duration.ofMinutes(1);
+    private static SessionJournal instance;
+
+    // tujuan akhir sesi; future selesai setelah sesinya ter-commit
+    @FunctionalInterface
+    public interface Sink {
+        CompletableFuture<Void> write(SessionRecord session);
+    }
+
+    private final Path file;
+    private final Path rejectedFile;
+    private final Sink sink;
+    // urutan masuk dipertahankan, sesi lama dikirim duluan
+    private final Map<String, SessionRecord> pending = new LinkedHashMap<>();
+    private final Semaphore wakeup = new Semaphore(0);
+    private FileChannel channel;
+    private Thread worker;
+    private volatile boolean running;
+
+    public SessionJournal(Path file, Sink sink) {
+        this.file = Objects.requireNonNull(file);
+        this.rejectedFile = file.resolveSibling(file.getFileName() + REJECTED_SUFFIX);
+        this.sink = Objects.requireNonNull(sink);
+        replay();
+    }
+
+    public static synchronized SessionJournal getInstance() {
+        if (instance == null) {
+            PomodoroSessionRepository repository = new PomodoroSessionRepository();
+            instance = new SessionJournal(DatabaseConfig.defaultDataDir().resolve(FILE_NAME), repository::insertSession);
+            instance.start();
+        }
+        return instance;
+    }
+
+    public synchronized void start() {
+        if (worker != null) return;
+        running = true;
+        worker = new Thread(this::runLoop, "pomodone-session-journal");
+        worker.setDaemon(true);
+        worker.start();
+        wakeup.release(); // sisa journal dari run sebelumnya langsung dikirim
+    }
+
+    // Balik setelah sesi aman di disk, DB-nya menyusul di background
+    public void append(SessionRecord session) {
+        try {
+            synchronized (this) {
+                write(encode(session));
+                pending.put(session.getClientRef(), session);
+            }
+            wakeup.release();
+        } catch (IOException e) {
+            // journal tidak bisa ditulis (disk penuh/permission): masih lebih baik langsung ke DB daripada hilang
+            log.error("Gagal menulis journal sesi, sesi {} dikirim langsung ke database", session.getClientRef(), e);
+            sink.write(session).exceptionally(error -> {
+                log.error("Sesi {} gagal disimpan", session.getClientRef(), error);
+                return null;
+            });
+        }
+    }
+
+    public synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    // Kirim satu batch ke sink dan tunggu hasilnya. Return jumlah sesi yang gagal sementara (perlu dicoba lagi).
+    int drainOnce() {
+        List<SessionRecord> batch;
+        synchronized (this) {
+            batch = new ArrayList<>(pending.values()).subList(0, Math.min(MAX_BATCH, pending.size()));
+        }
+        if (batch.isEmpty()) return 0;
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(batch.size());
+        for (SessionRecord session : batch) {
+            try {
+                futures.add(sink.write(session));
+            } catch (RuntimeException e) {
+                // mis. DatabaseConfig gagal bootstrap
+                futures.add(CompletableFuture.failedFuture(e));
+            }
+        }
+
+        List<String> done = new ArrayList<>();
+        List<SessionRecord> rejected = new ArrayList<>();
+        int failed = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            SessionRecord session = batch.get(i);
+            try {
+                futures.get(i).join();
+                done.add(session.getClientRef());
+            } catch (CompletionException e) {
+                if (PomodoroSessionRepository.isConstraintViolation(e)) {
+                    // dicoba ulang pun tetap ditolak DB: dipindah ke file terpisah biar tidak mengganjal antrean
+                    log.error("Sesi {} ditolak database, dipindah ke {}", session.getClientRef(), rejectedFile, e.getCause());
+                    rejected.add(session);
+                } else {
+                    failed++;
+                }
+            }
+        }
+        acknowledge(done, rejected);
+        return failed;
+    }
+
+    public void shutdown(long timeoutMillis) {
+        Thread current;
+        synchronized (this) {
+            running = false;
+            current = worker;
+        }
+        wakeup.release(); // worker coba kirim sekali lagi lalu berhenti
+        if (current != null) {
+            try {
+                current.join(timeoutMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            if (!pending.isEmpty()) {
+                log.info("{} sesi masih di journal, dikirim waktu app dibuka lagi", pending.size());
+            }
+            closeChannel();
+        }
+    }
+
+    private void runLoop() {
+        long retryMillis = 0;
+        while (true) {
+            try {
+                if (retryMillis > 0) {
+                    // DB lagi bermasalah: tunggu dulu (atau sampai ada sesi baru/shutdown), sesi tetap aman di journal
+                    wakeup.tryAcquire(retryMillis, TimeUnit.MILLISECONDS);
+                } else {
+                    wakeup.acquire();
+                }
+                wakeup.drainPermits();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            boolean last = !running;
+            int failed;
+            int before;
+            do {
+                before = pendingCount();
+                failed = drainOnce();
+            } while (failed == 0 && !last && pendingCount() > 0 && pendingCount() < before);
+            if (last) return;
+            if (failed > 0) {
+                retryMillis = retryMillis == 0 ? MIN_RETRY.toMillis() : Math.min(retryMillis * 2, MAX_RETRY.toMillis());
+                log.warn("{} sesi belum tersimpan ke database, dicoba lagi dalam {} ms", failed, retryMillis);
+            } else {
+                retryMillis = 0;
+            }
+        }
+    }
+
+    private synchronized void acknowledge(List<String> done, List<SessionRecord> rejected) {
+        if (done.isEmpty() && rejected.isEmpty()) return;
+        try {
+            for (SessionRecord session : rejected) {
+                appendRejected(session);
+                done.add(session.getClientRef());
+            }
+            StringBuilder acks = new StringBuilder();
+            for (String ref : done) {
+                acks.append("A\t").append(ref).append('\n');
+            }
+            write(acks.toString());
+            done.forEach(pending::remove);
+            if (pending.isEmpty()) {
+                // semua sudah di DB, journal bisa dikosongkan biar tidak tumbuh terus
+                channel.truncate(0);
+                channel.force(true);
+            }
+        } catch (IOException e) {
+            // ack tidak tertulis: sesi dikirim ulang nanti dan diabaikan DB, tidak dobel
+            log.warn("Gagal menulis ack journal sesi", e);
+        }
+    }
+
+    private void appendRejected(SessionRecord session) throws IOException {
+        try (FileChannel out = FileChannel.open(rejectedFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            out.write(ByteBuffer.wrap(encode(session).getBytes(StandardCharsets.UTF_8)));
+            out.force(true);
+        }
+    }
+
+    private void write(String lines) throws IOException {
+        if (channel == null) {
+            throw new IOException("Journal sesi sudah ditutup");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    // Baca journal lama, lalu tulis ulang cuma sesi yang belum di-ack (lewat file sementara + rename atomic)
+    private void replay() {
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            if (dir != null) {
+                Files.createDirectories(dir);
+            }
+            if (Files.exists(file)) {
+                String content = Files.readString(file, StandardCharsets.UTF_8);
+                String[] lines = content.split("\n", -1);
+                // baris terakhir tanpa newline = tulisan yang terpotong crash, dibuang
+                for (int i = 0; i < lines.length - 1; i++) {
+                    readLine(lines[i]);
+                }
+                if (!lines[lines.length - 1].isEmpty()) {
+                    log.warn("Baris terakhir journal sesi terpotong, diabaikan");
+                }
+                compact();
+                if (!pending.isEmpty()) {
+                    log.info("{} sesi dari journal belum tersimpan ke database, dikirim ulang", pending.size());
+                }
+            }
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            log.error("Journal sesi {} tidak bisa dibuka, sesi langsung dikirim ke database", file, e);
+        }
+    }
+
+    private void readLine(String line) {
+        try {
+            if (line.startsWith("S\t")) {
+                SessionRecord session = decode(line);
+                pending.put(session.getClientRef(), session);
+            } else if (line.startsWith("A\t")) {
+                pending.remove(line.substring(2));
+            } else if (!line.isEmpty()) {
+                log.warn("Baris journal sesi tidak dikenal: {}", line);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Baris journal sesi rusak, diabaikan: {}", line, e);
+        }
+    }
+
+    private void compact() throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        StringBuilder content = new StringBuilder();
+        for (SessionRecord session : pending.values()) {
+            content.append(encode(session));
+        }
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            out.write(ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8)));
+            out.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void closeChannel() {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Gagal menutup journal sesi", e);
+        }
+        channel = null;
+    }
+
+    static String encode(SessionRecord session) {
+        return String.join("\t",
+                "S",
+                session.getClientRef(),
+                Long.toString(session.getUserId()),
+                session.getTaskId() == null ? "-" : session.getTaskId().toString(),
+                session.getStartedAt().toString(),
+                session.getEndedAt().toString(),
+                Long.toString(session.getDurationSeconds()),
+                Long.toString(session.getPausedSeconds()),
+                Integer.toString(session.getPauseCount()),
+                session.getMode().name(),
+                session.getStatus().name()) + "\n";
+    }
+
+    static SessionRecord decode(String line) {
+        String[] fields = line.split("\t", -1);
+        if (fields.length != 11 || !"S".equals(fields[0])) {
+            throw new IllegalArgumentException("Jumlah kolom journal tidak cocok: " + fields.length);
+        }
+        return new SessionRecord(
+                fields[1],
+                Long.parseLong(fields[2]),
+                "-".equals(fields[3]) ? null : Long.valueOf(fields[3]),
+                LocalDateTime.parse(fields[4]),
+                LocalDateTime.parse(fields[5]),
+                Long.parseLong(fields[6]),
+                Long.parseLong(fields[7]),
+                Integer.parseInt(fields[8]),
+                PomodoroMode.valueOf(fields[9]),
+                SessionStatus.valueOf(fields[10]));
+    }
+}
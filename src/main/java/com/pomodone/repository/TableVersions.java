@@ -0,0 +1,54 @@
+package com.pomodone.repository;
+
+import com.pomodone.util.WTinyLfuCache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Nomor versi per tabel. Tiap jalur tulis di repository menaikkan versi tabel yang disentuhnya setelah
+// tulisannya selesai; QueryResultCache mengingat versi tabel yang dibaca tiap hasil query, jadi hasil yang
+// tabelnya sudah berubah tidak pernah tersaji lagi.
+public final class TableVersions {
+    public static final String TASKS = "tasks";
+    public static final String USERS = "users";
+    public static final String POMODORO_SESSIONS = "pomodoro_sessions";
+    public static final String POMODORO_DAILY_STATS = "pomodoro_daily_stats";
+    public static final String POMODORO_CUSTOM_PRESETS = "pomodoro_custom_presets";
+
+    private static final TableVersions INSTANCE = new TableVersions();
+
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    // buat test; app pakai getInstance()
+    TableVersions() {}
+
+    public static TableVersions getInstance() {
+        return INSTANCE;
+    }
+
+    // dipanggil setelah commit (juga kalau tulisannya gagal: lebih baik baca ulang daripada basi)
+    public void bump(String... tables) {
+        for (String table : tables) {
+            versions.computeIfAbsent(table, name -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    public long version(String table) {
+        AtomicLong version = versions.get(table);
+        return version != null ? version.get() : 0;
+    }
+
+    // Simpan hasil baca ke cache kalau tabelnya tidak berubah sejak `version` (dibaca sebelum query). Jalur
+    // tulis bump dulu baru invalidate, jadi versi dicek lagi setelah put: update yang lewat di antara cek dan
+    // put entah sempat membuang entry ini, entah ketahuan di cek kedua dan entry-nya dibuang di sini.
+    public <K, V> void putIfUnchanged(WTinyLfuCache<K, V> cache, String table, long version, K key, V value) {
+        if (version(table) != version) {
+            return;
+        }
+        cache.put(key, value);
+        if (version(table) != version) {
+            cache.invalidate(key);
+        }
+    }
+}
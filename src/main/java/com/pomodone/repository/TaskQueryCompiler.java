@@ -0,0 +1,220 @@
+package com.pomodone.repository;
+
+import com.pomodone.config.SqlDialect;
+import com.pomodone.model.task.TaskQuery;
+import com.pomodone.model.task.TaskStatus;
+import com.pomodone.util.SortDirection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Nerjemahin TaskQuery jadi SQL berparameter, urutannya disamain dengan TaskSortStrategy
+final class TaskQueryCompiler {
+    static final String DUE_NULLS_LAST = "CASE WHEN tenggat_tugas IS NULL THEN 1 ELSE 0 END";
+    static final String DIFFICULTY_RANK = "CASE tingkat_kesulitan WHEN 'MUDAH' THEN 1 WHEN 'SEDANG' THEN 2 ELSE 3 END";
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    record SortKey(String expression, boolean ascending) {
+        String render() {
+            return expression + (ascending ? " ASC" : " DESC");
+        }
+    }
+
+    record CompiledQuery(String sql, List<Object> params) {}
+
+    private TaskQueryCompiler() {
+    }
+
+    static CompiledQuery compile(TaskQuery query, SqlDialect dialect) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(TaskRows.SELECT_FROM);
+
+        List<String> conditions = filterConditions(query, dialect, params);
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+
+        sql.append(" ORDER BY ").append(renderOrderBy(sortKeys(query)));
+
+        if (query.getLimit() != null || query.getOffset() > 0) {
+            // SQLite wajib ada LIMIT sebelum OFFSET, jadi pakai batas maksimum kalau limit kosong
+            sql.append(" LIMIT ?");
+            params.add(query.getLimit() != null ? query.getLimit() : Integer.MAX_VALUE);
+        }
+        if (query.getOffset() > 0) {
+            sql.append(" OFFSET ?");
+            params.add(query.getOffset());
+        }
+        return new CompiledQuery(sql.toString(), params);
+    }
+
+    // Query keyset: lanjut dari cursor (nilai sort key baris terakhir) tanpa OFFSET, jadi biaya
+    // tiap halaman tetap walau sudah scroll jauh. Limit/offset di TaskQuery diabaikan, dan diambil
+    // satu baris ekstra buat tahu masih ada halaman berikutnya atau tidak.
+    static CompiledQuery compilePage(TaskQuery query, SqlDialect dialect, List<Object> after, int pageSize) {
+        List<SortKey> keys = sortKeys(query);
+        if (after != null && after.size() != keys.size()) {
+            throw new IllegalArgumentException("Cursor tidak cocok dengan urutan query");
+        }
+
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT ").append(TaskRows.COLUMNS);
+        for (int i = 0; i < keys.size(); i++) {
+            sql.append(", ").append(keys.get(i).expression()).append(" AS ").append(sortKeyAlias(i));
+        }
+        sql.append(" FROM tasks");
+
+        List<String> conditions = filterConditions(query, dialect, params);
+        if (after != null) {
+            conditions.add(seekClause(keys, after, params));
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+
+        sql.append(" ORDER BY ").append(renderOrderBy(keys));
+        sql.append(" LIMIT ?");
+        params.add(pageSize + 1);
+        return new CompiledQuery(sql.toString(), params);
+    }
+
+    static String sortKeyAlias(int index) {
+        return "sort_k" + index;
+    }
+
+    // (k0, k1, ...) > (v0, v1, ...) sesuai arah tiap key. NULL cuma muncul di tenggat_tugas,
+    // dan selalu didahului flag DUE_NULLS_LAST, jadi dalam satu grup semua NULL dianggap sama.
+    private static String seekClause(List<SortKey> keys, List<Object> after, List<Object> params) {
+        List<String> disjuncts = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            Object value = after.get(i);
+            if (value == null) {
+                continue;
+            }
+            List<String> parts = new ArrayList<>();
+            List<Object> partParams = new ArrayList<>();
+            for (int j = 0; j < i; j++) {
+                Object previous = after.get(j);
+                if (previous == null) {
+                    parts.add(keys.get(j).expression() + " IS NULL");
+                } else {
+                    parts.add(keys.get(j).expression() + " = ?");
+                    partParams.add(previous);
+                }
+            }
+            SortKey key = keys.get(i);
+            parts.add(key.expression() + (key.ascending() ? " > ?" : " < ?"));
+            partParams.add(value);
+            disjuncts.add("(" + String.join(" AND ", parts) + ")");
+            params.addAll(partParams);
+        }
+        if (disjuncts.isEmpty()) {
+            return "1 = 0";
+        }
+        return "(" + String.join(" OR ", disjuncts) + ")";
+    }
+
+    private static List<String> filterConditions(TaskQuery query, SqlDialect dialect, List<Object> params) {
+        List<String> conditions = new ArrayList<>();
+        String statusClause = statusClause(query.getStatuses());
+        if (statusClause != null) {
+            conditions.add(statusClause);
+        }
+        if (query.hasSearchText()) {
+            String searchClause = searchClause(query.getSearchText(), dialect, params);
+            if (searchClause != null) {
+                conditions.add(searchClause);
+            }
+        }
+        return conditions;
+    }
+
+    static List<SortKey> sortKeys(TaskQuery query) {
+        boolean asc = query.getDirection() != SortDirection.DESC;
+        List<SortKey> keys = new ArrayList<>();
+        switch (query.getSortField()) {
+            case TITLE -> {
+                keys.add(new SortKey("LOWER(judul_tugas)", asc));
+                addDefaultOrder(keys);
+            }
+            case DIFFICULTY -> {
+                keys.add(new SortKey(DIFFICULTY_RANK, asc));
+                addDefaultOrder(keys);
+            }
+            case DUE_DATE -> {
+                // DESC = kebalikan penuh dari ASC, sama kayak comparator.reversed() di memori
+                keys.add(new SortKey(DUE_NULLS_LAST, asc));
+                keys.add(new SortKey("tenggat_tugas", asc));
+                keys.add(new SortKey("created_at", !asc));
+                keys.add(new SortKey("id", !asc));
+            }
+        }
+        return keys;
+    }
+
+    static String renderOrderBy(List<SortKey> keys) {
+        List<String> parts = new ArrayList<>(keys.size());
+        for (SortKey key : keys) {
+            parts.add(key.render());
+        }
+        return String.join(", ", parts);
+    }
+
+    // urutan bawaan findAll, dipakai sebagai tie-breaker biar hasil stabil
+    private static void addDefaultOrder(List<SortKey> keys) {
+        keys.add(new SortKey(DUE_NULLS_LAST, true));
+        keys.add(new SortKey("tenggat_tugas", true));
+        keys.add(new SortKey("created_at", false));
+        keys.add(new SortKey("id", false));
+    }
+
+    private static String statusClause(Set<TaskStatus> statuses) {
+        if (statuses.isEmpty()) {
+            return "1 = 0";
+        }
+        if (statuses.size() == TaskStatus.values().length) {
+            return null;
+        }
+
+        // kolom status sudah dijaga OverdueSweeper (TERLAMBAT ditulis pas tenggat lewat), jadi tidak perlu cek tenggat lagi
+        List<String> names = new ArrayList<>();
+        for (TaskStatus status : statuses) {
+            names.add("'" + status.name() + "'");
+        }
+        return names.size() == 1 ? "status = " + names.get(0) : "status IN (" + String.join(", ", names) + ")";
+    }
+
+    private static String searchClause(String searchText, SqlDialect dialect, List<Object> params) {
+        String match = matchExpression(searchText, dialect);
+        if (match == null) {
+            // isinya cuma tanda baca, tidak ada kata yang bisa dicari
+            return null;
+        }
+        params.add(match);
+        if (dialect == SqlDialect.POSTGRES) {
+            return "search_vector @@ to_tsquery('simple', ?)";
+        }
+        return "tasks.id IN (SELECT rowid FROM tasks_fts WHERE tasks_fts MATCH ?)";
+    }
+
+    // Tiap kata jadi prefix match dan semua kata wajib ada: "poli ora" -> "poli"* "ora"* (FTS5)
+    // atau poli:* & ora:* (tsquery). Kata cuma huruf/angka, jadi sintaks query tidak bisa disusupi.
+    static String matchExpression(String searchText, SqlDialect dialect) {
+        if (searchText == null) {
+            return null;
+        }
+        List<String> terms = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(searchText.toLowerCase())) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            terms.add(dialect == SqlDialect.POSTGRES ? token + ":*" : "\"" + token + "\"*");
+        }
+        if (terms.isEmpty()) {
+            return null;
+        }
+        return String.join(dialect == SqlDialect.POSTGRES ? " & " : " ", terms);
+    }
+}
@@ -4,51 +4,79 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
 
 import com.pomodone.config.DatabaseConfig;
+import com.pomodone.config.SqlDialect;
 import com.pomodone.model.task.Task;
-import com.pomodone.model.task.TaskDifficulty;
-import com.pomodone.model.task.TaskStatus;
+import com.pomodone.model.task.TaskPage;
+import com.pomodone.model.task.TaskPageCursor;
+import com.pomodone.model.task.TaskQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList; 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public class TaskRepository {
     private static final Logger log = LoggerFactory.getLogger(TaskRepository.class);
 
-    private static final String COLUMN_ID = "id";
-    private static final String COLUMN_TITLE = "judul_tugas";
-    private static final String COLUMN_DESCRIPTION = "deskripsi_tugas";
-    private static final String COLUMN_DUE_DATE = "tenggat_tugas";
-    private static final String COLUMN_DIFFICULTY = "tingkat_kesulitan";
-    private static final String COLUMN_STATUS = "status";
-    private static final String COLUMN_CREATED_AT = "created_at";
-    private static final String COLUMN_UPDATED_AT = "updated_at";
-    private static final String SELECT_ALL = "SELECT * FROM ";
+    // package-private supaya TaskQueryPlanTest bisa EXPLAIN query yang persis sama
+    static final String FIND_BY_ID_SQL = TaskRows.SELECT_FROM + " WHERE id = ?";
+    static final String FIND_BY_TITLE_SQL = TaskRows.SELECT_FROM + " WHERE judul_tugas = ?";
+    static final String FIND_ALL_SQL = TaskRows.SELECT_FROM + """
+        ORDER BY CASE WHEN tenggat_tugas IS NULL THEN 1 ELSE 0 END, tenggat_tugas ASC, created_at DESC, id DESC
+    """;
+    static final String COUNT_ACTIVE_SQL = "SELECT COUNT(*) FROM tasks WHERE status <> 'SELESAI'";
+    static final String COUNT_COMPLETED_SQL = "SELECT COUNT(*) FROM tasks WHERE status = 'SELESAI'";
+    static final String COUNT_COMPLETED_ON_TIME_SQL = """
+        SELECT COUNT(*) FROM tasks
+        WHERE status = 'SELESAI'
+          AND (tenggat_tugas IS NULL OR updated_at <= tenggat_tugas)
+    """;
+    static final String FIND_TOP_BY_DUE_SQL = TaskRows.SELECT_FROM +
+            " WHERE status <> 'SELESAI' ORDER BY CASE WHEN tenggat_tugas IS NULL THEN 1 ELSE 0 END, tenggat_tugas ASC, created_at DESC LIMIT ?";
+    // dua-duanya lewat index (status, tenggat), jadi OverdueSweeper tidak pernah scan seluruh tabel
+    // di SQLite tenggat selalu INTEGER millis (V9), sama dengan yang di-bind setTimestamp
+    static final String MARK_OVERDUE_SQL = """
+        UPDATE tasks SET status = 'TERLAMBAT'
+        WHERE status = 'BELUM_SELESAI' AND tenggat_tugas < ?
+    """;
+    static final String NEXT_DUE_SQL =
+            "SELECT MIN(tenggat_tugas) FROM tasks WHERE status = 'BELUM_SELESAI' AND tenggat_tugas >= ?";
+    // keyset (tenggat, id) lewat idx_tasks_pending_due: tiap halaman cuma baca baris yang dikembalikan
+    static final String FIND_PENDING_DUE_AFTER_SQL = TaskRows.SELECT_FROM + """
+        WHERE status = 'BELUM_SELESAI' AND (tenggat_tugas, id) > (?, ?)
+        ORDER BY tenggat_tugas, id
+        LIMIT ?
+    """;
+    // bm25 makin kecil makin relevan; judul dibobot 10x deskripsi
+    static final String SEARCH_SQLITE_SQL = "SELECT " + TaskRows.COLUMNS + """
+        FROM tasks_fts
+        JOIN tasks ON tasks.id = tasks_fts.rowid
+        WHERE tasks_fts MATCH ?
+        ORDER BY bm25(tasks_fts, 10.0, 1.0), tasks.id DESC
+        LIMIT ?
+    """;
+    static final String SEARCH_POSTGRES_SQL = TaskRows.SELECT_FROM + """
+        WHERE search_vector @@ to_tsquery('simple', ?)
+        ORDER BY ts_rank(search_vector, to_tsquery('simple', ?)) DESC, id DESC
+        LIMIT ?
+    """;
 
     public Task findById(long id) {
-        String sql = SELECT_ALL +"tasks WHERE id = ?";
+        String sql = FIND_BY_ID_SQL;
 
         try (Connection conn = DatabaseConfig.getInstance().getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setLong(1, id);
 
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    Timestamp due = rs.getTimestamp(COLUMN_DUE_DATE);
-                    return Task.builder()
-                            .id(rs.getLong(COLUMN_ID))
-                            .title(rs.getString(COLUMN_TITLE))
-                            .description(rs.getString(COLUMN_DESCRIPTION))
-                            .dueDate(due != null ? due.toLocalDateTime() : null)
-                            .difficulty(TaskDifficulty.valueOf(rs.getString(COLUMN_DIFFICULTY)))
-                            .status(TaskStatus.valueOf(rs.getString(COLUMN_STATUS)))
-                            .createdAt(rs.getTimestamp(COLUMN_CREATED_AT).toLocalDateTime())
-                            .updatedAt(rs.getTimestamp(COLUMN_UPDATED_AT).toLocalDateTime())
-                            .build();
+                    return TaskRows.map(rs);
                 }
             }
 
@@ -60,28 +88,28 @@ public class TaskRepository {
     }
 
     
-    public void save(Task task) {
-        String sql = "INSERT INTO tasks (judul_tugas, deskripsi_tugas, tenggat_tugas, tingkat_kesulitan, status, created_at, updated_at)" +
-                     "VALUES(?, ?, ?, ?, ?, ?, ?)";
-    
-        try (Connection conn = DatabaseConfig.getInstance().getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, task.getTitle());
-            pstmt.setString(2, task.getDescription());
-            pstmt.setTimestamp(3, task.getDueDate() != null ? Timestamp.valueOf(task.getDueDate()) : null);
-            pstmt.setString(4, task.getDifficulty().name());
-            pstmt.setString(5, task.getStatus().name());
-            pstmt.setTimestamp(6, Timestamp.valueOf(task.getCreatedAt()));
-            pstmt.setTimestamp(7, Timestamp.valueOf(task.getUpdatedAt()));
-
-            pstmt.executeUpdate();
+    // return id task yang baru dibuat
+    public long save(Task task) {
+        try {
+            return DatabaseConfig.getInstance().getWriter().submitAndWait(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(TaskRows.INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                    TaskRows.bindInsert(pstmt, 1, task);
+                    pstmt.executeUpdate();
+                    try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                        return keys.next() ? keys.getLong(1) : 0L;
+                    }
+                }
+            });
         } catch (SQLException e) {
             throw new com.pomodone.exception.DatabaseException("Gagal menyimpan tugas ke dalam Database", e);
+        } finally {
+            TableVersions.getInstance().bump(TableVersions.TASKS);
         }
     } 
 
 
     public Optional<Task> findByTitle(String title) {
-        String sql = SELECT_ALL + "tasks WHERE judul_tugas = ?";
+        String sql = FIND_BY_TITLE_SQL;
 
         try (Connection conn = DatabaseConfig.getInstance().getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
@@ -89,16 +117,7 @@ public class TaskRepository {
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    Task found = Task.builder()
-                                .id(rs.getLong(COLUMN_ID))
-                                .title(rs.getString(COLUMN_TITLE))
-                                .description(rs.getString(COLUMN_DESCRIPTION))
-                                .dueDate(rs.getTimestamp(COLUMN_DUE_DATE) != null ? rs.getTimestamp(COLUMN_DUE_DATE).toLocalDateTime() : null)
-                                .difficulty(TaskDifficulty.valueOf(rs.getString(COLUMN_DIFFICULTY)))
-                                .status(TaskStatus.valueOf(rs.getString(COLUMN_STATUS)))
-                                .createdAt(rs.getTimestamp(COLUMN_CREATED_AT).toLocalDateTime())
-                                .updatedAt(rs.getTimestamp(COLUMN_UPDATED_AT).toLocalDateTime())
-                                .build();
+                    Task found = TaskRows.map(rs);
 
                     return Optional.of(found);
                 }
@@ -114,28 +133,12 @@ public class TaskRepository {
 
 
     public List<Task> findAll() {
-        String sql = SELECT_ALL + """
-            tasks
-            ORDER BY CASE 
-            WHEN tenggat_tugas IS NULL 
-            THEN 1 ELSE 0 END, tenggat_tugas ASC, created_at DESC
-        """;
+        String sql = FIND_ALL_SQL;
         List<Task> taskList = new ArrayList<>();
 
         try (Connection conn = DatabaseConfig.getInstance().getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql); ResultSet rs = pstmt.executeQuery()) {
             while (rs.next()) {
-                Task task = Task.builder()
-                            .id(rs.getLong(COLUMN_ID))
-                            .title(rs.getString(COLUMN_TITLE))
-                            .description(rs.getString(COLUMN_DESCRIPTION))
-                            .dueDate(rs.getTimestamp(COLUMN_DUE_DATE) != null ? rs.getTimestamp(COLUMN_DUE_DATE).toLocalDateTime() : null)
-                            .difficulty(TaskDifficulty.valueOf(rs.getString(COLUMN_DIFFICULTY)))
-                            .status(TaskStatus.valueOf(rs.getString(COLUMN_STATUS)))
-                            .createdAt(rs.getTimestamp(COLUMN_CREATED_AT).toLocalDateTime())
-                            .updatedAt(rs.getTimestamp(COLUMN_UPDATED_AT).toLocalDateTime())
-                            .build();
-
-                taskList.add(task);
+                taskList.add(TaskRows.map(rs));
             }
         } catch (SQLException e) {
             throw new com.pomodone.exception.DatabaseException("Gagal memuat database.", e);
@@ -147,13 +150,19 @@ public class TaskRepository {
     public void delete (int id){
         String query = "DELETE FROM tasks WHERE id = ?";
 
-         try (Connection conn = DatabaseConfig.getInstance().getConnection(); PreparedStatement stmt = conn.prepareStatement(query)) {
-            stmt.setInt(1, id);
-            stmt.executeUpdate();
+         try {
+            DatabaseConfig.getInstance().getWriter().submitAndWait(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                    stmt.setInt(1, id);
+                    return stmt.executeUpdate();
+                }
+            });
 
             log.info("Task {} berhasil dihapus", id);
         } catch (Exception e){
             throw new com.pomodone.exception.DatabaseException("Gagal menghapus task " + id, e);
+        } finally {
+            TableVersions.getInstance().bump(TableVersions.TASKS);
         }
 
     }
@@ -167,105 +176,126 @@ public class TaskRepository {
         }
 
         // 2. Gabungkan field lama + baru
-        Task mergedTask = oldTask.withUpdatedFields(updatedTask);
-
-        
-        String sql = """
-            UPDATE tasks SET 
-                judul_tugas = ?, 
-                deskripsi_tugas = ?, 
-                tenggat_tugas = ?, 
-                tingkat_kesulitan = ?, 
-                status = ?, 
-                updated_at = ?
-            WHERE id = ?
-        """;
+        writeUpdate(oldTask.withUpdatedFields(updatedTask));
+    }
 
-        try (Connection conn = DatabaseConfig.getInstance().getConnection(); PreparedStatement stmt = conn.prepareStatement(sql)) {
+    // tulis task yang sudah digabung apa adanya, tanpa baca ulang (CachingTaskRepository sudah punya data lamanya)
+    void writeUpdate(Task mergedTask) {
+        try {
+            DatabaseConfig.getInstance().getWriter().submitAndWait(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(TaskRows.UPDATE_SQL)) {
+                    TaskRows.bindUpdate(stmt, 1, mergedTask);
+                    return stmt.executeUpdate();
+                }
+            });
 
-            stmt.setString(1, mergedTask.getTitle());
-            stmt.setString(2, mergedTask.getDescription());
-            Timestamp dueTimestamp = mergedTask.getDueDate() != null ? Timestamp.valueOf(mergedTask.getDueDate()) : null;
-            stmt.setTimestamp(3, dueTimestamp);
-            stmt.setString(4, mergedTask.getDifficulty().name());
-            stmt.setString(5, mergedTask.getStatus().name());
-            stmt.setTimestamp(6, Timestamp.valueOf(mergedTask.getUpdatedAt()));
-            stmt.setLong(7, mergedTask.getId());
+        } catch (SQLException e) {
+            throw new com.pomodone.exception.DatabaseException("Gagal update task " + mergedTask.getId(), e);
+        } finally {
+            TableVersions.getInstance().bump(TableVersions.TASKS);
+        }
+    }
 
-            stmt.executeUpdate();
+    public int countActiveTasks() {
+        return countTasks(COUNT_ACTIVE_SQL, "Gagal menghitung task aktif");
+    }
 
+    public int countCompletedTasks() {
+        return countTasks(COUNT_COMPLETED_SQL, "Gagal menghitung task selesai");
+    }
+
+    public int countCompletedOnTimeTasks() {
+        return countTasks(COUNT_COMPLETED_ON_TIME_SQL, "Gagal menghitung task selesai tepat waktu");
+    }
+
+    // hasil count dipakai lagi sampai ada tulisan ke tabel tasks
+    private int countTasks(String sql, String errorMessage) {
+        try {
+            return QueryResultCache.getInstance().get(sql, List.of(), List.of(TableVersions.TASKS), () -> {
+                try (Connection conn = DatabaseConfig.getInstance().getConnection();
+                     PreparedStatement pstmt = conn.prepareStatement(sql);
+                     ResultSet rs = pstmt.executeQuery()) {
+                    return rs.next() ? rs.getInt(1) : 0;
+                }
+            });
         } catch (SQLException e) {
-            throw new com.pomodone.exception.DatabaseException("Gagal update task " + updatedTask.getId(), e);
+            throw new com.pomodone.exception.DatabaseException(errorMessage, e);
         }
     }
 
-    public int countActiveTasks() {
-        String sql = "SELECT COUNT(*) FROM tasks WHERE status <> 'SELESAI'";
-        try (Connection conn = DatabaseConfig.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql);
-             ResultSet rs = pstmt.executeQuery()) {
-            if (rs.next()) {
-                return rs.getInt(1);
-            }
-        } catch (SQLException e)  {
-            throw new com.pomodone.exception.DatabaseException("Gagal menghitung task aktif", e);
+    // tandai semua task belum selesai yang tenggatnya sudah lewat, satu UPDATE; return jumlah baris yang berubah
+    public int markOverdue(LocalDateTime now) {
+        try {
+            return DatabaseConfig.getInstance().getWriter().submitAndWait(conn -> markOverdue(conn, now));
+        } catch (SQLException e) {
+            throw new com.pomodone.exception.DatabaseException("Gagal menandai task terlambat", e);
+        } finally {
+            TableVersions.getInstance().bump(TableVersions.TASKS);
         }
-        return 0;
     }
 
-    public int countCompletedTasks() {
-        String sql = "SELECT COUNT(*) FROM tasks WHERE status = 'SELESAI'";
-        try (Connection conn = DatabaseConfig.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql);
-             ResultSet rs = pstmt.executeQuery()) {
-            if (rs.next()) {
-                return rs.getInt(1);
-            }
+    static int markOverdue(Connection conn, LocalDateTime now) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(MARK_OVERDUE_SQL)) {
+            pstmt.setTimestamp(1, Timestamp.valueOf(now));
+            return pstmt.executeUpdate();
+        }
+    }
+
+    // tenggat terdekat dari task yang belum selesai (dan belum lewat), kosong kalau tidak ada
+    public Optional<LocalDateTime> findNextDueDate(LocalDateTime now) {
+        try (Connection conn = DatabaseConfig.getInstance().getConnection()) {
+            return findNextDueDate(conn, now);
         } catch (SQLException e) {
-            throw new com.pomodone.exception.DatabaseException("Gagal menghitung task selesai", e);
+            throw new com.pomodone.exception.DatabaseException("Gagal mencari tenggat terdekat", e);
         }
-        return 0;
     }
 
-    public int countCompletedOnTimeTasks() {
-        String sql = """
-            SELECT COUNT(*) FROM tasks
-            WHERE status = 'SELESAI'
-              AND (tenggat_tugas IS NULL OR updated_at <= tenggat_tugas)
-        """;
-        try (Connection conn = DatabaseConfig.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql);
-             ResultSet rs = pstmt.executeQuery()) {
-            if (rs.next()) {
-                return rs.getInt(1);
+    static Optional<LocalDateTime> findNextDueDate(Connection conn, LocalDateTime now) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(NEXT_DUE_SQL)) {
+            pstmt.setTimestamp(1, Timestamp.valueOf(now));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    Timestamp due = rs.getTimestamp(1);
+                    return Optional.ofNullable(due).map(Timestamp::toLocalDateTime);
+                }
             }
+        }
+        return Optional.empty();
+    }
+
+    // task belum selesai dengan (tenggat, id) setelah cursor, urut tenggat; task tanpa tenggat tidak ikut
+    public List<Task> findPendingDueAfter(LocalDateTime dueAfter, long idAfter, int limit) {
+        try (Connection conn = DatabaseConfig.getInstance().getConnection()) {
+            return findPendingDueAfter(conn, dueAfter, idAfter, limit);
         } catch (SQLException e) {
-            throw new com.pomodone.exception.DatabaseException("Gagal menghitung task selesai tepat waktu", e);
+            throw new com.pomodone.exception.DatabaseException("Gagal memuat tenggat task berikutnya", e);
         }
-        return 0;
+    }
+
+    static List<Task> findPendingDueAfter(Connection conn, LocalDateTime dueAfter, long idAfter, int limit) throws SQLException {
+        List<Task> result = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(FIND_PENDING_DUE_AFTER_SQL)) {
+            pstmt.setTimestamp(1, Timestamp.valueOf(dueAfter));
+            pstmt.setLong(2, idAfter);
+            pstmt.setInt(3, Math.max(1, limit));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    result.add(TaskRows.map(rs));
+                }
+            }
+        }
+        return result;
     }
 
     public List<Task> findTopByDueDate(int limit) {
-        String sql = SELECT_ALL + 
-        "tasks WHERE status <> 'SELESAI' ORDER BY CASE WHEN tenggat_tugas IS NULL THEN 1 ELSE 0 END, tenggat_tugas ASC, created_at DESC LIMIT ? ";
+        String sql = FIND_TOP_BY_DUE_SQL;
         List<Task> result = new ArrayList<>();
         try (Connection conn = DatabaseConfig.getInstance().getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, Math.max(1, limit));
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    Timestamp due = rs.getTimestamp(COLUMN_DUE_DATE);
-                    Task task = Task.builder()
-                            .id(rs.getLong(COLUMN_ID))
-                            .title(rs.getString(COLUMN_TITLE))
-                            .description(rs.getString(COLUMN_DESCRIPTION))
-                            .dueDate(due != null ? due.toLocalDateTime() : null)
-                            .difficulty(TaskDifficulty.valueOf(rs.getString(COLUMN_DIFFICULTY)))
-                            .status(TaskStatus.valueOf(rs.getString(COLUMN_STATUS)))
-                            .createdAt(rs.getTimestamp(COLUMN_CREATED_AT).toLocalDateTime())
-                            .updatedAt(rs.getTimestamp(COLUMN_UPDATED_AT).toLocalDateTime())
-                            .build();
-                    result.add(task);
+                    result.add(TaskRows.map(rs));
                 }
             }
         } catch (SQLException e) {
@@ -274,4 +304,126 @@ public class TaskRepository {
         return result;
     }
 
+    public List<Task> findByQuery(TaskQuery query) {
+        TaskQueryCompiler.CompiledQuery compiled = TaskQueryCompiler.compile(
+                query, DatabaseConfig.getInstance().getDialect());
+        List<Task> result = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(compiled.sql())) {
+            bindParams(pstmt, compiled.params());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    result.add(TaskRows.map(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new com.pomodone.exception.DatabaseException("Gagal memuat task sesuai filter", e);
+        }
+        return result;
+    }
+
+    // Semua task sesuai query diserahkan satu per satu ke consumer (di thread pemanggil) tanpa ditampung di
+    // list, buat export/analitik. Return jumlah task; memori tetap berapa pun jumlah barisnya (RowStreamer).
+    public long stream(TaskQuery query, Consumer<Task> consumer) {
+        try {
+            return stream(DatabaseConfig.getInstance()::getConnection, DatabaseConfig.getInstance().getDialect(),
+                    query, consumer, RowStreamer.QUEUE_CAPACITY);
+        } catch (SQLException e) {
+            throw new com.pomodone.exception.DatabaseException("Gagal membaca stream task", e);
+        }
+    }
+
+    static long stream(RowStreamer.ConnectionSource source, SqlDialect dialect, TaskQuery query,
+                       Consumer<Task> consumer, int queueCapacity) throws SQLException {
+        TaskQueryCompiler.CompiledQuery compiled = TaskQueryCompiler.compile(query, dialect);
+        return RowStreamer.stream(source, dialect, compiled.sql(), compiled.params(), TaskRows::map,
+                consumer, queueCapacity);
+    }
+
+    public List<Task> search(String text, int limit) {
+        try (Connection conn = DatabaseConfig.getInstance().getConnection()) {
+            return search(conn, DatabaseConfig.getInstance().getDialect(), text, limit);
+        } catch (SQLException e) {
+            throw new com.pomodone.exception.DatabaseException("Gagal mencari task", e);
+        }
+    }
+
+    // hasil diurutkan dari yang paling relevan, tiap kata dicocokkan sebagai awalan kata
+    static List<Task> search(Connection conn, SqlDialect dialect, String text, int limit) throws SQLException {
+        String match = TaskQueryCompiler.matchExpression(text, dialect);
+        List<Task> result = new ArrayList<>();
+        if (match == null) {
+            return result;
+        }
+
+        boolean postgres = dialect == SqlDialect.POSTGRES;
+        try (PreparedStatement pstmt = conn.prepareStatement(postgres ? SEARCH_POSTGRES_SQL : SEARCH_SQLITE_SQL)) {
+            int index = 1;
+            pstmt.setString(index++, match);
+            if (postgres) {
+                pstmt.setString(index++, match);
+            }
+            pstmt.setInt(index, Math.max(1, limit));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    result.add(TaskRows.map(rs));
+                }
+            }
+        }
+        return result;
+    }
+
+    public TaskPage findPage(TaskQuery query, TaskPageCursor after, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize harus positif");
+        }
+        try (Connection conn = DatabaseConfig.getInstance().getConnection()) {
+            return readPage(conn, DatabaseConfig.getInstance().getDialect(), query, after, pageSize);
+        } catch (SQLException e) {
+            throw new com.pomodone.exception.DatabaseException("Gagal memuat halaman task", e);
+        }
+    }
+
+    static TaskPage readPage(Connection conn, SqlDialect dialect, TaskQuery query,
+                             TaskPageCursor after, int pageSize) throws SQLException {
+        TaskQueryCompiler.CompiledQuery compiled = TaskQueryCompiler.compilePage(
+                query, dialect, after != null ? after.getKeyValues() : null, pageSize);
+        int keyCount = TaskQueryCompiler.sortKeys(query).size();
+        List<Task> items = new ArrayList<>(pageSize);
+        TaskPageCursor next = null;
+
+        try (PreparedStatement pstmt = conn.prepareStatement(compiled.sql())) {
+            bindParams(pstmt, compiled.params());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                List<Object> lastKeys = null;
+                while (rs.next()) {
+                    if (items.size() == pageSize) {
+                        // ada baris ke pageSize+1, berarti masih ada halaman berikutnya
+                        next = new TaskPageCursor(lastKeys);
+                        break;
+                    }
+                    items.add(TaskRows.map(rs));
+                    lastKeys = readSortKeys(rs, keyCount);
+                }
+            }
+        }
+        return new TaskPage(items, next);
+    }
+
+    // nilai mentah (bukan hasil konversi) supaya tipe yang di-bind balik sama dengan yang tersimpan
+    private static List<Object> readSortKeys(ResultSet rs, int keyCount) throws SQLException {
+        List<Object> keys = new ArrayList<>(keyCount);
+        for (int i = 0; i < keyCount; i++) {
+            keys.add(rs.getObject(TaskQueryCompiler.sortKeyAlias(i)));
+        }
+        return keys;
+    }
+
+    static void bindParams(PreparedStatement pstmt, List<Object> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            pstmt.setObject(i + 1, params.get(i));
+        }
+    }
+
 }
@@ -0,0 +1,145 @@
+package com.pomodone.repository;
+
+import com.pomodone.config.DatabaseConfig;
+import com.pomodone.model.pomodoro.PomodoroMode;
+import com.pomodone.model.pomodoro.PomodoroSettings;
+import com.pomodone.model.pomodoro.SessionType;
+import com.pomodone.model.pomodoro.TimerCheckpoint;
+import com.pomodone.model.pomodoro.TimerState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+// Checkpoint timer di file kecil yang di-mmap: nulis checkpoint cuma beberapa put ke memori (tanpa syscall),
+// halaman kotornya ditulis OS ke disk walau proses mati mendadak. force() (msync) cuma dipanggil waktu
+// transisi state; tick per detik cukup nulis ke memori. Nomor urut di awal dan akhir record bikin tulisan
+// yang terpotong di tengah ketahuan waktu dibaca.
+public class TimerCheckpointStore {
+    private static final Logger log = LoggerFactory.getLogger(TimerCheckpointStore.class);
+    static final String FILE_NAME = "timer-checkpoint.bin";
+    private static final int MAGIC = 0x504F4D31; // "POM1"
+    private static final int SIZE = 128;
+
+    // offset tiap kolom di file
+    private static final int MAGIC_AT = 0;
+    static final int SEQ_START_AT = 8;
+    private static final int MODE_AT = 16;
+    private static final int STATE_AT = 20;
+    private static final int SESSION_TYPE_AT = 24;
+    private static final int ROUNDS_AT = 28;
+    private static final int FOCUS_AT = 32;
+    private static final int SHORT_BREAK_AT = 40;
+    private static final int LONG_BREAK_AT = 48;
+    private static final int ROUNDS_BEFORE_LONG_AT = 56;
+    private static final int PAUSE_COUNT_AT = 60;
+    private static final int SESSION_NANOS_AT = 64;
+    private static final int REMAINING_NANOS_AT = 72;
+    private static final int PAUSED_NANOS_AT = 80;
+    private static final int STARTED_AT = 88;
+    private static final int SAVED_AT = 96;
+    private static final int ALARM_AT = 104;
+    private static final int SEQ_END_AT = 112;
+
+    private static TimerCheckpointStore instance;
+
+    private final MappedByteBuffer buffer;
+    private long sequence;
+
+    public TimerCheckpointStore(Path file) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            // mapping tetap valid setelah channel ditutup
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, SIZE);
+        }
+        this.sequence = buffer.getLong(SEQ_END_AT);
+    }
+
+    // null kalau file checkpoint tidak bisa dibuat; timer tetap jalan, cuma tidak bisa dilanjutkan setelah restart
+    public static synchronized TimerCheckpointStore getInstance() {
+        if (instance == null) {
+            Path file = DatabaseConfig.defaultDataDir().resolve(FILE_NAME);
+            try {
+                instance = new TimerCheckpointStore(file);
+            } catch (IOException e) {
+                log.error("File checkpoint timer {} tidak bisa dibuka", file, e);
+                return null;
+            }
+        }
+        return instance;
+    }
+
+    // durable = transisi state (start/pause/stop/ganti sesi), langsung di-msync; tick biasa tidak
+    public synchronized void save(TimerCheckpoint checkpoint, boolean durable) {
+        long seq = ++sequence;
+        buffer.putLong(SEQ_START_AT, seq);
+        buffer.putInt(MAGIC_AT, MAGIC);
+        buffer.putInt(MODE_AT, checkpoint.getMode().ordinal());
+        buffer.putInt(STATE_AT, checkpoint.getTimerState().ordinal());
+        buffer.putInt(SESSION_TYPE_AT, checkpoint.getSessionType().ordinal());
+        buffer.putInt(ROUNDS_AT, checkpoint.getRoundsCompleted());
+        PomodoroSettings settings = checkpoint.getSettings();
+        buffer.putLong(FOCUS_AT, settings.getFocusDuration().toNanos());
+        buffer.putLong(SHORT_BREAK_AT, settings.getShortBreakDuration().toNanos());
+        buffer.putLong(LONG_BREAK_AT, settings.getLongBreakDuration().toNanos());
+        buffer.putInt(ROUNDS_BEFORE_LONG_AT, settings.getRoundsBeforeLongBreak());
+        buffer.putInt(PAUSE_COUNT_AT, checkpoint.getPauseCount());
+        buffer.putLong(SESSION_NANOS_AT, checkpoint.getSessionDuration().toNanos());
+        buffer.putLong(REMAINING_NANOS_AT, checkpoint.getRemaining().toNanos());
+        buffer.putLong(PAUSED_NANOS_AT, checkpoint.getPaused().toNanos());
+        buffer.putLong(STARTED_AT, checkpoint.getStartedAt().toEpochMilli());
+        buffer.putLong(SAVED_AT, checkpoint.getSavedAt().toEpochMilli());
+        buffer.putInt(ALARM_AT, checkpoint.isAlarmRinging() ? 1 : 0);
+        buffer.putLong(SEQ_END_AT, seq);
+        if (durable) {
+            buffer.force();
+        }
+    }
+
+    public synchronized Optional<TimerCheckpoint> load() {
+        if (buffer.getInt(MAGIC_AT) != MAGIC) {
+            return Optional.empty(); // file baru
+        }
+        long seqStart = buffer.getLong(SEQ_START_AT);
+        if (seqStart != buffer.getLong(SEQ_END_AT)) {
+            log.warn("Checkpoint timer terpotong, diabaikan");
+            return Optional.empty();
+        }
+        try {
+            PomodoroSettings settings = new PomodoroSettings(
+                    Duration.ofNanos(buffer.getLong(FOCUS_AT)),
+                    Duration.ofNanos(buffer.getLong(SHORT_BREAK_AT)),
+                    Duration.ofNanos(buffer.getLong(LONG_BREAK_AT)),
+                    buffer.getInt(ROUNDS_BEFORE_LONG_AT));
+            return Optional.of(new TimerCheckpoint(
+                    PomodoroMode.values()[buffer.getInt(MODE_AT)],
+                    settings,
+                    TimerState.values()[buffer.getInt(STATE_AT)],
+                    SessionType.values()[buffer.getInt(SESSION_TYPE_AT)],
+                    buffer.getInt(ROUNDS_AT),
+                    Duration.ofNanos(buffer.getLong(SESSION_NANOS_AT)),
+                    Duration.ofNanos(buffer.getLong(REMAINING_NANOS_AT)),
+                    Duration.ofNanos(buffer.getLong(PAUSED_NANOS_AT)),
+                    buffer.getInt(PAUSE_COUNT_AT),
+                    Instant.ofEpochMilli(buffer.getLong(STARTED_AT)),
+                    Instant.ofEpochMilli(buffer.getLong(SAVED_AT)),
+                    buffer.getInt(ALARM_AT) == 1));
+        } catch (RuntimeException e) {
+            // file dari versi lain/rusak: mulai dari nol saja
+            log.warn("Checkpoint timer tidak valid, diabaikan", e);
+            return Optional.empty();
+        }
+    }
+}
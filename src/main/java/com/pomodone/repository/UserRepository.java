@@ -2,6 +2,7 @@ package com.pomodone.repository;
 
 import com.pomodone.config.DatabaseConfig;
 import com.pomodone.model.user.User;
+import com.pomodone.util.WTinyLfuCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -13,10 +14,25 @@ import java.util.Optional;
 
 public class UserRepository {
     private static final Logger log = LoggerFactory.getLogger(UserRepository.class);
-    private static final String SELECT_ALL = "SELECT * FROM ";
+    // dibagi semua instance (tiap service bikin repository sendiri); user dibaca tiap buka dashboard/settings
+    private static final WTinyLfuCache<Long, User> CACHE = WTinyLfuCache.<Long, User>builder()
+            .maximumSize(64)
+            .build();
 
     public Optional<User> findById(long id) {
-        String sql = SELECT_ALL + "users WHERE id = ?";
+        User cached = CACHE.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(copy(cached));
+        }
+        // versi dibaca sebelum query: kalau ada update yang selesai di tengah jalan, hasilnya tidak disimpan
+        long version = TableVersions.getInstance().version(TableVersions.USERS);
+        Optional<User> user = load(id);
+        user.ifPresent(found -> TableVersions.getInstance().putIfUnchanged(CACHE, TableVersions.USERS, version, id, copy(found)));
+        return user;
+    }
+
+    private Optional<User> load(long id) {
+        String sql = UserRows.SELECT_FROM + " WHERE id = ?";
         try (Connection conn = DatabaseConfig.getInstance().getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
@@ -24,13 +40,7 @@ public class UserRepository {
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                User user = new User(
-                        rs.getLong("id"),
-                        rs.getString("name"),
-                        rs.getInt("daily_pomodoro_target"),
-                        rs.getInt("weekly_pomodoro_target")
-                );
-                return Optional.of(user);
+                return Optional.of(UserRows.map(rs));
             }
         } catch (SQLException e) {
             log.error("Gagal mengambil user {}", id, e);
@@ -40,32 +50,47 @@ public class UserRepository {
 
     public boolean updateName(long id, String name) {
         String sql = "UPDATE users SET name = ? WHERE id = ?";
-        try (Connection conn = DatabaseConfig.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, name);
-            pstmt.setLong(2, id);
-            int affectedRows = pstmt.executeUpdate();
+        try {
+            int affectedRows = DatabaseConfig.getInstance().getWriter().submitAndWait(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setString(1, name);
+                    pstmt.setLong(2, id);
+                    return pstmt.executeUpdate();
+                }
+            });
             return affectedRows > 0;
         } catch (SQLException e) {
             log.error("Gagal update nama user {}", id, e);
             return false;
+        } finally {
+            TableVersions.getInstance().bump(TableVersions.USERS);
+            CACHE.invalidate(id);
         }
     }
 
     public boolean updateTargets(long id, int dailyTarget, int weeklyTarget) {
         String sql = "UPDATE users SET daily_pomodoro_target = ?, weekly_pomodoro_target = ? WHERE id = ?";
-        try (Connection conn = DatabaseConfig.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setInt(1, dailyTarget);
-            pstmt.setInt(2, weeklyTarget);
-            pstmt.setLong(3, id);
-            int affectedRows = pstmt.executeUpdate();
+        try {
+            int affectedRows = DatabaseConfig.getInstance().getWriter().submitAndWait(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setInt(1, dailyTarget);
+                    pstmt.setInt(2, weeklyTarget);
+                    pstmt.setLong(3, id);
+                    return pstmt.executeUpdate();
+                }
+            });
             return affectedRows > 0;
         } catch (SQLException e) {
             log.error("Gagal update target user {}", id, e);
             return false;
+        } finally {
+            TableVersions.getInstance().bump(TableVersions.USERS);
+            CACHE.invalidate(id);
         }
     }
+
+    // User punya setter, jadi pemanggil dapat salinan supaya isi cache tidak ikut berubah
+    private static User copy(User user) {
+        return new User(user.getId(), user.getName(), user.getDailyPomodoroTarget(), user.getWeeklyPomodoroTarget());
+    }
 }
@@ -0,0 +1,174 @@
+package com.pomodone.service;
+
+import com.pomodone.model.pomodoro.PomodoroMode;
+import com.pomodone.model.pomodoro.SessionType;
+import javafx.scene.media.AudioClip;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+// Suara alarm yang sudah di-decode duluan: semua clip dimuat sekali di background waktu app start
+// (AudioClip decode seluruh file ke memori), jadi pas sesi habis tinggal play tanpa decode MP3 dulu.
+// Suara bisa beda per mode dan per sesi yang barusan selesai, cari dari yang paling spesifik:
+//   /audio/alarm-<mode>-<sesi>.mp3 -> /audio/alarm-<sesi>.mp3 -> /audio/audio.mp3
+// File yang sama cuma di-decode sekali. AudioClip aman dipanggil dari thread mana pun, jadi alarm
+// dibunyikan langsung dari thread timer, tidak nunggu antrean runLater.
+public class AlarmSoundEngine {
+    private static final Logger log = LoggerFactory.getLogger(AlarmSoundEngine.class);
+    private static final String DEFAULT_SOUND = "/audio/audio.mp3";
+    private static final Map<SessionType, String> SESSION_NAMES = new EnumMap<>(Map.of(
+            SessionType.FOCUS, "focus",
+            SessionType.SHORT_BREAK, "short-break",
+            SessionType.LONG_BREAK, "long-break"));
+    private static final Executor PRELOAD_EXECUTOR =
+            task -> Thread.ofVirtual().name("pomodone-alarm-preload").start(task);
+    private static AlarmSoundEngine instance;
+
+    // bagian AudioClip yang dipakai, biar test bisa pakai clip palsu
+    interface Clip {
+        void loop();
+
+        void stop();
+    }
+
+    private final Function<String, URL> resources;
+    private final Function<URL, Clip> decoder;
+    private final Executor preloadExecutor;
+    private final LongSupplier nanoTime;
+    private final Map<String, Clip> clipsByUrl = new ConcurrentHashMap<>();
+    private CompletableFuture<Void> preloaded;
+    private Clip playing;
+    private volatile Duration lastStartLatency = Duration.ZERO;
+
+    private AlarmSoundEngine() {
+        this(AlarmSoundEngine.class::getResource, AlarmSoundEngine::decodeAudioClip, PRELOAD_EXECUTOR, System::nanoTime);
+    }
+
+    // buat test: resource, decoder, dan executor palsu
+    AlarmSoundEngine(Function<String, URL> resources, Function<URL, Clip> decoder, Executor preloadExecutor,
+                     LongSupplier nanoTime) {
+        this.resources = Objects.requireNonNull(resources);
+        this.decoder = Objects.requireNonNull(decoder);
+        this.preloadExecutor = Objects.requireNonNull(preloadExecutor);
+        this.nanoTime = Objects.requireNonNull(nanoTime);
+    }
+
+    public static synchronized AlarmSoundEngine getInstance() {
+        if (instance == null) {
+            instance = new AlarmSoundEngine();
+        }
+        return instance;
+    }
+
+    private static Clip decodeAudioClip(URL url) {
+        AudioClip clip = new AudioClip(url.toExternalForm());
+        clip.setCycleCount(AudioClip.INDEFINITE);
+        return new Clip() {
+            @Override
+            public void loop() {
+                clip.play();
+            }
+
+            @Override
+            public void stop() {
+                clip.stop();
+            }
+        };
+    }
+
+    // Aman dipanggil berkali-kali, decode cuma jalan sekali di thread background
+    public synchronized CompletableFuture<Void> preload() {
+        if (preloaded == null) {
+            preloaded = CompletableFuture.runAsync(() -> {
+                long startedAt = nanoTime.getAsLong();
+                for (PomodoroMode mode : PomodoroMode.values()) {
+                    for (SessionType finished : SessionType.values()) {
+                        URL url = resolve(mode, finished);
+                        if (url != null) {
+                            clipFor(url);
+                        }
+                    }
+                }
+                log.info("Suara alarm siap: {} clip dalam {} ms", clipsByUrl.size(),
+                        Duration.ofNanos(nanoTime.getAsLong() - startedAt).toMillis());
+            }, preloadExecutor);
+        }
+        return preloaded;
+    }
+
+    // Bunyikan alarm buat sesi yang barusan selesai, diulang terus sampai stop()
+    public synchronized void start(PomodoroMode mode, SessionType finished) {
+        long requestedAt = nanoTime.getAsLong();
+        stopPlaying();
+        URL url = resolve(mode, finished);
+        if (url == null) {
+            log.warn("Suara alarm tidak ditemukan, lanjut tanpa alarm");
+            return;
+        }
+        boolean ready = clipsByUrl.containsKey(url.toExternalForm());
+        Clip clip = clipFor(url);
+        if (clip == null) return;
+        clip.loop();
+        playing = clip;
+
+        lastStartLatency = Duration.ofNanos(nanoTime.getAsLong() - requestedAt);
+        if (ready) {
+            log.debug("Alarm {} / {} mulai dalam {} us", mode, finished, lastStartLatency.toNanos() / 1000);
+        } else {
+            // preload belum selesai (atau gagal), clip-nya terpaksa di-decode pas itu juga
+            log.warn("Alarm {} / {} belum di-preload, mulai dalam {} ms", mode, finished, lastStartLatency.toMillis());
+        }
+    }
+
+    public synchronized void stop() {
+        stopPlaying();
+    }
+
+    public synchronized boolean isPlaying() {
+        return playing != null;
+    }
+
+    // waktu dari start() dipanggil sampai clip diputar, buat ngecek preload benar-benar kepakai
+    public Duration lastStartLatency() {
+        return lastStartLatency;
+    }
+
+    private void stopPlaying() {
+        if (playing != null) {
+            playing.stop();
+            playing = null;
+        }
+    }
+
+    private URL resolve(PomodoroMode mode, SessionType finished) {
+        String session = SESSION_NAMES.get(finished);
+        URL url = resources.apply("/audio/alarm-" + mode.name().toLowerCase(Locale.ROOT) + "-" + session + ".mp3");
+        if (url == null) {
+            url = resources.apply("/audio/alarm-" + session + ".mp3");
+        }
+        if (url == null) {
+            url = resources.apply(DEFAULT_SOUND);
+        }
+        return url;
+    }
+
+    private Clip clipFor(URL url) {
+        try {
+            return clipsByUrl.computeIfAbsent(url.toExternalForm(), key -> decoder.apply(url));
+        } catch (RuntimeException e) {
+            log.error("Gagal decode suara alarm {}", url, e);
+            return null;
+        }
+    }
+}
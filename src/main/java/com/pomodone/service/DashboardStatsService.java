@@ -1,38 +1,42 @@
 package com.pomodone.service;
 
+import com.pomodone.model.dashboard.DashboardSnapshot;
 import com.pomodone.model.dashboard.DashboardStats;
 import com.pomodone.model.user.User;
-import com.pomodone.repository.TaskRepository;
+import com.pomodone.repository.DashboardSnapshotRepository;
 
-import java.util.Optional;
+import java.time.LocalDate;
 
 public class DashboardStatsService {
-    private final PomodoroSessionService pomodoroSessionService;
-    private final TaskRepository taskRepository;
-    private final UserSettingsService userSettingsService;
+    private static final long CURRENT_USER_ID = 1; // samain dengan UserSettingsService
+    private static final int PRIORITY_TASK_LIMIT = 5;
+
+    private final DashboardSnapshotRepository snapshotRepository;
 
     public DashboardStatsService() {
-        this.pomodoroSessionService = new PomodoroSessionService();
-        this.taskRepository = new TaskRepository();
-        this.userSettingsService = new UserSettingsService();
+        this.snapshotRepository = new DashboardSnapshotRepository();
+    }
+
+    // satu kali baca DB buat semua isi dashboard (angka, target user, task prioritas)
+    public DashboardSnapshot loadSnapshot() {
+        return snapshotRepository.load(CURRENT_USER_ID, LocalDate.now(), PRIORITY_TASK_LIMIT);
     }
 
     public DashboardStats loadStats() {
-        int dailySessions = pomodoroSessionService.getTodayCompletedSessions();
-        int activeTasks = taskRepository.countActiveTasks();
+        return toStats(loadSnapshot());
+    }
 
-        Optional<User> user = userSettingsService.getCurrentUserSettings();
-        int dailyTarget = user.map(User::getDailyPomodoroTarget).orElse(0);
+    public DashboardStats toStats(DashboardSnapshot snapshot) {
+        int dailySessions = snapshot.getTodaySessions();
+        int dailyTarget = snapshot.getUser().map(User::getDailyPomodoroTarget).orElse(0);
 
-        int productivity = calculateProductivityPercent(dailySessions, dailyTarget);
+        int productivity = calculateProductivityPercent(
+                dailySessions, dailyTarget, snapshot.getCompletedTasks(), snapshot.getCompletedOnTimeTasks());
 
-        return new DashboardStats(dailySessions, dailyTarget, activeTasks, productivity);
+        return new DashboardStats(dailySessions, dailyTarget, snapshot.getActiveTasks(), productivity);
     }
 
-    private int calculateProductivityPercent(int dailySessions, int dailyTarget) {
-        int completedTasks = taskRepository.countCompletedTasks();
-        int completedOnTime = taskRepository.countCompletedOnTimeTasks();
-
+    private int calculateProductivityPercent(int dailySessions, int dailyTarget, int completedTasks, int completedOnTime) {
         double pomodoroRatio;
         if (dailyTarget > 0) {
             pomodoroRatio = Math.min(1.0, (double) dailySessions / dailyTarget);
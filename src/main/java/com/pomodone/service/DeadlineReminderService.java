@@ -0,0 +1,259 @@
+package com.pomodone.service;
+
+import com.pomodone.model.task.Task;
+import com.pomodone.model.task.TaskReminder;
+import com.pomodone.model.task.TaskStatus;
+import com.pomodone.repository.CachingTaskRepository;
+import com.pomodone.repository.TaskRepository;
+import com.pomodone.util.TimerClock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Pengingat 24 jam, 1 jam, dan 10 menit sebelum tenggat task. Tidak ada polling findAll: untuk tiap jarak
+// pengingat, task yang belum selesai dibaca urut tenggat lewat keyset di idx_tasks_pending_due, paling banyak
+// batchSize baris sekali baca, lalu masuk DelayQueue. Pas pengingat terakhir dari satu batch jatuh tempo,
+// batch berikutnya baru dibaca, jadi isi antrean tetap kecil walau task-nya ratusan ribu.
+// Task ditambah/diubah/dihapus lewat TaskManagementFacade -> taskChanged()/taskRemoved(), yang disentuh
+// cuma pengingat task itu saja.
+public class DeadlineReminderService {
+    private static final Logger log = LoggerFactory.getLogger(DeadlineReminderService.class);
+    static final List<Duration> LEAD_TIMES = List.of(Duration.ofHours(24), Duration.ofHours(1), Duration.ofMinutes(10));
+    static final int BATCH = 200;
+    // DelayQueue nunggu pakai nanoTime yang berhenti selama laptop tidur, jadi tidur paling lama segini
+    // lalu cek lagi ke jam dinding (sama seperti OverdueSweeper)
+    static final Duration MAX_SLEEP = Duration.ofMinutes(5);
+    private static DeadlineReminderService instance;
+
+    private final TaskRepository taskRepository;
+    private final TimerClock clock;
+    private final int batchSize;
+    private final DelayQueue<Entry> queue = new DelayQueue<>();
+    private final List<Consumer<TaskReminder>> listeners = new CopyOnWriteArrayList<>();
+    private final List<Stream> streams;
+    private Thread worker;
+
+    // buat test: repository palsu, clock manual, batch kecil
+    DeadlineReminderService(TaskRepository taskRepository, TimerClock clock, int batchSize) {
+        this.taskRepository = Objects.requireNonNull(taskRepository);
+        this.clock = Objects.requireNonNull(clock);
+        this.batchSize = batchSize;
+        this.streams = LEAD_TIMES.stream().map(Stream::new).toList();
+    }
+
+    public static synchronized DeadlineReminderService getInstance() {
+        if (instance == null) {
+            instance = new DeadlineReminderService(CachingTaskRepository.getInstance(), TimerClock.system(), BATCH);
+            instance.start();
+        }
+        return instance;
+    }
+
+    private synchronized void start() {
+        if (worker != null) return;
+        worker = new Thread(this::runLoop, "pomodone-deadline-reminder");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    // dipanggil dari thread reminder, view harus pindah sendiri ke thread FX
+    public void addListener(Consumer<TaskReminder> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<TaskReminder> listener) {
+        listeners.remove(listener);
+    }
+
+    // batch pertama tiap jarak pengingat, mulai dari sekarang; pengingat yang waktunya lewat selama app ditutup tidak dikirim
+    synchronized void load() {
+        queue.clear();
+        LocalDateTime now = now();
+        for (Stream stream : streams) {
+            stream.cursorDue = now.plus(stream.lead);
+            stream.cursorId = 0;
+            refill(stream);
+        }
+    }
+
+    // pengingat lama task ini dibuang; yang baru cuma dimasukkan kalau tenggatnya di rentang yang sudah dibaca,
+    // di luar itu nanti kebaca sendiri oleh keyset
+    public synchronized void taskChanged(long taskId) {
+        removeReminders(taskId);
+        Task task;
+        try {
+            task = taskRepository.findById(taskId);
+        } catch (RuntimeException e) {
+            log.warn("Pengingat task {} tidak bisa diperbarui", taskId, e);
+            return;
+        }
+        if (task == null || task.getStatus() != TaskStatus.BELUM_SELESAI || task.getDueDate() == null) {
+            return;
+        }
+        long now = clock.wallMillis();
+        for (Stream stream : streams) {
+            if (stream.covers(task)) {
+                TaskReminder reminder = new TaskReminder(task.getId(), task.getTitle(), task.getDueDate(), stream.lead);
+                long fireAt = toMillis(reminder.getFireAt());
+                if (fireAt >= now) {
+                    queue.add(new Entry(fireAt, reminder, null));
+                }
+            }
+        }
+    }
+
+    public synchronized void taskRemoved(long taskId) {
+        removeReminders(taskId);
+    }
+
+    // kirim semua yang sudah jatuh tempo tanpa nunggu; worker pakai poll dengan timeout, test langsung panggil ini
+    void fireDue() {
+        Entry entry;
+        while ((entry = queue.poll()) != null) {
+            handle(entry);
+        }
+    }
+
+    int pendingCount() {
+        return queue.size();
+    }
+
+    private void runLoop() {
+        load();
+        while (true) {
+            try {
+                Entry entry = queue.poll(MAX_SLEEP.toMillis(), TimeUnit.MILLISECONDS);
+                if (entry != null) {
+                    handle(entry);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void handle(Entry entry) {
+        if (entry.reminder == null) {
+            synchronized (this) {
+                refill(entry.stream);
+            }
+            return;
+        }
+        // telat dikirim (DB sempat mati, laptop tidur) tapi tenggatnya belum lewat: tetap berguna
+        if (!now().isBefore(entry.reminder.getDueDate())) {
+            return;
+        }
+        for (Consumer<TaskReminder> listener : listeners) {
+            try {
+                listener.accept(entry.reminder);
+            } catch (RuntimeException e) {
+                log.warn("Listener pengingat task {} gagal", entry.reminder.getTaskId(), e);
+            }
+        }
+    }
+
+    private void refill(Stream stream) {
+        try {
+            List<Task> batch = taskRepository.findPendingDueAfter(stream.cursorDue, stream.cursorId, batchSize);
+            int skipped = 0;
+            for (Task task : batch) {
+                if (!stream.isAfterCursor(task)) {
+                    // keyset tidak maju (tanggal TEXT vs INTEGER di SQLite): jangan antrekan pengingat yang sama lagi
+                    skipped++;
+                    continue;
+                }
+                TaskReminder reminder = new TaskReminder(task.getId(), task.getTitle(), task.getDueDate(), stream.lead);
+                queue.add(new Entry(toMillis(reminder.getFireAt()), reminder, null));
+                stream.cursorDue = task.getDueDate();
+                stream.cursorId = task.getId();
+            }
+            if (skipped > 0 && skipped == batch.size() && batch.size() == batchSize) {
+                log.warn("Keyset tenggat tidak maju dari {}/{}, dicoba lagi dalam {} menit",
+                        stream.cursorDue, stream.cursorId, MAX_SLEEP.toMinutes());
+                stream.exhausted = false;
+                queue.add(new Entry(clock.wallMillis() + MAX_SLEEP.toMillis(), null, stream));
+                return;
+            }
+            stream.exhausted = batch.size() < batchSize;
+            if (!stream.exhausted) {
+                // batch berikutnya dibaca pas pengingat terakhir batch ini jatuh tempo
+                queue.add(new Entry(toMillis(stream.cursorDue.minus(stream.lead)), null, stream));
+            }
+        } catch (RuntimeException e) {
+            // DB belum siap/putus: coba lagi nanti dari cursor yang sama
+            log.warn("Tenggat task gagal dibaca, dicoba lagi dalam {} menit", MAX_SLEEP.toMinutes(), e);
+            stream.exhausted = false;
+            queue.add(new Entry(clock.wallMillis() + MAX_SLEEP.toMillis(), null, stream));
+        }
+    }
+
+    private void removeReminders(long taskId) {
+        queue.removeIf(entry -> entry.reminder != null && entry.reminder.getTaskId() == taskId);
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(clock.wallMillis()), ZoneId.systemDefault());
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // keyset satu jarak pengingat: (cursorDue, cursorId) = task terakhir yang sudah masuk antrean
+    private static final class Stream {
+        final Duration lead;
+        LocalDateTime cursorDue;
+        long cursorId;
+        boolean exhausted;
+
+        Stream(Duration lead) {
+            this.lead = lead;
+        }
+
+        boolean isAfterCursor(Task task) {
+            int byDue = task.getDueDate().compareTo(cursorDue);
+            return byDue > 0 || (byDue == 0 && task.getId() > cursorId);
+        }
+
+        boolean covers(Task task) {
+            if (exhausted) return true;
+            int byDue = task.getDueDate().compareTo(cursorDue);
+            return byDue < 0 || (byDue == 0 && task.getId() <= cursorId);
+        }
+    }
+
+    // reminder == null berarti penanda "baca batch berikutnya" untuk stream-nya
+    private final class Entry implements Delayed {
+        final long fireAtMillis;
+        final TaskReminder reminder;
+        final Stream stream;
+
+        Entry(long fireAtMillis, TaskReminder reminder, Stream stream) {
+            this.fireAtMillis = fireAtMillis;
+            this.reminder = reminder;
+            this.stream = stream;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(fireAtMillis - clock.wallMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(fireAtMillis, ((Entry) other).fireAtMillis);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.pomodone.service;
+
+import com.pomodone.repository.CachingTaskRepository;
+import com.pomodone.repository.TaskRepository;
+import com.pomodone.util.TimerClock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// Nulis status TERLAMBAT ke DB tepat waktu tenggat task lewat. Sweeper cuma ingat satu tenggat terdekat
+// dari task yang belum selesai; pas tenggat itu lewat, semua task yang sudah telat ditandai dengan satu
+// UPDATE, listener (view yang terbuka) dikabari, lalu cari tenggat berikutnya. Di antaranya tidak ada query.
+// Task ditambah/diubah/dihapus -> tasksChanged(), tenggat terdekat dicari ulang.
+public class OverdueSweeper {
+    private static final Logger log = LoggerFactory.getLogger(OverdueSweeper.class);
+    // delay scheduler pakai nanoTime yang berhenti selama laptop tidur, jadi tidur paling lama segini
+    // lalu cek lagi ke jam dinding; yang dicek cuma jam, bukan DB
+    static final Duration MAX_SLEEP = Duration.ofMinutes(5);
+    private static OverdueSweeper instance;
+
+    private final TaskRepository taskRepository;
+    private final ScheduledExecutorService scheduler;
+    private final TimerClock clock;
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private ScheduledFuture<?> pending;
+    private LocalDateTime nextDue;
+
+    // buat test: repository palsu, scheduler + clock manual
+    OverdueSweeper(TaskRepository taskRepository, ScheduledExecutorService scheduler, TimerClock clock) {
+        this.taskRepository = Objects.requireNonNull(taskRepository);
+        this.scheduler = Objects.requireNonNull(scheduler);
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    // sweep pertama langsung jalan: task yang telat selama app ditutup ikut ditandai
+    public static synchronized OverdueSweeper getInstance() {
+        if (instance == null) {
+            ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "pomodone-overdue-sweeper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            // lewat cache bersama, biar task yang barusan ditandai telat tidak tersaji basi
+            instance = new OverdueSweeper(CachingTaskRepository.getInstance(), scheduler, TimerClock.system());
+            instance.tasksChanged();
+        }
+        return instance;
+    }
+
+    // dipanggil dari thread sweeper, view harus pindah sendiri ke thread FX
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    // tenggat bisa maju/mundur/hilang, jadi sweep ulang sekarang (di thread sweeper, bukan di thread pemanggil)
+    public synchronized void tasksChanged() {
+        nextDue = null; // yang diingat sudah tidak bisa dipercaya, wakeUp langsung sweep
+        reschedule(0);
+    }
+
+    synchronized LocalDateTime nextDue() {
+        return nextDue;
+    }
+
+    private synchronized void wakeUp() {
+        LocalDateTime now = now();
+        if (nextDue != null && !now.isAfter(nextDue)) {
+            // bangun karena MAX_SLEEP, tenggatnya belum lewat (tenggat == now belum dihitung telat)
+            scheduleFor(now);
+            return;
+        }
+        sweep(now);
+    }
+
+    private void sweep(LocalDateTime now) {
+        try {
+            int marked = taskRepository.markOverdue(now);
+            nextDue = taskRepository.findNextDueDate(now).orElse(null);
+            if (nextDue != null && !nextDue.isAfter(now)) {
+                // harusnya sudah ditandai barusan (tipe kolom tidak seragam?); jangan sweep ulang dalam loop 0 ms
+                log.warn("Tenggat berikutnya {} tidak setelah {}, sweep berikutnya dalam {} menit",
+                        nextDue, now, MAX_SLEEP.toMinutes());
+                nextDue = now.plus(MAX_SLEEP);
+            }
+            if (marked > 0) {
+                log.info("{} task ditandai terlambat", marked);
+                for (Runnable listener : listeners) {
+                    listener.run();
+                }
+            }
+        } catch (RuntimeException e) {
+            // DB belum siap/putus: coba lagi nanti, task tetap ketahuan telat pas sweep berikutnya
+            log.warn("Sweep task terlambat gagal, dicoba lagi dalam {} menit", MAX_SLEEP.toMinutes(), e);
+            nextDue = now.plus(MAX_SLEEP);
+        }
+        scheduleFor(now);
+    }
+
+    private void scheduleFor(LocalDateTime now) {
+        if (nextDue == null) {
+            // tidak ada tenggat ke depan, tunggu tasksChanged()
+            pending = null;
+            return;
+        }
+        // +1 ms: task dengan tenggat persis "now" baru terhitung telat setelahnya (lihat Task.resolveStatus)
+        long untilDue = Duration.between(now, nextDue).toMillis() + 1;
+        reschedule(Math.max(0, Math.min(untilDue, MAX_SLEEP.toMillis())));
+    }
+
+    private void reschedule(long delayMillis) {
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        pending = scheduler.schedule(this::wakeUp, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(clock.wallMillis()), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,324 @@
+package com.pomodone.service;
+
+import com.pomodone.model.pomodoro.PomodoroMode;
+import com.pomodone.model.pomodoro.PomodoroSettings;
+import com.pomodone.model.pomodoro.PomodoroSnapshot;
+import com.pomodone.model.pomodoro.SessionType;
+import com.pomodone.model.pomodoro.TimerCheckpoint;
+import com.pomodone.model.pomodoro.TimerState;
+import com.pomodone.repository.TimerCheckpointStore;
+import com.pomodone.strategy.pomodoro.ClassicPomodoroStrategy;
+import com.pomodone.util.Countdown;
+import com.pomodone.util.TimerClock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// State machine pomodoro tanpa JavaFX: fokus -> break -> fokus, hitung ronde dari PomodoroSettings,
+// jadwal tick lewat ScheduledExecutorService. Tiap perubahan dikirim sebagai PomodoroSnapshot ke listener
+// (dipanggil dari thread timer, jadi listener harus cepat dan tidak nge-block). Timer tetap jalan walau UI
+// disembunyikan atau tidak ada UI sama sekali.
+public class PomodoroEngine {
+    private static final Logger log = LoggerFactory.getLogger(PomodoroEngine.class);
+    public static final Duration DEFAULT_ALARM_DURATION = Duration.ofSeconds(9);
+    private static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ScheduledExecutorService scheduler;
+    private final TimerClock clock;
+    private final Countdown countdown;
+    private final Duration alarmDuration;
+    private final List<Consumer<PomodoroSnapshot>> listeners = new CopyOnWriteArrayList<>();
+    private PomodoroSessionService sessionService;
+    private TimerCheckpointStore checkpoints;
+
+    private PomodoroMode mode = PomodoroMode.CLASSIC;
+    private PomodoroSettings settings = new ClassicPomodoroStrategy().getSettings();
+    private TimerState timerState = TimerState.STOPPED;
+    private SessionType sessionType = SessionType.FOCUS;
+    private Duration sessionDuration = settings.getFocusDuration();
+    private int roundsCompleted;
+    private boolean alarmRinging;
+    // false kalau tidak ada yang menampilkan angka detik: cukup bangun sekali pas sesi habis
+    private boolean displayTicks = true;
+    private ScheduledFuture<?> pending;
+    // naik tiap jadwal baru, tick yang sudah telanjur antre dari jadwal lama cukup diabaikan
+    private long generation;
+
+    public PomodoroEngine(ScheduledExecutorService scheduler, TimerClock clock, Duration alarmDuration,
+                          PomodoroSessionService sessionService) {
+        this.scheduler = Objects.requireNonNull(scheduler);
+        this.clock = Objects.requireNonNull(clock);
+        this.countdown = new Countdown(clock);
+        this.alarmDuration = Objects.requireNonNull(alarmDuration);
+        this.sessionService = sessionService;
+    }
+
+    public void addListener(Consumer<PomodoroSnapshot> listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    public synchronized void setSessionService(PomodoroSessionService sessionService) {
+        this.sessionService = sessionService;
+    }
+
+    // tiap transisi state (dan tiap tick) ditulis ke sini, biar sesi bisa dilanjutkan setelah app ditutup
+    public synchronized void setCheckpointStore(TimerCheckpointStore checkpoints) {
+        this.checkpoints = checkpoints;
+        saveCheckpoint(true);
+    }
+
+    // Lanjutkan sesi dari checkpoint. Timer selalu balik dalam keadaan PAUSED (user tinggal tekan Resume,
+    // sama seperti handleStartPause). Kalau waktu itu timer jalan, waktu selama app mati tetap dihitung
+    // jalan; kalau sesinya sudah habis selama itu, sesi dicatat selesai dan yang disiapkan sesi berikutnya.
+    // Return false kalau tidak ada yang perlu dilanjutkan.
+    public synchronized boolean restore(TimerCheckpoint checkpoint) {
+        if (checkpoint.getTimerState() == TimerState.STOPPED) return false;
+        cancelPending();
+        mode = checkpoint.getMode();
+        settings = checkpoint.getSettings();
+        sessionType = checkpoint.getSessionType();
+        sessionDuration = checkpoint.getSessionDuration();
+        roundsCompleted = checkpoint.getRoundsCompleted();
+        alarmRinging = false;
+
+        // jam dinding mundur (ganti jam/NTP) dianggap tidak ada waktu yang lewat
+        Duration downtime = Duration.ofMillis(Math.max(0, clock.wallMillis() - checkpoint.getSavedAt().toEpochMilli()));
+        Duration remaining = checkpoint.getRemaining();
+        Duration paused = checkpoint.getPaused();
+        boolean finished = checkpoint.isAlarmRinging();
+        if (!finished && checkpoint.getTimerState() == TimerState.RUNNING) {
+            if (downtime.compareTo(remaining) >= 0) {
+                // habis selama app mati: dicatat dengan jam selesai = deadline aslinya
+                countdown.restorePaused(sessionDuration, Duration.ZERO, paused, checkpoint.getPauseCount(),
+                        checkpoint.getStartedAt());
+                logFocusCompletionIfNeeded();
+                finished = true;
+            } else {
+                remaining = remaining.minus(downtime);
+            }
+        } else if (!finished) {
+            paused = paused.plus(downtime);
+        }
+
+        if (finished) {
+            // alarm sesi lama tidak dibunyikan lagi, langsung siapkan sesi berikutnya
+            startNextSession();
+            countdown.pause();
+            cancelPending();
+        } else {
+            countdown.restorePaused(sessionDuration, remaining, paused, checkpoint.getPauseCount(),
+                    checkpoint.getStartedAt());
+        }
+        timerState = TimerState.PAUSED;
+        publish(true);
+        return true;
+    }
+
+    // dimatikan adapter UI waktu view disembunyikan/diminimize; dinyalakan lagi langsung jadwal ulang ke detik berikutnya
+    public synchronized void setDisplayTicks(boolean displayTicks) {
+        if (this.displayTicks == displayTicks) return;
+        this.displayTicks = displayTicks;
+        if (timerState == TimerState.RUNNING && !alarmRinging) {
+            scheduleTick();
+        }
+    }
+
+    // ganti mode/settings selalu mereset timer, sama seperti sebelumnya
+    public synchronized void configure(PomodoroMode mode, PomodoroSettings settings) {
+        this.mode = Objects.requireNonNull(mode);
+        this.settings = Objects.requireNonNull(settings);
+        resetState();
+        publish(true);
+    }
+
+    public synchronized void startPause() {
+        switch (timerState) {
+            case RUNNING -> {
+                // alarm bukan bagian sesi, jadi tidak bisa di-pause; sesi berikutnya tetap mulai sendiri
+                if (alarmRinging) return;
+                countdown.pause();
+                cancelPending();
+                timerState = TimerState.PAUSED;
+            }
+            case PAUSED -> {
+                countdown.resume();
+                timerState = TimerState.RUNNING;
+                scheduleTick();
+            }
+            case STOPPED -> {
+                roundsCompleted = 0;
+                beginSession(SessionType.FOCUS, settings.getFocusDuration());
+                timerState = TimerState.RUNNING;
+            }
+        }
+        publish(true);
+    }
+
+    public synchronized void stop() {
+        resetState();
+        publish(true);
+    }
+
+    // Cuma berhenti menjadwal tick: fokus yang sedang jalan tidak dicatat batal dan checkpoint terakhir
+    // dibiarkan, jadi sesinya bisa dilanjutkan waktu app dibuka lagi
+    public synchronized void halt() {
+        cancelPending();
+    }
+
+    public synchronized PomodoroSnapshot snapshot() {
+        long remainingNanos = countdown.isStarted() ? countdown.remainingNanos() : sessionDuration.toNanos();
+        return new PomodoroSnapshot(timerState, sessionType, mode, settings, roundsCompleted, sessionDuration,
+                remainingNanos, countdown.lastSampleNanos(), countdown.progress(), alarmRinging);
+    }
+
+    private void resetState() {
+        logCancelledFocusIfNeeded();
+        cancelPending();
+        countdown.reset();
+        timerState = TimerState.STOPPED;
+        sessionType = SessionType.FOCUS;
+        sessionDuration = settings.getFocusDuration();
+        roundsCompleted = 0;
+        alarmRinging = false;
+    }
+
+    private void beginSession(SessionType type, Duration duration) {
+        sessionType = type;
+        sessionDuration = duration;
+        countdown.start(duration);
+        scheduleTick();
+    }
+
+    // bangun pas angka detik di layar berubah (sisa waktu melewati kelipatan 1 detik), bukan tiap 1 detik
+    // dari tick sebelumnya, jadi tampilan tidak ikut molor kalau tick telat. Tanpa tampilan langsung ke deadline.
+    private void scheduleTick() {
+        long remaining = countdown.remainingNanos();
+        long delay;
+        if (!displayTicks) {
+            delay = remaining;
+        } else {
+            delay = remaining % SECOND_NANOS == 0 ? Math.min(remaining, SECOND_NANOS) : remaining % SECOND_NANOS;
+        }
+        long expected = replacePending();
+        pending = scheduler.schedule(() -> onTick(expected), delay, TimeUnit.NANOSECONDS);
+    }
+
+    private synchronized void onTick(long expected) {
+        if (expected != generation || timerState != TimerState.RUNNING) return;
+        boolean expired = false;
+        try {
+            expired = countdown.isExpired();
+            if (expired) {
+                finishSession();
+            } else {
+                scheduleTick();
+            }
+        } catch (RuntimeException e) {
+            // exception di task terjadwal ditelan executor, setidaknya kelihatan di log
+            log.error("Tick timer pomodoro gagal", e);
+        }
+        // tick biasa cuma update checkpoint di memori, sesi habis langsung di-msync
+        publish(expired);
+    }
+
+    private void finishSession() {
+        logFocusCompletionIfNeeded();
+        alarmRinging = true;
+        long expected = replacePending();
+        pending = scheduler.schedule(() -> onAlarmFinished(expected), alarmDuration.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private synchronized void onAlarmFinished(long expected) {
+        if (expected != generation || !alarmRinging) return;
+        alarmRinging = false;
+        startNextSession();
+        publish(true);
+    }
+
+    private void startNextSession() {
+        if (sessionType == SessionType.FOCUS) {
+            roundsCompleted++;
+            if (roundsCompleted % settings.getRoundsBeforeLongBreak() == 0) {
+                beginSession(SessionType.LONG_BREAK, settings.getLongBreakDuration());
+            } else {
+                beginSession(SessionType.SHORT_BREAK, settings.getShortBreakDuration());
+            }
+        } else { // kalo tadi break
+            beginSession(SessionType.FOCUS, settings.getFocusDuration());
+        }
+    }
+
+    private long replacePending() {
+        cancelPending();
+        return generation;
+    }
+
+    private void cancelPending() {
+        generation++;
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+    }
+
+    private void logFocusCompletionIfNeeded() {
+        if (sessionType != SessionType.FOCUS || sessionService == null) {
+            return;
+        }
+        // yang dicatat waktu fokus yang benar-benar jalan + total pause, bukan durasi rencana
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDateTime startedAt = LocalDateTime.ofInstant(countdown.startedAt(), zone);
+        LocalDateTime endedAt = LocalDateTime.ofInstant(countdown.endedAt(), zone);
+        sessionService.logCompletedSession(startedAt, endedAt,
+                countdown.activeDuration().toSeconds(),
+                countdown.pausedDuration().toSeconds(),
+                countdown.getPauseCount(),
+                mode);
+    }
+
+    // stop/ganti mode di tengah fokus: waktu yang sudah jalan tetap masuk riwayat sebagai CANCELLED
+    private void logCancelledFocusIfNeeded() {
+        if (timerState == TimerState.STOPPED || alarmRinging || sessionType != SessionType.FOCUS
+                || sessionService == null || !countdown.isStarted()) {
+            return;
+        }
+        long activeSeconds = countdown.activeDuration().toSeconds();
+        if (activeSeconds == 0) return;
+        ZoneId zone = ZoneId.systemDefault();
+        sessionService.logCancelledSession(LocalDateTime.ofInstant(countdown.startedAt(), zone),
+                LocalDateTime.ofInstant(countdown.endedAt(), zone),
+                activeSeconds,
+                countdown.pausedDuration().toSeconds(),
+                countdown.getPauseCount(),
+                mode);
+    }
+
+    private void publish(boolean transition) {
+        saveCheckpoint(transition);
+        PomodoroSnapshot snapshot = snapshot();
+        for (Consumer<PomodoroSnapshot> listener : listeners) {
+            listener.accept(snapshot);
+        }
+    }
+
+    private void saveCheckpoint(boolean durable) {
+        if (checkpoints == null) return;
+        long now = clock.wallMillis();
+        Duration remaining = countdown.isStarted() ? Duration.ofNanos(countdown.remainingNanos()) : sessionDuration;
+        Instant startedAt = countdown.isStarted() ? countdown.startedAt() : Instant.ofEpochMilli(now);
+        checkpoints.save(new TimerCheckpoint(mode, settings, timerState, sessionType, roundsCompleted, sessionDuration,
+                remaining, countdown.pausedDuration(), countdown.getPauseCount(), startedAt, Instant.ofEpochMilli(now),
+                alarmRinging), durable);
+    }
+}
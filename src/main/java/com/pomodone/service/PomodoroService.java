@@ -1,78 +1,66 @@
 package com.pomodone.service;
 
+import com.pomodone.model.pomodoro.PomodoroMode;
 import com.pomodone.model.pomodoro.PomodoroSettings;
+import com.pomodone.model.pomodoro.PomodoroSnapshot;
+import com.pomodone.model.pomodoro.SessionType;
+import com.pomodone.model.pomodoro.TimerCheckpoint;
+import com.pomodone.model.pomodoro.TimerSnapshot;
+import com.pomodone.model.pomodoro.TimerState;
+import com.pomodone.repository.TimerCheckpointStore;
 import com.pomodone.strategy.pomodoro.ClassicPomodoroStrategy;
 import com.pomodone.strategy.pomodoro.CustomPomodoroStrategy;
 import com.pomodone.strategy.pomodoro.IntensePomodoroStrategy;
 import com.pomodone.strategy.pomodoro.PomodoroStrategy;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.beans.property.*;
-import javafx.scene.media.Media;
-import javafx.scene.media.MediaPlayer;
-import javafx.util.Duration;
-import javafx.animation.Animation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.net.URL;
-import java.time.LocalDateTime;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 
+// Adapter JavaFX buat PomodoroEngine: pilih strategy, terima snapshot dari thread timer, lalu
+// terapkan ke property di thread FX. Snapshot yang datang beruntun digabung, yang diterapkan selalu
+// yang terbaru. Timer-nya sendiri hidup di engine.
 public class PomodoroService {
     private static PomodoroService instance;
     private static final Logger log = LoggerFactory.getLogger(PomodoroService.class);
 
-    public enum TimerState { STOPPED, RUNNING, PAUSED }
-    public enum SessionType { FOCUS, SHORT_BREAK, LONG_BREAK }
-    public enum PomodoroMode { CLASSIC, INTENSE, CUSTOM }
-
-    // State dari service
-    private Timeline timeline;
-    private java.time.Duration timeRemaining;
-    private java.time.Duration currentSessionTotalDuration;
+    private final PomodoroEngine engine;
+    private final Executor fxExecutor;
+    private final AlarmSoundEngine alarmSounds;
+    private final AtomicReference<PomodoroSnapshot> pendingSnapshot = new AtomicReference<>();
+    // false waktu view pomodoro tidak kelihatan: snapshot tidak didorong ke FX sama sekali
+    private final AtomicBoolean displayActive = new AtomicBoolean(true);
+    private boolean alarmOn;
     private PomodoroStrategy strategy;
-    private PomodoroSettings settings;
-    private int roundsCompleted = 0;
-    private Media alarmSound;
-    private LocalDateTime sessionStartedAt;
-    private PomodoroSessionService sessionService = new PomodoroSessionService();
-
-    public void setSessionService(PomodoroSessionService sessionService) {
-        this.sessionService = sessionService;
-    }
 
     // Property yang bisa di-observe buat UI
-    private final ReadOnlyStringWrapper hours = new ReadOnlyStringWrapper("00");
-    private final ReadOnlyStringWrapper minutes = new ReadOnlyStringWrapper("25");
-    private final ReadOnlyStringWrapper seconds = new ReadOnlyStringWrapper("00");
-    private final ReadOnlyBooleanWrapper showHours = new ReadOnlyBooleanWrapper(false);
+    // angka timer + progress digabung satu property, satu tick = satu event ke view
+    private final ReadOnlyObjectWrapper<TimerSnapshot> timerSnapshot =
+            new ReadOnlyObjectWrapper<>(TimerSnapshot.of(25 * 60, 25 * 60, 0.0));
     private final ReadOnlyStringWrapper statusString = new ReadOnlyStringWrapper("");
     private final ReadOnlyObjectWrapper<TimerState> timerState = new ReadOnlyObjectWrapper<>(TimerState.STOPPED);
     private final ReadOnlyObjectWrapper<SessionType> sessionType = new ReadOnlyObjectWrapper<>(SessionType.FOCUS);
     private final ObjectProperty<PomodoroMode> pomodoroMode = new SimpleObjectProperty<>(PomodoroMode.CLASSIC);
-    private final ReadOnlyDoubleWrapper progress = new ReadOnlyDoubleWrapper(0.0);
 
 
     private PomodoroService() {
-        timeline = new Timeline(new KeyFrame(Duration.seconds(1), event -> tick()));
-        timeline.setCycleCount(Animation.INDEFINITE);
-        
-        loadAlarmSound();
-        selectMode(PomodoroMode.CLASSIC); // default-nya classic
+        // timer-nya salah satu timer di PomodoroTimerManager, satu thread timing wheel buat semua timer
+        this(PomodoroTimerManager.getInstance().defaultTimer(), Platform::runLater, AlarmSoundEngine.getInstance());
+        restoreCheckpoint(TimerCheckpointStore.getInstance());
     }
-    
-    private void loadAlarmSound() {
-        try {
-            URL resource = getClass().getResource("/audio/audio.mp3"); 
-            if (resource != null) {
-                alarmSound = new Media(resource.toExternalForm());
-            } else {
-                log.warn("Suara alarm tidak ditemukan");
-            }
-        } catch (Exception e) {
-            log.error("Gagal load suara alarm", e);
-        }
+
+    // buat test: engine dengan scheduler/clock palsu, executor langsung, suara palsu
+    PomodoroService(PomodoroEngine engine, Executor fxExecutor, AlarmSoundEngine alarmSounds) {
+        this.engine = engine;
+        this.fxExecutor = fxExecutor;
+        this.alarmSounds = alarmSounds;
+        engine.addListener(this::onSnapshot);
+        selectMode(PomodoroMode.CLASSIC); // default-nya classic
     }
 
     public static synchronized PomodoroService getInstance() {
@@ -82,6 +70,34 @@ public class PomodoroService {
         return instance;
     }
 
+    // Lanjutkan sesi dari run sebelumnya (kalau ada), lalu mulai checkpoint tiap transisi. Harus setelah
+    // selectMode default, karena configure() mereset timer dan ikut ditulis ke checkpoint.
+    void restoreCheckpoint(TimerCheckpointStore store) {
+        if (store == null) return;
+        store.load().ifPresent(checkpoint -> {
+            if (engine.restore(checkpoint)) {
+                strategy = strategyFor(checkpoint);
+                log.info("Sesi {} dilanjutkan dari checkpoint", checkpoint.getSessionType());
+            }
+        });
+        engine.setCheckpointStore(store);
+        applyLatest();
+    }
+
+    private static PomodoroStrategy strategyFor(TimerCheckpoint checkpoint) {
+        switch (checkpoint.getMode()) {
+            case CLASSIC:
+                return new ClassicPomodoroStrategy();
+            case INTENSE:
+                return new IntensePomodoroStrategy();
+            default:
+                return new CustomPomodoroStrategy(checkpoint.getSettings());
+        }
+    }
+
+    public void setSessionService(PomodoroSessionService sessionService) {
+        engine.setSessionService(sessionService);
+    }
 
     public void selectMode(PomodoroMode mode) {
         if (mode == null) return;
@@ -97,9 +113,8 @@ public class PomodoroService {
                 // strategi custom di-update terpisah
                 return;
         }
-        this.pomodoroMode.set(mode);
-        this.settings = strategy.getSettings();
-        stopAndResetTimer();
+        engine.configure(mode, strategy.getSettings());
+        applyLatest();
     }
     
     public void applyCustomSettings(int focus, int sBreak, int lBreak, int rounds) {
@@ -110,157 +125,100 @@ public class PomodoroService {
                     java.time.Duration.ofMinutes(lBreak),
                     rounds);
             this.strategy = new CustomPomodoroStrategy(customSettings);
-            this.settings = this.strategy.getSettings();
-            this.pomodoroMode.set(PomodoroMode.CUSTOM);
-            stopAndResetTimer();
+            engine.configure(PomodoroMode.CUSTOM, strategy.getSettings());
+            applyLatest();
         } catch (IllegalArgumentException e) {
             log.warn("Gagal apply custom settings: {}", e.getMessage());
         }
     }
 
     public void handleStartPause() {
-        if (timerState.get() == TimerState.RUNNING) {
-            timeline.pause();
-            timerState.set(TimerState.PAUSED);
-        } else {
-            if (timerState.get() == TimerState.STOPPED) {
-                sessionType.set(SessionType.FOCUS);
-                roundsCompleted = 0;
-                timeRemaining = settings.getFocusDuration();
-                currentSessionTotalDuration = timeRemaining;
-                sessionStartedAt = LocalDateTime.now();
-            }
-            timeline.play();
-            timerState.set(TimerState.RUNNING);
-        }
-        updateStatusString();
+        engine.startPause();
+        applyLatest();
     }
 
     public void stopAndResetTimer() {
-        timeline.stop();
-        timerState.set(TimerState.STOPPED);
-        sessionType.set(SessionType.FOCUS);
-        roundsCompleted = 0;
-        if (settings != null) {
-            timeRemaining = settings.getFocusDuration();
-            currentSessionTotalDuration = timeRemaining;
-        }
-        sessionStartedAt = null;
-        updateTimerLabels();
-        updateStatusString();
-        progress.set(0.0);
+        engine.stop();
+        applyLatest();
     }
 
 
-    public ReadOnlyStringProperty hoursProperty() { return hours.getReadOnlyProperty(); }
-    public ReadOnlyStringProperty minutesProperty() { return minutes.getReadOnlyProperty(); }
-    public ReadOnlyStringProperty secondsProperty() { return seconds.getReadOnlyProperty(); }
-    public ReadOnlyBooleanProperty showHoursProperty() { return showHours.getReadOnlyProperty(); }
+    // view tersembunyi/diminimize: engine berhenti tick per detik dan tidak ada runLater; pas kelihatan
+    // lagi langsung pakai snapshot terkini. Dipanggil dari thread FX.
+    public void setDisplayActive(boolean active) {
+        if (displayActive.getAndSet(active) == active) return;
+        engine.setDisplayTicks(active);
+        if (active) {
+            applyLatest();
+        }
+    }
+
+    public ReadOnlyObjectProperty<TimerSnapshot> timerSnapshotProperty() { return timerSnapshot.getReadOnlyProperty(); }
     public ReadOnlyStringProperty statusStringProperty() { return statusString.getReadOnlyProperty(); }
     public ReadOnlyObjectProperty<TimerState> timerStateProperty() { return timerState.getReadOnlyProperty(); }
-    public ReadOnlyDoubleProperty progressProperty() { return progress.getReadOnlyProperty(); }
-
+    public ReadOnlyObjectProperty<SessionType> sessionTypeProperty() { return sessionType.getReadOnlyProperty(); }
 
-    private void tick() {
-        timeRemaining = timeRemaining.minusSeconds(1);
-        updateTimerLabels();
-        updateProgress();
 
-        if (timeRemaining.isZero() || timeRemaining.isNegative()) {
-            startNextSession();
-        }
-    }
-    
-    private void updateProgress() {
-        if (currentSessionTotalDuration == null || currentSessionTotalDuration.isZero()) {
-            progress.set(0.0);
-        } else {
-            double elapsed = (double)currentSessionTotalDuration.toSeconds() - timeRemaining.toSeconds();
-            double total = currentSessionTotalDuration.toSeconds();
-            progress.set(total > 0 ? elapsed / total : 0);
+    // dipanggil dari thread timer; alarm langsung dibunyikan di sini (tidak nunggu FX, tetap bunyi walau
+    // view tidak kelihatan), runLater cuma dijadwalkan kalau belum ada yang antre
+    private void onSnapshot(PomodoroSnapshot snapshot) {
+        updateAlarm(snapshot);
+        if (!displayActive.get()) {
+            return;
         }
-    }
-    
-    private void playAlarm(Runnable onAlarmFinished) {
-        if (alarmSound != null) {
-            MediaPlayer mediaPlayer = new MediaPlayer(alarmSound);
-            mediaPlayer.setCycleCount(MediaPlayer.INDEFINITE);
-            mediaPlayer.play();
-
-            // Timeline buat berhentiin alarm setelah 9 detik, trus jalanin callback
-            Timeline alarmDurationTimer = new Timeline(new KeyFrame(
-                Duration.seconds(9), // mainin alarm 9 detik
-                event -> {
-                    mediaPlayer.stop();
-                    mediaPlayer.dispose(); // bebasin resource
-                    if (onAlarmFinished != null) {
-                        onAlarmFinished.run();
-                    }
+        if (pendingSnapshot.getAndSet(snapshot) == null) {
+            fxExecutor.execute(() -> {
+                PomodoroSnapshot latest = pendingSnapshot.getAndSet(null);
+                if (latest != null) {
+                    apply(latest);
                 }
-            ));
-            alarmDurationTimer.setCycleCount(1);
-            alarmDurationTimer.play();
-        } else {
-            log.warn("Suara alarm tidak termuat, lanjut tanpa alarm");
-            if (onAlarmFinished != null) {
-                onAlarmFinished.run();
-            }
+            });
         }
     }
 
-    private void startNextSession() {
-        // berhentiin timeline utama, timer bakal di 00:00
-        timeline.stop();
-
-        logFocusCompletionIfNeeded();
-
-        // mainin alarm, callback-nya bakal nyiapin dan mulai sesi berikutnya
-        playAlarm(() -> {
-            if (sessionType.get() == SessionType.FOCUS) {
-                roundsCompleted++;
-                if (roundsCompleted % settings.getRoundsBeforeLongBreak() == 0) {
-                    sessionType.set(SessionType.LONG_BREAK);
-                    timeRemaining = settings.getLongBreakDuration();
-                } else {
-                    sessionType.set(SessionType.SHORT_BREAK);
-                    timeRemaining = settings.getShortBreakDuration();
-                }
-            } else { // kalo tadi break
-                sessionType.set(SessionType.FOCUS);
-                timeRemaining = settings.getFocusDuration();
-            }
-            currentSessionTotalDuration = timeRemaining;
-            sessionStartedAt = sessionType.get() == SessionType.FOCUS ? LocalDateTime.now() : null;
-            updateStatusString();
-            updateTimerLabels();
-
-            timeline.play();
-            timerState.set(TimerState.RUNNING);
-        });
+    // perintah dari UI langsung kelihatan, tidak nunggu runLater berikutnya
+    private void applyLatest() {
+        pendingSnapshot.set(null);
+        PomodoroSnapshot snapshot = engine.snapshot();
+        updateAlarm(snapshot); // stop di tengah alarm
+        apply(snapshot);
     }
 
-    private void updateTimerLabels() {
-        if (timeRemaining == null) return;
-        long totalSeconds = timeRemaining.toSeconds();
+    private void apply(PomodoroSnapshot snapshot) {
+        pomodoroMode.set(snapshot.getMode());
+        sessionType.set(snapshot.getSessionType());
+        timerState.set(snapshot.getTimerState());
+        updateTimerSnapshot(snapshot);
+        updateStatusString(snapshot);
+    }
 
-        if (totalSeconds < 0) totalSeconds = 0;
+    // diputar terus sampai engine mulai sesi berikutnya (atau timer di-stop)
+    private synchronized void updateAlarm(PomodoroSnapshot snapshot) {
+        boolean ringing = snapshot.isAlarmRinging();
+        if (ringing == alarmOn || alarmSounds == null) return;
+        alarmOn = ringing;
+        if (ringing) {
+            alarmSounds.start(snapshot.getMode(), snapshot.getSessionType());
+        } else {
+            alarmSounds.stop();
+        }
+    }
 
-        long h = totalSeconds / 3600;
-        long m = (totalSeconds % 3600) / 60;
-        long s = totalSeconds % 60;
-        
-        boolean shouldShowHours = (currentSessionTotalDuration != null && currentSessionTotalDuration.toHours() > 0) || h > 0;
-        showHours.set(shouldShowHours);
+    private void updateTimerSnapshot(PomodoroSnapshot snapshot) {
+        TimerSnapshot next = toTimerSnapshot(snapshot);
+        if (!next.sameDisplayAs(timerSnapshot.get())) {
+            timerSnapshot.set(next);
+        }
+    }
 
-        hours.set(String.format("%02d", h));
-        minutes.set(String.format("%02d", m));
-        seconds.set(String.format("%02d", s));
+    static TimerSnapshot toTimerSnapshot(PomodoroSnapshot snapshot) {
+        return TimerSnapshot.of(snapshot);
     }
     
-    private void updateStatusString() {
-        if (settings == null) return;
+    private void updateStatusString(PomodoroSnapshot snapshot) {
+        PomodoroSettings settings = snapshot.getSettings();
 
-        if (timerState.get() == TimerState.STOPPED) {
+        if (snapshot.getTimerState() == TimerState.STOPPED) {
             statusString.set(String.format("%d rounds of %d min focus, %d min break.",
                     settings.getRoundsBeforeLongBreak(),
                     settings.getFocusDuration().toMinutes(),
@@ -269,9 +227,9 @@ public class PomodoroService {
         }
 
         String text = "";
-        switch (sessionType.get()) {
+        switch (snapshot.getSessionType()) {
             case FOCUS:
-                 int currentRound = (roundsCompleted % settings.getRoundsBeforeLongBreak()) + 1;
+                int currentRound = (snapshot.getRoundsCompleted() % settings.getRoundsBeforeLongBreak()) + 1;
                 text = "Focus " + currentRound + "/" + settings.getRoundsBeforeLongBreak();
                 break;
             case SHORT_BREAK:
@@ -284,18 +242,6 @@ public class PomodoroService {
         statusString.set(text);
     }
 
-    private void logFocusCompletionIfNeeded() {
-        if (sessionType.get() != SessionType.FOCUS || sessionStartedAt == null) {
-            return;
-        }
-        LocalDateTime endedAt = LocalDateTime.now();
-        long durationSeconds = currentSessionTotalDuration != null
-                ? Math.max(0, currentSessionTotalDuration.toSeconds())
-                : 0;
-        sessionService.logCompletedSession(sessionStartedAt, endedAt, durationSeconds, pomodoroMode.get());
-        sessionStartedAt = null;
-    }
-
     public PomodoroMode getCurrentMode() {
         return pomodoroMode.get();
     }
@@ -1,34 +1,75 @@
 package com.pomodone.service;
 
+import com.pomodone.model.pomodoro.PomodoroMode;
+import com.pomodone.model.pomodoro.SessionRecord;
+import com.pomodone.model.pomodoro.SessionStatus;
 import com.pomodone.repository.PomodoroSessionRepository;
+import com.pomodone.repository.SessionJournal;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.WeekFields;
 import java.util.Locale;
+import java.util.UUID;
 
 public class PomodoroSessionService {
     private final PomodoroSessionRepository repository;
+    // null = pakai journal global, baru dibuka pas ada sesi pertama yang dicatat
+    private SessionJournal journal;
     private static final long CURRENT_USER_ID = 1;
+    private final long userId;
+    private final Long taskId;
 
     public PomodoroSessionService() {
+        this(CURRENT_USER_ID, null);
+    }
+
+    // buat timer per task/per user, sesi yang dilog ikut nyantol ke task-nya
+    public PomodoroSessionService(long userId, Long taskId) {
         this.repository = new PomodoroSessionRepository();
+        this.userId = userId;
+        this.taskId = taskId;
+    }
+
+    // Dipanggil dari thread timer: cuma nulis ke journal lokal (fsync), DB diisi worker journal di background
+    public void logCompletedSession(LocalDateTime startedAt, LocalDateTime endedAt, long durationSeconds,
+                                    long pausedSeconds, int pauseCount, PomodoroMode mode) {
+        logSession(startedAt, endedAt, durationSeconds, pausedSeconds, pauseCount, mode, SessionStatus.COMPLETED);
     }
 
-    public void logCompletedSession(LocalDateTime startedAt, LocalDateTime endedAt, long durationSeconds, PomodoroService.PomodoroMode mode) {
+    // fokus yang di-stop di tengah jalan; dicatat di riwayat tapi tidak dihitung di target harian
+    public void logCancelledSession(LocalDateTime startedAt, LocalDateTime endedAt, long durationSeconds,
+                                    long pausedSeconds, int pauseCount, PomodoroMode mode) {
+        logSession(startedAt, endedAt, durationSeconds, pausedSeconds, pauseCount, mode, SessionStatus.CANCELLED);
+    }
+
+    private void logSession(LocalDateTime startedAt, LocalDateTime endedAt, long durationSeconds, long pausedSeconds,
+                            int pauseCount, PomodoroMode mode, SessionStatus status) {
         if (startedAt == null || endedAt == null) return;
-        repository.insertCompletedSession(CURRENT_USER_ID, startedAt, endedAt, durationSeconds, mode);
+        SessionRecord session = new SessionRecord(UUID.randomUUID().toString(), userId, taskId, startedAt, endedAt,
+                durationSeconds, pausedSeconds, pauseCount, mode, status);
+        (journal != null ? journal : SessionJournal.getInstance()).append(session);
     }
 
     public int getTodayCompletedSessions() {
-        LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
-        return repository.countSessionsSince(CURRENT_USER_ID, startOfDay);
+        LocalDate today = LocalDate.now();
+        return repository.countSessionsBetween(userId, today, today);
     }
 
     public int getCurrentWeekCompletedSessions() {
         LocalDate today = LocalDate.now();
         WeekFields wf = WeekFields.of(Locale.getDefault());
         LocalDate startOfWeek = today.with(wf.dayOfWeek(), 1);
-        return repository.countSessionsSince(CURRENT_USER_ID, startOfWeek.atStartOfDay());
+        return repository.countSessionsBetween(userId, startOfWeek, today);
+    }
+
+    public int getCurrentMonthCompletedSessions() {
+        LocalDate today = LocalDate.now();
+        return repository.countSessionsBetween(userId, today.withDayOfMonth(1), today);
+    }
+
+    public long getTodayFocusSeconds() {
+        LocalDate today = LocalDate.now();
+        return repository.sumFocusSecondsBetween(userId, today, today);
     }
 }
@@ -0,0 +1,113 @@
+package com.pomodone.service;
+
+import com.pomodone.model.pomodoro.PomodoroMode;
+import com.pomodone.strategy.pomodoro.PomodoroStrategy;
+import com.pomodone.util.HashedTimingWheel;
+import com.pomodone.util.TimerClock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Banyak timer pomodoro sekaligus (per task, per user di komputer bareng), semuanya dijadwal di satu
+// HashedTimingWheel. Ribuan timer aktif tetap cuma satu thread, dan biaya per tick O(1) per timer yang
+// jatuh tempo, bukan satu Timeline per timer. Tiap timer punya settings strategy dan log sesinya sendiri.
+public class PomodoroTimerManager {
+    private static final Logger log = LoggerFactory.getLogger(PomodoroTimerManager.class);
+    private static PomodoroTimerManager instance;
+    private static final long CURRENT_USER_ID = 1;
+    private static final Duration TICK_DURATION = Duration.ofMillis(50);
+    private static final int WHEEL_SIZE = 512;
+
+    // taskId null = timer umum milik user (yang dipakai halaman Pomodoro)
+    public record TimerKey(long userId, Long taskId) {
+        public static TimerKey forUser(long userId) {
+            return new TimerKey(userId, null);
+        }
+
+        public static TimerKey forTask(long userId, long taskId) {
+            return new TimerKey(userId, taskId);
+        }
+    }
+
+    private final HashedTimingWheel wheel;
+    private final TimerClock clock;
+    private final Duration alarmDuration;
+    private final Function<TimerKey, PomodoroSessionService> sessionServices;
+    private final Map<TimerKey, PomodoroEngine> timers = new ConcurrentHashMap<>();
+
+    private PomodoroTimerManager() {
+        this(new HashedTimingWheel(TimerClock.system(), TICK_DURATION, WHEEL_SIZE), TimerClock.system(),
+                PomodoroEngine.DEFAULT_ALARM_DURATION, key -> new PomodoroSessionService(key.userId(), key.taskId()));
+        wheel.start();
+    }
+
+    PomodoroTimerManager(HashedTimingWheel wheel, TimerClock clock, Duration alarmDuration,
+                         Function<TimerKey, PomodoroSessionService> sessionServices) {
+        this.wheel = wheel;
+        this.clock = clock;
+        this.alarmDuration = alarmDuration;
+        this.sessionServices = sessionServices;
+    }
+
+    public static synchronized PomodoroTimerManager getInstance() {
+        if (instance == null) {
+            instance = new PomodoroTimerManager();
+        }
+        return instance;
+    }
+
+    // timer umum user aktif, dipakai PomodoroService
+    public PomodoroEngine defaultTimer() {
+        return timers.computeIfAbsent(TimerKey.forUser(CURRENT_USER_ID), this::newEngine);
+    }
+
+    // Timer yang sudah ada dikembalikan apa adanya (tetap jalan dengan settings-nya), yang baru
+    // langsung dikonfigurasi dari strategy
+    public PomodoroEngine open(TimerKey key, PomodoroMode mode, PomodoroStrategy strategy) {
+        return timers.computeIfAbsent(key, k -> {
+            PomodoroEngine engine = newEngine(k);
+            engine.configure(mode, strategy.getSettings());
+            return engine;
+        });
+    }
+
+    public PomodoroEngine get(TimerKey key) {
+        return timers.get(key);
+    }
+
+    // sama seperti tombol stop: fokus yang sudah jalan dicatat sebagai sesi batal
+    public void close(TimerKey key) {
+        PomodoroEngine engine = timers.remove(key);
+        if (engine != null) {
+            engine.stop();
+        }
+    }
+
+    public int activeCount() {
+        return timers.size();
+    }
+
+    // app ditutup, bukan user yang berhenti: tidak ada sesi batal yang dicatat
+    public void shutdown() {
+        timers.values().forEach(PomodoroEngine::halt);
+        timers.clear();
+        wheel.shutdown();
+        // tick yang sedang jalan (bisa lagi mencatat sesi) dibiarkan selesai dulu
+        try {
+            if (!wheel.awaitTermination(1, TimeUnit.SECONDS)) {
+                log.warn("Thread timing wheel belum berhenti setelah 1 detik");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private PomodoroEngine newEngine(TimerKey key) {
+        return new PomodoroEngine(wheel, clock, alarmDuration, sessionServices.apply(key));
+    }
+}
@@ -5,21 +5,31 @@ import java.util.List;
 
 import com.pomodone.model.task.Task;
 import com.pomodone.model.task.TaskDifficulty;
+import com.pomodone.model.task.TaskPage;
+import com.pomodone.model.task.TaskPageCursor;
+import com.pomodone.model.task.TaskQuery;
 import com.pomodone.model.task.TaskStatus;
+import com.pomodone.repository.CachingTaskRepository;
 import com.pomodone.repository.TaskRepository;
 
 public class TaskService {
     private final TaskRepository taskRepository;
+    private final OverdueSweeper overdueSweeper;
 
     public TaskService() {
-        this(new TaskRepository());
+        this(CachingTaskRepository.getInstance(), OverdueSweeper.getInstance());
     }
 
     TaskService(TaskRepository taskRepository) {
+        this(taskRepository, null);
+    }
+
+    TaskService(TaskRepository taskRepository, OverdueSweeper overdueSweeper) {
         this.taskRepository = taskRepository;
+        this.overdueSweeper = overdueSweeper;
     }
 
-    public void createNewTask(String title, String description, LocalDateTime duedate, TaskDifficulty difficulty) {
+    public long createNewTask(String title, String description, LocalDateTime duedate, TaskDifficulty difficulty) {
         if (title == null || title.trim().isEmpty()) {
             throw new IllegalArgumentException("Task title cannot be empty!");
         }
@@ -32,13 +42,27 @@ public class TaskService {
                          .status(TaskStatus.BELUM_SELESAI)
                          .build();
         
-        taskRepository.save(newTask);
+        long id = taskRepository.save(newTask);
+        deadlinesChanged();
+        return id;
     }
 
     public List<Task> getAllTasks() {
         return taskRepository.findAll();
     }
     
+    public List<Task> findTasks(TaskQuery query) {
+        return taskRepository.findByQuery(query);
+    }
+
+    public TaskPage findTaskPage(TaskQuery query, TaskPageCursor after, int pageSize) {
+        return taskRepository.findPage(query, after, pageSize);
+    }
+
+    public List<Task> searchTasks(String text, int limit) {
+        return taskRepository.search(text, limit);
+    }
+
     public List<Task> getTopByDueDate(int limit) {
         return taskRepository.findTopByDueDate(limit);
     }
@@ -49,6 +73,7 @@ public class TaskService {
         } 
 
         taskRepository.delete(id);
+        deadlinesChanged();
     }
 
     public void updateTask(long id, String newTitle, String newDescription,
@@ -72,6 +97,14 @@ public class TaskService {
         Task updatedTask = existingTask.withUpdatedFields(updateRequest);
 
         taskRepository.update(updatedTask);
+        deadlinesChanged();
+    }
+
+    // tenggat terdekat yang diingat OverdueSweeper bisa berubah
+    private void deadlinesChanged() {
+        if (overdueSweeper != null) {
+            overdueSweeper.tasksChanged();
+        }
     }
 
 }
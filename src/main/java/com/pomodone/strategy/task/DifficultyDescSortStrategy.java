@@ -2,6 +2,7 @@ package com.pomodone.strategy.task;
 
 import com.pomodone.model.task.Task;
 import com.pomodone.model.task.TaskDifficulty;
+import com.pomodone.model.task.TaskSortField;
 import com.pomodone.util.SortDirection;
 
 import java.util.Comparator;
@@ -14,6 +15,11 @@ public class DifficultyDescSortStrategy implements TaskSortStrategy {
         return comparator;
     }
 
+    @Override
+    public TaskSortField getSortField() {
+        return TaskSortField.DIFFICULTY;
+    }
+
     @Override
     public SortDirection getDirection() {
         return SortDirection.DESC;
@@ -1,6 +1,7 @@
 package com.pomodone.strategy.task;
 
 import com.pomodone.model.task.Task;
+import com.pomodone.model.task.TaskSortField;
 import com.pomodone.util.SortDirection;
 
 import java.time.LocalDateTime;
@@ -17,6 +18,11 @@ public class DueDateDescSortStrategy implements TaskSortStrategy {
         return comparator;
     }
 
+    @Override
+    public TaskSortField getSortField() {
+        return TaskSortField.DUE_DATE;
+    }
+
     @Override
     public SortDirection getDirection() {
         return SortDirection.DESC;
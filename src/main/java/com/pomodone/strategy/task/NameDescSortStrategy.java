@@ -1,6 +1,7 @@
 package com.pomodone.strategy.task;
 
 import com.pomodone.model.task.Task;
+import com.pomodone.model.task.TaskSortField;
 import com.pomodone.util.SortDirection;
 
 import java.util.Comparator;
@@ -13,6 +14,11 @@ public class NameDescSortStrategy implements TaskSortStrategy {
         return comparator;
     }
 
+    @Override
+    public TaskSortField getSortField() {
+        return TaskSortField.TITLE;
+    }
+
     @Override
     public SortDirection getDirection() {
         return SortDirection.DESC;
@@ -1,6 +1,7 @@
 package com.pomodone.strategy.task;
 
 import com.pomodone.model.task.Task;
+import com.pomodone.model.task.TaskSortField;
 import com.pomodone.util.SortDirection;
 
 import java.util.Comparator;
@@ -8,4 +9,6 @@ import java.util.Comparator;
 public interface TaskSortStrategy {
     Comparator<Task> getComparator();
     SortDirection getDirection();
+    // padanan urutan di SQL, dipakai TaskQuery supaya sorting jalan di database
+    TaskSortField getSortField();
 }
@@ -0,0 +1,165 @@
+package com.pomodone.util;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+// Countdown berbasis deadline: sisa waktu selalu dihitung dari clock, bukan dikurangi per tick.
+// Tick yang telat (FX thread sibuk, GC, alarm) cuma bikin tampilan telat update, angkanya tetap benar,
+// dan tick berikutnya langsung mengejar. Waktu pause dicatat terpisah dari waktu fokus.
+public class Countdown {
+    // nanoTime berhenti selama laptop suspend (Linux), jam dinding tidak. Selisih di atas batas ini
+    // dianggap suspend dan ikut dihitung sebagai waktu yang lewat.
+    private static final long SUSPEND_THRESHOLD_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    private final TimerClock clock;
+    private long totalNanos;
+    private long deadlineNanos;
+    private long remainingAtPauseNanos;
+    private long pauseStartedNanos;
+    private long pausedNanos;
+    private int pauseCount;
+    private long startedWallMillis;
+    private long lastSeenNanos;
+    private long lastSeenWallMillis;
+    private boolean started;
+    private boolean running;
+
+    public Countdown(TimerClock clock) {
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    public void start(Duration total) {
+        long now = sampleNanos();
+        totalNanos = total.toNanos();
+        deadlineNanos = now + totalNanos;
+        remainingAtPauseNanos = totalNanos;
+        pausedNanos = 0;
+        pauseCount = 0;
+        startedWallMillis = lastSeenWallMillis;
+        started = true;
+        running = true;
+    }
+
+    public void pause() {
+        if (!running) return;
+        long now = sampleNanos();
+        remainingAtPauseNanos = Math.max(0, deadlineNanos - now);
+        pauseStartedNanos = now;
+        running = false;
+    }
+
+    public void resume() {
+        if (!started || running) return;
+        long now = sampleNanos();
+        pausedNanos += now - pauseStartedNanos;
+        pauseCount++;
+        deadlineNanos = now + remainingAtPauseNanos;
+        running = true;
+    }
+
+    // Lanjutkan sesi dari checkpoint dalam keadaan pause; resume() berikutnya dihitung sebagai pause biasa
+    public void restorePaused(Duration total, Duration remaining, Duration paused, int pauseCount, Instant startedAt) {
+        long now = sampleNanos();
+        totalNanos = total.toNanos();
+        remainingAtPauseNanos = Math.max(0, Math.min(totalNanos, remaining.toNanos()));
+        pauseStartedNanos = now;
+        pausedNanos = paused.toNanos();
+        this.pauseCount = pauseCount;
+        startedWallMillis = startedAt.toEpochMilli();
+        started = true;
+        running = false;
+    }
+
+    public void reset() {
+        started = false;
+        running = false;
+        totalNanos = 0;
+        pausedNanos = 0;
+        pauseCount = 0;
+    }
+
+    public boolean isStarted() {
+        return started;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long remainingNanos() {
+        if (!started) return 0;
+        if (!running) return remainingAtPauseNanos;
+        // sample dulu: deadline bisa bergeser kalau barusan ketahuan suspend
+        long now = sampleNanos();
+        return Math.max(0, deadlineNanos - now);
+    }
+
+    // nanoTime dari sampling terakhir, pasangan remainingNanos() buat interpolasi di UI
+    public long lastSampleNanos() {
+        return lastSeenNanos;
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(remainingNanos());
+    }
+
+    // dibulatkan ke atas: 25:00 tampil penuh di awal, 00:00 baru muncul pas benar-benar habis
+    public long remainingSecondsCeil() {
+        return ceilSeconds(remainingNanos());
+    }
+
+    public static long ceilSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    public boolean isExpired() {
+        return started && remainingNanos() == 0;
+    }
+
+    public double progress() {
+        if (!started || totalNanos == 0) return 0.0;
+        return (double) (totalNanos - remainingNanos()) / totalNanos;
+    }
+
+    // waktu fokus yang benar-benar jalan (tanpa pause); kalau sudah habis, persis sama dengan total
+    public Duration activeDuration() {
+        if (!started) return Duration.ZERO;
+        return Duration.ofNanos(totalNanos - remainingNanos());
+    }
+
+    public Duration pausedDuration() {
+        if (started && !running) {
+            return Duration.ofNanos(pausedNanos + (sampleNanos() - pauseStartedNanos));
+        }
+        return Duration.ofNanos(pausedNanos);
+    }
+
+    public int getPauseCount() {
+        return pauseCount;
+    }
+
+    public Instant startedAt() {
+        return Instant.ofEpochMilli(startedWallMillis);
+    }
+
+    // dihitung dari durasi, bukan dari kapan tick sadar waktunya habis
+    public Instant endedAt() {
+        return startedAt().plus(activeDuration()).plus(pausedDuration());
+    }
+
+    private long sampleNanos() {
+        long nanos = clock.nanoTime();
+        long wall = clock.wallMillis();
+        if (running) {
+            long gap = TimeUnit.MILLISECONDS.toNanos(wall - lastSeenWallMillis) - (nanos - lastSeenNanos);
+            if (gap > SUSPEND_THRESHOLD_NANOS) {
+                deadlineNanos -= gap;
+            }
+        }
+        lastSeenNanos = nanos;
+        lastSeenWallMillis = wall;
+        return nanos;
+    }
+}
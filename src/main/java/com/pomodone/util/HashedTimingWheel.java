@@ -0,0 +1,281 @@
+package com.pomodone.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// Scheduler buat ribuan timer sekaligus dengan satu thread. Waktu dibagi jadi tick (mis. 50 ms) yang
+// dipetakan ke array bucket melingkar: jadwal baru cuma masuk ke satu bucket (O(1)), dan tiap tick cuma
+// bucket-nya sendiri yang diperiksa, tidak peduli berapa banyak timer yang aktif. Jadwal yang lebih jauh
+// dari satu putaran roda nunggu beberapa putaran (rounds). Task bisa telat maksimal satu tick, tidak pernah
+// lebih awal, dan jalan di thread roda, jadi harus pendek. Jadwal periodik dimasukkan ulang ke roda
+// setelah tiap run, berhenti kalau di-cancel atau task-nya melempar exception.
+public class HashedTimingWheel extends AbstractExecutorService implements ScheduledExecutorService {
+    private static final Logger log = LoggerFactory.getLogger(HashedTimingWheel.class);
+
+    private final TimerClock clock;
+    private final long tickNanos;
+    private final int mask;
+    private final List<ArrayDeque<WheelTimeout<?>>> buckets;
+    // jadwal dari thread mana pun masuk sini dulu, bucket cuma disentuh thread roda
+    private final Queue<WheelTimeout<?>> incoming = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final long startNanos;
+    private long tick;
+    private volatile Thread worker;
+    private volatile boolean shutdown;
+
+    public HashedTimingWheel(TimerClock clock, Duration tickDuration, int wheelSize) {
+        if (tickDuration.isNegative() || tickDuration.isZero()) {
+            throw new IllegalArgumentException("Durasi tick harus positif");
+        }
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Ukuran roda harus pangkat dua");
+        }
+        this.clock = clock;
+        this.tickNanos = tickDuration.toNanos();
+        this.mask = wheelSize - 1;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayDeque<>());
+        }
+        this.startNanos = clock.nanoTime();
+    }
+
+    // Tanpa start(), roda cuma maju lewat advanceTo (dipakai test dengan clock palsu)
+    public synchronized void start() {
+        if (worker != null || shutdown) return;
+        worker = new Thread(this::runLoop, "pomodone-timing-wheel");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public int pendingCount() {
+        return pending.get();
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return schedule(Executors.callable(command), delay, unit);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        return enqueue(new WheelTimeout<>(callable, deadline(delay, unit), 0));
+    }
+
+    // jadwal berikutnya dihitung dari deadline sebelumnya, jadi tidak ikut molor walau tiap run telat satu tick
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Periode harus positif");
+        }
+        return enqueue(new WheelTimeout<>(Executors.callable(command), deadline(initialDelay, unit), unit.toNanos(period)));
+    }
+
+    // jadwal berikutnya dihitung dari selesainya run sebelumnya (periode negatif = fixed delay)
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        if (delay <= 0) {
+            throw new IllegalArgumentException("Delay harus positif");
+        }
+        return enqueue(new WheelTimeout<>(Executors.callable(command), deadline(initialDelay, unit), -unit.toNanos(delay)));
+    }
+
+    private long deadline(long delay, TimeUnit unit) {
+        return clock.nanoTime() + Math.max(0, unit.toNanos(delay));
+    }
+
+    private <V> WheelTimeout<V> enqueue(WheelTimeout<V> timeout) {
+        if (shutdown) {
+            throw new RejectedExecutionException("Timing wheel sudah dihentikan");
+        }
+        pending.incrementAndGet();
+        incoming.add(timeout);
+        return timeout;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        schedule(command, 0, TimeUnit.NANOSECONDS);
+    }
+
+    // Proses semua tick yang waktunya <= nowNanos. Cuma boleh dipanggil satu thread sekaligus.
+    public synchronized void advanceTo(long nowNanos) {
+        while (startNanos + tick * tickNanos <= nowNanos) {
+            transferIncoming();
+            expireBucket(buckets.get((int) (tick & mask)));
+            tick++;
+        }
+    }
+
+    private void transferIncoming() {
+        WheelTimeout<?> timeout;
+        while ((timeout = incoming.poll()) != null) {
+            if (timeout.isCancelled()) continue;
+            // dibulatkan ke atas: task tidak pernah jalan sebelum deadline-nya
+            long dueTick = Math.ceilDiv(timeout.deadlineNanos - startNanos, tickNanos);
+            long targetTick = Math.max(dueTick, tick);
+            timeout.rounds = (targetTick - tick) >> Integer.numberOfTrailingZeros(mask + 1);
+            buckets.get((int) (targetTick & mask)).add(timeout);
+        }
+    }
+
+    private void expireBucket(ArrayDeque<WheelTimeout<?>> bucket) {
+        Iterator<WheelTimeout<?>> iterator = bucket.iterator();
+        List<WheelTimeout<?>> due = new ArrayList<>();
+        while (iterator.hasNext()) {
+            WheelTimeout<?> timeout = iterator.next();
+            if (timeout.isCancelled()) {
+                iterator.remove();
+            } else if (timeout.rounds <= 0) {
+                iterator.remove();
+                due.add(timeout);
+            } else {
+                timeout.rounds--;
+            }
+        }
+        // dijalankan setelah iterasi, task boleh menjadwal ulang dirinya sendiri
+        for (WheelTimeout<?> timeout : due) {
+            timeout.fire();
+        }
+    }
+
+    private void runLoop() {
+        while (!shutdown) {
+            long nextTickAt;
+            synchronized (this) {
+                nextTickAt = startNanos + tick * tickNanos;
+            }
+            long sleepNanos = nextTickAt - clock.nanoTime();
+            if (sleepNanos > 0) {
+                LockSupport.parkNanos(this, sleepNanos);
+                continue;
+            }
+            try {
+                advanceTo(clock.nanoTime());
+            } catch (RuntimeException e) {
+                log.error("Tick timing wheel gagal", e);
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        Thread current = worker;
+        if (current != null) {
+            LockSupport.unpark(current);
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        List<Runnable> dropped = new ArrayList<>();
+        synchronized (this) {
+            transferIncoming();
+            for (ArrayDeque<WheelTimeout<?>> bucket : buckets) {
+                dropped.addAll(bucket);
+                bucket.clear();
+            }
+        }
+        pending.set(0);
+        return dropped;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        Thread current = worker;
+        return shutdown && (current == null || !current.isAlive());
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        Thread current = worker;
+        if (current != null) {
+            current.join(unit.toMillis(timeout));
+        }
+        return isTerminated();
+    }
+
+    private final class WheelTimeout<V> extends FutureTask<V> implements ScheduledFuture<V> {
+        // 0 = sekali jalan, > 0 = fixed rate, < 0 = fixed delay
+        private final long periodNanos;
+        private volatile long deadlineNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private long rounds;
+
+        WheelTimeout(Callable<V> callable, long deadlineNanos, long periodNanos) {
+            super(callable);
+            this.deadlineNanos = deadlineNanos;
+            this.periodNanos = periodNanos;
+        }
+
+        // dipanggil thread roda; jadwal periodik masuk lagi lewat incoming, pending-nya tetap dihitung satu
+        void fire() {
+            if (periodNanos == 0) {
+                release();
+                run();
+                return;
+            }
+            if (runAndReset() && !shutdown) {
+                deadlineNanos = periodNanos > 0 ? deadlineNanos + periodNanos : clock.nanoTime() - periodNanos;
+                incoming.add(this);
+            } else {
+                release();
+            }
+        }
+
+        // dibuang dari bucket-nya pas tick berikutnya lewat sana, cancel sendiri tetap O(1)
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                release();
+            }
+            return cancelled;
+        }
+
+        // cancel dan expire bisa balapan, hitungan pending cuma boleh turun sekali
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                pending.decrementAndGet();
+            }
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadlineNanos - clock.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
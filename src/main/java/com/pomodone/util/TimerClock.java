@@ -0,0 +1,23 @@
+package com.pomodone.util;
+
+// Sumber waktu buat countdown. nanoTime monotonic (tidak loncat kalau jam sistem diubah), jam dinding
+// cuma dipakai buat timestamp sesi dan deteksi suspend. Test pakai clock palsu yang dimajukan manual.
+public interface TimerClock {
+    long nanoTime();
+
+    long wallMillis();
+
+    static TimerClock system() {
+        return new TimerClock() {
+            @Override
+            public long nanoTime() {
+                return System.nanoTime();
+            }
+
+            @Override
+            public long wallMillis() {
+                return System.currentTimeMillis();
+            }
+        };
+    }
+}
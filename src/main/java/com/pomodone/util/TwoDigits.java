@@ -0,0 +1,24 @@
+package com.pomodone.util;
+
+// Tabel "00".."99" yang dibuat sekali. Label timer di-update tiap detik, String.format("%02d") tiap tick
+// bikin Formatter + StringBuilder + String baru; lookup tabel tidak alokasi apa-apa.
+public final class TwoDigits {
+    private static final String[] TABLE = new String[100];
+
+    static {
+        for (int i = 0; i < TABLE.length; i++) {
+            TABLE[i] = (i < 10 ? "0" : "") + i;
+        }
+    }
+
+    private TwoDigits() {
+    }
+
+    // di atas 99 (mis. custom 100+ jam) jarang sekali, boleh alokasi
+    public static String of(long value) {
+        if (value >= 0 && value < TABLE.length) {
+            return TABLE[(int) value];
+        }
+        return String.valueOf(value);
+    }
+}
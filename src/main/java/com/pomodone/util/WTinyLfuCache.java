@@ -0,0 +1,534 @@
+package com.pomodone.util;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+// Cache konkuren terbatas dengan kebijakan W-TinyLFU, buat repository (project ini tanpa library cache).
+// - Baca tanpa lock: ConcurrentHashMap, akses dicatat ke buffer per-stripe yang boleh kehilangan catatan
+//   (lossy), lalu dikuras sambil lalu oleh thread yang kebetulan dapat lock.
+// - Entry baru masuk window LRU kecil (1% kapasitas). Yang terdepak dari window baru boleh masuk main
+//   (SLRU: probation 20% / protected 80%) kalau frekuensinya di count-min sketch (4 bit, di-halve berkala)
+//   lebih tinggi dari korban di main, jadi scan/one-hit-wonder tidak menggusur entry yang sering dipakai.
+// - Batas jumlah entry atau total bobot (weigher), TTL opsional sejak ditulis, statistik hit/miss/eviction.
+// Semua tulisan dan perawatan kebijakan jalan di bawah satu lock; key dan value tidak boleh null.
+public final class WTinyLfuCache<K, V> {
+    private static final int READ_BUFFER_SIZE = 32;
+    private static final int MAX_STRIPES = 16;
+    private static final double WINDOW_PERCENT = 0.01;
+    private static final double PROTECTED_PERCENT = 0.80;
+
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final ReadBuffer<K, V>[] readBuffers;
+    private final FrequencySketch sketch;
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+    private final TimerClock clock;
+    private final long expireAfterWriteNanos;
+
+    private final long maximum;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private final AccessDeque<K, V> window = new AccessDeque<>();
+    private final AccessDeque<K, V> probation = new AccessDeque<>();
+    private final AccessDeque<K, V> protectedDeque = new AccessDeque<>();
+    private long windowWeight;
+    private long probationWeight;
+    private long protectedWeight;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    private WTinyLfuCache(Builder<K, V> builder) {
+        this.maximum = builder.maximum;
+        this.weigher = builder.weigher;
+        this.clock = builder.clock;
+        this.expireAfterWriteNanos = builder.expireAfterWrite != null ? builder.expireAfterWrite.toNanos() : 0;
+        this.windowMaximum = Math.max(1, (long) (maximum * WINDOW_PERCENT));
+        this.protectedMaximum = (long) ((maximum - windowMaximum) * PROTECTED_PERCENT);
+        this.sketch = new FrequencySketch(maximum);
+        int stripes = Math.min(MAX_STRIPES, Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1));
+        this.readBuffers = new ReadBuffer[stripes];
+        for (int i = 0; i < stripes; i++) {
+            readBuffers[i] = new ReadBuffer<>();
+        }
+    }
+
+    public static <K, V> Builder<K, V> builder() {
+        return new Builder<>();
+    }
+
+    public V getIfPresent(K key) {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+        if (isExpired(node)) {
+            misses.increment();
+            removeExpired(node);
+            return null;
+        }
+        hits.increment();
+        recordRead(node);
+        return node.value;
+    }
+
+    // loader jalan di thread pemanggil tanpa lock; dua thread yang miss bersamaan bisa sama-sama load
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = getIfPresent(key);
+        if (value == null) {
+            value = loader.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    public void put(K key, V value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        int weight = weigher.applyAsInt(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Bobot entry tidak boleh negatif");
+        }
+        long now = expireAfterWriteNanos > 0 ? clock.nanoTime() : 0;
+        Node<K, V> fresh = new Node<>(key, value, weight, now);
+        evictionLock.lock();
+        try {
+            // satu lookup: putIfAbsent sekaligus memberi node lama kalau key-nya sudah ada
+            Node<K, V> node = data.putIfAbsent(key, fresh);
+            if (node != null) {
+                addWeight(node, weight - node.weight);
+                node.weight = weight;
+                node.value = value;
+                node.writeNanos = now;
+                onAccess(node);
+            } else {
+                node = fresh;
+                node.queue = Queue.WINDOW;
+                window.addLast(node);
+                windowWeight += weight;
+                sketch.increment(key);
+            }
+            maintenance();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public void invalidate(K key) {
+        evictionLock.lock();
+        try {
+            Node<K, V> node = data.remove(key);
+            if (node != null) {
+                unlink(node);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        evictionLock.lock();
+        try {
+            data.clear();
+            window.clear();
+            probation.clear();
+            protectedDeque.clear();
+            windowWeight = 0;
+            probationWeight = 0;
+            protectedWeight = 0;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    // kuras buffer baca dan jalankan eviction sekarang (biasanya jalan sendiri sambil lalu)
+    public void cleanUp() {
+        evictionLock.lock();
+        try {
+            maintenance();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public long estimatedSize() {
+        return data.size();
+    }
+
+    public long weightedSize() {
+        evictionLock.lock();
+        try {
+            return windowWeight + probationWeight + protectedWeight;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    private boolean isExpired(Node<K, V> node) {
+        return expireAfterWriteNanos > 0 && clock.nanoTime() - node.writeNanos >= expireAfterWriteNanos;
+    }
+
+    private void removeExpired(Node<K, V> node) {
+        evictionLock.lock();
+        try {
+            if (data.remove(node.key, node)) {
+                unlink(node);
+                evictions.increment();
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void recordRead(Node<K, V> node) {
+        ReadBuffer<K, V> buffer = readBuffers[(int) Thread.currentThread().threadId() & (readBuffers.length - 1)];
+        if (buffer.offer(node) && evictionLock.tryLock()) {
+            try {
+                maintenance();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private void maintenance() {
+        for (ReadBuffer<K, V> buffer : readBuffers) {
+            buffer.drainTo(this::onAccess);
+        }
+        evict();
+    }
+
+    private void onAccess(Node<K, V> node) {
+        if (node.queue == null) {
+            return; // sudah dibuang sebelum catatan bacanya dikuras
+        }
+        sketch.increment(node.key);
+        switch (node.queue) {
+            case WINDOW -> window.moveToLast(node);
+            case PROBATION -> {
+                // dipakai lagi selagi di probation: naik ke protected
+                probation.remove(node);
+                probationWeight -= node.weight;
+                node.queue = Queue.PROTECTED;
+                protectedDeque.addLast(node);
+                protectedWeight += node.weight;
+                while (protectedWeight > protectedMaximum && protectedDeque.peekFirst() != node) {
+                    Node<K, V> demoted = protectedDeque.pollFirst();
+                    protectedWeight -= demoted.weight;
+                    demoted.queue = Queue.PROBATION;
+                    probation.addLast(demoted);
+                    probationWeight += demoted.weight;
+                }
+            }
+            case PROTECTED -> protectedDeque.moveToLast(node);
+        }
+    }
+
+    private void evict() {
+        // yang terdepak dari window jadi kandidat di ujung belakang probation
+        while (windowWeight > windowMaximum && window.peekFirst() != null) {
+            Node<K, V> candidate = window.pollFirst();
+            windowWeight -= candidate.weight;
+            candidate.queue = Queue.PROBATION;
+            probation.addLast(candidate);
+            probationWeight += candidate.weight;
+        }
+        while (windowWeight + probationWeight + protectedWeight > maximum) {
+            Node<K, V> victim = probation.peekFirst();
+            Node<K, V> candidate = probation.peekLast();
+            if (victim == null) {
+                victim = protectedDeque.peekFirst() != null ? protectedDeque.peekFirst() : window.peekFirst();
+                evictNode(victim);
+            } else if (victim == candidate) {
+                evictNode(victim);
+            } else {
+                // TinyLFU: kandidat cuma masuk kalau lebih sering dipakai daripada korbannya
+                evictNode(sketch.frequency(candidate.key) > sketch.frequency(victim.key) ? victim : candidate);
+            }
+        }
+    }
+
+    private void evictNode(Node<K, V> node) {
+        unlink(node);
+        data.remove(node.key, node);
+        evictions.increment();
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (node.queue == null) {
+            return;
+        }
+        switch (node.queue) {
+            case WINDOW -> {
+                window.remove(node);
+                windowWeight -= node.weight;
+            }
+            case PROBATION -> {
+                probation.remove(node);
+                probationWeight -= node.weight;
+            }
+            case PROTECTED -> {
+                protectedDeque.remove(node);
+                protectedWeight -= node.weight;
+            }
+        }
+        node.queue = null;
+    }
+
+    private void addWeight(Node<K, V> node, long delta) {
+        switch (node.queue) {
+            case WINDOW -> windowWeight += delta;
+            case PROBATION -> probationWeight += delta;
+            case PROTECTED -> protectedWeight += delta;
+        }
+    }
+
+    public record Stats(long hitCount, long missCount, long evictionCount) {
+        public double hitRate() {
+            long requests = hitCount + missCount;
+            return requests == 0 ? 1.0 : (double) hitCount / requests;
+        }
+    }
+
+    public static final class Builder<K, V> {
+        private long maximum = -1;
+        private ToIntBiFunction<? super K, ? super V> weigher = (key, value) -> 1;
+        private Duration expireAfterWrite;
+        private TimerClock clock = TimerClock.system();
+
+        private Builder() {}
+
+        public Builder<K, V> maximumSize(long maximumSize) {
+            this.maximum = maximumSize;
+            return this;
+        }
+
+        // total bobot semua entry; tanpa weigher tiap entry berbobot 1 (sama dengan maximumSize)
+        public Builder<K, V> maximumWeight(long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher) {
+            this.maximum = maximumWeight;
+            this.weigher = Objects.requireNonNull(weigher);
+            return this;
+        }
+
+        public Builder<K, V> expireAfterWrite(Duration duration) {
+            if (duration.isNegative() || duration.isZero()) {
+                throw new IllegalArgumentException("TTL harus positif");
+            }
+            this.expireAfterWrite = duration;
+            return this;
+        }
+
+        public Builder<K, V> clock(TimerClock clock) {
+            this.clock = Objects.requireNonNull(clock);
+            return this;
+        }
+
+        public WTinyLfuCache<K, V> build() {
+            if (maximum <= 0) {
+                throw new IllegalArgumentException("maximumSize/maximumWeight wajib diisi dan positif");
+            }
+            return new WTinyLfuCache<>(this);
+        }
+    }
+
+    private enum Queue { WINDOW, PROBATION, PROTECTED }
+
+    private static final class Node<K, V> {
+        final K key;
+        volatile V value;
+        volatile long writeNanos;
+        int weight;
+        // di bawah ini cuma disentuh pemegang evictionLock
+        Queue queue;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, V value, int weight, long writeNanos) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.writeNanos = writeNanos;
+        }
+    }
+
+    // deque intrusif (prev/next di node), urut dari yang paling lama tidak dipakai
+    private static final class AccessDeque<K, V> {
+        private Node<K, V> first;
+        private Node<K, V> last;
+
+        Node<K, V> peekFirst() {
+            return first;
+        }
+
+        Node<K, V> peekLast() {
+            return last;
+        }
+
+        void addLast(Node<K, V> node) {
+            node.prev = last;
+            node.next = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+        }
+
+        Node<K, V> pollFirst() {
+            Node<K, V> node = first;
+            if (node != null) {
+                remove(node);
+            }
+            return node;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.prev == null) {
+                first = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                last = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+        }
+
+        void moveToLast(Node<K, V> node) {
+            if (node != last) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        void clear() {
+            first = null;
+            last = null;
+        }
+    }
+
+    // Catatan baca satu stripe. Kalau penuh catatan baru dibuang saja: cukup buat frekuensi/urutan kira-kira,
+    // dan thread pembaca tidak pernah nunggu lock.
+    private static final class ReadBuffer<K, V> {
+        private final AtomicReferenceArray<Node<K, V>> slots = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+        private final AtomicInteger writeIndex = new AtomicInteger();
+
+        // true kalau buffer sudah penuh dan sebaiknya dikuras
+        boolean offer(Node<K, V> node) {
+            int index = writeIndex.getAndIncrement();
+            if (index < READ_BUFFER_SIZE) {
+                slots.lazySet(index, node);
+                return index == READ_BUFFER_SIZE - 1;
+            }
+            return true;
+        }
+
+        void drainTo(java.util.function.Consumer<Node<K, V>> consumer) {
+            int count = Math.min(writeIndex.get(), READ_BUFFER_SIZE);
+            for (int i = 0; i < count; i++) {
+                Node<K, V> node = slots.getAndSet(i, null);
+                if (node != null) {
+                    consumer.accept(node);
+                }
+            }
+            writeIndex.set(0);
+        }
+    }
+
+    // Count-min sketch 4 bit: 16 counter per long, tiap key menyentuh 4 counter di 4 baris berbeda, frekuensi =
+    // yang terkecil. Tiap 10x kapasitas increment semua counter di-halve, jadi popularitas lama memudar.
+    static final class FrequencySketch {
+        private static final long[] SEED = {
+                0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+        private static final long RESET_MASK = 0x7777777777777777L;
+        private static final long ONE_MASK = 0x1111111111111111L;
+
+        private final long[] table;
+        private final int tableMask;
+        private final int sampleSize;
+        private int size;
+
+        FrequencySketch(long maximum) {
+            int capacity = (int) Math.min(maximum, 1 << 24);
+            int length = Integer.highestOneBit(Math.max(capacity, 8) - 1) << 1;
+            this.table = new long[length];
+            this.tableMask = length - 1;
+            this.sampleSize = 10 * length;
+        }
+
+        int frequency(Object key) {
+            int hash = spread(key.hashCode());
+            int start = (hash & 3) << 2;
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < 4; i++) {
+                int index = indexOf(hash, i);
+                int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+
+        void increment(Object key) {
+            int hash = spread(key.hashCode());
+            int start = (hash & 3) << 2;
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                added |= incrementAt(indexOf(hash, i), start + i);
+            }
+            if (added && ++size == sampleSize) {
+                reset();
+            }
+        }
+
+        private boolean incrementAt(int index, int counter) {
+            int offset = counter << 2;
+            long mask = 0xfL << offset;
+            if ((table[index] & mask) != mask) {
+                table[index] += 1L << offset;
+                return true;
+            }
+            return false;
+        }
+
+        private void reset() {
+            int odd = 0;
+            for (int i = 0; i < table.length; i++) {
+                odd += Long.bitCount(table[i] & ONE_MASK);
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            size = (size >>> 1) - (odd >>> 2);
+        }
+
+        private int indexOf(int hash, int row) {
+            long h = (hash + SEED[row]) * SEED[row];
+            h += h >>> 32;
+            return ((int) h) & tableMask;
+        }
+
+        private static int spread(int x) {
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            return (x >>> 16) ^ x;
+        }
+    }
+}
@@ -1,14 +1,18 @@
 package com.pomodone.view;
 
+import com.pomodone.model.dashboard.DashboardSnapshot;
 import com.pomodone.model.dashboard.DashboardStats;
 import com.pomodone.service.DashboardStatsService;
+import com.pomodone.service.OverdueSweeper;
 import com.pomodone.service.TaskService;
-import com.pomodone.service.UserSettingsService;
 import com.pomodone.model.user.User;
 import com.pomodone.model.task.Task;
 import com.pomodone.model.task.TaskDifficulty;
 import com.pomodone.model.task.TaskStatus;
+import com.pomodone.view.util.AsyncScope;
 import com.pomodone.view.util.SearchContext;
+import com.pomodone.view.util.ViewLifecycle;
+import javafx.application.Platform;
 import javafx.scene.control.TextField;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
@@ -16,6 +20,8 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
@@ -24,7 +30,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 
-public class DashboardController {
+public class DashboardController implements ViewLifecycle {
 
     @FXML private Label dailyPomodoroLabel;
     @FXML private Label activeTasksLabel;
@@ -34,25 +40,61 @@ public class DashboardController {
     @FXML private TextField dashboardSearchField;
     @FXML private javafx.scene.control.Button addTaskButton;
 
+    private static final Logger log = LoggerFactory.getLogger(DashboardController.class);
+    private static final String LOADING_TEXT = "...";
+
     private final DashboardStatsService statsService = new DashboardStatsService();
     private final TaskService taskService = new TaskService();
-    private final UserSettingsService userSettingsService = new UserSettingsService();
     private final DateTimeFormatter dueFormatter = DateTimeFormatter.ofPattern("dd MMM HH:mm", Locale.forLanguageTag("id-ID"));
+    private AsyncScope scope;
 
     @FXML
     public void initialize() {
-        loadStats();
-        loadPriorityTasks();
+        scope = AsyncScope.forView(priorityTasksBox);
+        showLoadingPlaceholders();
         setupSearchHandler();
         setupAddTaskHandler();
+        // jumlah task aktif/prioritas ikut berubah waktu ada task yang jadi terlambat; kalau dashboard
+        // tidak kelihatan, onShow berikutnya toh ambil ulang
+        OverdueSweeper.getInstance().addListener(() -> Platform.runLater(() -> {
+            if (priorityTasksBox.getScene() != null) {
+                onShow();
+            }
+        }));
+    }
+
+    // angka dashboard bisa berubah dari view lain (task selesai, sesi pomodoro), jadi selalu diambil
+    // ulang; data lama tetap tampil sampai yang baru datang
+    @Override
+    public void onShow() {
+        scope.load(statsService::loadSnapshot, snapshot -> {
+            loadStats(snapshot);
+            loadPriorityTasks(snapshot.getPriorityTasks());
+        }, this::showLoadFailed);
+    }
+
+    private void showLoadingPlaceholders() {
+        dailyPomodoroLabel.setText(LOADING_TEXT);
+        activeTasksLabel.setText(LOADING_TEXT);
+        productivityLabel.setText(LOADING_TEXT);
+        headerSubtitle.setText(resolveGreetingPrefix());
+        showPriorityMessage("Loading tasks...");
+    }
+
+    private void showLoadFailed(Throwable error) {
+        log.error("Gagal memuat data dashboard", error);
+        dailyPomodoroLabel.setText("-");
+        activeTasksLabel.setText("-");
+        productivityLabel.setText("-");
+        showPriorityMessage("Failed to load tasks.");
     }
 
-    private void loadStats() {
-        DashboardStats stats = statsService.loadStats();
+    private void loadStats(DashboardSnapshot snapshot) {
+        DashboardStats stats = statsService.toStats(snapshot);
         dailyPomodoroLabel.setText(formatPomodoroProgress(stats));
         activeTasksLabel.setText(String.valueOf(stats.getActiveTasks()));
         productivityLabel.setText(stats.getProductivityPercent() + "%");
-        headerSubtitle.setText(buildGreeting());
+        headerSubtitle.setText(buildGreeting(snapshot.getUser()));
     }
 
     private void setupSearchHandler() {
@@ -62,12 +104,33 @@ public class DashboardController {
 
     private void triggerTaskListSearch() {
         String query = dashboardSearchField.getText();
+        if (MainWindowController.getInstance() == null) return;
+        if (query == null || query.isBlank()) {
+            navigateToSearch(query, null);
+            return;
+        }
+        dashboardSearchField.setDisable(true);
+        scope.load(() -> findTopHitId(query), hitId -> navigateToSearch(query, hitId), error -> {
+            // gagal cari tidak menghalangi navigasi, task list tetap pakai filter teks
+            log.warn("Gagal mencari task teratas untuk '{}'", query, error);
+            navigateToSearch(query, null);
+        });
+    }
+
+    private void navigateToSearch(String query, Long hitId) {
+        dashboardSearchField.setDisable(false);
         MainWindowController mainWindow = MainWindowController.getInstance();
         if (mainWindow != null) {
+            SearchContext.setPendingTaskId(hitId);
             mainWindow.navigateToTaskListWithSearch(query);
         }
     }
 
+    private Long findTopHitId(String query) {
+        List<Task> hits = taskService.searchTasks(query, 1);
+        return hits.isEmpty() ? null : hits.get(0).getId();
+    }
+
     private void setupAddTaskHandler() {
         if (addTaskButton == null) return;
         addTaskButton.setOnAction(event -> {
@@ -75,26 +138,30 @@ public class DashboardController {
             if (mainWindow != null) {
                 SearchContext.setPendingAdd(true);
                 SearchContext.setPendingQuery(null);
+                SearchContext.setPendingTaskId(null);
                 mainWindow.navigateToTaskListWithSearch(null);
             }
         });
     }
 
-    private void loadPriorityTasks() {
-        priorityTasksBox.getChildren().clear();
-        List<Task> tasks = taskService.getTopByDueDate(5);
+    private void loadPriorityTasks(List<Task> tasks) {
         if (tasks.isEmpty()) {
-            Label empty = new Label("No priority tasks.");
-            empty.getStyleClass().add("task-item-due-date");
-            priorityTasksBox.getChildren().add(empty);
+            showPriorityMessage("No priority tasks.");
             return;
         }
 
+        priorityTasksBox.getChildren().clear();
         for (Task task : tasks) {
             priorityTasksBox.getChildren().add(createTaskRow(task));
         }
     }
 
+    private void showPriorityMessage(String message) {
+        Label label = new Label(message);
+        label.getStyleClass().add("task-item-due-date");
+        priorityTasksBox.getChildren().setAll(label);
+    }
+
     private HBox createTaskRow(Task task) {
         Label title = new Label(task.getTitle());
         title.getStyleClass().add("task-item-title");
@@ -153,9 +220,9 @@ public class DashboardController {
         return String.valueOf(done);
     }
 
-    private String buildGreeting() {
+    private String buildGreeting(Optional<User> user) {
         String prefix = resolveGreetingPrefix();
-        String name = resolveUserName();
+        String name = resolveUserName(user);
         return prefix + ", " + name;
     }
 
@@ -177,8 +244,7 @@ public class DashboardController {
         }
     }
 
-    private String resolveUserName() {
-        Optional<User> user = userSettingsService.getCurrentUserSettings();
+    private String resolveUserName(Optional<User> user) {
         return user.map(User::getName)
                 .map(String::trim)
                 .filter(name -> !name.isEmpty())
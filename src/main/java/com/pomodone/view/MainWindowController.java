@@ -1,5 +1,9 @@
 package com.pomodone.view;
 
+import com.pomodone.config.DatabaseBootstrap;
+import com.pomodone.model.task.TaskReminder;
+import com.pomodone.service.DeadlineReminderService;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -7,14 +11,23 @@ import javafx.scene.control.Label;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.layout.HBox;
 
+import com.pomodone.view.util.ReminderToast;
+import com.pomodone.view.util.SearchContext;
+import com.pomodone.view.util.ViewCache;
+import com.pomodone.view.util.ViewLifecycle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Objects;
 
 public class MainWindowController {
     private static final Logger log = LoggerFactory.getLogger(MainWindowController.class);
+    private static final String DASHBOARD_VIEW = "DashboardView.fxml";
+    private static final String TASK_LIST_VIEW = "TaskListView.fxml";
+    private static final String POMODORO_VIEW = "PomodoroView.fxml";
+    private static final String SETTINGS_VIEW = "SettingsView.fxml";
 
     @FXML
     private ScrollPane contentPane;
@@ -31,38 +44,49 @@ public class MainWindowController {
     @FXML
     private HBox settingsNav;
 
+    @FXML
+    private Label dbStatusLabel;
+
     private HBox activeNav;
     private static MainWindowController instance;
+    private final ViewCache viewCache = new ViewCache(this::loadView);
 
     @FXML
     public void initialize() {
         instance = this;
+        bindDatabaseStatus();
         // Set nav item yang aktif dan load tampilan awal
         activeNav = homeNav;
-        navigateTo("DashboardView.fxml");
+        navigateTo(DASHBOARD_VIEW);
+        // view lain disiapkan setelah dashboard tampil, biar pindah menu pertama kali juga instan
+        Platform.runLater(() -> viewCache.preload(List.of(TASK_LIST_VIEW, POMODORO_VIEW, SETTINGS_VIEW), Platform::runLater));
+        DeadlineReminderService.getInstance().addListener(reminder -> Platform.runLater(() -> showReminder(reminder)));
 
         homeNav.setOnMouseClicked(event -> {
-            navigateTo("DashboardView.fxml");
+            navigateTo(DASHBOARD_VIEW);
             setActive(homeNav);
         });
         pomodoroNav.setOnMouseClicked(event -> {
-            navigateTo("PomodoroView.fxml");
+            navigateTo(POMODORO_VIEW);
             setActive(pomodoroNav);
         });
         taskNav.setOnMouseClicked(event -> {
-            navigateTo("TaskListView.fxml");
+            navigateTo(TASK_LIST_VIEW);
             setActive(taskNav);
         });
         settingsNav.setOnMouseClicked(event -> {
-            navigateTo("SettingsView.fxml");
+            navigateTo(SETTINGS_VIEW);
             setActive(settingsNav);
         });
     }
 
     private void navigateTo(String fxmlFile) {
         try {
-            Parent view = FXMLLoader.load(Objects.requireNonNull(getClass().getResource("/fxml/" + fxmlFile)));
-            contentPane.setContent(view);
+            ViewCache.CachedView view = viewCache.get(fxmlFile);
+            contentPane.setContent(view.root());
+            if (view.controller() instanceof ViewLifecycle lifecycle) {
+                lifecycle.onShow();
+            }
         } catch (IOException | NullPointerException e) {
             log.error("Gagal memuat FXML {}", fxmlFile, e);
             Label errorLabel = new Label("Error: failed to load " + fxmlFile);
@@ -70,6 +94,36 @@ public class MainWindowController {
         }
     }
 
+    private ViewCache.CachedView loadView(String fxmlFile) throws IOException {
+        FXMLLoader loader = new FXMLLoader(Objects.requireNonNull(getClass().getResource("/fxml/" + fxmlFile)));
+        Parent root = loader.load();
+        return new ViewCache.CachedView(root, loader.getController());
+    }
+
+    private void bindDatabaseStatus() {
+        // view tetap dirender duluan, datanya nyusul lewat AsyncScope masing-masing controller
+        DatabaseBootstrap.start().whenComplete((config, error) -> Platform.runLater(() -> {
+            if (error == null) {
+                dbStatusLabel.setVisible(false);
+                dbStatusLabel.setManaged(false);
+            } else {
+                dbStatusLabel.setText("Database unavailable");
+                dbStatusLabel.setStyle("-fx-text-fill: #DC2626;");
+            }
+        }));
+    }
+
+    private void showReminder(TaskReminder reminder) {
+        if (contentPane.getScene() == null || contentPane.getScene().getWindow() == null) {
+            return;
+        }
+        // diklik -> task-nya langsung dipilih di Task List
+        ReminderToast.show(contentPane.getScene().getWindow(), reminder, () -> {
+            SearchContext.setPendingTaskId(reminder.getTaskId());
+            navigateToTaskListWithSearch(reminder.getTitle());
+        });
+    }
+
     private void setActive(HBox navItem) {
         if (activeNav != null) {
             activeNav.getStyleClass().remove("nav-item-active");
@@ -84,7 +138,7 @@ public class MainWindowController {
 
     public void navigateToTaskListWithSearch(String query) {
         com.pomodone.view.util.SearchContext.setPendingQuery(query);
-        navigateTo("TaskListView.fxml");
+        navigateTo(TASK_LIST_VIEW);
         setActive(taskNav);
     }
 }
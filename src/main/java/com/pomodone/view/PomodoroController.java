@@ -5,14 +5,21 @@ import org.slf4j.LoggerFactory;
 
 import com.pomodone.facade.PomodoroFacade;
 import com.pomodone.model.pomodoro.CustomPomodoroPreset;
+import com.pomodone.model.pomodoro.PomodoroMode;
 import com.pomodone.model.pomodoro.PomodoroSettings;
+import com.pomodone.model.pomodoro.TimerSnapshot;
+import com.pomodone.model.pomodoro.TimerState;
 import com.pomodone.service.CustomPomodoroPresetService;
-import com.pomodone.service.PomodoroService;
 import com.pomodone.strategy.pomodoro.ClassicPomodoroStrategy;
 import com.pomodone.strategy.pomodoro.IntensePomodoroStrategy;
+import com.pomodone.view.util.AsyncScope;
+import com.pomodone.view.util.ProgressAnimator;
+import com.pomodone.view.util.ViewLifecycle;
+import com.pomodone.view.util.ViewVisibility;
 
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.value.ObservableValue;
 import javafx.fxml.FXML;
 import javafx.scene.Node;
 import javafx.scene.control.Button;
@@ -26,7 +33,9 @@ import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 
-public class PomodoroController {
+import java.util.concurrent.Future;
+
+public class PomodoroController implements ViewLifecycle {
     private static final Logger log = LoggerFactory.getLogger(PomodoroController.class);
     private static final String FIELD_ERROR_CLASS = "field-error";
     private static final String MINUTES_LABEL = " minutes";
@@ -63,6 +72,11 @@ public class PomodoroController {
 
     private PomodoroFacade pomodoroFacade;
     private CustomPomodoroPresetService presetService;
+    private AsyncScope scope;
+    private Future<?> presetLoad;
+    private ProgressAnimator progressAnimator;
+    // disimpan di field: binding fluent cuma direferensi lemah oleh node
+    private ObservableValue<Boolean> onScreen;
 
     // buat validasi
     private final BooleanProperty isFocusValid = new SimpleBooleanProperty(true);
@@ -74,38 +88,42 @@ public class PomodoroController {
     public void initialize() {
         this.pomodoroFacade = new PomodoroFacade();
         this.presetService = new CustomPomodoroPresetService();
+        this.scope = AsyncScope.forView(startButton);
+        this.progressAnimator = new ProgressAnimator(progressBar);
         loadCustomPresetDefaults();
         bindUIToFacade();
+        // timer bisa sudah jalan (dilanjutkan dari checkpoint), toggle ikut mode timer sebelum listener dipasang
+        PomodoroMode currentMode = pomodoroFacade.getCurrentMode();
+        modeToggleGroup.selectToggle(toggleFor(currentMode));
         setupActionHandlers();
         setupValidationListeners();
-        updateSettingsView(PomodoroService.PomodoroMode.CLASSIC);
+        updateSettingsView(currentMode);
+    }
+
+    // state timer hidup di PomodoroEngine (tetap jalan walau view disembunyikan), jadi view cukup ngulang load preset yang sempat batal
+    @Override
+    public void onShow() {
+        if (presetLoad != null && presetLoad.isCancelled()) {
+            loadCustomPresetDefaults();
+        }
     }
 
     private void bindUIToFacade() {
         // sambungin tampilan ke service
         statusLabel.textProperty().bind(pomodoroFacade.statusStringProperty());
-        hoursLabel.textProperty().bind(pomodoroFacade.hoursProperty());
-        minutesLabel.textProperty().bind(pomodoroFacade.minutesProperty());
-        secondsLabel.textProperty().bind(pomodoroFacade.secondsProperty());
-        progressBar.progressProperty().bind(pomodoroFacade.progressProperty());
-        
-        // atur visibility jam
-        hoursGroup.visibleProperty().bind(pomodoroFacade.showHoursProperty());
-        hoursGroup.managedProperty().bind(pomodoroFacade.showHoursProperty());
-        separatorLabel1.visibleProperty().bind(pomodoroFacade.showHoursProperty());
-        separatorLabel1.managedProperty().bind(pomodoroFacade.showHoursProperty());
-
-        pomodoroFacade.timerStateProperty().addListener((obs, oldState, newState) -> {
-            boolean isStopped = newState == PomodoroService.TimerState.STOPPED;
-            modeSelectionBox.setDisable(!isStopped);
-            inputFieldsGridPane.setDisable(!isStopped);
-
-            switch (newState) {
-                case STOPPED -> startButton.setText("Start");
-                case RUNNING -> startButton.setText("Pause");
-                case PAUSED -> startButton.setText("Resume");
-            }
-        });
+
+        // view tidak kelihatan (pindah menu / window diminimize): tidak ada update UI sama sekali,
+        // pas kelihatan lagi langsung lanjut dari snapshot terkini
+        onScreen = ViewVisibility.onScreen(progressBar);
+        onScreen.addListener((obs, wasVisible, visible) -> applyVisibility(visible));
+        applyVisibility(onScreen.getValue());
+
+        // satu listener buat semua angka timer; label yang teksnya sama tidak memicu layout ulang
+        renderTimer(pomodoroFacade.timerSnapshotProperty().get());
+        pomodoroFacade.timerSnapshotProperty().addListener((obs, oldSnapshot, newSnapshot) -> renderTimer(newSnapshot));
+
+        applyTimerState(pomodoroFacade.timerStateProperty().get());
+        pomodoroFacade.timerStateProperty().addListener((obs, oldState, newState) -> applyTimerState(newState));
         
         // dengerin perubahan validasi buat aktifin/nonaktifin tombol start di mode custom
         isFocusValid.addListener((obs, o, n) -> updateStartButtonState());
@@ -115,6 +133,37 @@ public class PomodoroController {
         customModeButton.selectedProperty().addListener((obs, o, n) -> updateStartButtonState());
     }
 
+    private void renderTimer(TimerSnapshot snapshot) {
+        hoursLabel.setText(snapshot.getHours());
+        minutesLabel.setText(snapshot.getMinutes());
+        secondsLabel.setText(snapshot.getSeconds());
+        progressAnimator.show(snapshot);
+
+        // atur visibility jam
+        boolean showHours = snapshot.isShowHours();
+        hoursGroup.setVisible(showHours);
+        hoursGroup.setManaged(showHours);
+        separatorLabel1.setVisible(showHours);
+        separatorLabel1.setManaged(showHours);
+    }
+
+    private void applyTimerState(TimerState state) {
+        boolean isStopped = state == TimerState.STOPPED;
+        modeSelectionBox.setDisable(!isStopped);
+        inputFieldsGridPane.setDisable(!isStopped);
+
+        switch (state) {
+            case STOPPED -> startButton.setText("Start");
+            case RUNNING -> startButton.setText("Pause");
+            case PAUSED -> startButton.setText("Resume");
+        }
+    }
+
+    private void applyVisibility(boolean visible) {
+        pomodoroFacade.setDisplayActive(visible);
+        progressAnimator.setVisible(visible);
+    }
+
     private void setupActionHandlers() {
         startButton.setOnAction(event -> handleStartButtonAction());
         stopButton.setOnAction(event -> pomodoroFacade.stopAndResetTimer());
@@ -123,7 +172,7 @@ public class PomodoroController {
     }
 
     private void handleStartButtonAction() {
-        PomodoroService.TimerState state = pomodoroFacade.timerStateProperty().get();
+        TimerState state = pomodoroFacade.timerStateProperty().get();
 
         // Hanya apply/persist custom ketika start dari kondisi STOPPED,
         // supaya pause/resume tidak mereset timer.
@@ -138,8 +187,8 @@ public class PomodoroController {
         pomodoroFacade.handleStartPause();
     }
 
-    private boolean isCustomStartFromStopped(PomodoroService.TimerState state) {
-        return customModeButton.isSelected() && state == PomodoroService.TimerState.STOPPED;
+    private boolean isCustomStartFromStopped(TimerState state) {
+        return customModeButton.isSelected() && state == TimerState.STOPPED;
     }
 
     private void handleModeToggleSelection(Toggle oldToggle, Toggle newToggle) {
@@ -147,10 +196,10 @@ public class PomodoroController {
             oldToggle.setSelected(true);
             return;
         }
-        PomodoroService.PomodoroMode mode = resolveMode(newToggle);
+        PomodoroMode mode = resolveMode(newToggle);
         updateSettingsView(mode);
 
-        if (mode == PomodoroService.PomodoroMode.CUSTOM) {
+        if (mode == PomodoroMode.CUSTOM) {
             validateAllCustomFields(); // validasi sekali pas ganti
             applyCustomSettings();
             return;
@@ -158,14 +207,22 @@ public class PomodoroController {
         pomodoroFacade.selectMode(mode);
     }
 
-    private PomodoroService.PomodoroMode resolveMode(Toggle toggle) {
+    private PomodoroMode resolveMode(Toggle toggle) {
         if (toggle == classicModeButton) {
-            return PomodoroService.PomodoroMode.CLASSIC;
+            return PomodoroMode.CLASSIC;
         }
         if (toggle == intenseModeButton) {
-            return PomodoroService.PomodoroMode.INTENSE;
+            return PomodoroMode.INTENSE;
         }
-        return PomodoroService.PomodoroMode.CUSTOM;
+        return PomodoroMode.CUSTOM;
+    }
+
+    private Toggle toggleFor(PomodoroMode mode) {
+        return switch (mode) {
+            case CLASSIC -> classicModeButton;
+            case INTENSE -> intenseModeButton;
+            case CUSTOM -> customModeButton;
+        };
     }
 
     private void updateStartButtonState() {
@@ -237,8 +294,8 @@ public class PomodoroController {
         return isFocusValid.get() && isShortBreakValid.get() && isLongBreakValid.get() && isRoundsValid.get();
     }
     
-    private void updateSettingsView(PomodoroService.PomodoroMode mode) {
-        boolean isCustom = mode == PomodoroService.PomodoroMode.CUSTOM;
+    private void updateSettingsView(PomodoroMode mode) {
+        boolean isCustom = mode == PomodoroMode.CUSTOM;
         displayGridPane.setVisible(!isCustom);
         displayGridPane.setManaged(!isCustom);
         inputFieldsGridPane.setVisible(isCustom);
@@ -268,7 +325,8 @@ public class PomodoroController {
     }
 
     private void applyCustomSettings() {
-        if (!customModeButton.isSelected()) return;
+        // timer yang sedang jalan/pause tidak boleh ke-reset gara-gara preset selesai dimuat
+        if (!customModeButton.isSelected() || !isTimerStopped()) return;
         validateAllCustomFields();
         if (isFocusValid.get() && isShortBreakValid.get() && isLongBreakValid.get() && isRoundsValid.get()) {
             try {
@@ -289,14 +347,32 @@ public class PomodoroController {
             int shortBreakMin = Integer.parseInt(customShortBreakField.getText());
             int longBreakMin = Integer.parseInt(customLongBreakField.getText());
             int rounds = Integer.parseInt(customRoundsField.getText());
-            presetService.savePreset(focusMin, shortBreakMin, longBreakMin, rounds);
+            // timer langsung jalan, preset disimpan belakangan
+            scope.run(() -> presetService.savePreset(focusMin, shortBreakMin, longBreakMin, rounds),
+                    () -> { }, error -> log.error("Gagal menyimpan preset custom", error));
         } catch (NumberFormatException ignored) {
             // sudah divalidasi
         }
     }
 
     private void loadCustomPresetDefaults() {
-        CustomPomodoroPreset preset = presetService.loadLatestPreset();
+        // isi default dulu biar mode custom langsung bisa dipakai, preset terakhir menyusul dari DB
+        applyPresetFields(null);
+        inputFieldsGridPane.setDisable(true);
+        presetLoad = scope.load(presetService::loadLatestPreset, preset -> {
+            applyPresetFields(preset);
+            inputFieldsGridPane.setDisable(!isTimerStopped());
+        }, error -> {
+            log.error("Gagal memuat preset custom", error);
+            inputFieldsGridPane.setDisable(!isTimerStopped());
+        });
+    }
+
+    private boolean isTimerStopped() {
+        return pomodoroFacade.timerStateProperty().get() == TimerState.STOPPED;
+    }
+
+    private void applyPresetFields(CustomPomodoroPreset preset) {
         if (preset != null) {
             customFocusField.setText(String.valueOf(preset.getFocusMinutes()));
             customShortBreakField.setText(String.valueOf(preset.getShortBreakMinutes()));
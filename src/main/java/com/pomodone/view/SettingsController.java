@@ -2,6 +2,8 @@ package com.pomodone.view;
 
 import com.pomodone.model.user.User;
 import com.pomodone.service.UserSettingsService;
+import com.pomodone.view.util.AsyncScope;
+import com.pomodone.view.util.ViewLifecycle;
 import javafx.beans.binding.BooleanBinding;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
@@ -11,10 +13,15 @@ import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
-public class SettingsController {
+public class SettingsController implements ViewLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(SettingsController.class);
 
     private static final String FIELD_ERROR_STYLE = "field-error";
     private static final String ERROR_TITLE = "Error";
@@ -31,6 +38,8 @@ public class SettingsController {
     @FXML private Button saveTargetsButton;
 
     private UserSettingsService userSettingsService;
+    private AsyncScope scope;
+    private Future<?> settingsLoad;
     
     // buat validasi
     private final BooleanProperty isNameValid = new SimpleBooleanProperty(false);
@@ -40,6 +49,7 @@ public class SettingsController {
     @FXML
     public void initialize() {
         this.userSettingsService = new UserSettingsService();
+        this.scope = AsyncScope.forView(nameField);
         setupValidationListeners();
         loadUserSettings();
 
@@ -54,6 +64,14 @@ public class SettingsController {
         saveTargetsButton.disableProperty().bind(areTargetsInvalid);
     }
 
+    // isian yang belum disimpan sengaja dibiarkan; cuma load yang batal (view sempat ditutup) diulang
+    @Override
+    public void onShow() {
+        if (settingsLoad != null && settingsLoad.isCancelled()) {
+            loadUserSettings();
+        }
+    }
+
     private void setupValidationListeners() {
         nameField.textProperty().addListener((obs, oldVal, newVal) -> {
             boolean isValid = newVal != null && !newVal.trim().isEmpty();
@@ -107,27 +125,39 @@ public class SettingsController {
     }
 
     private void loadUserSettings() {
-        Optional<User> userOptional = userSettingsService.getCurrentUserSettings();
+        // field dikunci dulu sampai data user datang dari DB
+        setFieldsDisabled(true);
+        nameField.setPromptText("Loading...");
+        settingsLoad = scope.load(userSettingsService::getCurrentUserSettings, this::applyUserSettings, error -> {
+            log.error("Gagal memuat pengaturan user", error);
+            applyUserSettings(Optional.empty());
+        });
+    }
+
+    private void applyUserSettings(Optional<User> userOptional) {
+        nameField.setPromptText(null);
         if (userOptional.isPresent()) {
             User user = userOptional.get();
             nameField.setText(user.getName());
             dailyTargetField.setText(String.valueOf(user.getDailyPomodoroTarget()));
             weeklyTargetField.setText(String.valueOf(user.getWeeklyPomodoroTarget()));
+            setFieldsDisabled(false);
         } else {
             showAlert(Alert.AlertType.ERROR, ERROR_TITLE, "Failed to load user settings.");
-            nameField.setDisable(true);
-            dailyTargetField.setDisable(true);
-            weeklyTargetField.setDisable(true);
         }
     }
 
+    private void setFieldsDisabled(boolean disabled) {
+        nameField.setDisable(disabled);
+        dailyTargetField.setDisable(disabled);
+        weeklyTargetField.setDisable(disabled);
+        resetTargetsButton.setDisable(disabled);
+    }
+
     private void handleUpdateName() {
-        boolean success = userSettingsService.updateUserName(nameField.getText());
-        if (success) {
-            showAlert(Alert.AlertType.INFORMATION, "Success", "Nama berhasil diupdate.");
-        } else {
-            showAlert(Alert.AlertType.ERROR, ERROR_TITLE, "Failed to update name.");
-        }
+        String name = nameField.getText();
+        saveInBackground(() -> userSettingsService.updateUserName(name),
+                "Nama berhasil diupdate.", "Failed to update name.");
     }
 
     private void handleSaveTargets() {
@@ -135,18 +165,30 @@ public class SettingsController {
             int dailyTarget = Integer.parseInt(dailyTargetField.getText());
             int weeklyTarget = Integer.parseInt(weeklyTargetField.getText());
 
-            boolean success = userSettingsService.updateUserTargets(dailyTarget, weeklyTarget);
-            if (success) {
-                showAlert(Alert.AlertType.INFORMATION, "Success", "Target berhasil disimpan.");
-            } else {
-                showAlert(Alert.AlertType.ERROR, ERROR_TITLE, "Failed to save targets.");
-            }
+            saveInBackground(() -> userSettingsService.updateUserTargets(dailyTarget, weeklyTarget),
+                    "Target berhasil disimpan.", "Failed to save targets.");
         } catch (NumberFormatException e) {
             // harusnya gabisa nyampe sini kalo tombolnya udah di-disable
             showAlert(Alert.AlertType.ERROR, ERROR_TITLE, "Invalid number format.");
         }
     }
 
+    private void saveInBackground(Callable<Boolean> save, String successMessage, String failureMessage) {
+        setFieldsDisabled(true);
+        scope.save(save, success -> {
+            setFieldsDisabled(false);
+            if (Boolean.TRUE.equals(success)) {
+                showAlert(Alert.AlertType.INFORMATION, "Success", successMessage);
+            } else {
+                showAlert(Alert.AlertType.ERROR, ERROR_TITLE, failureMessage);
+            }
+        }, error -> {
+            log.error("Gagal menyimpan pengaturan user", error);
+            setFieldsDisabled(false);
+            showAlert(Alert.AlertType.ERROR, ERROR_TITLE, failureMessage);
+        });
+    }
+
     private void handleResetTargets() {
         dailyTargetField.setText("5");
         weeklyTargetField.setText("25");
@@ -4,10 +4,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.EnumMap;
-import java.util.List;
+import java.util.EnumSet;
 import java.util.Locale;
 import java.util.Map;
 
@@ -17,7 +15,9 @@ import org.slf4j.LoggerFactory;
 import com.pomodone.facade.TaskManagementFacade;
 import com.pomodone.model.task.Task;
 import com.pomodone.model.task.TaskDifficulty;
+import com.pomodone.model.task.TaskQuery;
 import com.pomodone.model.task.TaskStatus;
+import com.pomodone.service.OverdueSweeper;
 import com.pomodone.service.TaskService;
 import com.pomodone.strategy.task.DifficultyAscSortStrategy;
 import com.pomodone.strategy.task.DifficultyDescSortStrategy;
@@ -26,8 +26,9 @@ import com.pomodone.strategy.task.DueDateDescSortStrategy;
 import com.pomodone.strategy.task.NameAscSortStrategy;
 import com.pomodone.strategy.task.NameDescSortStrategy;
 import com.pomodone.strategy.task.TaskSortStrategy;
-import com.pomodone.util.CollectionViewProcessor;
-import com.pomodone.util.SortDirection;
+import com.pomodone.view.util.AsyncScope;
+import com.pomodone.view.util.TaskPagingModel;
+import com.pomodone.view.util.ViewLifecycle;
 
 import javafx.application.Platform;
 import javafx.fxml.FXML;
@@ -56,7 +57,7 @@ import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
 
-public class TaskListController {
+public class TaskListController implements ViewLifecycle {
     private static final Logger log = LoggerFactory.getLogger(TaskListController.class);
 
     @FXML private ListView<Task> taskListView;
@@ -78,6 +79,8 @@ public class TaskListController {
     private static final String STYLE_PRIORITY_HIGH = "task-item-priority-high";
     private static final String STYLE_PRIORITY_MEDIUM = "task-item-priority-medium";
     private static final String STYLE_PRIORITY_LOW = "task-item-priority-low";
+    private static final int PAGE_SIZE = 50;
+    private static final int PREFETCH_THRESHOLD = 10;
     
     @FXML private VBox detailContainer;
     @FXML private Label detailTitleLabel;
@@ -90,19 +93,24 @@ public class TaskListController {
 
 
     private TaskService taskService;
-    private final CollectionViewProcessor<Task> viewProcessor = new CollectionViewProcessor<>();
     private final DateTimeFormatter deadlineFormatter = DateTimeFormatter.ofPattern("dd MMMM yyyy, HH:mm");
     private final DateTimeFormatter listDeadlineFormatter = DateTimeFormatter.ofPattern("EEEE, dd MMM yyyy HH:mm", Locale.forLanguageTag("id-ID"));
-    private List<Task> allTasks = new ArrayList<>();
     private String currentSearch = "";
     private final Map<SortChoice, TaskSortStrategy> sortStrategies = new EnumMap<>(SortChoice.class);
     private Task selectedTask;
     private final TaskManagementFacade taskFacade = new TaskManagementFacade();
+    private AsyncScope scope;
+    private TaskPagingModel pagingModel;
+    private Long pendingSelectTaskId;
+    private boolean overdueChanged;
 
 
     @FXML
     public void initialize() {
         this.taskService = new TaskService();
+        this.scope = AsyncScope.forView(taskListView);
+        this.pagingModel = new TaskPagingModel(PAGE_SIZE, PREFETCH_THRESHOLD, scope);
+        this.pagingModel.setListener(new PageListener());
 
         setupListViewCellFactory();
         setupListListener();
@@ -112,11 +120,32 @@ public class TaskListController {
         setupSortStrategies();
         setupSearchField();
         loadTaskFromDatabase();
-        applyPendingSearch();
-        applyPendingAdd();
         deleteTaskButton.setOnAction(e -> handleDeleteTask());
         editTaskButton.setOnAction(e -> showEditTaskDialog(selectedTask));
         markDoneButton.setOnAction(e -> handleMarkDone());
+        // controller di-cache seumur app, jadi listener-nya tidak perlu dilepas
+        OverdueSweeper.getInstance().addListener(() -> Platform.runLater(this::onTasksOverdue));
+    }
+
+    // list tetap hangat dari kunjungan sebelumnya, cuma permintaan dari dashboard yang diproses
+    @Override
+    public void onShow() {
+        pagingModel.resume();
+        if (overdueChanged) {
+            overdueChanged = false;
+            refreshTaskList();
+        }
+        applyPendingSearch();
+        applyPendingAdd();
+    }
+
+    // ada task yang barusan jadi terlambat: kalau list lagi kelihatan langsung dimuat ulang, kalau tidak nanti pas dibuka
+    private void onTasksOverdue() {
+        if (taskListView.getScene() != null) {
+            refreshTaskList();
+        } else {
+            overdueChanged = true;
+        }
     }
 
     private void setupAddButton() {
@@ -133,13 +162,28 @@ public class TaskListController {
 
     private void applyPendingSearch() {
         String pending = com.pomodone.view.util.SearchContext.consumePendingQuery();
+        Long pendingTaskId = com.pomodone.view.util.SearchContext.consumePendingTaskId();
         if (pending != null && taskSearchField != null) {
+            // dipilih setelah halaman pertama hasil search datang (lihat PageListener)
+            pendingSelectTaskId = pendingTaskId;
             taskSearchField.setText(pending);
             currentSearch = pending.trim();
             refreshTaskList();
         }
     }
 
+    private boolean selectTaskById(Long taskId) {
+        if (taskId == null) return false;
+        for (Task task : pagingModel.getItems()) {
+            if (task.getId() == taskId) {
+                taskListView.getSelectionModel().select(task);
+                taskListView.scrollTo(task);
+                return true;
+            }
+        }
+        return false;
+    }
+
     private void applyPendingAdd() {
         boolean shouldAdd = com.pomodone.view.util.SearchContext.consumePendingAdd();
         if (shouldAdd) {
@@ -161,6 +205,7 @@ public class TaskListController {
 
 
     private void setupListViewCellFactory() {
+        taskListView.setItems(pagingModel.getItems());
         taskListView.setCellFactory(listView -> new DashboardTaskCell());
     }
 
@@ -198,6 +243,9 @@ public class TaskListController {
                 return;
             }
 
+            // cell cuma dibuat buat baris yang kelihatan, jadi ini sinyal buat ambil halaman berikutnya
+            pagingModel.onIndexShown(getIndex());
+
             titleLabel.setText(truncateTitle(task.getTitle(), 38));
             difficultyLabel.setText(formatDifficultyLabel(task.getDifficulty()));
             updateDifficultyStyle(task.getDifficulty());
@@ -387,21 +435,15 @@ public class TaskListController {
                     dueDate = LocalDateTime.of(selectedDate, time);
                 }
 
-                try {
-                    taskService.createNewTask(title, desc, dueDate, diff);
-                    return null;
-                } catch (Exception e) {
-                    log.error("Gagal menyimpan task baru", e);
-                    Alert alert = new Alert(Alert.AlertType.ERROR, "Failed to save: " + e.getMessage());
-                    alert.show();
-                    return null;
-                }
+                LocalDateTime finalDueDate = dueDate;
+                scope.run(() -> taskFacade.addTask(title, desc, finalDueDate, diff),
+                        this::loadTaskFromDatabase,
+                        error -> showSaveError("Gagal menyimpan task baru", error));
             }
             return null;
         });
 
         dialog.showAndWait();
-        loadTaskFromDatabase();
     }
 
     private void showTaskDetail(Task task) {
@@ -435,48 +477,64 @@ public class TaskListController {
     }
 
     private void loadTaskFromDatabase() {
-        try {
-            allTasks = taskService.getAllTasks();
-            refreshTaskList();
-        } catch (Exception e) {
-            log.error("Gagal memuat task dari database", e);
-        }
+        refreshTaskList();
     }
 
-    private boolean statusSelected(Task task) {
-        boolean statusOk = (pendingCheckBox.isSelected() && task.getStatus() == TaskStatus.BELUM_SELESAI)
-                || (overdueCheckBox.isSelected() && task.getStatus() == TaskStatus.TERLAMBAT)
-                || (doneCheckBox.isSelected() && task.getStatus() == TaskStatus.SELESAI);
-        return statusOk && matchesSearch(task);
+    private EnumSet<TaskStatus> selectedStatuses() {
+        EnumSet<TaskStatus> statuses = EnumSet.noneOf(TaskStatus.class);
+        if (pendingCheckBox.isSelected()) statuses.add(TaskStatus.BELUM_SELESAI);
+        if (overdueCheckBox.isSelected()) statuses.add(TaskStatus.TERLAMBAT);
+        if (doneCheckBox.isSelected()) statuses.add(TaskStatus.SELESAI);
+        return statuses;
     }
 
-    private boolean matchesSearch(Task task) {
-        if (currentSearch == null || currentSearch.isEmpty()) return true;
-        String query = currentSearch.toLowerCase();
-        return (task.getTitle() != null && task.getTitle().toLowerCase().contains(query))
-                || (task.getDescription() != null && task.getDescription().toLowerCase().contains(query));
+    private TaskQuery buildQuery() {
+        SortChoice sortChoice = resolveSortChoice();
+        TaskSortStrategy strategy = sortStrategies.getOrDefault(sortChoice, sortStrategies.get(SortChoice.DUE_DATE_ASC));
+
+        // filter, search, dan sort dikerjakan di SQL, jadi cuma hasil yang tampil yang diambil
+        TaskQuery.Builder builder = TaskQuery.builder()
+                .statuses(selectedStatuses())
+                .searchText(currentSearch);
+        if (strategy != null) {
+            builder.sortBy(strategy.getSortField(), strategy.getDirection());
+        }
+        return builder.build();
     }
 
     private void refreshTaskList() {
-        SortChoice sortChoice = resolveSortChoice();
-        TaskSortStrategy strategy = sortStrategies.getOrDefault(sortChoice, sortStrategies.get(SortChoice.DUE_DATE_ASC));
-        Comparator<Task> comparator = strategy != null ? strategy.getComparator() : null;
-        SortDirection direction = strategy != null ? strategy.getDirection() : SortDirection.ASC;
-
-        List<Task> processed = viewProcessor.apply(
-                allTasks,
-                this::statusSelected,
-                comparator,
-                direction
-        );
+        TaskQuery query = buildQuery();
+        taskListView.setPlaceholder(new Label("Loading tasks..."));
+        // keyset pagination: cuma halaman yang kelihatan yang diambil, sisanya menyusul pas scroll.
+        // Fetch jalan di background, ketikan search baru otomatis membatalkan query sebelumnya.
+        pagingModel.reset((after, size) -> taskService.findTaskPage(query, after, size));
+    }
 
-        taskListView.getItems().setAll(processed);
-        if (processed.isEmpty()) {
-            taskListView.setPlaceholder(new Label("No tasks for this filter/search."));
-            detailContainer.setVisible(false);
-        } else {
-            taskListView.getSelectionModel().selectFirst();
+    private class PageListener implements TaskPagingModel.Listener {
+        @Override
+        public void pageLoaded(boolean firstPage) {
+            if (!firstPage) return;
+            if (pagingModel.getItems().isEmpty()) {
+                taskListView.setPlaceholder(new Label("No tasks for this filter/search."));
+                detailContainer.setVisible(false);
+            } else if (!selectTaskById(pendingSelectTaskId)) {
+                taskListView.getSelectionModel().selectFirst();
+            }
+            pendingSelectTaskId = null;
         }
+
+        @Override
+        public void loadFailed(Throwable error) {
+            log.error("Gagal memuat task dari database", error);
+            taskListView.setPlaceholder(new Label("Failed to load tasks."));
+            pendingSelectTaskId = null;
+        }
+    }
+
+    private void showSaveError(String logMessage, Throwable error) {
+        log.error(logMessage, error);
+        Alert alert = new Alert(Alert.AlertType.ERROR, "Failed to save: " + error.getMessage());
+        alert.show();
     }
 
     private void handleDeleteTask() {
@@ -495,9 +553,11 @@ public class TaskListController {
         confirm.showAndWait().ifPresent(response -> {
             if (response == deleteButton) {
                 // Kalau user menekan Delete -> baru eksekusi
-                taskFacade.destroyTask((int) selectedTask.getId());
-                loadTaskFromDatabase();
-                detailContainer.setVisible(false);
+                int taskId = (int) selectedTask.getId();
+                scope.run(() -> taskFacade.destroyTask(taskId), () -> {
+                    loadTaskFromDatabase();
+                    detailContainer.setVisible(false);
+                }, error -> showSaveError("Gagal menghapus task", error));
             }
         });
     }
@@ -510,17 +570,22 @@ public class TaskListController {
                 ? resolveUndoStatus(selectedTask)
                 : TaskStatus.SELESAI;
 
-        taskFacade.saveTask(
-                selectedTask.getId(),
-                selectedTask.getTitle(),
-                selectedTask.getDescription(),
-                selectedTask.getDueDate(),
-                selectedTask.getDifficulty(),
+        Task task = selectedTask;
+        markDoneButton.setDisable(true);
+        scope.run(() -> taskFacade.saveTask(
+                task.getId(),
+                task.getTitle(),
+                task.getDescription(),
+                task.getDueDate(),
+                task.getDifficulty(),
                 targetStatus
-        );
-
-        loadTaskFromDatabase();
-        detailContainer.setVisible(false);
+        ), () -> {
+            loadTaskFromDatabase();
+            detailContainer.setVisible(false);
+        }, error -> {
+            markDoneButton.setDisable(false);
+            showSaveError("Gagal mengubah status task", error);
+        });
     }
 
     private TaskStatus resolveUndoStatus(Task task) {
@@ -627,16 +692,18 @@ public class TaskListController {
                     dueDate = LocalDateTime.of(date, time);
                 }
 
-                taskFacade.saveTask(
+                String title = titleField.getText();
+                String desc = descField.getText();
+                TaskDifficulty difficulty = difficultyBox.getValue();
+                LocalDateTime finalDueDate = dueDate;
+                scope.run(() -> taskFacade.saveTask(
                         task.getId(),
-                        titleField.getText(),
-                        descField.getText(),
-                        dueDate,
-                        difficultyBox.getValue(),
+                        title,
+                        desc,
+                        finalDueDate,
+                        difficulty,
                         task.getStatus()
-                );
-
-                loadTaskFromDatabase();
+                ), this::loadTaskFromDatabase, error -> showSaveError("Gagal menyimpan perubahan task", error));
             }
             return null;
         });
@@ -0,0 +1,129 @@
+package com.pomodone.view.util;
+
+import javafx.application.Platform;
+import javafx.scene.Node;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
+
+// Jalanin kerjaan I/O (JDBC dkk) di virtual thread, hasilnya dikirim balik ke thread JavaFX.
+// Satu scope per view: begitu view dilepas dari scene (user pindah menu), load yang belum selesai
+// dibatalkan dan callback-nya tidak pernah dipanggil. View-nya sendiri bisa ditampilkan lagi (cache),
+// jadi scope tetap bisa dipakai setelahnya; close() baru mematikan scope for good.
+public class AsyncScope {
+
+    private static final ExecutorService IO_EXECUTOR =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("pomodone-io-", 0).factory());
+
+    private final Executor io;
+    private final Executor ui;
+    private final Set<Future<?>> inFlight = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    public AsyncScope(Executor io, Executor ui) {
+        this.io = Objects.requireNonNull(io);
+        this.ui = Objects.requireNonNull(ui);
+    }
+
+    // scope produksi: virtual thread + Platform::runLater, load dibatalkan saat node keluar dari scene
+    public static AsyncScope forView(Node node) {
+        AsyncScope scope = new AsyncScope(IO_EXECUTOR, Platform::runLater);
+        node.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (oldScene != null && newScene == null) {
+                scope.cancelPending();
+            }
+        });
+        return scope;
+    }
+
+    // Kembaliannya bisa di-cancel caller, mis. query search lama yang sudah kalah sama ketikan baru
+    public <T> Future<T> load(Callable<T> work, Consumer<? super T> onSuccess, Consumer<Throwable> onFailure) {
+        return submit(work, onSuccess, onFailure, true);
+    }
+
+    // Buat tulisan: tetap dijalankan sampai selesai walau user pindah menu (data user tidak boleh
+    // hilang), callback-nya cuma dibuang kalau scope sudah di-close
+    public <T> Future<T> save(Callable<T> work, Consumer<? super T> onSuccess, Consumer<Throwable> onFailure) {
+        return submit(work, onSuccess, onFailure, false);
+    }
+
+    public Future<Void> run(IoAction action, Runnable onSuccess, Consumer<Throwable> onFailure) {
+        return save(() -> {
+            action.run();
+            return null;
+        }, ignored -> onSuccess.run(), onFailure);
+    }
+
+    private <T> Future<T> submit(Callable<T> work, Consumer<? super T> onSuccess, Consumer<Throwable> onFailure,
+                                 boolean cancelOnClose) {
+        Objects.requireNonNull(onSuccess);
+        Objects.requireNonNull(onFailure);
+        FutureTask<T> task = new FutureTask<>(work) {
+            @Override
+            protected void done() {
+                inFlight.remove(this);
+                ui.execute(() -> deliver(this, onSuccess, onFailure));
+            }
+        };
+        if (cancelOnClose) {
+            if (closed) {
+                task.cancel(false);
+                return task;
+            }
+            inFlight.add(task);
+        }
+        io.execute(task);
+        return task;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    // batalkan load yang masih jalan, tulisan tetap jalan dan callback-nya tetap dikirim
+    public void cancelPending() {
+        for (Future<?> future : inFlight) {
+            future.cancel(true);
+        }
+        inFlight.clear();
+    }
+
+    public void close() {
+        closed = true;
+        cancelPending();
+    }
+
+    private <T> void deliver(FutureTask<T> task, Consumer<? super T> onSuccess, Consumer<Throwable> onFailure) {
+        if (closed || task.isCancelled()) {
+            return;
+        }
+        T result;
+        try {
+            result = task.get();
+        } catch (ExecutionException e) {
+            onFailure.accept(e.getCause());
+            return;
+        } catch (CancellationException e) {
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        onSuccess.accept(result);
+    }
+
+    @FunctionalInterface
+    public interface IoAction {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,60 @@
+package com.pomodone.view.util;
+
+import com.pomodone.model.pomodoro.TimerSnapshot;
+import javafx.animation.AnimationTimer;
+import javafx.scene.control.ProgressBar;
+
+// Progress bar yang jalan mulus di antara tick detik: tiap pulse JavaFX progress dihitung ulang dari
+// deadline di TimerSnapshot. setProgress cuma dipanggil kalau isinya geser minimal satu pixel, jadi sesi
+// 25 menit di bar 400px cuma ~400 kali layout, bukan 60 kali per detik. Timer animasi cuma hidup selama
+// timer jalan dan view-nya kelihatan.
+public class ProgressAnimator extends AnimationTimer {
+    private final ProgressBar progressBar;
+    private TimerSnapshot snapshot;
+    private boolean visible;
+    private boolean running;
+    private long lastPixel = -1;
+
+    public ProgressAnimator(ProgressBar progressBar) {
+        this.progressBar = progressBar;
+    }
+
+    public void show(TimerSnapshot snapshot) {
+        this.snapshot = snapshot;
+        if (!snapshot.isTicking()) {
+            // pause/stop/alarm: progress-nya diam, tampilkan apa adanya
+            setProgress(snapshot.getProgress());
+        }
+        updateRunning();
+    }
+
+    public void setVisible(boolean visible) {
+        this.visible = visible;
+        updateRunning();
+    }
+
+    @Override
+    public void handle(long now) {
+        // pulse JavaFX pakai basis System.nanoTime, sama dengan TimerClock.system()
+        setProgress(snapshot.progressAt(now));
+    }
+
+    private void updateRunning() {
+        boolean shouldRun = visible && snapshot != null && snapshot.isTicking();
+        if (shouldRun == running) return;
+        running = shouldRun;
+        if (shouldRun) {
+            start();
+        } else {
+            stop();
+        }
+    }
+
+    private void setProgress(double progress) {
+        long pixel = Math.round(progress * Math.max(1.0, progressBar.getWidth()));
+        if (pixel != lastPixel) {
+            lastPixel = pixel;
+            progressBar.setProgress(progress);
+        }
+    }
+}
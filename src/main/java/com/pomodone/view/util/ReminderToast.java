@@ -0,0 +1,72 @@
+package com.pomodone.view.util;
+
+import com.pomodone.model.task.TaskReminder;
+import javafx.animation.PauseTransition;
+import javafx.scene.control.Label;
+import javafx.scene.layout.VBox;
+import javafx.stage.Popup;
+import javafx.stage.Window;
+import javafx.util.Duration;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+// Notifikasi kecil di pojok kanan bawah window, hilang sendiri setelah beberapa detik.
+// Beberapa pengingat sekaligus ditumpuk ke atas. Cuma dipakai dari thread FX.
+public final class ReminderToast {
+    private static final Duration SHOW_FOR = Duration.seconds(8);
+    private static final double MARGIN = 16;
+    private static final DateTimeFormatter DUE_FORMAT = DateTimeFormatter.ofPattern("dd MMM HH:mm");
+    private static final List<Popup> visible = new ArrayList<>();
+
+    private ReminderToast() {}
+
+    public static void show(Window owner, TaskReminder reminder, Runnable onClick) {
+        Label title = new Label(reminder.getTitle());
+        title.setStyle("-fx-font-weight: bold; -fx-text-fill: #111827;");
+        Label detail = new Label("Due in " + describe(reminder.getLeadTime()) + " · " + DUE_FORMAT.format(reminder.getDueDate()));
+        detail.setStyle("-fx-text-fill: #6B7280;");
+        VBox box = new VBox(4, title, detail);
+        box.setStyle("-fx-background-color: white; -fx-padding: 12 16; -fx-background-radius: 8; "
+                + "-fx-border-color: #E5E7EB; -fx-border-radius: 8; -fx-cursor: hand; "
+                + "-fx-effect: dropshadow(gaussian, rgba(0,0,0,0.15), 12, 0, 0, 4);");
+
+        Popup popup = new Popup();
+        popup.getContent().add(box);
+        box.setOnMouseClicked(event -> {
+            popup.hide();
+            onClick.run();
+        });
+        popup.setOnHidden(event -> {
+            visible.remove(popup);
+            layout(owner);
+        });
+        visible.add(popup);
+        popup.show(owner);
+        layout(owner);
+
+        PauseTransition pause = new PauseTransition(SHOW_FOR);
+        pause.setOnFinished(event -> popup.hide());
+        pause.play();
+    }
+
+    // yang paling baru di bawah
+    private static void layout(Window owner) {
+        double bottom = owner.getY() + owner.getHeight() - MARGIN;
+        for (int i = visible.size() - 1; i >= 0; i--) {
+            Popup popup = visible.get(i);
+            popup.setX(owner.getX() + owner.getWidth() - popup.getWidth() - MARGIN);
+            popup.setY(bottom - popup.getHeight());
+            bottom -= popup.getHeight() + MARGIN / 2;
+        }
+    }
+
+    private static String describe(java.time.Duration lead) {
+        if (lead.toHours() >= 1) {
+            long hours = lead.toHours();
+            return hours + (hours == 1 ? " hour" : " hours");
+        }
+        return lead.toMinutes() + " minutes";
+    }
+}
@@ -6,6 +6,7 @@ import java.util.concurrent.atomic.AtomicReference;
 public class SearchContext {
     private static final AtomicReference<String> pendingQuery = new AtomicReference<>();
     private static final AtomicBoolean pendingAdd = new AtomicBoolean(false);
+    private static final AtomicReference<Long> pendingTaskId = new AtomicReference<>();
 
     private SearchContext() {}
 
@@ -17,6 +18,15 @@ public class SearchContext {
         return pendingQuery.getAndSet(null);
     }
 
+    // task paling relevan dari pencarian dashboard, dipilih otomatis di task list
+    public static void setPendingTaskId(Long taskId) {
+        pendingTaskId.set(taskId);
+    }
+
+    public static Long consumePendingTaskId() {
+        return pendingTaskId.getAndSet(null);
+    }
+
     public static void setPendingAdd(boolean value) {
         pendingAdd.set(value);
     }
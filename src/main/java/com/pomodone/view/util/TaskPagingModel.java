@@ -0,0 +1,134 @@
+package com.pomodone.view.util;
+
+import com.pomodone.model.task.Task;
+import com.pomodone.model.task.TaskPage;
+import com.pomodone.model.task.TaskPageCursor;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import java.util.Objects;
+import java.util.concurrent.Future;
+
+// Model item ListView yang ngambil task per halaman (keyset) pas user scroll mendekati akhir list.
+// Semua method dipanggil dari thread UI; yang jalan di background cuma fetch-nya.
+public class TaskPagingModel {
+
+    @FunctionalInterface
+    public interface PageFetcher {
+        TaskPage fetch(TaskPageCursor after, int pageSize);
+    }
+
+    // dipanggil di thread UI setelah tiap halaman masuk / gagal diambil
+    public interface Listener {
+        void pageLoaded(boolean firstPage);
+
+        void loadFailed(Throwable error);
+    }
+
+    private final ObservableList<Task> items = FXCollections.observableArrayList();
+    private final int pageSize;
+    private final int prefetchThreshold;
+    private final AsyncScope scope;
+
+    private PageFetcher fetcher;
+    private Listener listener;
+    private TaskPageCursor cursor;
+    private boolean exhausted = true;
+    private boolean loading;
+    private long generation;
+    private Future<TaskPage> pending;
+
+    // fetch jalan di scope (di luar thread JavaFX), item baru ditambah setelah hasilnya balik ke UI
+    public TaskPagingModel(int pageSize, int prefetchThreshold, AsyncScope scope) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize harus positif");
+        }
+        this.pageSize = pageSize;
+        this.prefetchThreshold = Math.max(0, prefetchThreshold);
+        this.scope = Objects.requireNonNull(scope);
+    }
+
+    public ObservableList<Task> getItems() {
+        return items;
+    }
+
+    public boolean isExhausted() {
+        return exhausted;
+    }
+
+    public boolean isLoading() {
+        return loading;
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    // ganti sumber data (filter/sort baru): buang semua halaman lama lalu ambil halaman pertama
+    public void reset(PageFetcher newFetcher) {
+        this.fetcher = Objects.requireNonNull(newFetcher);
+        this.generation++;
+        if (pending != null) {
+            // hasil query lama tidak dipakai lagi
+            pending.cancel(true);
+            pending = null;
+        }
+        this.cursor = null;
+        this.exhausted = false;
+        this.loading = false;
+        items.clear();
+        loadNextPage();
+    }
+
+    // fetch yang sempat dibatalkan (view disembunyikan di tengah loading) diulang dari cursor terakhir
+    public void resume() {
+        if (loading && pending != null && pending.isCancelled()) {
+            pending = null;
+            loading = false;
+            loadNextPage();
+        }
+    }
+
+    // dipanggil cell ListView tiap kali baris index tampil
+    public void onIndexShown(int index) {
+        if (index < items.size() - 1 - prefetchThreshold) {
+            return;
+        }
+        loadNextPage();
+    }
+
+    public void loadNextPage() {
+        if (exhausted || loading || fetcher == null) {
+            return;
+        }
+        loading = true;
+        long requestedGeneration = generation;
+        PageFetcher currentFetcher = fetcher;
+        TaskPageCursor after = cursor;
+        boolean firstPage = after == null;
+        pending = scope.load(() -> currentFetcher.fetch(after, pageSize), page -> {
+            if (requestedGeneration != generation) {
+                return;
+            }
+            pending = null;
+            loading = false;
+            items.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            exhausted = !page.hasMore();
+            if (listener != null) {
+                listener.pageLoaded(firstPage);
+            }
+        }, error -> {
+            if (requestedGeneration != generation) {
+                return;
+            }
+            pending = null;
+            loading = false;
+            // berhenti di sini, biar cell yang tampil tidak memicu retry terus-terusan
+            exhausted = true;
+            if (listener != null) {
+                listener.loadFailed(error);
+            }
+        });
+    }
+}
@@ -0,0 +1,73 @@
+package com.pomodone.view.util;
+
+import javafx.scene.Parent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+// Nyimpen view (root + controller) yang sudah di-load, jadi pindah menu tidak parse FXML ulang
+// dan controller tidak bikin ulang state/query-nya. Semua method dipanggil dari thread UI.
+public class ViewCache {
+    private static final Logger log = LoggerFactory.getLogger(ViewCache.class);
+
+    public record CachedView(Parent root, Object controller) {}
+
+    @FunctionalInterface
+    public interface ViewLoader {
+        CachedView load(String fxmlFile) throws IOException;
+    }
+
+    private final Map<String, CachedView> views = new HashMap<>();
+    private final ViewLoader loader;
+
+    public ViewCache(ViewLoader loader) {
+        this.loader = Objects.requireNonNull(loader);
+    }
+
+    public CachedView get(String fxmlFile) throws IOException {
+        CachedView cached = views.get(fxmlFile);
+        if (cached == null) {
+            cached = loader.load(fxmlFile);
+            views.put(fxmlFile, cached);
+        }
+        return cached;
+    }
+
+    public boolean isCached(String fxmlFile) {
+        return views.containsKey(fxmlFile);
+    }
+
+    // Load view lain satu per satu lewat scheduler (mis. Platform::runLater), jadi tiap giliran
+    // cuma satu parse FXML dan input user tetap bisa nyelip di antaranya. Query DB-nya sendiri
+    // sudah async di controller masing-masing.
+    public void preload(List<String> fxmlFiles, Executor scheduler) {
+        Deque<String> remaining = new ArrayDeque<>(fxmlFiles);
+        scheduler.execute(() -> preloadNext(remaining, scheduler));
+    }
+
+    private void preloadNext(Deque<String> remaining, Executor scheduler) {
+        String next = remaining.poll();
+        if (next == null) {
+            return;
+        }
+        if (!isCached(next)) {
+            try {
+                get(next);
+            } catch (IOException | RuntimeException e) {
+                // nanti dicoba lagi pas user beneran buka view-nya
+                log.warn("Preload view {} gagal", next, e);
+            }
+        }
+        if (!remaining.isEmpty()) {
+            scheduler.execute(() -> preloadNext(remaining, scheduler));
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.pomodone.view.util;
+
+// Dipanggil MainWindowController tiap kali view (yang sudah di-cache) ditampilkan lagi.
+// initialize() cuma jalan sekali, jadi refresh data yang bisa berubah di view lain taruh di sini.
+public interface ViewLifecycle {
+    void onShow();
+}
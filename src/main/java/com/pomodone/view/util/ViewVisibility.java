@@ -0,0 +1,32 @@
+package com.pomodone.view.util;
+
+import javafx.beans.binding.Bindings;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+// true selama node benar-benar kelihatan: masih nempel di scene, window-nya tampil dan (kalau Stage)
+// tidak diminimize. Node yang dilepas dari scene (pindah menu) langsung jadi false.
+public final class ViewVisibility {
+
+    private ViewVisibility() {
+    }
+
+    // binding fluent ini lazy dan cuma di-referensi lemah oleh node, jadi pemanggil wajib nyimpen hasilnya di field
+    public static ObservableValue<Boolean> onScreen(Node node) {
+        return node.sceneProperty()
+                .flatMap(Scene::windowProperty)
+                .flatMap(ViewVisibility::windowVisible)
+                .orElse(false);
+    }
+
+    private static ObservableValue<Boolean> windowVisible(Window window) {
+        if (window instanceof Stage stage) {
+            return Bindings.createBooleanBinding(() -> stage.isShowing() && !stage.isIconified(),
+                    stage.showingProperty(), stage.iconifiedProperty());
+        }
+        return window.showingProperty();
+    }
+}
@@ -0,0 +1,37 @@
+package db.flyway;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Statement;
+
+public class V2__TaskIndexes extends BaseJavaMigration {
+
+    // Sintaks partial/expression index sama di SQLite dan PostgreSQL, jadi tidak perlu dicabang
+    private static final String[] STATEMENTS = {
+            // countCompletedTasks + countCompletedOnTimeTasks cukup baca index (covering)
+            "CREATE INDEX IF NOT EXISTS idx_tasks_status_due ON tasks (status, tenggat_tugas, updated_at)",
+            // urutan default daftar task (tenggat kosong di akhir), dipakai findAll + halaman pertama list
+            """
+            CREATE INDEX IF NOT EXISTS idx_tasks_due_order ON tasks (
+                (CASE WHEN tenggat_tugas IS NULL THEN 1 ELSE 0 END), tenggat_tugas, created_at DESC, id DESC)
+            """,
+            // task yang belum selesai saja: countActiveTasks + findTopByDueDate (dashboard)
+            """
+            CREATE INDEX IF NOT EXISTS idx_tasks_open_due ON tasks (
+                (CASE WHEN tenggat_tugas IS NULL THEN 1 ELSE 0 END), tenggat_tugas, created_at DESC)
+            WHERE status <> 'SELESAI'
+            """,
+            // cek judul duplikat waktu tambah task
+            "CREATE INDEX IF NOT EXISTS idx_tasks_title ON tasks (judul_tugas)"
+    };
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement stmt = context.getConnection().createStatement()) {
+            for (String sql : STATEMENTS) {
+                stmt.execute(sql);
+            }
+        }
+    }
+}
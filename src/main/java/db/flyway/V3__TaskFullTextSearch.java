@@ -0,0 +1,77 @@
+package db.flyway;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public class V3__TaskFullTextSearch extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        String url = connection.getMetaData().getURL();
+        boolean sqlite = url != null && url.startsWith("jdbc:sqlite");
+        if (sqlite) {
+            migrateSqlite(connection);
+        } else {
+            migratePostgres(connection);
+        }
+    }
+
+    private void migrateSqlite(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            // external content: teks tetap di tabel tasks, FTS cuma simpan index-nya
+            stmt.execute("""
+                CREATE VIRTUAL TABLE IF NOT EXISTS tasks_fts USING fts5(
+                    judul_tugas,
+                    deskripsi_tugas,
+                    content='tasks',
+                    content_rowid='id',
+                    tokenize='unicode61 remove_diacritics 2'
+                )
+            """);
+
+            // trigger biar index selalu ikut perubahan tasks
+            stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS tasks_fts_ai AFTER INSERT ON tasks BEGIN
+                    INSERT INTO tasks_fts (rowid, judul_tugas, deskripsi_tugas)
+                    VALUES (new.id, new.judul_tugas, new.deskripsi_tugas);
+                END
+            """);
+            stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS tasks_fts_ad AFTER DELETE ON tasks BEGIN
+                    INSERT INTO tasks_fts (tasks_fts, rowid, judul_tugas, deskripsi_tugas)
+                    VALUES ('delete', old.id, old.judul_tugas, old.deskripsi_tugas);
+                END
+            """);
+            stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS tasks_fts_au AFTER UPDATE OF judul_tugas, deskripsi_tugas ON tasks BEGIN
+                    INSERT INTO tasks_fts (tasks_fts, rowid, judul_tugas, deskripsi_tugas)
+                    VALUES ('delete', old.id, old.judul_tugas, old.deskripsi_tugas);
+                    INSERT INTO tasks_fts (rowid, judul_tugas, deskripsi_tugas)
+                    VALUES (new.id, new.judul_tugas, new.deskripsi_tugas);
+                END
+            """);
+
+            // isi index dari data yang sudah ada
+            stmt.execute("INSERT INTO tasks_fts (tasks_fts) VALUES ('rebuild')");
+        }
+    }
+
+    private void migratePostgres(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            // config 'simple' karena judul campur Indonesia/Inggris, jadi tanpa stemming
+            stmt.execute("""
+                ALTER TABLE tasks ADD COLUMN IF NOT EXISTS search_vector tsvector
+                GENERATED ALWAYS AS (
+                    setweight(to_tsvector('simple', coalesce(judul_tugas, '')), 'A') ||
+                    setweight(to_tsvector('simple', coalesce(deskripsi_tugas, '')), 'B')
+                ) STORED
+            """);
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_tasks_search ON tasks USING GIN (search_vector)");
+        }
+    }
+}
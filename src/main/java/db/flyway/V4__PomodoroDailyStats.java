@@ -0,0 +1,88 @@
+package db.flyway;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public class V4__PomodoroDailyStats extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        String url = connection.getMetaData().getURL();
+        boolean sqlite = url != null && url.startsWith("jdbc:sqlite");
+        if (sqlite) {
+            migrateSqlite(connection);
+        } else {
+            migratePostgres(connection);
+        }
+    }
+
+    private void migrateSqlite(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            // epoch_day = LocalDate.toEpochDay(), jadi bind-nya angka biasa di kedua database
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS pomodoro_daily_stats (
+                    user_id INTEGER NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+                    epoch_day INTEGER NOT NULL,
+                    mode TEXT NOT NULL CHECK (mode IN ('CLASSIC','INTENSE','CUSTOM')),
+                    session_count INTEGER NOT NULL DEFAULT 0,
+                    focus_seconds INTEGER NOT NULL DEFAULT 0,
+                    PRIMARY KEY (user_id, epoch_day, mode)
+                )
+            """);
+
+            // started_at bisa epoch millis (dari setTimestamp) atau teks UTC (default CURRENT_TIMESTAMP),
+            // tanggalnya dihitung dalam waktu lokal sama seperti LocalDate.now()
+            stmt.execute("""
+                INSERT INTO pomodoro_daily_stats (user_id, epoch_day, mode, session_count, focus_seconds)
+                SELECT user_id, epoch_day, mode, COUNT(*), COALESCE(SUM(duration_seconds), 0)
+                FROM (
+                    SELECT user_id,
+                           mode,
+                           duration_seconds,
+                           CAST(julianday(CASE typeof(started_at)
+                                   WHEN 'integer' THEN date(started_at / 1000, 'unixepoch', 'localtime')
+                                   ELSE date(started_at, 'localtime')
+                                END) - 2440587.5 AS INTEGER) AS epoch_day
+                    FROM pomodoro_sessions
+                    WHERE status = 'COMPLETED'
+                )
+                GROUP BY user_id, epoch_day, mode
+                ON CONFLICT (user_id, epoch_day, mode) DO NOTHING
+            """);
+        }
+    }
+
+    private void migratePostgres(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS pomodoro_daily_stats (
+                    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+                    epoch_day INTEGER NOT NULL,
+                    mode VARCHAR(20) NOT NULL,
+                    session_count INTEGER NOT NULL DEFAULT 0,
+                    focus_seconds BIGINT NOT NULL DEFAULT 0,
+                    PRIMARY KEY (user_id, epoch_day, mode),
+                    CONSTRAINT pomo_daily_mode_check CHECK (mode IN ('CLASSIC','INTENSE','CUSTOM'))
+                )
+            """);
+
+            stmt.execute("""
+                INSERT INTO pomodoro_daily_stats (user_id, epoch_day, mode, session_count, focus_seconds)
+                SELECT user_id,
+                       (CAST(started_at AS DATE) - DATE '1970-01-01') AS epoch_day,
+                       CAST(mode AS VARCHAR(20)),
+                       COUNT(*),
+                       COALESCE(SUM(duration_seconds), 0)
+                FROM pomodoro_sessions
+                WHERE status = 'COMPLETED'
+                GROUP BY user_id, (CAST(started_at AS DATE) - DATE '1970-01-01'), CAST(mode AS VARCHAR(20))
+                ON CONFLICT (user_id, epoch_day, mode) DO NOTHING
+            """);
+        }
+    }
+}
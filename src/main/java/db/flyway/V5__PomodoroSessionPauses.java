@@ -0,0 +1,25 @@
+package db.flyway;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Statement;
+
+public class V5__PomodoroSessionPauses extends BaseJavaMigration {
+
+    // duration_seconds sekarang waktu fokus yang benar-benar jalan, pause dicatat terpisah.
+    // ADD COLUMN dengan default konstan sama di SQLite dan PostgreSQL.
+    private static final String[] STATEMENTS = {
+            "ALTER TABLE pomodoro_sessions ADD COLUMN paused_seconds INTEGER NOT NULL DEFAULT 0",
+            "ALTER TABLE pomodoro_sessions ADD COLUMN pause_count INTEGER NOT NULL DEFAULT 0"
+    };
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement stmt = context.getConnection().createStatement()) {
+            for (String sql : STATEMENTS) {
+                stmt.execute(sql);
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package db.flyway;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Statement;
+
+public class V6__PomodoroSessionTask extends BaseJavaMigration {
+
+    // Timer per task: sesi boleh nyantol ke task (NULL = timer umum). Task dihapus, riwayat sesi tetap ada.
+    // BIGINT jadi INTEGER affinity di SQLite, jadi statement-nya sama untuk dua DB.
+    private static final String[] STATEMENTS = {
+            "ALTER TABLE pomodoro_sessions ADD COLUMN task_id BIGINT REFERENCES tasks(id) ON DELETE SET NULL",
+            "CREATE INDEX IF NOT EXISTS idx_pomo_sessions_task ON pomodoro_sessions (task_id)"
+    };
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement stmt = context.getConnection().createStatement()) {
+            for (String sql : STATEMENTS) {
+                stmt.execute(sql);
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package db.flyway;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Statement;
+
+public class V7__PomodoroSessionClientRef extends BaseJavaMigration {
+
+    // ID sesi dari app (UUID di journal lokal): replay journal setelah crash cukup INSERT ... ON CONFLICT DO NOTHING.
+    // Baris lama NULL semua, dan NULL tidak pernah bentrok di unique index (SQLite maupun Postgres).
+    private static final String[] STATEMENTS = {
+            "ALTER TABLE pomodoro_sessions ADD COLUMN client_ref VARCHAR(36)",
+            "CREATE UNIQUE INDEX IF NOT EXISTS idx_pomo_sessions_client_ref ON pomodoro_sessions (client_ref)"
+    };
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement stmt = context.getConnection().createStatement()) {
+            for (String sql : STATEMENTS) {
+                stmt.execute(sql);
+            }
+        }
+    }
+}
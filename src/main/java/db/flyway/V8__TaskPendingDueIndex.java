@@ -0,0 +1,22 @@
+package db.flyway;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Statement;
+
+public class V8__TaskPendingDueIndex extends BaseJavaMigration {
+
+    // Task per status diurut tenggat lalu id: stream pengingat tenggat (keyset (tenggat, id)) jalan
+    // langsung dari index tanpa sort. Bukan partial index: planner SQLite tetap milih idx_tasks_status_due
+    // (yang kolom ketiganya updated_at) lalu sort di TEMP B-TREE.
+    private static final String SQL =
+            "CREATE INDEX IF NOT EXISTS idx_tasks_pending_due ON tasks (status, tenggat_tugas, id)";
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement stmt = context.getConnection().createStatement()) {
+            stmt.execute(SQL);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package db.flyway;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public class V9__TaskDatesEpochMillis extends BaseJavaMigration {
+
+    // Di SQLite setTimestamp disimpan INTEGER (epoch millis), tapi seed V1 dan DEFAULT CURRENT_TIMESTAMP
+    // menulis TEXT 'yyyy-MM-dd HH:mm:ss' (UTC). SQLite selalu mengurutkan TEXT setelah INTEGER, jadi
+    // "tenggat_tugas < ?" dan keyset (tenggat, id) tidak pernah melewati baris TEXT. Semua tanggal task
+    // dijadikan millis, dan trigger menjaga baris yang nanti ditulis lewat datetime(...) tetap seragam.
+    private static final String[] COLUMNS = {"tenggat_tugas", "created_at", "updated_at"};
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        String url = connection.getMetaData().getURL();
+        if (url != null && url.startsWith("jdbc:sqlite")) {
+            migrateSqlite(connection);
+        }
+        // Postgres: kolomnya TIMESTAMP beneran, tidak ada yang perlu diubah
+    }
+
+    private void migrateSqlite(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("UPDATE tasks SET " + assignments() + " WHERE " + anyText(""));
+
+            stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS tasks_dates_epoch_ai AFTER INSERT ON tasks
+                WHEN %s BEGIN
+                    UPDATE tasks SET %s WHERE id = new.id;
+                END
+            """.formatted(anyText("new."), assignments()));
+            stmt.execute("""
+                CREATE TRIGGER IF NOT EXISTS tasks_dates_epoch_au AFTER UPDATE OF tenggat_tugas, created_at, updated_at ON tasks
+                WHEN %s BEGIN
+                    UPDATE tasks SET %s WHERE id = new.id;
+                END
+            """.formatted(anyText("new."), assignments()));
+        }
+    }
+
+    // teks tanpa zona dianggap UTC, sama seperti datetime('now') yang menulisnya; teks yang bukan tanggal dibiarkan
+    private static String assignments() {
+        StringBuilder sql = new StringBuilder();
+        for (String column : COLUMNS) {
+            if (!sql.isEmpty()) {
+                sql.append(", ");
+            }
+            sql.append("""
+                %1$s = CASE WHEN typeof(%1$s) = 'text' AND julianday(%1$s) IS NOT NULL
+                    THEN CAST(ROUND((julianday(%1$s) - 2440587.5) * 86400000) AS INTEGER)
+                    ELSE %1$s END""".formatted(column));
+        }
+        return sql.toString();
+    }
+
+    private static String anyText(String prefix) {
+        StringBuilder sql = new StringBuilder();
+        for (String column : COLUMNS) {
+            if (!sql.isEmpty()) {
+                sql.append(" OR ");
+            }
+            sql.append("typeof(").append(prefix).append(column).append(") = 'text'");
+        }
+        return sql.toString();
+    }
+}
@@ -0,0 +1,8 @@
+-- config 'simple' karena judul campur Indonesia/Inggris, jadi tanpa stemming
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS search_vector tsvector
+GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(judul_tugas, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(deskripsi_tugas, '')), 'B')
+) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_search ON tasks USING GIN (search_vector);
@@ -0,0 +1,23 @@
+-- Rollup harian sesi pomodoro (per user, per hari, per mode).
+-- epoch_day = jumlah hari sejak 1970-01-01 (LocalDate.toEpochDay()).
+CREATE TABLE IF NOT EXISTS pomodoro_daily_stats (
+    user_id        BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    epoch_day      INTEGER NOT NULL,
+    mode           VARCHAR(20) NOT NULL,
+    session_count  INTEGER NOT NULL DEFAULT 0,
+    focus_seconds  BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, epoch_day, mode),
+    CONSTRAINT pomo_daily_mode_check CHECK (mode IN ('CLASSIC', 'INTENSE', 'CUSTOM'))
+);
+
+-- Backfill dari riwayat sesi yang sudah ada (tanggal mengikuti timezone session)
+INSERT INTO pomodoro_daily_stats (user_id, epoch_day, mode, session_count, focus_seconds)
+SELECT user_id,
+       (started_at::date - DATE '1970-01-01') AS epoch_day,
+       mode::text,
+       COUNT(*),
+       COALESCE(SUM(duration_seconds), 0)
+FROM pomodoro_sessions
+WHERE status = 'COMPLETED'
+GROUP BY user_id, (started_at::date - DATE '1970-01-01'), mode::text
+ON CONFLICT (user_id, epoch_day, mode) DO NOTHING;
@@ -0,0 +1,3 @@
+-- duration_seconds = waktu fokus yang benar-benar jalan, pause dicatat terpisah
+ALTER TABLE pomodoro_sessions ADD COLUMN IF NOT EXISTS paused_seconds INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE pomodoro_sessions ADD COLUMN IF NOT EXISTS pause_count INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+-- sesi dari timer per task; NULL = timer umum
+ALTER TABLE pomodoro_sessions ADD COLUMN IF NOT EXISTS task_id BIGINT REFERENCES tasks(id) ON DELETE SET NULL;
+CREATE INDEX IF NOT EXISTS idx_pomo_sessions_task ON pomodoro_sessions (task_id);
@@ -0,0 +1,3 @@
+-- ID sesi dari journal lokal, bikin replay setelah crash idempotent
+ALTER TABLE pomodoro_sessions ADD COLUMN IF NOT EXISTS client_ref VARCHAR(36);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_pomo_sessions_client_ref ON pomodoro_sessions (client_ref);
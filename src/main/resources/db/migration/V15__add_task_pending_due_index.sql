@@ -0,0 +1,2 @@
+-- stream pengingat tenggat: task per status urut (tenggat, id), keyset-nya tidak perlu sort
+CREATE INDEX IF NOT EXISTS idx_tasks_pending_due ON tasks (status, tenggat_tugas, id);
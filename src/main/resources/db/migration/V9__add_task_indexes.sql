@@ -0,0 +1,15 @@
+-- countCompletedTasks + countCompletedOnTimeTasks cukup baca index (covering)
+CREATE INDEX IF NOT EXISTS idx_tasks_status_due ON tasks (status, tenggat_tugas, updated_at);
+
+-- urutan default daftar task (tenggat kosong di akhir), dipakai findAll + halaman pertama list
+CREATE INDEX IF NOT EXISTS idx_tasks_due_order ON tasks (
+    (CASE WHEN tenggat_tugas IS NULL THEN 1 ELSE 0 END), tenggat_tugas, created_at DESC, id DESC
+);
+
+-- task yang belum selesai saja: countActiveTasks + findTopByDueDate (dashboard)
+CREATE INDEX IF NOT EXISTS idx_tasks_open_due ON tasks (
+    (CASE WHEN tenggat_tugas IS NULL THEN 1 ELSE 0 END), tenggat_tugas, created_at DESC
+) WHERE status <> 'SELESAI';
+
+-- cek judul duplikat waktu tambah task
+CREATE INDEX IF NOT EXISTS idx_tasks_title ON tasks (judul_tugas);
@@ -0,0 +1,108 @@
+package com.pomodone.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DatabaseBootstrapTest {
+
+    private static final long PROBE_TIMEOUT_MS = 500;
+
+    @TempDir
+    Path tempDir;
+
+    private String sqliteUrl;
+    private DatabaseConfig config;
+
+    @BeforeEach
+    void setUp() {
+        sqliteUrl = "jdbc:sqlite:" + tempDir.resolve("bootstrap.db");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (config != null) {
+            config.shutdown();
+        }
+    }
+
+    @Test
+    void bootstrap_sqliteLangsungDimigrasi() throws SQLException {
+        config = DatabaseBootstrap.bootstrap(new DatabaseBootstrap.Settings(sqliteUrl, null, null, sqliteUrl), PROBE_TIMEOUT_MS);
+
+        assertEquals(SqlDialect.SQLITE, config.getDialect());
+        assertTrue(countTasks() >= 0);
+    }
+
+    @Test
+    void bootstrap_postgresDitolak_fallbackKeSqlite() throws Exception {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+
+        config = DatabaseBootstrap.bootstrap(settingsFor(closedPort), PROBE_TIMEOUT_MS);
+
+        assertEquals(SqlDialect.SQLITE, config.getDialect());
+        assertTrue(countTasks() >= 0);
+    }
+
+    @Test
+    void bootstrap_postgresDiamSaja_fallbackDalamBatasWaktu() throws Exception {
+        // server yang nerima koneksi tapi tidak pernah jawab handshake, kasus terburuk buat probe
+        List<Socket> accepted = new CopyOnWriteArrayList<>();
+        try (ServerSocket silent = new ServerSocket(0)) {
+            Thread acceptor = Thread.ofVirtual().start(() -> {
+                while (!silent.isClosed()) {
+                    try {
+                        accepted.add(silent.accept());
+                    } catch (IOException e) {
+                        return;
+                    }
+                }
+            });
+
+            long started = System.nanoTime();
+            config = DatabaseBootstrap.bootstrap(settingsFor(silent.getLocalPort()), PROBE_TIMEOUT_MS);
+            long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+            assertEquals(SqlDialect.SQLITE, config.getDialect());
+            // probe dibatasi 2x timeout, sisanya buat migrasi SQLite
+            assertTrue(elapsedMillis < 10_000, "bootstrap kelamaan: " + elapsedMillis + " ms");
+            acceptor.interrupt();
+        } finally {
+            for (Socket socket : accepted) {
+                socket.close();
+            }
+        }
+    }
+
+    private DatabaseBootstrap.Settings settingsFor(int port) {
+        return new DatabaseBootstrap.Settings("jdbc:postgresql://127.0.0.1:" + port + "/pomodone",
+                "postgres", "", sqliteUrl);
+    }
+
+    private int countTasks() throws SQLException {
+        try (Connection conn = config.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM tasks")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.pomodone.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DatabaseWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SQLiteDataSource dataSource;
+    private DatabaseWriter writer;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:" + tempDir.resolve("writer.db"));
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE notes (id INTEGER PRIMARY KEY, body TEXT NOT NULL)");
+        }
+        writer = new DatabaseWriter(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.shutdown(1000);
+    }
+
+    @Test
+    void submit_tulisanBerdekatanDigabungSatuTransaksi() throws Exception {
+        // tahan thread writer dulu biar semua tulisan numpuk di antrean
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> gate = writer.submit(conn -> {
+            await(release);
+            return null;
+        });
+        // SQLiteDataSource selalu bikin koneksi baru, jadi koneksi yang sama = batch/transaksi yang sama
+        List<CompletableFuture<Connection>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            int n = i;
+            futures.add(writer.submit(conn -> {
+                insert(conn, 100 + n, "catatan " + n);
+                return conn;
+            }));
+        }
+        release.countDown();
+
+        gate.get(5, TimeUnit.SECONDS);
+        Connection first = futures.get(0).get(5, TimeUnit.SECONDS);
+        for (CompletableFuture<Connection> future : futures) {
+            assertSame(first, future.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(10, countNotes());
+    }
+
+    @Test
+    void submit_satuGagal_sisanyaTetapTersimpan() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        writer.submit(conn -> {
+            await(release);
+            return null;
+        });
+        CompletableFuture<Integer> ok1 = writer.submit(conn -> insert(conn, 1, "pertama"));
+        CompletableFuture<Integer> broken = writer.submit(conn -> {
+            insert(conn, 2, "setengah jalan");
+            return insert(conn, 3, null);
+        });
+        CompletableFuture<Integer> ok2 = writer.submit(conn -> insert(conn, 4, "ketiga"));
+        release.countDown();
+
+        assertEquals(1, ok1.get(5, TimeUnit.SECONDS));
+        assertEquals(1, ok2.get(5, TimeUnit.SECONDS));
+        assertTrue(waitFailed(broken));
+        // baris id 2 ikut dibatalkan lewat savepoint operasinya sendiri
+        assertEquals(2, countNotes());
+    }
+
+    @Test
+    void submit_futureSelesaiSetelahCommit() throws Exception {
+        CompletableFuture<Integer> future = writer.submit(conn -> insert(conn, 7, "langsung kebaca"));
+
+        future.thenRun(() -> {
+            // callback jalan setelah commit, jadi koneksi lain sudah bisa lihat barisnya
+            try {
+                assertEquals(1, countNotes());
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void submitAndWait_errorSqlDilemparApaAdanya() {
+        assertThrows(SQLException.class, () -> writer.submitAndWait(conn -> insert(conn, 1, null)));
+    }
+
+    @Test
+    void shutdown_tulisanBaruDitolak() {
+        writer.shutdown(1000);
+
+        CompletableFuture<Integer> future = writer.submit(conn -> insert(conn, 1, "telat"));
+
+        assertTrue(future.isCompletedExceptionally());
+    }
+
+    @Test
+    void submitSelamaShutdown_semuaFutureTetapSelesai() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        writer.submit(conn -> {
+            await(release);
+            return null;
+        });
+        Thread stopper = new Thread(() -> writer.shutdown(5000));
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        int[] id = {0};
+
+        // terus submit sampai ditolak: ada yang masuk sebelum shutdown, ada yang balapan dengannya
+        stopper.start();
+        CompletableFuture<Integer> last;
+        do {
+            last = writer.submit(conn -> insert(conn, ++id[0], "balapan"));
+            futures.add(last);
+        } while (!last.isDone());
+        release.countDown();
+        stopper.join(5000);
+
+        for (CompletableFuture<Integer> future : futures) {
+            // berhasil atau ditolak, yang penting tidak menggantung
+            future.handle((result, error) -> null).get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(futures.stream().filter(future -> !future.isCompletedExceptionally()).count(), countNotes());
+    }
+
+    private static int insert(Connection conn, int id, String body) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO notes (id, body) VALUES (?, ?)")) {
+            pstmt.setInt(1, id);
+            pstmt.setString(2, body);
+            return pstmt.executeUpdate();
+        }
+    }
+
+    private int countNotes() throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM notes")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static boolean waitFailed(CompletableFuture<?> future) {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            return false;
+        } catch (Exception e) {
+            return true;
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -38,6 +38,19 @@ class TaskTest {
         assertEquals(TaskStatus.TERLAMBAT, t.getStatus());
     }
 
+    @Test
+    void builder_terlambatTapiTenggatDimundurkan_balikBelumSelesai() {
+        Task t = Task.builder()
+                .id(1)
+                .title("Diundur")
+                .dueDate(now.plusDays(1))
+                .difficulty(TaskDifficulty.MUDAH)
+                .status(TaskStatus.TERLAMBAT)
+                .build();
+
+        assertEquals(TaskStatus.BELUM_SELESAI, t.getStatus());
+    }
+
     @Test
     void builder_wajibTitleDanDifficulty() {
         TaskBuilder builder = Task.builder().difficulty(TaskDifficulty.MUDAH);
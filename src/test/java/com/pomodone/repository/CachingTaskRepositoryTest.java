@@ -0,0 +1,220 @@
+package com.pomodone.repository;
+
+import com.pomodone.model.task.Task;
+import com.pomodone.model.task.TaskPage;
+import com.pomodone.model.task.TaskPageCursor;
+import com.pomodone.model.task.TaskQuery;
+import com.pomodone.model.task.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CachingTaskRepositoryTest {
+
+    private FakeTaskRepository db;
+    private CachingTaskRepository cache;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        db = new FakeTaskRepository();
+        cache = new CachingTaskRepository(db, 3, 4);
+        now = LocalDateTime.now().withNano(0);
+    }
+
+    @Test
+    void findById_keduaKaliTidakKeDb() {
+        db.put(task(1, "Laporan", now.plusDays(1)));
+
+        Task first = cache.findById(1);
+        Task second = cache.findById(1);
+
+        assertSame(first, second);
+        assertEquals(1, db.findByIdCalls);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void update_tanpaBacaUlangDanHasilnyaLangsungTersaji() {
+        db.put(task(1, "Laporan", now.plusDays(1)));
+        cache.findById(1);
+
+        cache.update(Task.builder().id(1).title("Laporan final").description("")
+                .dueDate(now.plusDays(1)).status(TaskStatus.SELESAI).build());
+
+        assertEquals(1, db.findByIdCalls);
+        assertEquals(1, db.writeCalls);
+        assertEquals("Laporan final", cache.findById(1).getTitle());
+        assertEquals(TaskStatus.SELESAI, cache.findById(1).getStatus());
+        assertEquals(1, db.findByIdCalls);
+    }
+
+    @Test
+    void taskDariHalaman_sudahAdaDiCacheId() {
+        db.put(task(1, "A", now.plusDays(1)));
+        db.put(task(2, "B", now.plusDays(2)));
+
+        cache.findPage(query(), null, 10);
+        cache.findById(2);
+
+        assertEquals(0, db.findByIdCalls);
+    }
+
+    @Test
+    void reloadHalaman_dariCacheSampaiAdaTulisan() {
+        db.put(task(1, "A", now.plusDays(1)));
+        TaskQuery query = query();
+
+        TaskPage first = cache.findPage(query, null, 10);
+        TaskPage reload = cache.findPage(query, null, 10);
+        assertSame(first, reload);
+        assertEquals(1, db.pageCalls);
+
+        cache.save(task(0, "Baru", now.plusDays(3)));
+        assertEquals(2, cache.findPage(query, null, 10).getItems().size());
+        assertEquals(2, db.pageCalls);
+    }
+
+    @Test
+    void halamanDenganCursor_punyaEntrySendiri() {
+        db.put(task(1, "A", now.plusDays(1)));
+        TaskPageCursor after = new TaskPageCursor(List.of("A", 1L));
+
+        cache.findPage(query(), null, 10);
+        cache.findPage(query(), after, 10);
+        cache.findPage(query(), new TaskPageCursor(List.of("A", 1L)), 10);
+
+        assertEquals(2, db.pageCalls);
+    }
+
+    @Test
+    void delete_cumaBuangListYangBerisiTaskItu() {
+        db.put(task(1, "Laporan", now.plusDays(1)));
+        db.put(task(2, "Kuis", now.plusDays(2)));
+        cache.search("laporan", 5);
+        cache.search("kuis", 5);
+
+        cache.delete(2);
+        cache.search("laporan", 5);
+        cache.search("kuis", 5);
+
+        assertEquals(3, db.searchCalls);
+        assertNull(cache.findById(2));
+    }
+
+    @Test
+    void save_taskBaruLangsungBisaDibacaPerId() {
+        long id = cache.save(task(0, "Presentasi", now.plusDays(1)));
+
+        assertEquals("Presentasi", cache.findById(id).getTitle());
+        assertEquals(id, cache.findById(id).getId());
+        assertEquals(0, db.findByIdCalls);
+    }
+
+    @Test
+    void cacheIdTerbatas_yangPalingLamaTidakDipakaiDibuang() {
+        for (long id = 1; id <= 4; id++) {
+            db.put(task(id, "T" + id, now.plusDays(id)));
+            cache.findById(id);
+        }
+
+        cache.findById(4);
+        cache.findById(1);
+
+        assertEquals(5, db.findByIdCalls);
+    }
+
+    @Test
+    void markOverdue_taskYangBaruTelatDibacaUlang() {
+        db.put(task(1, "Sejam lagi", now.plusHours(1)));
+        db.put(task(2, "Tiga jam lagi", now.plusHours(3)));
+        cache.findById(1);
+        cache.findById(2);
+
+        // dua jam kemudian: task 1 ditandai TERLAMBAT di DB, versi cache-nya masih BELUM_SELESAI
+        cache.markOverdue(now.plusHours(2));
+        cache.findById(1);
+        cache.findById(2);
+
+        assertEquals(3, db.findByIdCalls);
+    }
+
+    private static TaskQuery query() {
+        return TaskQuery.builder().build();
+    }
+
+    private static Task task(long id, String title, LocalDateTime due) {
+        return Task.builder().id(id).title(title).description("").dueDate(due).status(TaskStatus.BELUM_SELESAI).build();
+    }
+
+    // Class ini berpura-pura menjadi TaskRepository yang ke DB, sambil menghitung query yang sampai ke sana
+    private static class FakeTaskRepository extends TaskRepository {
+        final Map<Long, Task> rows = new HashMap<>();
+        int findByIdCalls;
+        int pageCalls;
+        int searchCalls;
+        int writeCalls;
+        private long nextId = 100;
+
+        void put(Task task) {
+            rows.put(task.getId(), task);
+        }
+
+        @Override
+        public Task findById(long id) {
+            findByIdCalls++;
+            return rows.get(id);
+        }
+
+        @Override
+        public long save(Task task) {
+            long id = nextId++;
+            rows.put(id, Task.builder().id(id).title(task.getTitle()).dueDate(task.getDueDate())
+                    .status(task.getStatus()).build());
+            return id;
+        }
+
+        @Override
+        void writeUpdate(Task mergedTask) {
+            writeCalls++;
+            rows.put(mergedTask.getId(), mergedTask);
+        }
+
+        @Override
+        public void delete(int id) {
+            rows.remove((long) id);
+        }
+
+        // status TERLAMBAT tidak bisa dibuat untuk tenggat yang belum lewat, jadi cukup dihitung
+        @Override
+        public int markOverdue(LocalDateTime now) {
+            return (int) rows.values().stream()
+                    .filter(task -> task.getStatus() == TaskStatus.BELUM_SELESAI && task.getDueDate().isBefore(now))
+                    .count();
+        }
+
+        @Override
+        public TaskPage findPage(TaskQuery query, TaskPageCursor after, int pageSize) {
+            pageCalls++;
+            return new TaskPage(new ArrayList<>(rows.values()), null);
+        }
+
+        @Override
+        public List<Task> search(String text, int limit) {
+            searchCalls++;
+            return rows.values().stream()
+                    .filter(task -> task.getTitle().toLowerCase().contains(text))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.pomodone.repository;
+
+import com.pomodone.model.dashboard.DashboardSnapshot;
+import com.pomodone.model.task.Task;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Bandingin alur dashboard lama (tiap angka buka koneksi + statement sendiri) dengan DashboardSnapshotRepository.
+// Jalankan: mvn -Pbench test-compile exec:exec -Dbench.include=DashboardSnapshotBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DashboardSnapshotBenchmark {
+
+    @Param({"1000", "100000"})
+    int taskCount;
+
+    private Path dbFile;
+    private HikariDataSource dataSource;
+    private LocalDateTime startOfDay;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dbFile = Files.createTempFile("pomodone-bench", ".db");
+        String url = "jdbc:sqlite:" + dbFile;
+        Flyway.configure().dataSource(url, null, null).locations("classpath:db/flyway").load().migrate();
+
+        // setting pool sama dengan DatabaseConfig untuk SQLite
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setDriverClassName("org.sqlite.JDBC");
+        config.setMaximumPoolSize(1);
+        config.setConnectionTestQuery("SELECT 1");
+        dataSource = new HikariDataSource(config);
+
+        startOfDay = LocalDate.now().atStartOfDay();
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        dataSource.close();
+        Files.deleteIfExists(dbFile);
+    }
+
+    @Benchmark
+    public void separateRoundTrips(Blackhole bh) throws SQLException {
+        // urutan panggilan DashboardStatsService + DashboardController sebelum snapshot
+        bh.consume(countWithSession("SELECT COUNT(*) FROM pomodoro_sessions WHERE user_id = ? AND status = 'COMPLETED' AND started_at >= ?", true));
+        bh.consume(countWithSession(TaskRepository.COUNT_ACTIVE_SQL, false));
+        bh.consume(findUserName());
+        bh.consume(countWithSession(TaskRepository.COUNT_COMPLETED_SQL, false));
+        bh.consume(countWithSession(TaskRepository.COUNT_COMPLETED_ON_TIME_SQL, false));
+        bh.consume(findTopTasks());
+        bh.consume(findUserName());
+    }
+
+    @Benchmark
+    public DashboardSnapshot singleSnapshot() throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            return DashboardSnapshotRepository.load(conn, 1, startOfDay.toLocalDate(), 5);
+        }
+    }
+
+    private int countWithSession(String sql, boolean sessionQuery) throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            if (sessionQuery) {
+                pstmt.setLong(1, 1);
+                pstmt.setTimestamp(2, Timestamp.valueOf(startOfDay));
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    private String findUserName() throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("SELECT * FROM users WHERE id = ?")) {
+            pstmt.setLong(1, 1);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getString("name") : null;
+            }
+        }
+    }
+
+    private List<Task> findTopTasks() throws SQLException {
+        List<Task> result = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(TaskRepository.FIND_TOP_BY_DUE_SQL)) {
+            pstmt.setInt(1, 5);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    result.add(TaskRows.map(rs));
+                }
+            }
+        }
+        return result;
+    }
+
+    private void seed() throws SQLException {
+        String[] statuses = {"BELUM_SELESAI", "SELESAI", "SELESAI", "TERLAMBAT"};
+        String[] difficulties = {"SULIT", "SEDANG", "MUDAH"};
+        LocalDateTime base = startOfDay.minusDays(30);
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            String taskSql = "INSERT INTO tasks (judul_tugas, deskripsi_tugas, tenggat_tugas, tingkat_kesulitan, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+            try (PreparedStatement pstmt = conn.prepareStatement(taskSql)) {
+                for (int i = 0; i < taskCount; i++) {
+                    LocalDateTime created = base.plusMinutes(i % 40_000);
+                    pstmt.setString(1, "Task " + i);
+                    pstmt.setString(2, "Deskripsi task nomor " + i);
+                    pstmt.setTimestamp(3, i % 7 == 0 ? null : Timestamp.valueOf(created.plusDays(i % 20)));
+                    pstmt.setString(4, difficulties[i % 3]);
+                    pstmt.setString(5, statuses[i % 4]);
+                    pstmt.setTimestamp(6, Timestamp.valueOf(created));
+                    pstmt.setTimestamp(7, Timestamp.valueOf(created.plusDays(i % 25)));
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+            String sessionSql = "INSERT INTO pomodoro_sessions (user_id, started_at, ended_at, duration_seconds, mode) VALUES (1, ?, ?, 1500, 'CLASSIC')";
+            try (PreparedStatement pstmt = conn.prepareStatement(sessionSql)) {
+                for (int i = 0; i < taskCount / 5; i++) {
+                    LocalDateTime started = base.plusMinutes(i * 3L);
+                    pstmt.setTimestamp(1, Timestamp.valueOf(started));
+                    pstmt.setTimestamp(2, Timestamp.valueOf(started.plusMinutes(25)));
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+            try (Statement stmt = conn.createStatement()) {
+                // rollup harian ikut diisi, sama seperti backfill V4
+                stmt.execute("""
+                    INSERT INTO pomodoro_daily_stats (user_id, epoch_day, mode, session_count, focus_seconds)
+                    SELECT user_id,
+                           CAST(julianday(date(started_at / 1000, 'unixepoch', 'localtime')) - 2440587.5 AS INTEGER),
+                           mode, COUNT(*), SUM(duration_seconds)
+                    FROM pomodoro_sessions
+                    GROUP BY 1, 2, 3
+                """);
+            }
+            conn.commit();
+        }
+    }
+}
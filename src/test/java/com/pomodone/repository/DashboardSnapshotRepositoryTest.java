@@ -0,0 +1,113 @@
+package com.pomodone.repository;
+
+import com.pomodone.model.dashboard.DashboardSnapshot;
+import com.pomodone.model.pomodoro.PomodoroMode;
+import com.pomodone.model.pomodoro.SessionRecord;
+import com.pomodone.model.pomodoro.SessionStatus;
+import com.pomodone.model.task.Task;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DashboardSnapshotRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Connection conn;
+    private LocalDateTime startOfDay;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        String url = "jdbc:sqlite:" + tempDir.resolve("dashboard.db");
+        Flyway.configure().dataSource(url, null, null).locations("classpath:db/flyway").load().migrate();
+        conn = DriverManager.getConnection(url);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DELETE FROM tasks");
+        }
+        startOfDay = LocalDateTime.of(2030, 3, 1, 0, 0);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    void load_hitunganSamaDenganQueryTerpisah() throws SQLException {
+        LocalDateTime due = startOfDay.plusDays(2);
+        insertTask("Aktif 1", due, "BELUM_SELESAI", due.minusDays(1));
+        insertTask("Aktif 2", null, "TERLAMBAT", due.minusDays(1));
+        insertTask("Selesai tepat", due, "SELESAI", due.minusHours(1));
+        insertTask("Selesai telat", due, "SELESAI", due.plusHours(1));
+        insertTask("Selesai tanpa tenggat", null, "SELESAI", due);
+        insertSession(startOfDay.plusHours(9));
+        insertSession(startOfDay.plusHours(10));
+        insertSession(startOfDay.minusHours(1)); // kemarin
+
+        DashboardSnapshot snapshot = DashboardSnapshotRepository.load(conn, 1, startOfDay.toLocalDate(), 5);
+
+        assertEquals(2, snapshot.getActiveTasks());
+        assertEquals(3, snapshot.getCompletedTasks());
+        assertEquals(2, snapshot.getCompletedOnTimeTasks());
+        assertEquals(2, snapshot.getTodaySessions());
+        assertEquals("Pomodone User", snapshot.getUser().orElseThrow().getName());
+        assertEquals(5, snapshot.getUser().orElseThrow().getDailyPomodoroTarget());
+        assertEquals("Aktif 1", snapshot.getPriorityTasks().get(0).getTitle());
+        assertEquals(2, snapshot.getPriorityTasks().size());
+        assertTrue(snapshot.getPriorityTasks().stream().map(Task::getTitle).noneMatch(t -> t.startsWith("Selesai")));
+    }
+
+    @Test
+    void snapshotDiCacheBersama_userYangDiubahPemanggilTidakIkutBerubah() throws SQLException {
+        DashboardSnapshot snapshot = DashboardSnapshotRepository.load(conn, 1, startOfDay.toLocalDate(), 5);
+
+        snapshot.getUser().orElseThrow().setDailyPomodoroTarget(99);
+
+        assertEquals(5, snapshot.getUser().orElseThrow().getDailyPomodoroTarget());
+    }
+
+    @Test
+    void load_userTidakAda_angkaTetapTerisi() throws SQLException {
+        insertTask("Aktif", null, "BELUM_SELESAI", startOfDay);
+
+        DashboardSnapshot snapshot = DashboardSnapshotRepository.load(conn, 999, startOfDay.toLocalDate(), 5);
+
+        assertFalse(snapshot.getUser().isPresent());
+        assertEquals(1, snapshot.getActiveTasks());
+        assertEquals(0, snapshot.getTodaySessions());
+    }
+
+    private void insertTask(String title, LocalDateTime due, String status, LocalDateTime updatedAt) throws SQLException {
+        String sql = "INSERT INTO tasks (judul_tugas, tenggat_tugas, tingkat_kesulitan, status, created_at, updated_at) VALUES (?, ?, 'SEDANG', ?, ?, ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, title);
+            pstmt.setTimestamp(2, due != null ? Timestamp.valueOf(due) : null);
+            pstmt.setString(3, status);
+            pstmt.setTimestamp(4, Timestamp.valueOf(startOfDay.minusDays(1)));
+            pstmt.setTimestamp(5, Timestamp.valueOf(updatedAt));
+            pstmt.executeUpdate();
+        }
+    }
+
+    private void insertSession(LocalDateTime startedAt) throws SQLException {
+        PomodoroSessionRepository.writeSession(conn, new SessionRecord(UUID.randomUUID().toString(), 1, null, startedAt,
+                startedAt.plusMinutes(25), 1500, 0, 0, PomodoroMode.CLASSIC, SessionStatus.COMPLETED));
+    }
+}
@@ -0,0 +1,199 @@
+package com.pomodone.repository;
+
+import com.pomodone.model.pomodoro.CustomPomodoroPreset;
+import com.pomodone.model.pomodoro.PomodoroMode;
+import com.pomodone.model.pomodoro.SessionRecord;
+import com.pomodone.model.pomodoro.SessionStatus;
+import com.pomodone.model.task.Task;
+import com.pomodone.model.task.TaskDifficulty;
+import com.pomodone.model.task.TaskStatus;
+import com.pomodone.model.user.User;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Mapper hasil RowMapperProcessor: tulis lewat binder, baca balik lewat map() dengan SELECT list yang digenerate
+class GeneratedRowsTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Connection conn;
+    private LocalDateTime due;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        String url = "jdbc:sqlite:" + tempDir.resolve("rows.db");
+        Flyway.configure().dataSource(url, null, null).locations("classpath:db/flyway").load().migrate();
+        conn = DriverManager.getConnection(url);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DELETE FROM tasks");
+        }
+        due = LocalDateTime.now().plusDays(3).withNano(0);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    void task_insertLaluBacaBalikSemuaKolomSama() throws SQLException {
+        Task task = task("Laporan", due);
+        long id = insert(task);
+
+        Task read = findTask(id);
+
+        assertEquals(id, read.getId());
+        assertEquals("Laporan", read.getTitle());
+        assertEquals("isi", read.getDescription());
+        assertEquals(due, read.getDueDate());
+        assertEquals(TaskDifficulty.SULIT, read.getDifficulty());
+        assertEquals(TaskStatus.BELUM_SELESAI, read.getStatus());
+        assertEquals(task.getCreatedAt(), read.getCreatedAt());
+    }
+
+    @Test
+    void task_tanpaTenggatTetapNull() throws SQLException {
+        long id = insert(task("Kapan-kapan", null));
+
+        assertNull(findTask(id).getDueDate());
+    }
+
+    @Test
+    void task_updateTidakMenyentuhCreatedAt() throws SQLException {
+        Task original = task("Laporan", due);
+        long id = insert(original);
+        Task changed = Task.builder().id(id).title("Laporan final").description("isi").dueDate(due)
+                .difficulty(TaskDifficulty.MUDAH).status(TaskStatus.SELESAI)
+                .createdAt(original.getCreatedAt().minusYears(1)).updatedAt(original.getUpdatedAt().plusHours(1))
+                .build();
+
+        try (PreparedStatement pstmt = conn.prepareStatement(TaskRows.UPDATE_SQL)) {
+            TaskRows.bindUpdate(pstmt, 1, changed);
+            assertEquals(1, pstmt.executeUpdate());
+        }
+
+        Task read = findTask(id);
+        assertEquals("Laporan final", read.getTitle());
+        assertEquals(TaskStatus.SELESAI, read.getStatus());
+        assertEquals(original.getCreatedAt(), read.getCreatedAt());
+        assertEquals(changed.getUpdatedAt(), read.getUpdatedAt());
+    }
+
+    @Test
+    void task_mulaiDariKolomKeN() throws SQLException {
+        long id = insert(task("Laporan", due));
+
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "SELECT 42 AS extra, " + TaskRows.COLUMNS + " FROM tasks WHERE id = ?")) {
+            pstmt.setLong(1, id);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                assertEquals("Laporan", TaskRows.map(rs, 2).getTitle());
+            }
+        }
+    }
+
+    @Test
+    void task_enumTidakDikenal_samaSepertiValueOf() throws SQLException {
+        long id = insert(task("Laporan", due));
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA ignore_check_constraints = ON");
+            stmt.execute("UPDATE tasks SET status = 'HILANG' WHERE id = " + id);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> findTask(id));
+    }
+
+    @Test
+    void session_taskIdNullDanEnumTersimpan() throws SQLException {
+        LocalDateTime start = LocalDateTime.of(2030, 3, 1, 9, 0);
+        SessionRecord session = new SessionRecord("ref-1", 1, null, start, start.plusMinutes(25),
+                1500, 60, 1, PomodoroMode.CLASSIC, SessionStatus.COMPLETED);
+        try (PreparedStatement pstmt = conn.prepareStatement(SessionRecordRows.INSERT_SQL)) {
+            assertEquals(11, SessionRecordRows.bindInsert(pstmt, 1, session));
+            pstmt.executeUpdate();
+        }
+
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                SessionRecordRows.SELECT_FROM + " WHERE client_ref = 'ref-1'");
+             ResultSet rs = pstmt.executeQuery()) {
+            rs.next();
+            SessionRecord read = SessionRecordRows.map(rs);
+            assertNull(read.getTaskId());
+            assertEquals(start, read.getStartedAt());
+            assertEquals(1500, read.getDurationSeconds());
+            assertEquals(PomodoroMode.CLASSIC, read.getMode());
+            assertEquals(SessionStatus.COMPLETED, read.getStatus());
+        }
+    }
+
+    @Test
+    void userDanPreset_lewatConstructor() throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(CustomPomodoroPresetRows.INSERT_SQL)) {
+            // pemilik diganti lewat withUserId, binder tetap yang menentukan posisi user_id
+            CustomPomodoroPresetRows.bindInsert(pstmt, 1, new CustomPomodoroPreset(0, 0, "Custom", 50, 10, 20, 3).withUserId(1));
+            pstmt.executeUpdate();
+        }
+
+        try (PreparedStatement pstmt = conn.prepareStatement(UserRows.SELECT_FROM + " WHERE id = 1");
+             ResultSet rs = pstmt.executeQuery()) {
+            rs.next();
+            User user = UserRows.map(rs);
+            assertEquals(1, user.getId());
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(CustomPomodoroPresetRows.SELECT_FROM + " WHERE user_id = 1");
+             ResultSet rs = pstmt.executeQuery()) {
+            rs.next();
+            CustomPomodoroPreset preset = CustomPomodoroPresetRows.map(rs);
+            assertEquals(1, preset.getUserId());
+            assertEquals("Custom", preset.getPresetName());
+            assertEquals(50, preset.getFocusMinutes());
+            assertEquals(3, preset.getRounds());
+        }
+    }
+
+    private long insert(Task task) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(TaskRows.INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            TaskRows.bindInsert(pstmt, 1, task);
+            pstmt.executeUpdate();
+            try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                keys.next();
+                return keys.getLong(1);
+            }
+        }
+    }
+
+    private Task findTask(long id) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(TaskRepository.FIND_BY_ID_SQL)) {
+            pstmt.setLong(1, id);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                return TaskRows.map(rs);
+            }
+        }
+    }
+
+    private static Task task(String title, LocalDateTime due) {
+        LocalDateTime created = LocalDateTime.now().minusDays(1).withNano(0);
+        return Task.builder().title(title).description("isi").dueDate(due)
+                .difficulty(TaskDifficulty.SULIT).status(TaskStatus.BELUM_SELESAI)
+                .createdAt(created).updatedAt(created).build();
+    }
+}
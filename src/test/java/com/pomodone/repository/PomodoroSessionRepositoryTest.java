@@ -0,0 +1,201 @@
+package com.pomodone.repository;
+
+import com.pomodone.config.DatabaseWriter;
+import com.pomodone.model.pomodoro.PomodoroMode;
+import com.pomodone.model.pomodoro.SessionRecord;
+import com.pomodone.model.pomodoro.SessionStatus;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PomodoroSessionRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private String url;
+    private Connection conn;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        url = "jdbc:sqlite:" + tempDir.resolve("sessions.db");
+        conn = DriverManager.getConnection(url);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    void insert_rollupIkutBertambah() throws SQLException {
+        migrate(null);
+        LocalDateTime morning = LocalDateTime.of(2030, 5, 6, 9, 0);
+
+        insert(morning, 1500, PomodoroMode.CLASSIC);
+        insert(morning.plusHours(1), 1500, PomodoroMode.CLASSIC);
+        insert(morning.plusHours(2), 3000, PomodoroMode.INTENSE);
+        insert(morning.plusDays(1), 1500, PomodoroMode.CLASSIC);
+
+        assertEquals(3, sumBetween("session_count", morning.toLocalDate(), morning.toLocalDate()));
+        assertEquals(6000, sumBetween("focus_seconds", morning.toLocalDate(), morning.toLocalDate()));
+        assertEquals(4, sumBetween("session_count", morning.toLocalDate(), morning.toLocalDate().plusDays(6)));
+    }
+
+    @Test
+    void insertGagal_rollupIkutDibatalkan() throws SQLException {
+        migrate(null);
+
+        // user 999 tidak ada -> FK sesi gagal, savepoint di writer ikut membatalkan upsert rollup
+        SQLiteConfig config = new SQLiteConfig();
+        config.enforceForeignKeys(true);
+        SQLiteDataSource dataSource = new SQLiteDataSource(config);
+        dataSource.setUrl(url);
+        DatabaseWriter writer = new DatabaseWriter(dataSource);
+        try {
+            SQLException error = assertThrows(SQLException.class, () -> writer.submitAndWait(c ->
+                    PomodoroSessionRepository.writeSession(c, session(999, null, LocalDateTime.of(2030, 5, 6, 9, 0),
+                            1500, PomodoroMode.CLASSIC, SessionStatus.COMPLETED))));
+            // ditolak permanen, journal tidak perlu mencoba ulang
+            assertTrue(PomodoroSessionRepository.isConstraintViolation(error));
+        } finally {
+            writer.shutdown(1000);
+        }
+
+        assertEquals(0, countRows("pomodoro_daily_stats"));
+    }
+
+    @Test
+    void insertDenganTask_taskIdTersimpan() throws SQLException {
+        migrate(null);
+        long taskId;
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery("SELECT MIN(id) FROM tasks")) {
+            rs.next();
+            taskId = rs.getLong(1);
+        }
+        LocalDateTime started = LocalDateTime.of(2030, 5, 6, 9, 0);
+
+        PomodoroSessionRepository.writeSession(conn, session(1, taskId, started, 1500, PomodoroMode.CLASSIC,
+                SessionStatus.COMPLETED));
+        insert(started.plusHours(1), 1500, PomodoroMode.CLASSIC);
+
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT task_id FROM pomodoro_sessions ORDER BY started_at")) {
+            rs.next();
+            assertEquals(taskId, rs.getLong(1));
+            rs.next();
+            rs.getLong(1);
+            assertTrue(rs.wasNull());
+        }
+        // rollup harian tetap per user, tidak dipecah per task
+        assertEquals(2, sumBetween("session_count", started.toLocalDate(), started.toLocalDate()));
+    }
+
+    @Test
+    void replayClientRefSama_tidakDobel() throws SQLException {
+        migrate(null);
+        LocalDateTime started = LocalDateTime.of(2030, 5, 6, 9, 0);
+        SessionRecord session = session(1, null, started, 1500, PomodoroMode.CLASSIC, SessionStatus.COMPLETED);
+
+        assertTrue(PomodoroSessionRepository.writeSession(conn, session));
+        assertFalse(PomodoroSessionRepository.writeSession(conn, session));
+
+        assertEquals(1, countRows("pomodoro_sessions"));
+        assertEquals(1, sumBetween("session_count", started.toLocalDate(), started.toLocalDate()));
+    }
+
+    @Test
+    void sesiCancelled_masukRiwayatTapiTidakDiRollup() throws SQLException {
+        migrate(null);
+        LocalDateTime started = LocalDateTime.of(2030, 5, 6, 9, 0);
+
+        PomodoroSessionRepository.writeSession(conn, session(1, null, started, 600, PomodoroMode.CLASSIC,
+                SessionStatus.CANCELLED));
+
+        assertEquals(1, countRows("pomodoro_sessions"));
+        assertEquals(0, sumBetween("session_count", started.toLocalDate(), started.toLocalDate()));
+    }
+
+    @Test
+    void backfill_riwayatLamaMasukRollup() throws SQLException {
+        migrate("3");
+        LocalDateTime started = LocalDateTime.of(2030, 5, 6, 9, 0);
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "INSERT INTO pomodoro_sessions (user_id, started_at, ended_at, duration_seconds, mode, status) VALUES (1, ?, ?, ?, 'CLASSIC', ?)")) {
+            insertRaw(pstmt, started, 1500, "COMPLETED");
+            insertRaw(pstmt, started.plusHours(2), 1200, "COMPLETED");
+            insertRaw(pstmt, started.plusHours(3), 900, "CANCELLED");
+        }
+
+        migrate(null);
+
+        assertEquals(2, sumBetween("session_count", started.toLocalDate(), started.toLocalDate()));
+        assertEquals(2700, sumBetween("focus_seconds", started.toLocalDate(), started.toLocalDate()));
+    }
+
+    private void migrate(String target) {
+        var config = Flyway.configure().dataSource(url, null, null).locations("classpath:db/flyway");
+        if (target != null) {
+            config.target(target);
+        }
+        config.load().migrate();
+    }
+
+    private void insert(LocalDateTime startedAt, long seconds, PomodoroMode mode) throws SQLException {
+        PomodoroSessionRepository.writeSession(conn, session(1, null, startedAt, seconds, mode, SessionStatus.COMPLETED));
+    }
+
+    private SessionRecord session(long userId, Long taskId, LocalDateTime startedAt, long seconds, PomodoroMode mode,
+                                  SessionStatus status) {
+        return new SessionRecord(UUID.randomUUID().toString(), userId, taskId, startedAt, startedAt.plusSeconds(seconds),
+                seconds, 0, 0, mode, status);
+    }
+
+    private void insertRaw(PreparedStatement pstmt, LocalDateTime startedAt, long seconds, String status) throws SQLException {
+        pstmt.setTimestamp(1, Timestamp.valueOf(startedAt));
+        pstmt.setTimestamp(2, Timestamp.valueOf(startedAt.plusSeconds(seconds)));
+        pstmt.setLong(3, seconds);
+        pstmt.setString(4, status);
+        pstmt.executeUpdate();
+    }
+
+    private long sumBetween(String column, LocalDate from, LocalDate to) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(PomodoroSessionRepository.SUM_DAILY_SQL)) {
+            pstmt.setLong(1, 1);
+            pstmt.setLong(2, from.toEpochDay());
+            pstmt.setLong(3, to.toEpochDay());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                return rs.getLong(column.equals("session_count") ? 1 : 2);
+            }
+        }
+    }
+
+    private int countRows(String table) throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
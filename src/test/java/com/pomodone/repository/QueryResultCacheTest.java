@@ -0,0 +1,100 @@
+package com.pomodone.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QueryResultCacheTest {
+
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM tasks";
+    private static final String SNAPSHOT_SQL = "SELECT ... FROM tasks, users";
+
+    private TableVersions versions;
+    private QueryResultCache cache;
+    private int loads;
+
+    @BeforeEach
+    void setUp() {
+        versions = new TableVersions();
+        cache = new QueryResultCache(versions, 3);
+    }
+
+    @Test
+    void tanpaTulisan_hasilDipakaiLagiTanpaQuery() throws SQLException {
+        assertEquals(1, count());
+        assertEquals(1, count());
+
+        assertEquals(1, loads);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void tulisanKeTabelYangDibaca_hasilBasi() throws SQLException {
+        count();
+        versions.bump(TableVersions.TASKS);
+
+        assertEquals(2, count());
+    }
+
+    @Test
+    void tulisanKeTabelLain_tidakMengganggu() throws SQLException {
+        count();
+        versions.bump(TableVersions.POMODORO_DAILY_STATS, TableVersions.USERS);
+
+        assertEquals(1, count());
+    }
+
+    @Test
+    void dependensiBanyakTabel_salahSatuBerubahSudahBasi() throws SQLException {
+        snapshot();
+        versions.bump(TableVersions.TASKS);
+        snapshot();
+        snapshot();
+        versions.bump(TableVersions.USERS);
+        snapshot();
+
+        assertEquals(3, loads);
+    }
+
+    @Test
+    void parameterBeda_entryBeda() throws SQLException {
+        cache.get(COUNT_SQL, List.of(1L), List.of(TableVersions.TASKS), () -> ++loads);
+        cache.get(COUNT_SQL, List.of(2L), List.of(TableVersions.TASKS), () -> ++loads);
+        cache.get(COUNT_SQL, List.of(1L), List.of(TableVersions.TASKS), () -> ++loads);
+
+        assertEquals(2, loads);
+    }
+
+    @Test
+    void tulisanSelesaiDiTengahQuery_hasilnyaTidakDipakaiLagi() throws SQLException {
+        cache.get(COUNT_SQL, List.of(), List.of(TableVersions.TASKS), () -> {
+            versions.bump(TableVersions.TASKS); // commit masuk setelah versi dibaca
+            return ++loads;
+        });
+
+        assertEquals(2, count());
+    }
+
+    @Test
+    void jumlahEntryTerbatas() throws SQLException {
+        for (long day = 0; day < 4; day++) {
+            cache.get(COUNT_SQL, List.of(day), List.of(TableVersions.TASKS), () -> ++loads);
+        }
+        cache.get(COUNT_SQL, List.of(0L), List.of(TableVersions.TASKS), () -> ++loads);
+
+        assertEquals(5, loads);
+    }
+
+    private int count() throws SQLException {
+        return cache.get(COUNT_SQL, List.of(), List.of(TableVersions.TASKS), () -> ++loads);
+    }
+
+    private int snapshot() throws SQLException {
+        return cache.get(SNAPSHOT_SQL, List.of(), List.of(TableVersions.TASKS, TableVersions.USERS), () -> ++loads);
+    }
+}
@@ -0,0 +1,189 @@
+package com.pomodone.repository;
+
+import com.pomodone.config.SqlDialect;
+import com.pomodone.model.pomodoro.PomodoroMode;
+import com.pomodone.model.pomodoro.SessionRecord;
+import com.pomodone.model.pomodoro.SessionStatus;
+import com.pomodone.model.task.Task;
+import com.pomodone.model.task.TaskDifficulty;
+import com.pomodone.model.task.TaskQuery;
+import com.pomodone.model.task.TaskStatus;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Stream lewat RowStreamer di SQLite file sementara; koneksi dicatat supaya bisa dicek sudah ditutup
+class RowStreamerTest {
+
+    private static final int TASKS = 2_500;
+
+    @TempDir
+    Path tempDir;
+
+    private String url;
+    private Connection conn;
+    private final List<Connection> opened = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        url = "jdbc:sqlite:" + tempDir.resolve("stream.db");
+        Flyway.configure().dataSource(url, null, null).locations("classpath:db/flyway").load().migrate();
+        conn = DriverManager.getConnection(url);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DELETE FROM tasks");
+        }
+        seedTasks();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    void streamTask_semuaBarisUrutSamaDenganQueryBiasa() throws SQLException {
+        TaskQuery query = TaskQuery.builder().build();
+        List<Long> streamed = new ArrayList<>();
+
+        long count = TaskRepository.stream(this::open, SqlDialect.SQLITE, query, task -> streamed.add(task.getId()), 8);
+
+        assertEquals(TASKS, count);
+        assertEquals(idsOf(query), streamed);
+        assertTrue(opened.get(0).isClosed());
+    }
+
+    @Test
+    void consumerLambat_pembacaTidakLariLebihDariKapasitasAntrean() throws SQLException {
+        AtomicInteger mapped = new AtomicInteger();
+        AtomicInteger consumed = new AtomicInteger();
+        List<Integer> lead = new ArrayList<>();
+
+        RowStreamer.stream(this::open, SqlDialect.SQLITE, TaskRows.SELECT_FROM, List.of(), rs -> {
+            mapped.incrementAndGet();
+            return TaskRows.map(rs);
+        }, task -> {
+            lead.add(mapped.get() - consumed.incrementAndGet());
+            if (consumed.get() % 500 == 0) {
+                sleep(20); // pembaca sempat mengisi antrean sampai penuh
+            }
+        }, 4);
+
+        // kapasitas antrean + satu baris yang sudah di-map dan sedang menunggu tempat
+        assertTrue(lead.stream().allMatch(ahead -> ahead <= 5), "pembaca lari " + lead.stream().max(Integer::compare));
+    }
+
+    @Test
+    void consumerGagal_exceptionDiteruskanDanKoneksiDitutup() throws SQLException {
+        IllegalStateException boom = new IllegalStateException("export gagal");
+        AtomicInteger seen = new AtomicInteger();
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () ->
+                TaskRepository.stream(this::open, SqlDialect.SQLITE, TaskQuery.builder().build(), task -> {
+                    if (seen.incrementAndGet() == 10) {
+                        throw boom;
+                    }
+                }, 8));
+
+        assertSame(boom, thrown);
+        assertEquals(10, seen.get());
+        assertTrue(opened.get(0).isClosed()); // stream baru kembali setelah thread pembaca selesai
+    }
+
+    @Test
+    void queryGagal_sqlExceptionSampaiKePemanggil() {
+        assertThrows(SQLException.class, () -> RowStreamer.stream(this::open, SqlDialect.SQLITE,
+                "SELECT * FROM tabel_tidak_ada", List.of(), TaskRows::map, task -> { }, 8));
+    }
+
+    @Test
+    void streamSesi_rentangWaktuDanSesiLamaTanpaClientRef() throws SQLException {
+        LocalDateTime day = LocalDateTime.of(2030, 5, 6, 0, 0);
+        insertSession("ref-1", day.plusHours(9));
+        insertSession(null, day.plusHours(10)); // sebelum V7 client_ref belum ada
+        insertSession("ref-3", day.plusDays(1).plusHours(9));
+        List<SessionRecord> sessions = new ArrayList<>();
+
+        long count = PomodoroSessionRepository.streamSessions(this::open, SqlDialect.SQLITE, 1,
+                day, day.plusDays(1), sessions::add, 8);
+
+        assertEquals(2, count);
+        assertEquals("ref-1", sessions.get(0).getClientRef());
+        assertTrue(sessions.get(1).getClientRef().startsWith("legacy-"));
+        assertEquals(day.plusHours(10), sessions.get(1).getStartedAt());
+        assertEquals(PomodoroMode.CLASSIC, sessions.get(1).getMode());
+    }
+
+    private Connection open() throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        opened.add(connection);
+        return connection;
+    }
+
+    private List<Long> idsOf(TaskQuery query) throws SQLException {
+        TaskQueryCompiler.CompiledQuery compiled = TaskQueryCompiler.compile(query, SqlDialect.SQLITE);
+        List<Long> ids = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(compiled.sql())) {
+            TaskRepository.bindParams(pstmt, compiled.params());
+            try (var rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(TaskRows.map(rs).getId());
+                }
+            }
+        }
+        return ids;
+    }
+
+    private void seedTasks() throws SQLException {
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+        conn.setAutoCommit(false);
+        try (PreparedStatement pstmt = conn.prepareStatement(TaskRows.INSERT_SQL)) {
+            for (int i = 0; i < TASKS; i++) {
+                TaskRows.bindInsert(pstmt, 1, Task.builder().title("Task " + i).description("")
+                        .dueDate(i % 5 == 0 ? null : base.plusHours(i % 300))
+                        .difficulty(TaskDifficulty.SEDANG).status(TaskStatus.BELUM_SELESAI)
+                        .createdAt(base).updatedAt(base).build());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+        conn.commit();
+        conn.setAutoCommit(true);
+    }
+
+    private void insertSession(String clientRef, LocalDateTime startedAt) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(SessionRecordRows.INSERT_SQL)) {
+            SessionRecordRows.bindInsert(pstmt, 1, new SessionRecord(clientRef != null ? clientRef : "x", 1, null,
+                    startedAt, startedAt.plusMinutes(25), 1500, 0, 0, PomodoroMode.CLASSIC, SessionStatus.COMPLETED));
+            if (clientRef == null) {
+                pstmt.setNull(1, java.sql.Types.VARCHAR);
+            }
+            pstmt.executeUpdate();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
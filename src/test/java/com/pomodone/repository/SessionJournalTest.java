@@ -0,0 +1,184 @@
+package com.pomodone.repository;
+
+import com.pomodone.model.pomodoro.PomodoroMode;
+import com.pomodone.model.pomodoro.SessionRecord;
+import com.pomodone.model.pomodoro.SessionStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SessionJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+    private List<SessionRecord> written;
+    private boolean databaseDown;
+    private String rejectRef;
+    private SessionJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        file = tempDir.resolve("session-journal.log");
+        written = new ArrayList<>();
+        journal = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.shutdown(1000);
+    }
+
+    @Test
+    void append_langsungAdaDiFileSebelumKeDb() throws IOException {
+        journal.append(session("a", SessionStatus.COMPLETED));
+
+        assertEquals(1, journal.pendingCount());
+        assertTrue(Files.readString(file).startsWith("S\ta\t"));
+        assertTrue(written.isEmpty());
+    }
+
+    @Test
+    void drain_ackLaluJournalDikosongkan() throws IOException {
+        journal.append(session("a", SessionStatus.COMPLETED));
+        journal.append(session("b", SessionStatus.CANCELLED));
+
+        assertEquals(0, journal.drainOnce());
+
+        assertEquals(List.of("a", "b"), refs(written));
+        assertEquals(0, journal.pendingCount());
+        assertEquals(0, Files.size(file));
+    }
+
+    @Test
+    void dbMati_sesiTetapDiJournalDanDicobaLagi() {
+        databaseDown = true;
+        journal.append(session("a", SessionStatus.COMPLETED));
+
+        assertEquals(1, journal.drainOnce());
+        assertEquals(1, journal.pendingCount());
+
+        databaseDown = false;
+        assertEquals(0, journal.drainOnce());
+        assertEquals(List.of("a"), refs(written));
+    }
+
+    @Test
+    void crashSebelumAck_sesiDikirimUlangSetelahRestart() {
+        journal.append(session("a", SessionStatus.COMPLETED));
+        journal.append(session("b", SessionStatus.COMPLETED));
+        // app mati sebelum worker sempat jalan
+        journal.shutdown(0);
+
+        journal = open();
+
+        assertEquals(2, journal.pendingCount());
+        journal.drainOnce();
+        assertEquals(List.of("a", "b"), refs(written));
+    }
+
+    @Test
+    void restart_sesiYangSudahDiAckTidakDikirimLagi() throws IOException {
+        Files.writeString(file, SessionJournal.encode(session("a", SessionStatus.COMPLETED))
+                + SessionJournal.encode(session("b", SessionStatus.COMPLETED))
+                + "A\ta\n");
+
+        journal.shutdown(0);
+        journal = open();
+
+        assertEquals(1, journal.pendingCount());
+        journal.drainOnce();
+        assertEquals(List.of("b"), refs(written));
+    }
+
+    @Test
+    void barisTerakhirTerpotong_diabaikan() throws IOException {
+        String full = SessionJournal.encode(session("a", SessionStatus.COMPLETED));
+        String torn = SessionJournal.encode(session("b", SessionStatus.COMPLETED));
+        Files.writeString(file, full + torn.substring(0, torn.length() / 2), StandardCharsets.UTF_8);
+
+        journal.shutdown(0);
+        journal = open();
+
+        assertEquals(1, journal.pendingCount());
+        // file ditulis ulang bersih, append berikutnya mulai di baris baru
+        journal.append(session("c", SessionStatus.COMPLETED));
+        journal.drainOnce();
+        assertEquals(List.of("a", "c"), refs(written));
+    }
+
+    @Test
+    void ditolakDb_dipindahKeFileRejected() throws IOException {
+        rejectRef = "bad";
+        journal.append(session("bad", SessionStatus.COMPLETED));
+        journal.append(session("good", SessionStatus.COMPLETED));
+
+        assertEquals(0, journal.drainOnce());
+
+        assertEquals(0, journal.pendingCount());
+        assertEquals(List.of("good"), refs(written));
+        Path rejected = file.resolveSibling(file.getFileName() + SessionJournal.REJECTED_SUFFIX);
+        assertTrue(Files.readString(rejected).startsWith("S\tbad\t"));
+    }
+
+    @Test
+    void worker_kirimDiBackground() throws Exception {
+        journal.start();
+        journal.append(session("a", SessionStatus.COMPLETED));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (journal.pendingCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, journal.pendingCount());
+    }
+
+    @Test
+    void encodeDecode_bolakBalik() {
+        SessionRecord session = new SessionRecord("ref", 3, 42L, LocalDateTime.of(2030, 5, 6, 9, 0, 12),
+                LocalDateTime.of(2030, 5, 6, 9, 30), 1500, 300, 2, PomodoroMode.INTENSE, SessionStatus.CANCELLED);
+
+        String line = SessionJournal.encode(session);
+        SessionRecord decoded = SessionJournal.decode(line.substring(0, line.length() - 1));
+
+        assertEquals(line, SessionJournal.encode(decoded));
+    }
+
+    private SessionJournal open() {
+        return new SessionJournal(file, session -> {
+            if (databaseDown) {
+                return CompletableFuture.failedFuture(new SQLException("connection refused", "08001"));
+            }
+            if (session.getClientRef().equals(rejectRef)) {
+                return CompletableFuture.failedFuture(new SQLException("FOREIGN KEY constraint failed", null, 19));
+            }
+            written.add(session);
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    private static SessionRecord session(String ref, SessionStatus status) {
+        LocalDateTime started = LocalDateTime.of(2030, 5, 6, 9, 0);
+        return new SessionRecord(ref, 1, null, started, started.plusMinutes(25), 1500, 0, 0, PomodoroMode.CLASSIC, status);
+    }
+
+    private static List<String> refs(List<SessionRecord> sessions) {
+        return sessions.stream().map(SessionRecord::getClientRef).toList();
+    }
+}
@@ -0,0 +1,61 @@
+package com.pomodone.repository;
+
+import com.pomodone.util.WTinyLfuCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TableVersionsTest {
+
+    private TableVersions versions;
+
+    @BeforeEach
+    void setUp() {
+        versions = new TableVersions();
+    }
+
+    @Test
+    void putIfUnchanged_versiSamaDisimpan() {
+        WTinyLfuCache<Long, String> cache = WTinyLfuCache.<Long, String>builder().maximumSize(8).build();
+        long version = versions.version(TableVersions.USERS);
+
+        versions.putIfUnchanged(cache, TableVersions.USERS, version, 1L, "baru");
+
+        assertEquals("baru", cache.getIfPresent(1L));
+    }
+
+    @Test
+    void putIfUnchanged_tabelBerubahSebelumCek_tidakDisimpan() {
+        WTinyLfuCache<Long, String> cache = WTinyLfuCache.<Long, String>builder().maximumSize(8).build();
+        long version = versions.version(TableVersions.USERS);
+        versions.bump(TableVersions.USERS);
+
+        versions.putIfUnchanged(cache, TableVersions.USERS, version, 1L, "basi");
+
+        assertNull(cache.getIfPresent(1L));
+    }
+
+    @Test
+    void putIfUnchanged_updateDiAntaraCekDanPut_entryBasiDibuang() {
+        // weigher jalan di dalam put sebelum entry masuk: tempat penulis "menyela" bump + invalidate slot kosong
+        AtomicReference<WTinyLfuCache<Long, String>> cache = new AtomicReference<>();
+        cache.set(WTinyLfuCache.<Long, String>builder()
+                .maximumWeight(8, (key, value) -> {
+                    if (value.equals("basi")) {
+                        versions.bump(TableVersions.USERS);
+                        cache.get().invalidate(key);
+                    }
+                    return 1;
+                })
+                .build());
+        long version = versions.version(TableVersions.USERS);
+
+        versions.putIfUnchanged(cache.get(), TableVersions.USERS, version, 1L, "basi");
+
+        assertNull(cache.get().getIfPresent(1L));
+    }
+}
@@ -0,0 +1,107 @@
+package com.pomodone.repository;
+
+import com.pomodone.config.SqlDialect;
+import com.pomodone.model.task.Task;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskFullTextSearchTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Connection conn;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        String url = "jdbc:sqlite:" + tempDir.resolve("fts.db");
+        Flyway.configure().dataSource(url, null, null).locations("classpath:db/flyway").load().migrate();
+        conn = DriverManager.getConnection(url);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DELETE FROM tasks");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    void search_prefixDanJudulLebihRelevan() throws SQLException {
+        insert("Catatan rapat", "bahas laporan keuangan");
+        insert("Laporan praktikum", "kumpulkan sebelum jumat");
+
+        List<Task> hits = TaskRepository.search(conn, SqlDialect.SQLITE, "lapor", 10);
+
+        assertEquals(List.of("Laporan praktikum", "Catatan rapat"), titlesOf(hits));
+    }
+
+    @Test
+    void search_semuaKataWajibAda() throws SQLException {
+        insert("Laporan praktikum fisika", null);
+        insert("Laporan keuangan", null);
+
+        List<Task> hits = TaskRepository.search(conn, SqlDialect.SQLITE, "lap fis", 10);
+
+        assertEquals(List.of("Laporan praktikum fisika"), titlesOf(hits));
+    }
+
+    @Test
+    void trigger_indexIkutUpdateDanDelete() throws SQLException {
+        long id = insert("Desain logo", null);
+
+        try (PreparedStatement pstmt = conn.prepareStatement("UPDATE tasks SET judul_tugas = ? WHERE id = ?")) {
+            pstmt.setString(1, "Desain poster");
+            pstmt.setLong(2, id);
+            pstmt.executeUpdate();
+        }
+        assertTrue(TaskRepository.search(conn, SqlDialect.SQLITE, "logo", 10).isEmpty());
+        assertEquals(List.of("Desain poster"), titlesOf(TaskRepository.search(conn, SqlDialect.SQLITE, "poster", 10)));
+
+        try (PreparedStatement pstmt = conn.prepareStatement("DELETE FROM tasks WHERE id = ?")) {
+            pstmt.setLong(1, id);
+            pstmt.executeUpdate();
+        }
+        assertTrue(TaskRepository.search(conn, SqlDialect.SQLITE, "desain", 10).isEmpty());
+    }
+
+    @Test
+    void search_tandaBacaTidakMerusakQuery() throws SQLException {
+        insert("Revisi \"final\" (v2)", null);
+
+        assertEquals(1, TaskRepository.search(conn, SqlDialect.SQLITE, "\"final* (v2", 10).size());
+        assertTrue(TaskRepository.search(conn, SqlDialect.SQLITE, "*()", 10).isEmpty());
+    }
+
+    private long insert(String title, String description) throws SQLException {
+        String sql = "INSERT INTO tasks (judul_tugas, deskripsi_tugas, tingkat_kesulitan) VALUES (?, ?, 'SEDANG')";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            pstmt.setString(1, title);
+            pstmt.setString(2, description);
+            pstmt.executeUpdate();
+            try (var keys = pstmt.getGeneratedKeys()) {
+                keys.next();
+                return keys.getLong(1);
+            }
+        }
+    }
+
+    private List<String> titlesOf(List<Task> tasks) {
+        return tasks.stream().map(Task::getTitle).toList();
+    }
+}
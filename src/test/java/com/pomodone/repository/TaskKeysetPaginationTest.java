@@ -0,0 +1,127 @@
+package com.pomodone.repository;
+
+import com.pomodone.config.SqlDialect;
+import com.pomodone.model.task.Task;
+import com.pomodone.model.task.TaskPage;
+import com.pomodone.model.task.TaskPageCursor;
+import com.pomodone.model.task.TaskQuery;
+import com.pomodone.model.task.TaskSortField;
+import com.pomodone.model.task.TaskStatus;
+import com.pomodone.util.SortDirection;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class TaskKeysetPaginationTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Connection conn;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        String url = "jdbc:sqlite:" + tempDir.resolve("paging.db");
+        Flyway.configure().dataSource(url, null, null).locations("classpath:db/flyway").load().migrate();
+        conn = DriverManager.getConnection(url);
+        seedTasks();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    void semuaUrutan_halamanKeysetSamaDenganQueryPenuh() throws SQLException {
+        for (TaskSortField field : TaskSortField.values()) {
+            for (SortDirection direction : SortDirection.values()) {
+                TaskQuery query = TaskQuery.builder().sortBy(field, direction).build();
+
+                List<Long> expected = idsOf(fullResult(query));
+                List<Long> paged = idsOf(pageThrough(query, 7));
+
+                assertEquals(expected, paged, field + " " + direction);
+            }
+        }
+    }
+
+    @Test
+    void filterStatus_tetapBerlakuDiSetiapHalaman() throws SQLException {
+        TaskQuery query = TaskQuery.builder()
+                .statuses(EnumSet.of(TaskStatus.SELESAI))
+                .build();
+
+        List<Task> paged = pageThrough(query, 5);
+
+        assertFalse(paged.isEmpty());
+        assertEquals(idsOf(fullResult(query)), idsOf(paged));
+    }
+
+    private List<Task> pageThrough(TaskQuery query, int pageSize) throws SQLException {
+        List<Task> all = new ArrayList<>();
+        TaskPageCursor cursor = null;
+        do {
+            TaskPage page = TaskRepository.readPage(conn, SqlDialect.SQLITE, query, cursor, pageSize);
+            all.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return all;
+    }
+
+    private List<Task> fullResult(TaskQuery query) throws SQLException {
+        TaskQueryCompiler.CompiledQuery compiled = TaskQueryCompiler.compile(query, SqlDialect.SQLITE);
+        List<Task> result = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(compiled.sql())) {
+            TaskRepository.bindParams(pstmt, compiled.params());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    result.add(TaskRows.map(rs));
+                }
+            }
+        }
+        return result;
+    }
+
+    private void seedTasks() throws SQLException {
+        // banyak tenggat/created_at kembar + NULL supaya tie-breaker ikut diuji
+        LocalDateTime base = LocalDateTime.of(2030, 1, 1, 9, 0);
+        String sql = "INSERT INTO tasks (judul_tugas, deskripsi_tugas, tenggat_tugas, tingkat_kesulitan, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        String[] difficulties = {"SULIT", "SEDANG", "MUDAH"};
+        String[] statuses = {"BELUM_SELESAI", "SELESAI", "BELUM_SELESAI", "TERLAMBAT"};
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < 60; i++) {
+                pstmt.setString(1, "Task " + (i % 9));
+                pstmt.setString(2, "desc");
+                pstmt.setTimestamp(3, i % 5 == 0 ? null : Timestamp.valueOf(base.plusDays(i % 4)));
+                pstmt.setString(4, difficulties[i % 3]);
+                pstmt.setString(5, statuses[i % 4]);
+                pstmt.setTimestamp(6, Timestamp.valueOf(base.minusDays(i % 3)));
+                pstmt.setTimestamp(7, Timestamp.valueOf(base));
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    private List<Long> idsOf(List<Task> tasks) {
+        return tasks.stream().map(Task::getId).toList();
+    }
+}
@@ -0,0 +1,175 @@
+package com.pomodone.repository;
+
+import com.pomodone.model.task.Task;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskOverdueQueryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Connection conn;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        String url = "jdbc:sqlite:" + tempDir.resolve("overdue.db");
+        Flyway.configure().dataSource(url, null, null).locations("classpath:db/flyway").load().migrate();
+        conn = DriverManager.getConnection(url);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DELETE FROM tasks");
+        }
+        now = LocalDateTime.of(2030, 3, 1, 9, 0);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    void markOverdue_cumaBelumSelesaiYangTenggatnyaLewat() throws SQLException {
+        insertTask("Telat", now.minusHours(1), "BELUM_SELESAI");
+        insertTask("Pas sekarang", now, "BELUM_SELESAI");
+        insertTask("Nanti", now.plusHours(1), "BELUM_SELESAI");
+        insertTask("Tanpa tenggat", null, "BELUM_SELESAI");
+        insertTask("Selesai telat", now.minusDays(1), "SELESAI");
+
+        assertEquals(1, TaskRepository.markOverdue(conn, now));
+
+        assertEquals("TERLAMBAT", statusOf("Telat"));
+        assertEquals("BELUM_SELESAI", statusOf("Pas sekarang"));
+        assertEquals("BELUM_SELESAI", statusOf("Tanpa tenggat"));
+        assertEquals("SELESAI", statusOf("Selesai telat"));
+        // sweep kedua tidak mengubah apa-apa
+        assertEquals(0, TaskRepository.markOverdue(conn, now));
+    }
+
+    @Test
+    void findNextDueDate_tenggatTerdekatYangBelumLewat() throws SQLException {
+        insertTask("Telat", now.minusHours(1), "BELUM_SELESAI");
+        insertTask("Besok", now.plusDays(1), "BELUM_SELESAI");
+        insertTask("Sejam lagi", now.plusHours(1), "BELUM_SELESAI");
+        insertTask("Selesai duluan", now.plusMinutes(5), "SELESAI");
+
+        assertEquals(Optional.of(now.plusHours(1)), TaskRepository.findNextDueDate(conn, now));
+    }
+
+    @Test
+    void findNextDueDate_tidakAdaTenggat_kosong() throws SQLException {
+        insertTask("Tanpa tenggat", null, "BELUM_SELESAI");
+
+        assertTrue(TaskRepository.findNextDueDate(conn, now).isEmpty());
+    }
+
+    @Test
+    void tenggatDariDatetimeSepertiSeed_dibandingkanSamaDenganYangDibind() throws SQLException {
+        // seed V1 menulis tenggat lewat datetime('now', ...), bukan setTimestamp
+        insertSeedStyle("Kemarin", "datetime('now', '-1 day')");
+        insertSeedStyle("Besok", "datetime('now', '+1 day')");
+        LocalDateTime realNow = LocalDateTime.now();
+
+        assertEquals("integer", dueTypeOf("Besok"));
+        assertEquals(1, TaskRepository.markOverdue(conn, realNow));
+        assertEquals("TERLAMBAT", statusOf("Kemarin"));
+        LocalDateTime next = TaskRepository.findNextDueDate(conn, realNow).orElseThrow();
+        assertTrue(next.isAfter(realNow.plusHours(23)) && next.isBefore(realNow.plusHours(25)), next.toString());
+
+        // lima hari lagi: tenggat besok sudah lewat, bukan "berikutnya"
+        assertTrue(TaskRepository.findNextDueDate(conn, realNow.plusDays(5)).isEmpty());
+        assertEquals(1, TaskRepository.markOverdue(conn, realNow.plusDays(5)));
+    }
+
+    @Test
+    void findPendingDueAfter_urutTenggatLaluIdDanLanjutDariCursor() throws SQLException {
+        insertTask("Dua jam", now.plusHours(2), "BELUM_SELESAI");
+        insertTask("Sejam A", now.plusHours(1), "BELUM_SELESAI");
+        insertTask("Sejam B", now.plusHours(1), "BELUM_SELESAI");
+        insertSeedStyle("Seed 90 menit", "datetime('" + utc(now) + "', '+90 minutes')");
+        insertSeedStyle("Seed kemarin", "datetime('" + utc(now) + "', '-1 day')");
+        insertTask("Sudah lewat", now.minusHours(1), "BELUM_SELESAI");
+        insertTask("Selesai", now.plusMinutes(30), "SELESAI");
+        insertTask("Tanpa tenggat", null, "BELUM_SELESAI");
+
+        List<Task> first = TaskRepository.findPendingDueAfter(conn, now, 0, 2);
+        assertEquals(List.of("Sejam A", "Sejam B"), first.stream().map(Task::getTitle).toList());
+
+        // tenggat sama dengan cursor tapi id lebih besar tidak kelewat
+        Task last = first.get(0);
+        List<Task> next = TaskRepository.findPendingDueAfter(conn, last.getDueDate(), last.getId(), 2);
+        assertEquals(List.of("Sejam B", "Seed 90 menit"), next.stream().map(Task::getTitle).toList());
+
+        // cursor terus maju sampai habis, baris dari datetime(...) tidak muncul lagi
+        Task seed = next.get(1);
+        List<Task> rest = TaskRepository.findPendingDueAfter(conn, seed.getDueDate(), seed.getId(), 2);
+        assertEquals(List.of("Dua jam"), rest.stream().map(Task::getTitle).toList());
+        assertTrue(TaskRepository.findPendingDueAfter(conn, now.plusYears(5), 0, 2).isEmpty());
+    }
+
+    private void insertTask(String title, LocalDateTime due, String status) throws SQLException {
+        String sql = "INSERT INTO tasks (judul_tugas, tenggat_tugas, tingkat_kesulitan, status, created_at, updated_at) VALUES (?, ?, 'SEDANG', ?, ?, ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, title);
+            pstmt.setTimestamp(2, due != null ? Timestamp.valueOf(due) : null);
+            pstmt.setString(3, status);
+            pstmt.setTimestamp(4, Timestamp.valueOf(now.minusDays(2)));
+            pstmt.setTimestamp(5, Timestamp.valueOf(now.minusDays(2)));
+            pstmt.executeUpdate();
+        }
+    }
+
+    private void insertSeedStyle(String title, String dueExpression) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("INSERT INTO tasks (judul_tugas, tenggat_tugas, tingkat_kesulitan, status) VALUES ('"
+                    + title + "', " + dueExpression + ", 'SEDANG', 'BELUM_SELESAI')");
+        }
+    }
+
+    // datetime(...) di SQLite selalu UTC
+    private static String utc(LocalDateTime local) {
+        return local.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC)
+                .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+    }
+
+    private String dueTypeOf(String title) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT typeof(tenggat_tugas) FROM tasks WHERE judul_tugas = ?")) {
+            pstmt.setString(1, title);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                return rs.getString(1);
+            }
+        }
+    }
+
+    private String statusOf(String title) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT status FROM tasks WHERE judul_tugas = ?")) {
+            pstmt.setString(1, title);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                return rs.getString(1);
+            }
+        }
+    }
+}
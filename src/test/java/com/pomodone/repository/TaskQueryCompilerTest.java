@@ -0,0 +1,111 @@
+package com.pomodone.repository;
+
+import com.pomodone.config.SqlDialect;
+import com.pomodone.model.task.TaskQuery;
+import com.pomodone.model.task.TaskSortField;
+import com.pomodone.model.task.TaskStatus;
+import com.pomodone.util.SortDirection;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskQueryCompilerTest {
+
+    @Test
+    void compile_defaultTanpaWhereDanUrutTenggat() {
+        TaskQueryCompiler.CompiledQuery compiled = TaskQueryCompiler.compile(TaskQuery.builder().build(), SqlDialect.SQLITE);
+
+        assertFalse(compiled.sql().contains("WHERE"));
+        assertTrue(compiled.sql().endsWith("ORDER BY " + TaskQueryCompiler.DUE_NULLS_LAST
+                + " ASC, tenggat_tugas ASC, created_at DESC, id DESC"));
+        assertTrue(compiled.params().isEmpty());
+    }
+
+    @Test
+    void compile_openDanOverdue_tanpaParameterWaktu() {
+        TaskQuery query = TaskQuery.builder()
+                .statuses(EnumSet.of(TaskStatus.BELUM_SELESAI, TaskStatus.TERLAMBAT))
+                .build();
+
+        TaskQueryCompiler.CompiledQuery compiled = TaskQueryCompiler.compile(query, SqlDialect.SQLITE);
+
+        assertTrue(compiled.sql().contains("WHERE status IN ('BELUM_SELESAI', 'TERLAMBAT')"));
+        assertTrue(compiled.params().isEmpty());
+    }
+
+    @Test
+    void compile_overdueSaja_cukupKolomStatus() {
+        TaskQuery query = TaskQuery.builder()
+                .statuses(EnumSet.of(TaskStatus.TERLAMBAT, TaskStatus.SELESAI))
+                .build();
+
+        TaskQueryCompiler.CompiledQuery compiled = TaskQueryCompiler.compile(query, SqlDialect.SQLITE);
+
+        // status TERLAMBAT sudah ditulis OverdueSweeper, tidak ada lagi cek tenggat per baris
+        assertTrue(compiled.sql().contains("WHERE status IN ('TERLAMBAT', 'SELESAI')"));
+        assertFalse(compiled.sql().contains("tenggat_tugas <"));
+        assertTrue(compiled.params().isEmpty());
+    }
+
+    @Test
+    void compile_statusKosong_tidakAdaHasil() {
+        TaskQuery query = TaskQuery.builder().statuses(EnumSet.noneOf(TaskStatus.class)).build();
+
+        TaskQueryCompiler.CompiledQuery compiled = TaskQueryCompiler.compile(query, SqlDialect.SQLITE);
+
+        assertTrue(compiled.sql().contains("WHERE 1 = 0"));
+    }
+
+    @Test
+    void compile_searchPakaiIndexFullTextSesuaiDialek() {
+        TaskQuery query = TaskQuery.builder().searchText("  Poli-morf \"OOP\" ").build();
+
+        TaskQueryCompiler.CompiledQuery sqlite = TaskQueryCompiler.compile(query, SqlDialect.SQLITE);
+        TaskQueryCompiler.CompiledQuery postgres = TaskQueryCompiler.compile(query, SqlDialect.POSTGRES);
+
+        assertTrue(sqlite.sql().contains("tasks_fts MATCH ?"));
+        assertTrue(postgres.sql().contains("search_vector @@ to_tsquery('simple', ?)"));
+        assertEquals(List.of("\"poli\"* \"morf\"* \"oop\"*"), sqlite.params());
+        assertEquals(List.of("poli:* & morf:* & oop:*"), postgres.params());
+    }
+
+    @Test
+    void compile_searchCumaTandaBaca_tidakMemfilter() {
+        TaskQuery query = TaskQuery.builder().searchText("%*\"").build();
+
+        TaskQueryCompiler.CompiledQuery compiled = TaskQueryCompiler.compile(query, SqlDialect.SQLITE);
+
+        assertFalse(compiled.sql().contains("WHERE"));
+        assertTrue(compiled.params().isEmpty());
+    }
+
+    @Test
+    void compile_sortNamaDescDenganLimitOffset() {
+        TaskQuery query = TaskQuery.builder()
+                .sortBy(TaskSortField.TITLE, SortDirection.DESC)
+                .limit(20)
+                .offset(40)
+                .build();
+
+        TaskQueryCompiler.CompiledQuery compiled = TaskQueryCompiler.compile(query, SqlDialect.POSTGRES);
+
+        assertTrue(compiled.sql().contains("ORDER BY LOWER(judul_tugas) DESC, "));
+        assertTrue(compiled.sql().endsWith("LIMIT ? OFFSET ?"));
+        assertEquals(List.of(20, 40), compiled.params());
+    }
+
+    @Test
+    void compile_sortTenggatDesc_kebalikanPenuh() {
+        TaskQuery query = TaskQuery.builder().sortBy(TaskSortField.DUE_DATE, SortDirection.DESC).build();
+
+        TaskQueryCompiler.CompiledQuery compiled = TaskQueryCompiler.compile(query, SqlDialect.SQLITE);
+
+        assertTrue(compiled.sql().endsWith("ORDER BY " + TaskQueryCompiler.DUE_NULLS_LAST
+                + " DESC, tenggat_tugas DESC, created_at ASC, id ASC"));
+    }
+}
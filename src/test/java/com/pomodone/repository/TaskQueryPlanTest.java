@@ -0,0 +1,136 @@
+package com.pomodone.repository;
+
+import com.pomodone.config.SqlDialect;
+import com.pomodone.model.task.TaskQuery;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Jaga supaya query repository tetap pakai index. Kalau ada yang balik ke full scan
+// (misal index kehapus atau query diubah), test ini gagal dan nunjukin plan-nya.
+class TaskQueryPlanTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Connection conn;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        String url = "jdbc:sqlite:" + tempDir.resolve("plan.db");
+        Flyway.configure().dataSource(url, null, null).locations("classpath:db/flyway").load().migrate();
+        conn = DriverManager.getConnection(url);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    void explainSqlite_tidakAdaFullScanTasks() throws SQLException {
+        Map<String, List<String>> plans = new LinkedHashMap<>();
+        for (Map.Entry<String, PlannedQuery> entry : hotQueries(SqlDialect.SQLITE).entrySet()) {
+            plans.put(entry.getKey(), explain(conn, "EXPLAIN QUERY PLAN ", entry.getValue(), 4));
+        }
+
+        plans.forEach((name, plan) -> {
+            // "SCAN tasks" tanpa "USING ... INDEX" = baca seluruh tabel
+            boolean fullScan = plan.stream().anyMatch(line -> line.startsWith("SCAN tasks") && !line.contains("INDEX"));
+            assertTrue(!fullScan, name + " full scan: " + plan);
+        });
+        assertTrue(plans.get("findTopByDueDate").stream().noneMatch(line -> line.contains("TEMP B-TREE")),
+                "findTopByDueDate harus urut langsung dari index: " + plans.get("findTopByDueDate"));
+        assertTrue(plans.get("findPendingDueAfter").stream().noneMatch(line -> line.contains("TEMP B-TREE")),
+                "findPendingDueAfter harus urut langsung dari index: " + plans.get("findPendingDueAfter"));
+    }
+
+    // Opsional: set POMODONE_PG_TEST_URL (+ _USER/_PASSWORD) ke database PostgreSQL kosong buat ikut ngecek.
+    @Test
+    void explainPostgres_tidakAdaSeqScanTasks() throws SQLException {
+        String url = System.getenv("POMODONE_PG_TEST_URL");
+        assumeTrue(url != null && !url.isBlank(), "POMODONE_PG_TEST_URL tidak di-set");
+        String user = System.getenv("POMODONE_PG_TEST_USER");
+        String password = System.getenv("POMODONE_PG_TEST_PASSWORD");
+
+        Flyway.configure().dataSource(url, user, password).locations("classpath:db/flyway").load().migrate();
+        try (Connection pg = DriverManager.getConnection(url, user, password)) {
+            try (Statement stmt = pg.createStatement()) {
+                // tabel kecil selalu di-seq-scan, jadi paksa planner buat nunjukin index yang bisa dipakai
+                stmt.execute("SET enable_seqscan = off");
+            }
+            for (Map.Entry<String, PlannedQuery> entry : hotQueries(SqlDialect.POSTGRES).entrySet()) {
+                List<String> plan = explain(pg, "EXPLAIN ", entry.getValue(), 1);
+                assertTrue(plan.stream().noneMatch(line -> line.contains("Seq Scan on tasks")),
+                        entry.getKey() + " seq scan: " + plan);
+            }
+        }
+    }
+
+    private Map<String, PlannedQuery> hotQueries(SqlDialect dialect) {
+        LocalDateTime now = LocalDateTime.of(2030, 1, 1, 9, 0);
+        TaskQuery defaultQuery = TaskQuery.builder().build();
+
+        Map<String, PlannedQuery> queries = new LinkedHashMap<>();
+        queries.put("findById", new PlannedQuery(TaskRepository.FIND_BY_ID_SQL, List.of(1L)));
+        queries.put("findByTitle", new PlannedQuery(TaskRepository.FIND_BY_TITLE_SQL, List.of("Belajar Polimorfisme")));
+        queries.put("findAll", new PlannedQuery(TaskRepository.FIND_ALL_SQL, List.of()));
+        queries.put("countActiveTasks", new PlannedQuery(TaskRepository.COUNT_ACTIVE_SQL, List.of()));
+        queries.put("countCompletedTasks", new PlannedQuery(TaskRepository.COUNT_COMPLETED_SQL, List.of()));
+        queries.put("countCompletedOnTimeTasks", new PlannedQuery(TaskRepository.COUNT_COMPLETED_ON_TIME_SQL, List.of()));
+        queries.put("findTopByDueDate", new PlannedQuery(TaskRepository.FIND_TOP_BY_DUE_SQL, List.of(5)));
+        Timestamp nowParam = Timestamp.valueOf(now);
+        queries.put("markOverdue", new PlannedQuery(TaskRepository.MARK_OVERDUE_SQL, List.of(nowParam)));
+        queries.put("findNextDueDate", new PlannedQuery(TaskRepository.NEXT_DUE_SQL, List.of(nowParam)));
+        queries.put("findPendingDueAfter", new PlannedQuery(TaskRepository.FIND_PENDING_DUE_AFTER_SQL,
+                List.of(nowParam, 0L, 200)));
+        String match = TaskQueryCompiler.matchExpression("polimorf", dialect);
+        queries.put("search", dialect == SqlDialect.POSTGRES
+                ? new PlannedQuery(TaskRepository.SEARCH_POSTGRES_SQL, List.of(match, match, 10))
+                : new PlannedQuery(TaskRepository.SEARCH_SQLITE_SQL, List.of(match, 10)));
+
+        queries.put("dashboard summary", new PlannedQuery(DashboardSnapshotRepository.SUMMARY_SQL,
+                List.of(1L, now.toLocalDate().toEpochDay(), 1L)));
+
+        TaskQueryCompiler.CompiledQuery firstPage = TaskQueryCompiler.compilePage(defaultQuery, dialect, null, 50);
+        queries.put("findPage (halaman pertama)", new PlannedQuery(firstPage.sql(), firstPage.params()));
+        TaskQuery searchQuery = TaskQuery.builder().searchText("polimorf").build();
+        TaskQueryCompiler.CompiledQuery searchPage = TaskQueryCompiler.compilePage(searchQuery, dialect, null, 50);
+        queries.put("findPage (dengan search)", new PlannedQuery(searchPage.sql(), searchPage.params()));
+        return queries;
+    }
+
+    private List<String> explain(Connection connection, String prefix, PlannedQuery query, int detailColumn) throws SQLException {
+        List<String> plan = new ArrayList<>();
+        try (PreparedStatement pstmt = connection.prepareStatement(prefix + query.sql())) {
+            TaskRepository.bindParams(pstmt, query.params());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    plan.add(rs.getString(detailColumn));
+                }
+            }
+        }
+        return plan;
+    }
+
+    private record PlannedQuery(String sql, List<Object> params) {}
+}
@@ -0,0 +1,96 @@
+package com.pomodone.repository;
+
+import com.pomodone.model.pomodoro.PomodoroMode;
+import com.pomodone.model.pomodoro.SessionType;
+import com.pomodone.model.pomodoro.TimerCheckpoint;
+import com.pomodone.model.pomodoro.TimerState;
+import com.pomodone.strategy.pomodoro.IntensePomodoroStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimerCheckpointStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+    private TimerCheckpointStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = tempDir.resolve(TimerCheckpointStore.FILE_NAME);
+        store = new TimerCheckpointStore(file);
+    }
+
+    @Test
+    void fileBaru_tidakAdaCheckpoint() {
+        assertTrue(store.load().isEmpty());
+    }
+
+    @Test
+    void save_lalu_load_isinyaSama() {
+        store.save(checkpoint(Duration.ofMinutes(20)), false);
+
+        TimerCheckpoint loaded = store.load().orElseThrow();
+        assertEquals(PomodoroMode.INTENSE, loaded.getMode());
+        assertEquals(new IntensePomodoroStrategy().getSettings().getFocusDuration(), loaded.getSettings().getFocusDuration());
+        assertEquals(TimerState.RUNNING, loaded.getTimerState());
+        assertEquals(SessionType.SHORT_BREAK, loaded.getSessionType());
+        assertEquals(3, loaded.getRoundsCompleted());
+        assertEquals(Duration.ofMinutes(20), loaded.getRemaining());
+        assertEquals(Duration.ofSeconds(42), loaded.getPaused());
+        assertEquals(2, loaded.getPauseCount());
+        assertEquals(Instant.ofEpochMilli(1_900_000_000_000L), loaded.getStartedAt());
+        assertTrue(loaded.isAlarmRinging());
+    }
+
+    @Test
+    void saveBerulang_yangTerakhirMenang() {
+        store.save(checkpoint(Duration.ofMinutes(20)), true);
+        store.save(checkpoint(Duration.ofMinutes(19)), false);
+
+        assertEquals(Duration.ofMinutes(19), store.load().orElseThrow().getRemaining());
+    }
+
+    @Test
+    void bukaUlang_checkpointMasihAda() throws IOException {
+        store.save(checkpoint(Duration.ofMinutes(20)), true);
+
+        TimerCheckpointStore reopened = new TimerCheckpointStore(file);
+        assertEquals(Duration.ofMinutes(20), reopened.load().orElseThrow().getRemaining());
+
+        // nomor urut lanjut dari file, bukan dari nol
+        reopened.save(checkpoint(Duration.ofMinutes(18)), true);
+        assertEquals(Duration.ofMinutes(18), new TimerCheckpointStore(file).load().orElseThrow().getRemaining());
+    }
+
+    @Test
+    void tulisanTerpotong_diabaikan() throws IOException {
+        store.save(checkpoint(Duration.ofMinutes(20)), true);
+
+        // meniru proses mati di tengah save: nomor urut awal sudah naik, yang akhir belum
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(TimerCheckpointStore.SEQ_START_AT);
+            raw.writeLong(99);
+        }
+
+        assertTrue(new TimerCheckpointStore(file).load().isEmpty());
+    }
+
+    private TimerCheckpoint checkpoint(Duration remaining) {
+        Instant startedAt = Instant.ofEpochMilli(1_900_000_000_000L);
+        return new TimerCheckpoint(PomodoroMode.INTENSE, new IntensePomodoroStrategy().getSettings(),
+                TimerState.RUNNING, SessionType.SHORT_BREAK, 3, Duration.ofMinutes(25), remaining,
+                Duration.ofSeconds(42), 2, startedAt, startedAt.plusSeconds(600), true);
+    }
+}
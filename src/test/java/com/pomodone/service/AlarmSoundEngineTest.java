@@ -0,0 +1,117 @@
+package com.pomodone.service;
+
+import com.pomodone.model.pomodoro.PomodoroMode;
+import com.pomodone.model.pomodoro.SessionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AlarmSoundEngineTest {
+
+    private Set<String> available;
+    private List<String> decoded;
+    private Map<String, FakeClip> clips;
+    private long now;
+    private AlarmSoundEngine sounds;
+
+    @BeforeEach
+    void setUp() {
+        available = Set.of("/audio/audio.mp3", "/audio/alarm-short-break.mp3", "/audio/alarm-intense-focus.mp3");
+        decoded = new ArrayList<>();
+        clips = new HashMap<>();
+        sounds = new AlarmSoundEngine(this::resource, url -> {
+            decoded.add(url.getPath());
+            now += 40_000_000L; // decode MP3 itu mahal
+            return clips.computeIfAbsent(url.getPath(), path -> new FakeClip());
+        }, Runnable::run, () -> now);
+    }
+
+    @Test
+    void preload_tiapFileCumaDidecodeSekali() {
+        sounds.preload().join();
+
+        assertEquals(3, decoded.size());
+        assertTrue(decoded.containsAll(available));
+    }
+
+    @Test
+    void start_pilihSuaraPalingSpesifik() {
+        sounds.preload().join();
+
+        sounds.start(PomodoroMode.INTENSE, SessionType.FOCUS);
+        assertEquals(1, clips.get("/audio/alarm-intense-focus.mp3").loops);
+
+        sounds.start(PomodoroMode.CLASSIC, SessionType.SHORT_BREAK);
+        assertEquals(1, clips.get("/audio/alarm-intense-focus.mp3").stops);
+        assertEquals(1, clips.get("/audio/alarm-short-break.mp3").loops);
+
+        sounds.start(PomodoroMode.CLASSIC, SessionType.FOCUS);
+        assertEquals(1, clips.get("/audio/audio.mp3").loops);
+    }
+
+    @Test
+    void start_setelahPreload_tanpaDecodeLagi() {
+        sounds.preload().join();
+        decoded.clear();
+
+        sounds.start(PomodoroMode.CLASSIC, SessionType.LONG_BREAK);
+
+        assertTrue(decoded.isEmpty());
+        assertEquals(0, sounds.lastStartLatency().toNanos());
+    }
+
+    @Test
+    void start_tanpaPreload_decodePasItuJuga() {
+        sounds.start(PomodoroMode.CLASSIC, SessionType.LONG_BREAK);
+
+        assertEquals(List.of("/audio/audio.mp3"), decoded);
+        assertEquals(40, sounds.lastStartLatency().toMillis());
+        assertTrue(sounds.isPlaying());
+    }
+
+    @Test
+    void stop_hentikanClipYangBunyi() {
+        sounds.start(PomodoroMode.CLASSIC, SessionType.FOCUS);
+        sounds.stop();
+
+        assertFalse(sounds.isPlaying());
+        assertEquals(1, clips.get("/audio/audio.mp3").stops);
+    }
+
+    private URL resource(String path) {
+        if (!available.contains(path)) return null;
+        try {
+            return URI.create("file:" + path).toURL();
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Class ini berpura-pura menjadi AudioClip
+    static class FakeClip implements AlarmSoundEngine.Clip {
+        int loops;
+        int stops;
+
+        @Override
+        public void loop() {
+            loops++;
+        }
+
+        @Override
+        public void stop() {
+            stops++;
+        }
+    }
+}
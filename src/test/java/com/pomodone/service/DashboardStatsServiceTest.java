@@ -1,51 +1,41 @@
 package com.pomodone.service;
 
+import com.pomodone.model.dashboard.DashboardSnapshot;
 import com.pomodone.model.dashboard.DashboardStats;
 import com.pomodone.model.user.User;
-import com.pomodone.repository.TaskRepository;
+import com.pomodone.repository.DashboardSnapshotRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
-import java.util.Optional;
+import java.time.LocalDate;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class DashboardStatsServiceTest {
 
     private DashboardStatsService service;
-    private FakePomodoroSessionService pomodoroSessionService;
-    private FakeTaskRepository taskRepository;
-    private FakeUserSettingsService userSettingsService;
+    private FakeDashboardSnapshotRepository snapshotRepository;
 
     @BeforeEach
     void setUp() throws Exception {
         service = new DashboardStatsService();
-        pomodoroSessionService = new FakePomodoroSessionService();
-        taskRepository = new FakeTaskRepository();
-        userSettingsService = new FakeUserSettingsService();
+        snapshotRepository = new FakeDashboardSnapshotRepository();
 
-        inject(service, "pomodoroSessionService", pomodoroSessionService);
-        inject(service, "taskRepository", taskRepository);
-        inject(service, "userSettingsService", userSettingsService);
+        inject(service, "snapshotRepository", snapshotRepository);
     }
 
     @AfterEach
     void tearDown() {
         service = null;
-        pomodoroSessionService = null;
-        taskRepository = null;
-        userSettingsService = null;
+        snapshotRepository = null;
     }
 
     @Test
     void loadStats_menghitungProductivity() {
-        pomodoroSessionService.today = 3;
-        taskRepository.activeTasks = 5;
-        taskRepository.completed = 4;
-        taskRepository.completedOnTime = 2;
-        userSettingsService.user = new User(1, "User", 4, 20);
+        snapshotRepository.snapshot = new DashboardSnapshot(5, 4, 2, 3, new User(1, "User", 4, 20), List.of());
 
         DashboardStats stats = service.loadStats();
 
@@ -58,11 +48,7 @@ class DashboardStatsServiceTest {
 
     @Test
     void loadStats_targetKosong_dianggap0() {
-        pomodoroSessionService.today = 0;
-        taskRepository.activeTasks = 1;
-        taskRepository.completed = 0;
-        taskRepository.completedOnTime = 0;
-        userSettingsService.user = null;
+        snapshotRepository.snapshot = new DashboardSnapshot(1, 0, 0, 0, null, List.of());
 
         DashboardStats stats = service.loadStats();
 
@@ -70,48 +56,35 @@ class DashboardStatsServiceTest {
         assertEquals(0, stats.getProductivityPercent());
     }
 
-    private void inject(Object target, String fieldName, Object value) throws Exception {
-        Field field = DashboardStatsService.class.getDeclaredField(fieldName);
-        field.setAccessible(true);
-        field.set(target, value);
-    }
+    @Test
+    void loadSnapshot_sekaliPanggilDenganAwalHari() {
+        snapshotRepository.snapshot = new DashboardSnapshot(0, 0, 0, 0, null, List.of());
 
-    private static class FakePomodoroSessionService extends PomodoroSessionService {
-        int today;
+        service.loadSnapshot();
 
-        @Override
-        public int getTodayCompletedSessions() {
-            return today;
-        }
+        assertEquals(1, snapshotRepository.calls);
+        assertEquals(LocalDate.now(), snapshotRepository.lastDay);
+        assertEquals(5, snapshotRepository.lastLimit);
     }
 
-    private static class FakeTaskRepository extends TaskRepository {
-        int activeTasks;
-        int completed;
-        int completedOnTime;
-
-        @Override
-        public int countActiveTasks() {
-            return activeTasks;
-        }
-
-        @Override
-        public int countCompletedTasks() {
-            return completed;
-        }
-
-        @Override
-        public int countCompletedOnTimeTasks() {
-            return completedOnTime;
-        }
+    private void inject(Object target, String fieldName, Object value) throws Exception {
+        Field field = DashboardStatsService.class.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(target, value);
     }
 
-    private static class FakeUserSettingsService extends UserSettingsService {
-        User user;
+    private static class FakeDashboardSnapshotRepository extends DashboardSnapshotRepository {
+        DashboardSnapshot snapshot;
+        int calls;
+        LocalDate lastDay;
+        int lastLimit;
 
         @Override
-        public Optional<User> getCurrentUserSettings() {
-            return Optional.ofNullable(user);
+        public DashboardSnapshot load(long userId, LocalDate today, int topTaskLimit) {
+            calls++;
+            lastDay = today;
+            lastLimit = topTaskLimit;
+            return snapshot;
         }
     }
 }
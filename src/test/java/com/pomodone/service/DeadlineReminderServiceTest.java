@@ -0,0 +1,248 @@
+package com.pomodone.service;
+
+import com.pomodone.model.task.Task;
+import com.pomodone.model.task.TaskReminder;
+import com.pomodone.model.task.TaskStatus;
+import com.pomodone.repository.TaskRepository;
+import com.pomodone.util.FakeTimerClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeadlineReminderServiceTest {
+
+    private FakeTimerClock clock;
+    private FakeTaskRepository repo;
+    private List<TaskReminder> fired;
+
+    @BeforeEach
+    void setUp() {
+        clock = new FakeTimerClock();
+        repo = new FakeTaskRepository();
+        fired = new ArrayList<>();
+    }
+
+    @Test
+    void pengingatTerkirimDiTiapJarak() {
+        repo.add("Laporan", now().plusDays(2));
+        DeadlineReminderService reminders = start(DeadlineReminderService.BATCH);
+
+        advance(reminders, Duration.ofHours(23).plusMinutes(59));
+        assertTrue(fired.isEmpty());
+
+        advance(reminders, Duration.ofMinutes(1));
+        advance(reminders, Duration.ofHours(23));
+        advance(reminders, Duration.ofMinutes(50));
+
+        assertEquals(List.of(Duration.ofHours(24), Duration.ofHours(1), Duration.ofMinutes(10)),
+                fired.stream().map(TaskReminder::getLeadTime).toList());
+        assertEquals("Laporan", fired.get(0).getTitle());
+    }
+
+    @Test
+    void tenggatDekat_jarakYangSudahLewatTidakDikirim() {
+        repo.add("Kuis", now().plusMinutes(30));
+        DeadlineReminderService reminders = start(DeadlineReminderService.BATCH);
+
+        advance(reminders, Duration.ofMinutes(30));
+
+        assertEquals(List.of(Duration.ofMinutes(10)), fired.stream().map(TaskReminder::getLeadTime).toList());
+    }
+
+    @Test
+    void antreanDibatasi_batchBerikutnyaDibacaBertahap() {
+        for (int i = 0; i < 1000; i++) {
+            repo.add("Task " + i, now().plusHours(2).plusMinutes(i));
+        }
+        DeadlineReminderService reminders = start(50);
+        // tiap jarak cuma baca satu batch di awal
+        assertEquals(100, repo.rowsRead);
+
+        int maxPending = reminders.pendingCount();
+        for (int minute = 0; minute < 1200; minute++) {
+            advance(reminders, Duration.ofMinutes(1));
+            maxPending = Math.max(maxPending, reminders.pendingCount());
+        }
+
+        // 24 jam sudah lewat untuk semua task, sisanya 1 jam + 10 menit per task, masing-masing sekali
+        assertEquals(2000, fired.size());
+        assertTrue(maxPending <= 2 * (50 + 1), "antrean " + maxPending);
+    }
+
+    @Test
+    void taskBaru_langsungMasukTanpaBacaUlang() {
+        DeadlineReminderService reminders = start(DeadlineReminderService.BATCH);
+        int queries = repo.queries;
+
+        long id = repo.add("Presentasi", now().plusHours(3));
+        reminders.taskChanged(id);
+        advance(reminders, Duration.ofHours(2));
+
+        assertEquals(queries, repo.queries);
+        assertEquals(1, fired.size());
+        assertEquals(id, fired.get(0).getTaskId());
+    }
+
+    @Test
+    void tenggatDiubah_pengingatLamaDibuang() {
+        long id = repo.add("Essay", now().plusHours(2));
+        DeadlineReminderService reminders = start(DeadlineReminderService.BATCH);
+
+        repo.setDue(id, now().plusHours(5));
+        reminders.taskChanged(id);
+        advance(reminders, Duration.ofHours(2));
+        assertTrue(fired.isEmpty());
+
+        advance(reminders, Duration.ofHours(2));
+        assertEquals(1, fired.size());
+        assertEquals(now().plusHours(1), fired.get(0).getDueDate());
+    }
+
+    @Test
+    void taskSelesaiAtauDihapus_tidakDiingatkan() {
+        long done = repo.add("Selesai", now().plusHours(2));
+        long deleted = repo.add("Dihapus", now().plusHours(2));
+        DeadlineReminderService reminders = start(DeadlineReminderService.BATCH);
+
+        repo.setStatus(done, TaskStatus.SELESAI);
+        reminders.taskChanged(done);
+        repo.remove(deleted);
+        reminders.taskRemoved(deleted);
+        advance(reminders, Duration.ofHours(2));
+
+        assertTrue(fired.isEmpty());
+        assertEquals(0, reminders.pendingCount());
+    }
+
+    @Test
+    void taskBaruDiLuarBatch_dibacaKeysetNantiSekaliSaja() {
+        repo.add("A", now().plusHours(2));
+        repo.add("B", now().plusHours(3));
+        repo.add("C", now().plusHours(4));
+        DeadlineReminderService reminders = start(2);
+
+        long late = repo.add("D", now().plusHours(5));
+        reminders.taskChanged(late);
+        advance(reminders, Duration.ofHours(5));
+
+        List<String> oneHour = fired.stream()
+                .filter(reminder -> reminder.getLeadTime().equals(Duration.ofHours(1)))
+                .map(TaskReminder::getTitle)
+                .toList();
+        assertEquals(List.of("A", "B", "C", "D"), oneHour);
+    }
+
+    @Test
+    void dbGagal_dicobaLagiSetelahMaxSleep() {
+        repo.add("Tugas", now().plusHours(3));
+        repo.failures = 3; // load awal gagal untuk ketiga jarak
+        DeadlineReminderService reminders = start(DeadlineReminderService.BATCH);
+        assertTrue(fired.isEmpty());
+
+        advance(reminders, DeadlineReminderService.MAX_SLEEP);
+        advance(reminders, Duration.ofHours(2));
+
+        assertEquals(List.of(Duration.ofHours(1)), fired.stream().map(TaskReminder::getLeadTime).toList());
+    }
+
+    @Test
+    void keysetTidakMaju_tidakAntreUlangDanMundurMaxSleep() {
+        for (int i = 0; i < 3; i++) {
+            repo.add("Seed " + i, now().plusHours(2));
+        }
+        repo.ignoreCursor = true; // seperti baris TEXT yang selalu terurut setelah cursor INTEGER
+        DeadlineReminderService reminders = start(3);
+        int pending = reminders.pendingCount();
+        int queries = repo.queries;
+
+        advance(reminders, DeadlineReminderService.MAX_SLEEP.minusMinutes(1));
+
+        assertEquals(pending, reminders.pendingCount());
+        assertEquals(queries, repo.queries);
+    }
+
+    private DeadlineReminderService start(int batchSize) {
+        DeadlineReminderService reminders = new DeadlineReminderService(repo, clock, batchSize);
+        reminders.addListener(fired::add);
+        reminders.load();
+        return reminders;
+    }
+
+    // maju per menit seperti worker yang bangun tepat waktu; pengingat yang tenggatnya sudah lewat dibuang
+    private void advance(DeadlineReminderService reminders, Duration duration) {
+        long left = duration.toMillis();
+        while (left > 0) {
+            long step = Math.min(left, Duration.ofMinutes(1).toMillis());
+            clock.advanceMillis(step);
+            reminders.fireDue();
+            left -= step;
+        }
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(clock.wallMillis()), ZoneId.systemDefault());
+    }
+
+    // Class ini berpura-pura menjadi TaskRepository, query keyset-nya ditiru di memori
+    private static class FakeTaskRepository extends TaskRepository {
+        final List<Task> tasks = new ArrayList<>();
+        int queries;
+        int rowsRead;
+        int failures;
+        boolean ignoreCursor;
+        private long nextId = 1;
+
+        long add(String title, LocalDateTime due) {
+            long id = nextId++;
+            tasks.add(Task.builder().id(id).title(title).dueDate(due).status(TaskStatus.BELUM_SELESAI).build());
+            return id;
+        }
+
+        void setDue(long id, LocalDateTime due) {
+            Task task = findById(id);
+            tasks.set(tasks.indexOf(task), Task.builder().id(id).title(task.getTitle()).dueDate(due).status(task.getStatus()).build());
+        }
+
+        void setStatus(long id, TaskStatus status) {
+            Task task = findById(id);
+            tasks.set(tasks.indexOf(task), task.withStatus(status));
+        }
+
+        void remove(long id) {
+            tasks.remove(findById(id));
+        }
+
+        @Override
+        public Task findById(long id) {
+            return tasks.stream().filter(task -> task.getId() == id).findFirst().orElse(null);
+        }
+
+        @Override
+        public List<Task> findPendingDueAfter(LocalDateTime dueAfter, long idAfter, int limit) {
+            queries++;
+            if (failures > 0) {
+                failures--;
+                throw new com.pomodone.exception.DatabaseException("DB mati", null);
+            }
+            List<Task> result = tasks.stream()
+                    .filter(task -> task.getStatus() == TaskStatus.BELUM_SELESAI && task.getDueDate() != null)
+                    .filter(task -> ignoreCursor || task.getDueDate().isAfter(dueAfter)
+                            || (task.getDueDate().isEqual(dueAfter) && task.getId() > idAfter))
+                    .sorted(Comparator.comparing(Task::getDueDate).thenComparingLong(Task::getId))
+                    .limit(limit)
+                    .toList();
+            rowsRead += result.size();
+            return result;
+        }
+    }
+}
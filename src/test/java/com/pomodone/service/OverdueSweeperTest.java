@@ -0,0 +1,198 @@
+package com.pomodone.service;
+
+import com.pomodone.repository.TaskRepository;
+import com.pomodone.util.FakeTimerClock;
+import com.pomodone.util.ManualScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class OverdueSweeperTest {
+
+    private FakeTimerClock clock;
+    private ManualScheduler scheduler;
+    private FakeTaskRepository repo;
+    private OverdueSweeper sweeper;
+    private int notified;
+
+    @BeforeEach
+    void setUp() {
+        clock = new FakeTimerClock();
+        scheduler = new ManualScheduler(clock);
+        repo = new FakeTaskRepository();
+        sweeper = new OverdueSweeper(repo, scheduler, clock);
+        sweeper.addListener(() -> notified++);
+    }
+
+    @Test
+    void sweepPertama_tandaiYangSudahTelatDanIngatTenggatBerikutnya() {
+        repo.dueDates.add(now().minusHours(1));
+        repo.dueDates.add(now().plusMinutes(30));
+
+        sweeper.tasksChanged();
+        scheduler.advance(Duration.ZERO);
+
+        assertEquals(1, repo.overdue.size());
+        assertEquals(1, notified);
+        assertEquals(repo.dueDates.get(1), sweeper.nextDue());
+    }
+
+    @Test
+    void diAntaraTenggat_tidakAdaQuery() {
+        repo.dueDates.add(now().plusMinutes(30));
+        sweeper.tasksChanged();
+        scheduler.advance(Duration.ZERO);
+        int queries = repo.queries;
+
+        // bangun tiap MAX_SLEEP cuma buat cek jam
+        scheduler.advance(Duration.ofMinutes(29));
+
+        assertEquals(queries, repo.queries);
+        assertEquals(0, notified);
+    }
+
+    @Test
+    void tenggatLewat_satuUpdateLaluNotifikasi() {
+        repo.dueDates.add(now().plusMinutes(30));
+        repo.dueDates.add(now().plusMinutes(30));
+        repo.dueDates.add(now().plusHours(2));
+        sweeper.tasksChanged();
+        scheduler.advance(Duration.ZERO);
+
+        scheduler.advance(Duration.ofMinutes(30).plusMillis(1));
+
+        // sweep awal + satu sweep pas tenggat, dua task ditandai sekaligus
+        assertEquals(2, repo.overdue.size());
+        assertEquals(2, repo.markCalls);
+        assertEquals(1, notified);
+        assertEquals(repo.dueDates.get(2), sweeper.nextDue());
+    }
+
+    @Test
+    void taskBaruTenggatnyaLebihDekat_ikutDiingat() {
+        repo.dueDates.add(now().plusHours(2));
+        sweeper.tasksChanged();
+        scheduler.advance(Duration.ZERO);
+
+        repo.dueDates.add(now().plusMinutes(10));
+        sweeper.tasksChanged();
+        scheduler.advance(Duration.ZERO);
+        assertEquals(repo.dueDates.get(1), sweeper.nextDue());
+
+        scheduler.advance(Duration.ofMinutes(10).plusMillis(1));
+        assertEquals(List.of(1), repo.overdue);
+    }
+
+    @Test
+    void jamDindingLoncat_tetapKetahuanMaksimalSetelahMaxSleep() {
+        repo.dueDates.add(now().plusHours(3));
+        sweeper.tasksChanged();
+        scheduler.advance(Duration.ZERO);
+
+        // laptop tidur 3 jam: nanoTime berhenti, jam dinding jalan
+        clock.suspend(Duration.ofHours(3).toMillis());
+        scheduler.advance(OverdueSweeper.MAX_SLEEP);
+
+        assertEquals(1, repo.overdue.size());
+        assertEquals(1, notified);
+    }
+
+    @Test
+    void tidakAdaTenggat_tidurSampaiTaskBerubah() {
+        sweeper.tasksChanged();
+        scheduler.advance(Duration.ZERO);
+
+        assertNull(sweeper.nextDue());
+        assertEquals(0, scheduler.pendingCount());
+
+        repo.dueDates.add(now().plusMinutes(1));
+        sweeper.tasksChanged();
+        scheduler.advance(Duration.ofMinutes(1).plusMillis(1));
+        assertEquals(1, repo.overdue.size());
+    }
+
+    @Test
+    void dbGagal_dicobaLagiNanti() {
+        repo.dueDates.add(now().minusMinutes(1));
+        repo.failNext = true;
+        sweeper.tasksChanged();
+        scheduler.advance(Duration.ZERO);
+        assertEquals(0, repo.overdue.size());
+
+        scheduler.advance(OverdueSweeper.MAX_SLEEP.plusMillis(1));
+
+        assertEquals(1, repo.overdue.size());
+    }
+
+    @Test
+    void tenggatBerikutnyaSudahLewat_mundurSampaiMaxSleepBukanLoop() {
+        repo.dueDates.add(now().minusHours(1));
+        repo.stuck = true; // tenggatnya tidak pernah ketandai, seperti baris TEXT di SQLite
+        sweeper.tasksChanged();
+        scheduler.advance(Duration.ZERO);
+
+        scheduler.advance(OverdueSweeper.MAX_SLEEP.minusMillis(1));
+        assertEquals(1, repo.markCalls);
+
+        scheduler.advance(Duration.ofMillis(2));
+        assertEquals(2, repo.markCalls);
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(clock.wallMillis()), ZoneId.systemDefault());
+    }
+
+    // Class ini berpura-pura menjadi TaskRepository
+    private static class FakeTaskRepository extends TaskRepository {
+        final List<LocalDateTime> dueDates = new ArrayList<>();
+        final List<Integer> overdue = new ArrayList<>();
+        int queries;
+        int markCalls;
+        boolean failNext;
+        boolean stuck;
+
+        @Override
+        public int markOverdue(LocalDateTime now) {
+            queries++;
+            markCalls++;
+            if (failNext) {
+                failNext = false;
+                throw new com.pomodone.exception.DatabaseException("DB mati");
+            }
+            if (stuck) {
+                return 0;
+            }
+            int marked = 0;
+            for (int i = 0; i < dueDates.size(); i++) {
+                if (dueDates.get(i).isBefore(now) && !overdue.contains(i)) {
+                    overdue.add(i);
+                    marked++;
+                }
+            }
+            return marked;
+        }
+
+        @Override
+        public Optional<LocalDateTime> findNextDueDate(LocalDateTime now) {
+            queries++;
+            LocalDateTime next = null;
+            for (int i = 0; i < dueDates.size(); i++) {
+                LocalDateTime due = dueDates.get(i);
+                if (!overdue.contains(i) && (stuck || !due.isBefore(now)) && (next == null || due.isBefore(next))) {
+                    next = due;
+                }
+            }
+            return Optional.ofNullable(next);
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.pomodone.service;
+
+import com.pomodone.model.pomodoro.PomodoroMode;
+import com.pomodone.model.pomodoro.PomodoroSettings;
+import com.pomodone.model.pomodoro.PomodoroSnapshot;
+import com.pomodone.model.pomodoro.SessionType;
+import com.pomodone.model.pomodoro.TimerState;
+import com.pomodone.repository.TimerCheckpointStore;
+import com.pomodone.strategy.pomodoro.ClassicPomodoroStrategy;
+import com.pomodone.util.FakeTimerClock;
+import com.pomodone.util.ManualScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PomodoroEngineTest {
+
+    private static final Duration ALARM = Duration.ofSeconds(9);
+
+    private FakeTimerClock clock;
+    private ManualScheduler scheduler;
+    private FakePomodoroSessionService sessionService;
+    private PomodoroEngine engine;
+    private List<PomodoroSnapshot> snapshots;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        clock = new FakeTimerClock();
+        scheduler = new ManualScheduler(clock);
+        sessionService = new FakePomodoroSessionService();
+        engine = new PomodoroEngine(scheduler, clock, ALARM, sessionService);
+        snapshots = new ArrayList<>();
+        engine.addListener(snapshots::add);
+    }
+
+    @Test
+    void startPause_toggleState() {
+        assertEquals(TimerState.STOPPED, engine.snapshot().getTimerState());
+
+        engine.startPause();
+        assertEquals(TimerState.RUNNING, engine.snapshot().getTimerState());
+
+        engine.startPause();
+        assertEquals(TimerState.PAUSED, engine.snapshot().getTimerState());
+        assertEquals(0, scheduler.pendingCount());
+    }
+
+    @Test
+    void tick_tiapDetikSatuSnapshot() {
+        engine.startPause();
+        snapshots.clear();
+
+        scheduler.advance(Duration.ofSeconds(5));
+
+        assertEquals(5, snapshots.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(1499 - i, snapshots.get(i).getRemainingSeconds());
+        }
+    }
+
+    @Test
+    void displayTicksMati_cumaBangunPasSesiHabis() {
+        engine.setDisplayTicks(false);
+        engine.startPause();
+        snapshots.clear();
+
+        scheduler.advance(Duration.ofMinutes(24));
+        assertTrue(snapshots.isEmpty());
+
+        scheduler.advance(Duration.ofMinutes(1));
+        assertEquals(1, snapshots.size());
+        assertTrue(snapshots.get(0).isAlarmRinging());
+        assertEquals(1, sessionService.logged.size());
+    }
+
+    @Test
+    void displayTicksNyalaLagi_lanjutTickDetikBerikutnya() {
+        engine.setDisplayTicks(false);
+        engine.startPause();
+        scheduler.advance(Duration.ofMillis(10_500));
+        snapshots.clear();
+
+        engine.setDisplayTicks(true);
+        scheduler.advance(Duration.ofMillis(500));
+
+        assertEquals(1, snapshots.size());
+        assertEquals(1489, snapshots.get(0).getRemainingSeconds());
+    }
+
+    @Test
+    void focusKeShortBreakSetelahAlarm() {
+        engine.startPause();
+
+        scheduler.advance(Duration.ofMinutes(25));
+        PomodoroSnapshot ringing = engine.snapshot();
+        assertTrue(ringing.isAlarmRinging());
+        assertEquals(SessionType.FOCUS, ringing.getSessionType());
+        assertEquals(1, sessionService.logged.size());
+
+        scheduler.advance(ALARM);
+        PomodoroSnapshot onBreak = engine.snapshot();
+        assertFalse(onBreak.isAlarmRinging());
+        assertEquals(SessionType.SHORT_BREAK, onBreak.getSessionType());
+        assertEquals(TimerState.RUNNING, onBreak.getTimerState());
+        assertEquals(300, onBreak.getRemainingSeconds());
+    }
+
+    @Test
+    void focusKeLongBreakSaatRondeKeempat() {
+        engine.startPause();
+        // 3 x (fokus 25 + alarm + break 5 + alarm), lalu fokus ke-4
+        for (int i = 0; i < 3; i++) {
+            scheduler.advance(Duration.ofMinutes(25).plus(ALARM).plusMinutes(5).plus(ALARM));
+        }
+        scheduler.advance(Duration.ofMinutes(25).plus(ALARM));
+
+        assertEquals(SessionType.LONG_BREAK, engine.snapshot().getSessionType());
+        assertEquals(4, engine.snapshot().getRoundsCompleted());
+        assertEquals(4, sessionService.logged.size());
+    }
+
+    @Test
+    void pauseDiTengahFokus_waktuAktualDicatat() {
+        engine.startPause();
+        scheduler.advance(Duration.ofMinutes(10));
+        engine.startPause();
+        scheduler.advance(Duration.ofMinutes(4));
+        engine.startPause();
+        scheduler.advance(Duration.ofMinutes(15));
+
+        assertEquals(List.of(1500L), sessionService.logged);
+        assertEquals(240, sessionService.lastPausedSeconds);
+        assertEquals(1, sessionService.lastPauseCount);
+    }
+
+    @Test
+    void pauseSaatAlarm_diabaikan() {
+        engine.startPause();
+        scheduler.advance(Duration.ofMinutes(25));
+
+        engine.startPause();
+        scheduler.advance(ALARM);
+
+        assertEquals(TimerState.RUNNING, engine.snapshot().getTimerState());
+        assertEquals(SessionType.SHORT_BREAK, engine.snapshot().getSessionType());
+    }
+
+    @Test
+    void stop_resetDanBatalkanTick() {
+        engine.startPause();
+        scheduler.advance(Duration.ofMinutes(3));
+
+        engine.stop();
+
+        PomodoroSnapshot snapshot = engine.snapshot();
+        assertEquals(TimerState.STOPPED, snapshot.getTimerState());
+        assertEquals(1500, snapshot.getRemainingSeconds());
+        assertEquals(0.0, snapshot.getProgress());
+        assertEquals(0, scheduler.pendingCount());
+    }
+
+    @Test
+    void stopDiTengahFokus_dicatatCancelled() {
+        engine.startPause();
+        scheduler.advance(Duration.ofMinutes(7));
+
+        engine.stop();
+        engine.stop(); // stop kedua tidak mencatat lagi
+
+        assertEquals(List.of(420L), sessionService.cancelled);
+        assertTrue(sessionService.logged.isEmpty());
+    }
+
+    @Test
+    void stopSaatBreak_tidakDicatat() {
+        engine.startPause();
+        scheduler.advance(Duration.ofMinutes(25).plus(ALARM).plusMinutes(2));
+
+        engine.stop();
+
+        assertTrue(sessionService.cancelled.isEmpty());
+        assertEquals(1, sessionService.logged.size());
+    }
+
+    @Test
+    void configure_gantiSettingsMeresetTimer() {
+        engine.startPause();
+        PomodoroSettings settings = new PomodoroSettings(Duration.ofMinutes(90), Duration.ofMinutes(5), Duration.ofMinutes(15), 2);
+
+        engine.configure(PomodoroMode.CUSTOM, settings);
+
+        PomodoroSnapshot snapshot = engine.snapshot();
+        assertEquals(TimerState.STOPPED, snapshot.getTimerState());
+        assertEquals(PomodoroMode.CUSTOM, snapshot.getMode());
+        assertEquals(5400, snapshot.getRemainingSeconds());
+    }
+
+    @Test
+    void jalanBerjamJamTanpaUi_siklusTetapTepat() {
+        engine.configure(PomodoroMode.CLASSIC, new ClassicPomodoroStrategy().getSettings());
+        engine.startPause();
+
+        // satu siklus classic: 4 fokus + 3 short break + 1 long break, masing-masing diikuti alarm
+        Duration cycle = Duration.ofMinutes(4 * 25 + 3 * 5 + 15).plus(ALARM.multipliedBy(8));
+        scheduler.advance(cycle.multipliedBy(5));
+
+        PomodoroSnapshot snapshot = engine.snapshot();
+        assertEquals(SessionType.FOCUS, snapshot.getSessionType());
+        assertEquals(1500, snapshot.getRemainingSeconds());
+        assertEquals(20, sessionService.logged.size());
+        assertTrue(sessionService.logged.stream().allMatch(seconds -> seconds == 1500));
+    }
+
+    @Test
+    void restore_jalanSaatDitutup_waktuMatiTetapDihitung() throws IOException {
+        engine.setCheckpointStore(checkpointStore());
+        engine.startPause();
+        scheduler.advance(Duration.ofMinutes(10));
+
+        PomodoroEngine restored = restart(Duration.ofMinutes(5));
+
+        PomodoroSnapshot snapshot = restored.snapshot();
+        assertEquals(TimerState.PAUSED, snapshot.getTimerState());
+        assertEquals(SessionType.FOCUS, snapshot.getSessionType());
+        assertEquals(600, snapshot.getRemainingSeconds());
+
+        restored.startPause();
+        scheduler.advance(Duration.ofMinutes(10));
+        assertTrue(restored.snapshot().isAlarmRinging());
+        assertEquals(List.of(1500L), sessionService.logged);
+    }
+
+    @Test
+    void restore_sesiHabisSaatDitutup_dicatatLaluSiapBreak() throws IOException {
+        engine.setCheckpointStore(checkpointStore());
+        engine.startPause();
+        scheduler.advance(Duration.ofMinutes(20));
+
+        PomodoroEngine restored = restart(Duration.ofMinutes(10));
+
+        assertEquals(List.of(1500L), sessionService.logged);
+        PomodoroSnapshot snapshot = restored.snapshot();
+        assertEquals(TimerState.PAUSED, snapshot.getTimerState());
+        assertEquals(SessionType.SHORT_BREAK, snapshot.getSessionType());
+        assertEquals(1, snapshot.getRoundsCompleted());
+        assertEquals(300, snapshot.getRemainingSeconds());
+        assertFalse(snapshot.isAlarmRinging());
+        assertEquals(0, scheduler.pendingCount());
+    }
+
+    @Test
+    void restore_pauseSaatDitutup_waktuMatiMasukPause() throws IOException {
+        engine.setCheckpointStore(checkpointStore());
+        engine.startPause();
+        scheduler.advance(Duration.ofMinutes(5));
+        engine.startPause(); // pause
+
+        PomodoroEngine restored = restart(Duration.ofHours(1));
+        assertEquals(1200, restored.snapshot().getRemainingSeconds());
+
+        restored.startPause();
+        scheduler.advance(Duration.ofMinutes(20));
+        assertEquals(List.of(1500L), sessionService.logged);
+        assertEquals(3600, sessionService.lastPausedSeconds);
+        assertEquals(1, sessionService.lastPauseCount);
+    }
+
+    @Test
+    void restore_timerBerhenti_tidakAdaYangDilanjutkan() throws IOException {
+        engine.setCheckpointStore(checkpointStore());
+        engine.startPause();
+        scheduler.advance(Duration.ofMinutes(5));
+        engine.stop();
+
+        PomodoroEngine restored = new PomodoroEngine(scheduler, clock, ALARM, sessionService);
+        assertFalse(restored.restore(checkpointStore().load().orElseThrow()));
+        assertEquals(TimerState.STOPPED, restored.snapshot().getTimerState());
+    }
+
+    private TimerCheckpointStore checkpointStore() throws IOException {
+        return new TimerCheckpointStore(tempDir.resolve("timer-checkpoint.bin"));
+    }
+
+    // app ditutup (engine lama dibuang tanpa stop), hidup lagi setelah downtime, lalu lanjut dari file
+    private PomodoroEngine restart(Duration downtime) throws IOException {
+        engine.setSessionService(null);
+        scheduler = new ManualScheduler(clock);
+        clock.advanceMillis(downtime.toMillis());
+        PomodoroEngine restored = new PomodoroEngine(scheduler, clock, ALARM, sessionService);
+        assertTrue(restored.restore(checkpointStore().load().orElseThrow()));
+        return restored;
+    }
+
+    // Class ini berpura-pura menjadi PomodoroSessionService
+    private static class FakePomodoroSessionService extends PomodoroSessionService {
+        final List<Long> logged = new ArrayList<>();
+        final List<Long> cancelled = new ArrayList<>();
+        long lastPausedSeconds = -1;
+        int lastPauseCount = -1;
+
+        @Override
+        public void logCompletedSession(LocalDateTime startedAt, LocalDateTime endedAt, long durationSeconds,
+                                        long pausedSeconds, int pauseCount, PomodoroMode mode) {
+            logged.add(durationSeconds);
+            lastPausedSeconds = pausedSeconds;
+            lastPauseCount = pauseCount;
+        }
+
+        @Override
+        public void logCancelledSession(LocalDateTime startedAt, LocalDateTime endedAt, long durationSeconds,
+                                        long pausedSeconds, int pauseCount, PomodoroMode mode) {
+            cancelled.add(durationSeconds);
+        }
+    }
+}
@@ -1,203 +1,230 @@
 package com.pomodone.service;
 
-import javafx.application.Platform;
-import javafx.beans.property.ReadOnlyObjectWrapper;
-import org.junit.jupiter.api.BeforeAll;
+import com.pomodone.model.pomodoro.PomodoroMode;
+import com.pomodone.model.pomodoro.SessionType;
+import com.pomodone.model.pomodoro.TimerSnapshot;
+import com.pomodone.model.pomodoro.TimerState;
+import com.pomodone.repository.TimerCheckpointStore;
+import com.pomodone.util.FakeTimerClock;
+import com.pomodone.util.ManualScheduler;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Duration;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+// Adapter-nya cuma butuh javafx.base (property), jadi tidak perlu start toolkit JavaFX
 class PomodoroServiceTest {
 
-    private FakePomodoroSessionService sessionService;
+    private FakeTimerClock clock;
+    private ManualScheduler scheduler;
+    private List<Runnable> fxQueue;
     private PomodoroService pomodoroService;
+    private AlarmSoundEngineTest.FakeClip alarmClip;
 
-    // Inisialisasi JavaFX sekali buat semua test
-    @BeforeAll
-    static void initJavaFX() throws InterruptedException {
-        try {
-            CountDownLatch latch = new CountDownLatch(1);
-            Platform.startup(latch::countDown);
-            if (!latch.await(5, TimeUnit.SECONDS)) {
-                throw new IllegalStateException("JavaFX Platform failed to start");
-            }
-        } catch (IllegalStateException e) {
-            // JavaFX sudah berjalan
-        }
-    }
+    @TempDir
+    Path tempDir;
 
     @BeforeEach
     void setUp() {
-        // Bikin fake service manual
-        sessionService = new FakePomodoroSessionService();
-
-        // Setup service di thread JavaFX
-        CountDownLatch latch = new CountDownLatch(1);
-        Platform.runLater(() -> {
-            pomodoroService = PomodoroService.getInstance();
-            pomodoroService.setSessionService(sessionService);
-            pomodoroService.stopAndResetTimer(); // reset state
-            latch.countDown();
-        });
-        
-        try {
-            latch.await(5, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
+        clock = new FakeTimerClock();
+        scheduler = new ManualScheduler(clock);
+        fxQueue = new ArrayList<>();
+        PomodoroEngine engine = new PomodoroEngine(scheduler, clock, PomodoroEngine.DEFAULT_ALARM_DURATION, null);
+        alarmClip = new AlarmSoundEngineTest.FakeClip();
+        AlarmSoundEngine alarmSounds = new AlarmSoundEngine(path -> PomodoroServiceTest.class.getResource("/"),
+                url -> alarmClip, Runnable::run, clock::nanoTime);
+        pomodoroService = new PomodoroService(engine, fxQueue::add, alarmSounds);
+    }
+
+    @Test
+    void handleStartPause_ShouldToggleState() {
+        // mulai dari STOPPED
+        assertEquals(TimerState.STOPPED, pomodoroService.timerStateProperty().get());
+
+        // mulai lalu pause
+        pomodoroService.handleStartPause();
+        assertEquals(TimerState.RUNNING, pomodoroService.timerStateProperty().get());
+
+        pomodoroService.handleStartPause();
+        assertEquals(TimerState.PAUSED, pomodoroService.timerStateProperty().get());
+    }
+
+    @Test
+    void stopAndResetTimer_ShouldResetState() {
+        pomodoroService.handleStartPause(); // mulai
+        scheduler.advance(Duration.ofSeconds(30));
+        drainFx();
+        pomodoroService.stopAndResetTimer();
+
+        assertEquals(TimerState.STOPPED, pomodoroService.timerStateProperty().get());
+        assertEquals(0.0, pomodoroService.timerSnapshotProperty().get().getProgress());
+        assertEquals("25", pomodoroService.timerSnapshotProperty().get().getMinutes());
+    }
+
+    @Test
+    void selectMode_ShouldUpdateSettings() {
+        pomodoroService.selectMode(PomodoroMode.INTENSE);
+        assertEquals(PomodoroMode.INTENSE, pomodoroService.getCurrentMode());
+
+        pomodoroService.selectMode(PomodoroMode.CLASSIC);
+        assertEquals(PomodoroMode.CLASSIC, pomodoroService.getCurrentMode());
+    }
+
+    @Test
+    void focusKeShortBreakSaatWaktuHabis() {
+        pomodoroService.handleStartPause(); // mulai fokus
+        scheduler.advance(Duration.ofMinutes(25).plus(PomodoroEngine.DEFAULT_ALARM_DURATION));
+        drainFx();
+
+        assertEquals(SessionType.SHORT_BREAK, pomodoroService.sessionTypeProperty().get());
+        assertEquals(TimerState.RUNNING, pomodoroService.timerStateProperty().get());
+        assertEquals("Short Break", pomodoroService.statusStringProperty().get());
+    }
+
+    @Test
+    void snapshotBeruntun_digabungJadiSatuUpdateUi() {
+        pomodoroService.handleStartPause();
+        drainFx();
+
+        // thread FX sibuk 10 detik: 10 snapshot masuk, yang antre di FX cuma satu dan isinya terbaru
+        scheduler.advance(Duration.ofSeconds(10));
+
+        assertEquals(1, fxQueue.size());
+        drainFx();
+        assertEquals("24", pomodoroService.timerSnapshotProperty().get().getMinutes());
+        assertEquals("50", pomodoroService.timerSnapshotProperty().get().getSeconds());
+    }
+
+    @Test
+    void tick_satuEventPerDetik() {
+        pomodoroService.handleStartPause();
+        drainFx();
+        int[] changes = new int[1];
+        pomodoroService.timerSnapshotProperty().addListener((obs, o, n) -> changes[0]++);
+
+        for (int i = 0; i < 60; i++) {
+            scheduler.advance(Duration.ofSeconds(1));
+            drainFx();
         }
+
+        // dulu tiap detik: detik + progress (+ menit tiap 60 detik) = 121 event dalam semenit
+        assertEquals(60, changes[0]);
     }
 
     @Test
-    void handleStartPause_ShouldToggleState() throws InterruptedException {
-        CountDownLatch latch = new CountDownLatch(1);
-        Platform.runLater(() -> {
-            // mulai dari STOPPED
-            assertEquals(PomodoroService.TimerState.STOPPED, pomodoroService.timerStateProperty().get());
+    void displayTidakAktif_tidakAdaPushKeFx() {
+        pomodoroService.handleStartPause();
+        drainFx();
+        pomodoroService.setDisplayActive(false);
 
-            // mulai lalu pause
-            pomodoroService.handleStartPause();
-            assertEquals(PomodoroService.TimerState.RUNNING, pomodoroService.timerStateProperty().get());
+        scheduler.advance(Duration.ofMinutes(10));
 
-            pomodoroService.handleStartPause();
-            assertEquals(PomodoroService.TimerState.PAUSED, pomodoroService.timerStateProperty().get());
-            
-            latch.countDown();
-        });
-        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(fxQueue.isEmpty());
+        assertEquals("25", pomodoroService.timerSnapshotProperty().get().getMinutes());
     }
 
     @Test
-    void stopAndResetTimer_ShouldResetState() throws InterruptedException {
-        CountDownLatch latch = new CountDownLatch(1);
-        Platform.runLater(() -> {
-            pomodoroService.handleStartPause(); // mulai
-            pomodoroService.stopAndResetTimer();
+    void displayAktifLagi_langsungPakaiSnapshotTerkini() {
+        pomodoroService.handleStartPause();
+        drainFx();
+        pomodoroService.setDisplayActive(false);
+        scheduler.advance(Duration.ofMinutes(10));
+
+        pomodoroService.setDisplayActive(true);
 
-            assertEquals(PomodoroService.TimerState.STOPPED, pomodoroService.timerStateProperty().get());
-            assertEquals(0.0, pomodoroService.progressProperty().get());
-            
-            latch.countDown();
-        });
-        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals("15", pomodoroService.timerSnapshotProperty().get().getMinutes());
+        assertEquals("00", pomodoroService.timerSnapshotProperty().get().getSeconds());
     }
 
     @Test
-    void selectMode_ShouldUpdateSettings() throws InterruptedException {
-        CountDownLatch latch = new CountDownLatch(1);
-        Platform.runLater(() -> {
-            pomodoroService.selectMode(PomodoroService.PomodoroMode.INTENSE);
-            assertEquals(PomodoroService.PomodoroMode.INTENSE, pomodoroService.getCurrentMode());
-            
-            pomodoroService.selectMode(PomodoroService.PomodoroMode.CLASSIC);
-            assertEquals(PomodoroService.PomodoroMode.CLASSIC, pomodoroService.getCurrentMode());
-            
-            latch.countDown();
-        });
-        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    void displayTidakAktif_alarmTetapBunyiTanpaLewatFx() {
+        pomodoroService.handleStartPause();
+        drainFx();
+        pomodoroService.setDisplayActive(false);
+
+        scheduler.advance(Duration.ofMinutes(25));
+        assertEquals(1, alarmClip.loops);
+
+        scheduler.advance(PomodoroEngine.DEFAULT_ALARM_DURATION);
+        assertEquals(1, alarmClip.stops);
+        assertTrue(fxQueue.isEmpty());
     }
 
     @Test
-    void focusKeShortBreakSaatWaktuHabis() throws Exception {
-        CountDownLatch latch = new CountDownLatch(1);
-        Platform.runLater(() -> {
-            pomodoroService.stopAndResetTimer();
-            pomodoroService.handleStartPause(); // mulai fokus
-            setField("alarmSound", null); // biar callback alarm langsung jalan
-            setField("timeRemaining", Duration.ofSeconds(1));
-            setField("currentSessionTotalDuration", Duration.ofSeconds(1));
-            invokeTick();
-
-            assertEquals(PomodoroService.SessionType.SHORT_BREAK, getSessionType());
-            assertEquals(PomodoroService.TimerState.RUNNING, pomodoroService.timerStateProperty().get());
-            latch.countDown();
-        });
-        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    void stopSaatAlarm_suaraIkutBerhenti() {
+        pomodoroService.handleStartPause();
+        scheduler.advance(Duration.ofMinutes(25));
+        assertEquals(1, alarmClip.loops);
+
+        pomodoroService.stopAndResetTimer();
+
+        assertEquals(1, alarmClip.stops);
     }
 
     @Test
-    void focusKeLongBreakSaatRondeKeempat() throws Exception {
-        CountDownLatch latch = new CountDownLatch(1);
-        Platform.runLater(() -> {
-            pomodoroService.stopAndResetTimer();
-            pomodoroService.handleStartPause(); // mulai fokus
-            setField("alarmSound", null); // biar callback alarm langsung jalan
-            setField("roundsCompleted", 3); // seolah sudah 3 focus selesai
-            setField("timeRemaining", Duration.ofSeconds(1));
-            setField("currentSessionTotalDuration", Duration.ofSeconds(1));
-            invokeTick();
-
-            assertEquals(PomodoroService.SessionType.LONG_BREAK, getSessionType());
-            latch.countDown();
-        });
-        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    void progressDiinterpolasiDariDeadline() {
+        pomodoroService.handleStartPause();
+        drainFx();
+        scheduler.advance(Duration.ofSeconds(60));
+        drainFx();
+        TimerSnapshot snapshot = pomodoroService.timerSnapshotProperty().get();
+        assertTrue(snapshot.isTicking());
+
+        // setengah detik setelah tick terakhir, tanpa snapshot baru
+        double progress = snapshot.progressAt(clock.nanoTime() + 500_000_000L);
+        assertEquals(60.5 / 1500, progress, 1e-9);
+
+        pomodoroService.handleStartPause(); // pause
+        TimerSnapshot paused = pomodoroService.timerSnapshotProperty().get();
+        assertFalse(paused.isTicking());
+        assertEquals(paused.getProgress(), paused.progressAt(clock.nanoTime() + 5_000_000_000L));
     }
 
     @Test
-    void applyCustomSettings_90MenitTampilkanJam() throws InterruptedException {
-        CountDownLatch latch = new CountDownLatch(1);
-        Platform.runLater(() -> {
-            pomodoroService.applyCustomSettings(90, 5, 15, 2);
-            assertTrue(pomodoroService.showHoursProperty().get());
-            assertEquals("01", pomodoroService.hoursProperty().get());
-            latch.countDown();
-        });
-        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    void restoreCheckpoint_modeDanSisaWaktuIkutRunSebelumnya() throws IOException {
+        Path file = tempDir.resolve("timer-checkpoint.bin");
+        pomodoroService.restoreCheckpoint(new TimerCheckpointStore(file)); // file baru, tidak ada yang dilanjutkan
+        assertEquals(TimerState.STOPPED, pomodoroService.timerStateProperty().get());
+        pomodoroService.selectMode(PomodoroMode.INTENSE);
+        pomodoroService.handleStartPause();
+        scheduler.advance(Duration.ofMinutes(10));
+
+        PomodoroEngine engine = new PomodoroEngine(new ManualScheduler(clock), clock,
+                PomodoroEngine.DEFAULT_ALARM_DURATION, null);
+        PomodoroService restarted = new PomodoroService(engine, fxQueue::add, null);
+        restarted.restoreCheckpoint(new TimerCheckpointStore(file));
+
+        assertEquals(PomodoroMode.INTENSE, restarted.getCurrentMode());
+        assertEquals(TimerState.PAUSED, restarted.timerStateProperty().get());
+        assertEquals("40", restarted.timerSnapshotProperty().get().getMinutes());
     }
 
     @Test
-    void applyCustomSettings_invalidTidakUbahMode() throws InterruptedException {
-        CountDownLatch latch = new CountDownLatch(1);
-        Platform.runLater(() -> {
-            pomodoroService.selectMode(PomodoroService.PomodoroMode.CLASSIC);
-            pomodoroService.applyCustomSettings(0, 5, 15, 2); // invalid
-            assertEquals(PomodoroService.PomodoroMode.CLASSIC, pomodoroService.getCurrentMode());
-            latch.countDown();
-        });
-        assertTrue(latch.await(5, TimeUnit.SECONDS));
-    }
-
-    // Class ini berpura-pura menjadi PomodoroSessionService
-    private static class FakePomodoroSessionService extends PomodoroSessionService {
-        
-    }
-
-    private void setField(String name, Object value) {
-        try {
-            Field f = PomodoroService.class.getDeclaredField(name);
-            f.setAccessible(true);
-            f.set(pomodoroService, value);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+    void applyCustomSettings_90MenitTampilkanJam() {
+        pomodoroService.applyCustomSettings(90, 5, 15, 2);
+        assertTrue(pomodoroService.timerSnapshotProperty().get().isShowHours());
+        assertEquals("01", pomodoroService.timerSnapshotProperty().get().getHours());
     }
 
-    private void invokeTick() {
-        try {
-            Method m = PomodoroService.class.getDeclaredMethod("tick");
-            m.setAccessible(true);
-            m.invoke(pomodoroService);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+    @Test
+    void applyCustomSettings_invalidTidakUbahMode() {
+        pomodoroService.selectMode(PomodoroMode.CLASSIC);
+        pomodoroService.applyCustomSettings(0, 5, 15, 2); // invalid
+        assertEquals(PomodoroMode.CLASSIC, pomodoroService.getCurrentMode());
     }
 
-    private PomodoroService.SessionType getSessionType() {
-        try {
-            Field f = PomodoroService.class.getDeclaredField("sessionType");
-            f.setAccessible(true);
-            ReadOnlyObjectWrapper<PomodoroService.SessionType> wrapper =
-                    (ReadOnlyObjectWrapper<PomodoroService.SessionType>) f.get(pomodoroService);
-            return wrapper.get();
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+    private void drainFx() {
+        List<Runnable> pending = new ArrayList<>(fxQueue);
+        fxQueue.clear();
+        pending.forEach(Runnable::run);
     }
 }
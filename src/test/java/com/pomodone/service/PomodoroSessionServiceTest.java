@@ -1,59 +1,118 @@
 package com.pomodone.service;
 
+import com.pomodone.model.pomodoro.PomodoroMode;
+import com.pomodone.model.pomodoro.SessionRecord;
+import com.pomodone.model.pomodoro.SessionStatus;
 import com.pomodone.repository.PomodoroSessionRepository;
+import com.pomodone.repository.SessionJournal;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.lang.reflect.Field;
+import java.nio.file.Path;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class PomodoroSessionServiceTest {
 
+    @TempDir
+    Path tempDir;
+
     private PomodoroSessionService service;
     private FakeRepo fakeRepo;
+    private SessionJournal journal;
+    private List<SessionRecord> written;
 
     @BeforeEach
     void setUp() throws Exception {
         service = new PomodoroSessionService();
         fakeRepo = new FakeRepo();
+        written = new CopyOnWriteArrayList<>();
+        // worker journal tidak di-start (kecuali test yang memeriksa isi sink), sesi cukup dicek sampai masuk journal
+        journal = new SessionJournal(tempDir.resolve("journal.log"), session -> {
+            written.add(session);
+            return CompletableFuture.completedFuture(null);
+        });
         inject(service, "repository", fakeRepo);
+        inject(service, "journal", journal);
     }
 
     @AfterEach
     void tearDown() {
+        journal.shutdown(1000);
         service = null;
         fakeRepo = null;
     }
 
     @Test
-    void logCompletedSession_menyimpanJikaValid() {
+    void logCompletedSession_masukJournalJikaValid() {
         LocalDateTime start = LocalDateTime.now().minusMinutes(25);
         LocalDateTime end = LocalDateTime.now();
 
-        service.logCompletedSession(start, end, 1500, PomodoroService.PomodoroMode.CLASSIC);
+        service.logCompletedSession(start, end, 1500, 0, 0, PomodoroMode.CLASSIC);
 
-        assertEquals(1, fakeRepo.insertCalls);
+        assertEquals(1, journal.pendingCount());
+        // DB baru diisi worker journal, bukan di thread pemanggil
+        assertTrue(written.isEmpty());
     }
 
     @Test
     void logCompletedSession_abaikanJikaStartNull() {
-        service.logCompletedSession(null, LocalDateTime.now(), 100, PomodoroService.PomodoroMode.CUSTOM);
-        assertEquals(0, fakeRepo.insertCalls);
+        service.logCompletedSession(null, LocalDateTime.now(), 100, 0, 0, PomodoroMode.CUSTOM);
+        assertEquals(0, journal.pendingCount());
+    }
+
+    @Test
+    void logCancelledSession_statusCancelledDanClientRefUnik() throws InterruptedException {
+        LocalDateTime start = LocalDateTime.now().minusMinutes(10);
+        service.logCancelledSession(start, LocalDateTime.now(), 600, 0, 0, PomodoroMode.CLASSIC);
+        service.logCancelledSession(start, LocalDateTime.now(), 600, 0, 0, PomodoroMode.CLASSIC);
+        assertEquals(2, journal.pendingCount());
+
+        // worker dinyalakan biar isi journal sampai ke sink dan bisa diperiksa
+        journal.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (journal.pendingCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(2, written.size());
+        written.forEach(session -> assertEquals(SessionStatus.CANCELLED, session.getStatus()));
+        assertNotEquals(written.get(0).getClientRef(), written.get(1).getClientRef());
     }
 
     @Test
     void countToday() {
         fakeRepo.countReturn = 3;
         assertEquals(3, service.getTodayCompletedSessions());
+        assertEquals(LocalDate.now(), fakeRepo.lastFrom);
+        assertEquals(LocalDate.now(), fakeRepo.lastTo);
     }
 
     @Test
     void countWeek() {
         fakeRepo.countReturn = 7;
         assertEquals(7, service.getCurrentWeekCompletedSessions());
+        assertEquals(LocalDate.now(), fakeRepo.lastTo);
+        assertTrue(ChronoUnit.DAYS.between(fakeRepo.lastFrom, fakeRepo.lastTo) < 7);
+    }
+
+    @Test
+    void countMonth_dariTanggalSatu() {
+        fakeRepo.countReturn = 12;
+        assertEquals(12, service.getCurrentMonthCompletedSessions());
+        assertEquals(LocalDate.now().withDayOfMonth(1), fakeRepo.lastFrom);
     }
 
     private void inject(Object target, String fieldName, Object value) throws Exception {
@@ -63,16 +122,14 @@ class PomodoroSessionServiceTest {
     }
 
     private static class FakeRepo extends PomodoroSessionRepository {
-        int insertCalls;
         int countReturn;
+        LocalDate lastFrom;
+        LocalDate lastTo;
 
         @Override
-        public void insertCompletedSession(long userId, LocalDateTime startedAt, LocalDateTime endedAt, long durationSeconds, PomodoroService.PomodoroMode mode) {
-            insertCalls++;
-        }
-
-        @Override
-        public int countSessionsSince(long userId, LocalDateTime startInclusive) {
+        public int countSessionsBetween(long userId, LocalDate fromInclusive, LocalDate toInclusive) {
+            lastFrom = fromInclusive;
+            lastTo = toInclusive;
             return countReturn;
         }
     }
@@ -0,0 +1,170 @@
+package com.pomodone.service;
+
+import com.pomodone.model.pomodoro.PomodoroMode;
+import com.pomodone.model.pomodoro.SessionType;
+import com.pomodone.model.pomodoro.TimerState;
+import com.pomodone.strategy.pomodoro.ClassicPomodoroStrategy;
+import com.pomodone.strategy.pomodoro.IntensePomodoroStrategy;
+import com.pomodone.util.FakeTimerClock;
+import com.pomodone.util.HashedTimingWheel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PomodoroTimerManagerTest {
+
+    private static final Duration TICK = Duration.ofMillis(50);
+    private static final Duration ALARM = Duration.ofSeconds(9);
+
+    private FakeTimerClock clock;
+    private HashedTimingWheel wheel;
+    private Map<PomodoroTimerManager.TimerKey, List<Long>> logged;
+    private Map<PomodoroTimerManager.TimerKey, List<Long>> cancelled;
+    private PomodoroTimerManager manager;
+
+    @BeforeEach
+    void setUp() {
+        clock = new FakeTimerClock();
+        wheel = new HashedTimingWheel(clock, TICK, 512);
+        logged = new ConcurrentHashMap<>();
+        cancelled = new ConcurrentHashMap<>();
+        manager = new PomodoroTimerManager(wheel, clock, ALARM, key -> new RecordingSessionService(key, logged, cancelled));
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.shutdown();
+    }
+
+    @Test
+    void open_timerYangSamaDipakaiUlang() {
+        PomodoroTimerManager.TimerKey key = PomodoroTimerManager.TimerKey.forTask(1, 7);
+
+        PomodoroEngine first = manager.open(key, PomodoroMode.CLASSIC, new ClassicPomodoroStrategy());
+        PomodoroEngine second = manager.open(key, PomodoroMode.INTENSE, new IntensePomodoroStrategy());
+
+        assertSame(first, second);
+        assertEquals(PomodoroMode.CLASSIC, second.snapshot().getMode());
+    }
+
+    @Test
+    void timerPerTask_settingsDanLogMasingMasing() {
+        PomodoroTimerManager.TimerKey classic = PomodoroTimerManager.TimerKey.forTask(1, 1);
+        PomodoroTimerManager.TimerKey intense = PomodoroTimerManager.TimerKey.forTask(1, 2);
+        manager.open(classic, PomodoroMode.CLASSIC, new ClassicPomodoroStrategy()).startPause();
+        manager.open(intense, PomodoroMode.INTENSE, new IntensePomodoroStrategy()).startPause();
+
+        advance(Duration.ofMinutes(30));
+
+        assertEquals(List.of(1500L), logged.get(classic));
+        assertNull(logged.get(intense));
+        assertEquals(SessionType.SHORT_BREAK, manager.get(classic).snapshot().getSessionType());
+        assertEquals(SessionType.FOCUS, manager.get(intense).snapshot().getSessionType());
+
+        advance(Duration.ofMinutes(21));
+        assertEquals(List.of(3000L), logged.get(intense));
+    }
+
+    @Test
+    void ribuanTimerAktif_satuRodaSemuaSelesai() {
+        int timers = 2000;
+        for (int i = 0; i < timers; i++) {
+            PomodoroTimerManager.TimerKey key = PomodoroTimerManager.TimerKey.forTask(1 + i % 20, i);
+            PomodoroEngine engine = manager.open(key, PomodoroMode.CLASSIC, new ClassicPomodoroStrategy());
+            engine.startPause();
+            // dimulai selang-seling biar jatuh tempo di bucket berbeda
+            advance(Duration.ofMillis(7));
+        }
+        assertEquals(timers, manager.activeCount());
+        // satu tick per detik per timer yang jalan, sisanya nunggu di bucket masing-masing
+        assertEquals(timers, wheel.pendingCount());
+
+        advance(Duration.ofMinutes(25));
+
+        assertEquals(timers, logged.size());
+        logged.values().forEach(seconds -> assertEquals(List.of(1500L), seconds));
+    }
+
+    @Test
+    void close_samaSepertiStop_fokusDicatatBatal() {
+        PomodoroTimerManager.TimerKey key = PomodoroTimerManager.TimerKey.forUser(2);
+        PomodoroEngine engine = manager.open(key, PomodoroMode.CLASSIC, new ClassicPomodoroStrategy());
+        engine.startPause();
+        advance(Duration.ofMinutes(10));
+
+        manager.close(key);
+        advance(Duration.ofMinutes(20));
+
+        assertEquals(TimerState.STOPPED, engine.snapshot().getTimerState());
+        assertNull(manager.get(key));
+        assertNull(logged.get(key));
+        assertEquals(List.of(600L), cancelled.get(key));
+        assertEquals(0, wheel.pendingCount());
+    }
+
+    @Test
+    void shutdown_timerBerhentiTanpaSesiBatal() {
+        PomodoroTimerManager.TimerKey first = PomodoroTimerManager.TimerKey.forTask(1, 1);
+        PomodoroTimerManager.TimerKey second = PomodoroTimerManager.TimerKey.forTask(1, 2);
+        manager.open(first, PomodoroMode.CLASSIC, new ClassicPomodoroStrategy()).startPause();
+        PomodoroEngine engine = manager.open(second, PomodoroMode.CLASSIC, new ClassicPomodoroStrategy());
+        engine.startPause();
+        advance(Duration.ofMinutes(10));
+
+        manager.shutdown();
+        advance(Duration.ofMinutes(20));
+
+        assertEquals(0, manager.activeCount());
+        assertEquals(Map.of(), cancelled);
+        assertEquals(Map.of(), logged);
+        // state dibiarkan apa adanya, checkpoint terakhirnya tetap bisa dilanjutkan
+        assertEquals(TimerState.RUNNING, engine.snapshot().getTimerState());
+        assertEquals(0, wheel.pendingCount());
+    }
+
+    private void advance(Duration duration) {
+        long target = clock.nanoTime() + duration.toNanos();
+        while (clock.nanoTime() < target) {
+            clock.advanceNanos(Math.min(TICK.toNanos(), target - clock.nanoTime()));
+            wheel.advanceTo(clock.nanoTime());
+        }
+    }
+
+    // Class ini berpura-pura menjadi PomodoroSessionService, log dicatat per timer
+    private static class RecordingSessionService extends PomodoroSessionService {
+        private final PomodoroTimerManager.TimerKey key;
+        private final Map<PomodoroTimerManager.TimerKey, List<Long>> logged;
+        private final Map<PomodoroTimerManager.TimerKey, List<Long>> cancelled;
+
+        RecordingSessionService(PomodoroTimerManager.TimerKey key, Map<PomodoroTimerManager.TimerKey, List<Long>> logged,
+                                Map<PomodoroTimerManager.TimerKey, List<Long>> cancelled) {
+            super(key.userId(), key.taskId());
+            this.key = key;
+            this.logged = logged;
+            this.cancelled = cancelled;
+        }
+
+        @Override
+        public void logCompletedSession(LocalDateTime startedAt, LocalDateTime endedAt, long durationSeconds,
+                                        long pausedSeconds, int pauseCount, PomodoroMode mode) {
+            logged.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(durationSeconds);
+        }
+
+        @Override
+        public void logCancelledSession(LocalDateTime startedAt, LocalDateTime endedAt, long durationSeconds,
+                                        long pausedSeconds, int pauseCount, PomodoroMode mode) {
+            cancelled.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(durationSeconds);
+        }
+    }
+}
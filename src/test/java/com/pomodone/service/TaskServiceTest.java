@@ -4,6 +4,8 @@ import com.pomodone.model.task.Task;
 import com.pomodone.model.task.TaskDifficulty;
 import com.pomodone.model.task.TaskStatus;
 import com.pomodone.repository.TaskRepository;
+import com.pomodone.util.FakeTimerClock;
+import com.pomodone.util.ManualScheduler;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -147,6 +149,36 @@ class TaskServiceTest {
         assertEquals(TaskStatus.BELUM_SELESAI, updated.getStatus());
     }
 
+    @Test
+    void perubahanTask_sweeperTerlambatDikabari() {
+        FakeOverdueSweeper sweeper = new FakeOverdueSweeper();
+        TaskService service = new TaskService(repo, sweeper);
+
+        service.createNewTask("Baru", "desc", LocalDateTime.now().plusHours(1), TaskDifficulty.MUDAH);
+        service.updateTask(1L, "Baru", "desc", LocalDateTime.now().plusMinutes(5), TaskDifficulty.MUDAH, null);
+        service.deleteTask(1);
+
+        assertEquals(3, sweeper.changes);
+    }
+
+    // Class ini berpura-pura menjadi OverdueSweeper
+    private static class FakeOverdueSweeper extends OverdueSweeper {
+        int changes;
+
+        FakeOverdueSweeper() {
+            this(new FakeTimerClock());
+        }
+
+        private FakeOverdueSweeper(FakeTimerClock clock) {
+            super(new TaskRepository(), new ManualScheduler(clock), clock);
+        }
+
+        @Override
+        public synchronized void tasksChanged() {
+            changes++;
+        }
+    }
+
     // Fake repo biar ga sentuh DB, dan keliatan berapa kali dipanggil
     private static class FakeTaskRepository extends TaskRepository {
         final Map<Long, Task> store = new HashMap<>();
@@ -157,11 +189,12 @@ class TaskServiceTest {
         long deleteCalls;
 
         @Override
-        public void save(Task task) {
+        public long save(Task task) {
             saveCalls++;
             long id = task.getId() != 0 ? task.getId() : saveCalls;
             store.put(id, task);
             lastSaved = task;
+            return id;
         }
 
         @Override
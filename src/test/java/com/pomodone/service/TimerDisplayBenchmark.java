@@ -0,0 +1,64 @@
+package com.pomodone.service;
+
+import com.pomodone.model.pomodoro.TimerSnapshot;
+import com.pomodone.util.TwoDigits;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Jalur format angka tiap tick: updateTimerLabels lama (Duration + String.format x3) vs tabel dua digit.
+// Jalankan: mvn -Pbench test-compile exec:exec -Dbench.include=TimerDisplayBenchmark
+// Alokasi per tick (gc.alloc.rate.norm) butuh "-prof gc", jadi org.openjdk.jmh.Main dipanggil langsung dengan
+// classpath test. Hasil di laptop dev: legacy ~1750 B/op, tabel 0 B/op, TimerSnapshot 48 B/op (objek itu sendiri).
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimerDisplayBenchmark {
+
+    private static final long SESSION_SECONDS = 25 * 60;
+
+    private long remaining = SESSION_SECONDS;
+
+    @Benchmark
+    public void legacyFormat(Blackhole bh) {
+        Duration timeRemaining = Duration.ofSeconds(nextRemaining());
+        long totalSeconds = timeRemaining.toSeconds();
+        bh.consume(String.format("%02d", totalSeconds / 3600));
+        bh.consume(String.format("%02d", (totalSeconds % 3600) / 60));
+        bh.consume(String.format("%02d", totalSeconds % 60));
+    }
+
+    // yang dikerjakan TimerSnapshot per tick, minus objek snapshot-nya sendiri
+    @Benchmark
+    public void tableFormat(Blackhole bh) {
+        long totalSeconds = nextRemaining();
+        bh.consume(TwoDigits.of(totalSeconds / 3600));
+        bh.consume(TwoDigits.of((totalSeconds % 3600) / 60));
+        bh.consume(TwoDigits.of(totalSeconds % 60));
+    }
+
+    // satu objek kecil per tick (yang dikirim ke view), string-nya dari tabel
+    @Benchmark
+    public TimerSnapshot timerSnapshot() {
+        long totalSeconds = nextRemaining();
+        return TimerSnapshot.of(totalSeconds, SESSION_SECONDS, (double) (SESSION_SECONDS - totalSeconds) / SESSION_SECONDS);
+    }
+
+    private long nextRemaining() {
+        remaining = remaining == 0 ? SESSION_SECONDS : remaining - 1;
+        return remaining;
+    }
+}
@@ -0,0 +1,154 @@
+package com.pomodone.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountdownTest {
+
+    private FakeTimerClock clock;
+    private Countdown countdown;
+
+    @BeforeEach
+    void setUp() {
+        clock = new FakeTimerClock();
+        countdown = new Countdown(clock);
+    }
+
+    @Test
+    void start_tampilPenuhSampaiDetikPertamaLewat() {
+        countdown.start(Duration.ofMinutes(25));
+
+        assertEquals(1500, countdown.remainingSecondsCeil());
+        clock.advanceMillis(999);
+        assertEquals(1500, countdown.remainingSecondsCeil());
+        clock.advanceMillis(1);
+        assertEquals(1499, countdown.remainingSecondsCeil());
+    }
+
+    @Test
+    void tickJitterDanMacet_habisTepatDiDeadline() {
+        // 8 jam simulasi: tick 200 ms +- jitter, sesekali FX thread macet sampai 3 detik
+        Random random = new Random(42);
+        Duration total = Duration.ofHours(8);
+        countdown.start(total);
+        long elapsed = 0;
+
+        while (!countdown.isExpired()) {
+            long step = random.nextInt(20) == 0
+                    ? TimeUnit.MILLISECONDS.toNanos(500 + random.nextInt(2500))
+                    : TimeUnit.MILLISECONDS.toNanos(150 + random.nextInt(100)) + random.nextInt(1_000_000);
+            clock.advanceNanos(step);
+            elapsed += step;
+            assertEquals(Math.max(0, total.toNanos() - elapsed), countdown.remainingNanos());
+        }
+
+        // ketahuan habis di tick pertama setelah deadline, tidak pernah lebih awal
+        assertTrue(elapsed >= total.toNanos());
+        assertTrue(elapsed - total.toNanos() < TimeUnit.SECONDS.toNanos(3));
+        assertEquals(total, countdown.activeDuration());
+    }
+
+    @Test
+    void tickMacet90Detik_langsungMengejar() {
+        countdown.start(Duration.ofMinutes(5));
+        clock.advanceSeconds(10);
+        assertEquals(290, countdown.remainingSecondsCeil());
+
+        clock.advanceSeconds(90);
+
+        assertEquals(200, countdown.remainingSecondsCeil());
+    }
+
+    @Test
+    void pauseResume_waktuPauseTidakMemotongFokus() {
+        countdown.start(Duration.ofMinutes(25));
+        clock.advanceSeconds(10 * 60);
+        countdown.pause();
+        clock.advanceSeconds(7 * 60);
+        assertEquals(900, countdown.remainingSecondsCeil());
+        countdown.resume();
+        clock.advanceSeconds(5 * 60);
+        countdown.pause();
+        clock.advanceSeconds(30);
+        countdown.resume();
+        clock.advanceSeconds(10 * 60);
+
+        assertTrue(countdown.isExpired());
+        assertEquals(Duration.ofMinutes(25), countdown.activeDuration());
+        assertEquals(Duration.ofSeconds(450), countdown.pausedDuration());
+        assertEquals(2, countdown.getPauseCount());
+        assertEquals(countdown.startedAt().plusSeconds(1500 + 450), countdown.endedAt());
+    }
+
+    @Test
+    void suspendSaatJalan_waktuTidurIkutDihitung() {
+        countdown.start(Duration.ofMinutes(25));
+        clock.advanceSeconds(5 * 60);
+        countdown.remainingNanos();
+
+        // nanoTime berhenti selama suspend, jam dinding maju 10 menit
+        clock.suspend(TimeUnit.MINUTES.toMillis(10));
+
+        assertEquals(600, countdown.remainingSecondsCeil());
+    }
+
+    @Test
+    void suspendSaatPause_tidakMengubahSisaWaktu() {
+        countdown.start(Duration.ofMinutes(25));
+        clock.advanceSeconds(5 * 60);
+        countdown.pause();
+        clock.suspend(TimeUnit.HOURS.toMillis(1));
+        countdown.resume();
+
+        assertEquals(1200, countdown.remainingSecondsCeil());
+    }
+
+    @Test
+    void sesiBerantaiBerjamJam_tanpaDriftKumulatif() {
+        // 40 siklus fokus 25 menit + break 5 menit dengan jeda alarm 9 detik, tick 200 ms + overhead acak
+        Random random = new Random(7);
+        long simulatedNanos = 0;
+        long loggedFocusSeconds = 0;
+
+        for (int cycle = 0; cycle < 40; cycle++) {
+            for (Duration session : new Duration[]{Duration.ofMinutes(25), Duration.ofMinutes(5)}) {
+                countdown.start(session);
+                while (!countdown.isExpired()) {
+                    long step = TimeUnit.MILLISECONDS.toNanos(200) + random.nextInt(3_000_000);
+                    clock.advanceNanos(step);
+                    simulatedNanos += step;
+                }
+                assertEquals(session, countdown.activeDuration());
+                if (session.toMinutes() == 25) {
+                    loggedFocusSeconds += countdown.activeDuration().toSeconds();
+                }
+                clock.advanceSeconds(9);
+                simulatedNanos += TimeUnit.SECONDS.toNanos(9);
+            }
+        }
+
+        assertEquals(40 * 1500, loggedFocusSeconds);
+        // keterlambatan per sesi maksimal satu tick, tidak menumpuk jadi menit-menitan
+        long planned = TimeUnit.MINUTES.toNanos(40 * 30) + TimeUnit.SECONDS.toNanos(80 * 9);
+        assertTrue(simulatedNanos - planned < 80 * TimeUnit.MILLISECONDS.toNanos(205));
+    }
+
+    @Test
+    void reset_kembaliKeAwal() {
+        countdown.start(Duration.ofMinutes(1));
+        clock.advanceSeconds(30);
+        countdown.reset();
+
+        assertFalse(countdown.isStarted());
+        assertFalse(countdown.isExpired());
+        assertEquals(0.0, countdown.progress());
+    }
+}
@@ -0,0 +1,39 @@
+package com.pomodone.util;
+
+import java.util.concurrent.TimeUnit;
+
+// Clock manual buat test: waktu cuma maju kalau di-advance. suspend() memajukan jam dinding saja,
+// meniru nanoTime yang berhenti selama laptop tidur.
+public class FakeTimerClock implements TimerClock {
+    private static final long WALL_ORIGIN_MILLIS = 1_900_000_000_000L;
+
+    private long nanos = TimeUnit.HOURS.toNanos(1);
+    private long suspendedMillis;
+
+    @Override
+    public long nanoTime() {
+        return nanos;
+    }
+
+    // resolusi milidetik seperti System.currentTimeMillis
+    @Override
+    public long wallMillis() {
+        return WALL_ORIGIN_MILLIS + TimeUnit.NANOSECONDS.toMillis(nanos) + suspendedMillis;
+    }
+
+    public void advanceNanos(long delta) {
+        nanos += delta;
+    }
+
+    public void advanceMillis(long delta) {
+        advanceNanos(TimeUnit.MILLISECONDS.toNanos(delta));
+    }
+
+    public void advanceSeconds(long delta) {
+        advanceNanos(TimeUnit.SECONDS.toNanos(delta));
+    }
+
+    public void suspend(long millis) {
+        suspendedMillis += millis;
+    }
+}
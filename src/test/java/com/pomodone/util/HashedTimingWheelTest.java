@@ -0,0 +1,182 @@
+package com.pomodone.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashedTimingWheelTest {
+
+    private static final long TICK_MILLIS = 50;
+
+    private FakeTimerClock clock;
+    private HashedTimingWheel wheel;
+
+    @BeforeEach
+    void setUp() {
+        clock = new FakeTimerClock();
+        // roda kecil biar jadwal jauh pasti muter beberapa kali
+        wheel = new HashedTimingWheel(clock, Duration.ofMillis(TICK_MILLIS), 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        wheel.shutdownNow();
+    }
+
+    @Test
+    void schedule_tidakPernahLebihAwalDanTelatMaksSatuTick() {
+        List<Long> firedAt = new ArrayList<>();
+        long start = clock.nanoTime();
+        wheel.schedule(() -> firedAt.add(clock.nanoTime() - start), 120, TimeUnit.MILLISECONDS);
+
+        advance(100);
+        assertTrue(firedAt.isEmpty());
+        advance(100);
+
+        assertEquals(1, firedAt.size());
+        assertTrue(firedAt.get(0) >= TimeUnit.MILLISECONDS.toNanos(120));
+        assertTrue(firedAt.get(0) <= TimeUnit.MILLISECONDS.toNanos(120 + TICK_MILLIS));
+    }
+
+    @Test
+    void schedule_lebihDariSatuPutaranTetapTepat() {
+        // 8 bucket x 50 ms = 400 ms per putaran, 1 detik = 2,5 putaran
+        List<String> fired = new ArrayList<>();
+        wheel.schedule(() -> fired.add("1s"), 1, TimeUnit.SECONDS);
+        wheel.schedule(() -> fired.add("100ms"), 100, TimeUnit.MILLISECONDS);
+
+        advance(950);
+        assertEquals(List.of("100ms"), fired);
+        advance(100);
+        assertEquals(List.of("100ms", "1s"), fired);
+    }
+
+    @Test
+    void cancel_tidakDijalankanDanPendingTurun() {
+        List<String> fired = new ArrayList<>();
+        ScheduledFuture<?> future = wheel.schedule(() -> fired.add("batal"), 200, TimeUnit.MILLISECONDS);
+        wheel.schedule(() -> fired.add("jalan"), 200, TimeUnit.MILLISECONDS);
+
+        assertTrue(future.cancel(false));
+        assertEquals(1, wheel.pendingCount());
+        advance(500);
+
+        assertEquals(List.of("jalan"), fired);
+        assertEquals(0, wheel.pendingCount());
+    }
+
+    @Test
+    void taskBolehMenjadwalUlangDirinya() {
+        List<Long> ticks = new ArrayList<>();
+        Runnable[] task = new Runnable[1];
+        task[0] = () -> {
+            ticks.add(clock.nanoTime());
+            if (ticks.size() < 5) {
+                wheel.schedule(task[0], 1, TimeUnit.SECONDS);
+            }
+        };
+        wheel.schedule(task[0], 1, TimeUnit.SECONDS);
+
+        advance(10_000);
+
+        assertEquals(5, ticks.size());
+    }
+
+    @Test
+    void fixedRate_jalanTiapPeriodeTanpaMolor() {
+        List<Long> firedAt = new ArrayList<>();
+        long start = clock.nanoTime();
+        ScheduledFuture<?> future = wheel.scheduleAtFixedRate(
+                () -> firedAt.add(clock.nanoTime() - start), 120, 120, TimeUnit.MILLISECONDS);
+
+        advance(1_000);
+
+        // 120, 240, ..., 960 ms: tiap run telat < satu tick dari deadline-nya sendiri, tidak menumpuk
+        assertEquals(8, firedAt.size());
+        for (int i = 0; i < firedAt.size(); i++) {
+            long due = TimeUnit.MILLISECONDS.toNanos(120L * (i + 1));
+            assertTrue(firedAt.get(i) >= due && firedAt.get(i) <= due + TimeUnit.MILLISECONDS.toNanos(TICK_MILLIS));
+        }
+        assertEquals(1, wheel.pendingCount());
+
+        assertTrue(future.cancel(false));
+        advance(1_000);
+        assertEquals(8, firedAt.size());
+        assertEquals(0, wheel.pendingCount());
+    }
+
+    @Test
+    void fixedDelay_dihitungDariSelesaiRunSebelumnya() {
+        List<Long> firedAt = new ArrayList<>();
+        long start = clock.nanoTime();
+        wheel.scheduleWithFixedDelay(() -> firedAt.add(clock.nanoTime() - start), 0, 120, TimeUnit.MILLISECONDS);
+
+        advance(500);
+
+        // 50 (tick pertama), lalu tiap run 120 ms setelah run sebelumnya dibulatkan ke tick: 200, 350, 500
+        assertEquals(List.of(50L, 200L, 350L, 500L),
+                firedAt.stream().map(TimeUnit.NANOSECONDS::toMillis).toList());
+    }
+
+    @Test
+    void periodikGagal_berhentiDanExceptionDiFuture() {
+        int[] runs = new int[1];
+        ScheduledFuture<?> future = wheel.scheduleAtFixedRate(() -> {
+            if (++runs[0] == 2) {
+                throw new IllegalStateException("rusak");
+            }
+        }, 100, 100, TimeUnit.MILLISECONDS);
+
+        advance(1_000);
+
+        assertEquals(2, runs[0]);
+        assertTrue(future.isDone());
+        assertEquals(0, wheel.pendingCount());
+    }
+
+    @Test
+    void ribuanTimer_semuaJalanSekali() {
+        int[] fired = new int[1];
+        for (int i = 0; i < 10_000; i++) {
+            wheel.schedule(() -> fired[0]++, 10 + (i * 7L) % 60_000, TimeUnit.MILLISECONDS);
+        }
+
+        advance(61_000);
+
+        assertEquals(10_000, fired[0]);
+        assertEquals(0, wheel.pendingCount());
+    }
+
+    @Test
+    void start_threadRodaJalanSendiri() throws InterruptedException {
+        HashedTimingWheel real = new HashedTimingWheel(TimerClock.system(), Duration.ofMillis(10), 64);
+        real.start();
+        try {
+            CountDownLatch latch = new CountDownLatch(1);
+            real.schedule(latch::countDown, 30, TimeUnit.MILLISECONDS);
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } finally {
+            real.shutdown();
+            assertTrue(real.awaitTermination(5, TimeUnit.SECONDS));
+        }
+    }
+
+    private void advance(long millis) {
+        // maju per tick seperti thread roda, bukan loncat sekali
+        long target = clock.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        while (clock.nanoTime() < target) {
+            clock.advanceNanos(Math.min(TimeUnit.MILLISECONDS.toNanos(TICK_MILLIS), target - clock.nanoTime()));
+            wheel.advanceTo(clock.nanoTime());
+        }
+    }
+}
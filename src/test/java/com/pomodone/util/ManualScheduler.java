@@ -0,0 +1,123 @@
+package com.pomodone.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// Scheduler buat test yang jalan di atas FakeTimerClock: task cuma dieksekusi waktu advance() dan
+// clock dimajukan tepat ke jadwal tiap task, jadi test berjam-jam selesai dalam milidetik.
+public class ManualScheduler extends AbstractExecutorService implements ScheduledExecutorService {
+    private final FakeTimerClock clock;
+    private final PriorityQueue<Job<?>> jobs = new PriorityQueue<>();
+    private long sequence;
+    private boolean shutdown;
+
+    public ManualScheduler(FakeTimerClock clock) {
+        this.clock = clock;
+    }
+
+    public void advance(Duration duration) {
+        long target = clock.nanoTime() + duration.toNanos();
+        while (!jobs.isEmpty() && jobs.peek().dueNanos <= target) {
+            Job<?> job = jobs.poll();
+            if (job.isCancelled()) continue;
+            if (job.dueNanos > clock.nanoTime()) {
+                clock.advanceNanos(job.dueNanos - clock.nanoTime());
+            }
+            job.run();
+        }
+        clock.advanceNanos(target - clock.nanoTime());
+    }
+
+    public int pendingCount() {
+        return (int) jobs.stream().filter(job -> !job.isCancelled()).count();
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return schedule(Executors.callable(command), delay, unit);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        if (shutdown) throw new IllegalStateException("scheduler sudah dimatikan");
+        Job<V> job = new Job<>(callable, clock.nanoTime() + unit.toNanos(Math.max(0, delay)), sequence++);
+        jobs.add(job);
+        return job;
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        throw new UnsupportedOperationException("task periodik tidak dipakai");
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        throw new UnsupportedOperationException("task periodik tidak dipakai");
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        schedule(command, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        List<Runnable> pending = new ArrayList<>(jobs);
+        jobs.clear();
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && jobs.isEmpty();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+        return isTerminated();
+    }
+
+    private class Job<V> extends FutureTask<V> implements ScheduledFuture<V> {
+        private final long dueNanos;
+        private final long order;
+
+        Job(Callable<V> callable, long dueNanos, long order) {
+            super(callable);
+            this.dueNanos = dueNanos;
+            this.order = order;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueNanos - clock.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            Job<?> job = (Job<?>) other;
+            int byDue = Long.compare(dueNanos, job.dueNanos);
+            return byDue != 0 ? byDue : Long.compare(order, job.order);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.pomodone.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TwoDigitsTest {
+
+    @Test
+    void of_samaDenganStringFormat() {
+        for (int i = 0; i < 100; i++) {
+            assertEquals(String.format("%02d", i), TwoDigits.of(i));
+        }
+    }
+
+    @Test
+    void of_stringDariTabelTidakDibuatUlang() {
+        assertSame(TwoDigits.of(7), TwoDigits.of(7));
+    }
+
+    @Test
+    void of_diLuarTabelTetapBenar() {
+        assertEquals("120", TwoDigits.of(120));
+    }
+}
@@ -0,0 +1,136 @@
+package com.pomodone.util;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+// WTinyLfuCache vs LRU LinkedHashMap(accessOrder) yang di-synchronized, pola baca-lalu-load-kalau-miss seperti
+// di repository. Key Zipfian (s=0.99, 100k key) ke cache 1000 entry, 4 thread; hits/misses dari AuxCounters.
+// Jalankan: mvn -Pbench test-compile exec:exec -Dbench.include=WTinyLfuCacheBenchmark
+// Hasil di sandbox dev (JDK 21, cuma 1 CPU): hit rate wtinylfu ~0,59 vs lru ~0,49 (ekor Zipf yang sekali lewat
+// tidak menggusur key populer). Per operasi wtinylfu lebih mahal: -t 1 ~160 vs ~60 ns/op, 4 thread ~770 vs
+// ~300 ns/op (lock yang di-park saat pemegangnya di-preempt; di 1 CPU ini bukan ukuran kontensi yang adil).
+// Di repository satu miss = satu query SQLite puluhan us, jadi 10 poin hit rate jauh lebih berharga dari 0,1 us.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class WTinyLfuCacheBenchmark {
+    private static final int KEY_SPACE = 100_000;
+    private static final int CAPACITY = 1_000;
+    private static final int TRACE_LENGTH = 1 << 20;
+    private static final double SKEW = 0.99;
+
+    @Param({"wtinylfu", "lru"})
+    String cacheType;
+
+    private Function<Integer, Integer> cache;
+    private BiConsumer<Integer, Integer> loadInto;
+    private int[] trace;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        trace = zipfTrace(new SplittableRandom(42));
+        if (cacheType.equals("wtinylfu")) {
+            WTinyLfuCache<Integer, Integer> tinyLfu = WTinyLfuCache.<Integer, Integer>builder()
+                    .maximumSize(CAPACITY)
+                    .build();
+            cache = key -> tinyLfu.getIfPresent(key);
+            loadInto = tinyLfu::put;
+        } else {
+            Map<Integer, Integer> lru = new LinkedHashMap<>(CAPACITY * 2, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, Integer> eldest) {
+                    return size() > CAPACITY;
+                }
+            };
+            cache = key -> {
+                synchronized (lru) {
+                    return lru.get(key);
+                }
+            };
+            loadInto = (key, value) -> {
+                synchronized (lru) {
+                    lru.put(key, value);
+                }
+            };
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        int index;
+        public long hits;
+        public long misses;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            hits = 0;
+            misses = 0;
+            index = (int) (Thread.currentThread().threadId() * 7919);
+        }
+    }
+
+    @Benchmark
+    public Integer readThrough(Counters counters) {
+        Integer key = trace[counters.index++ & (TRACE_LENGTH - 1)];
+        Integer value = cache.apply(key);
+        if (value == null) {
+            counters.misses++;
+            value = key; // "query ke DB"
+            loadInto.accept(key, value);
+        } else {
+            counters.hits++;
+        }
+        return value;
+    }
+
+    // inverse CDF di atas tabel kumulatif 1/k^s, dicari pakai binary search
+    private static int[] zipfTrace(SplittableRandom random) {
+        double[] cumulative = new double[KEY_SPACE];
+        double sum = 0;
+        for (int k = 0; k < KEY_SPACE; k++) {
+            sum += 1.0 / Math.pow(k + 1, SKEW);
+            cumulative[k] = sum;
+        }
+        int[] keys = new int[TRACE_LENGTH];
+        for (int i = 0; i < TRACE_LENGTH; i++) {
+            double target = random.nextDouble() * sum;
+            int low = 0;
+            int high = KEY_SPACE - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cumulative[mid] < target) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            // acak nomor key supaya key populer tidak kebetulan berurutan hash-nya
+            keys[i] = (int) ((low * 0x9E3779B1L) & 0x7fffffff);
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,197 @@
+package com.pomodone.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WTinyLfuCacheTest {
+
+    @Test
+    void putLaluGet_tercatatDiStats() {
+        WTinyLfuCache<String, Integer> cache = WTinyLfuCache.<String, Integer>builder().maximumSize(10).build();
+
+        cache.put("a", 1);
+
+        assertEquals(1, cache.getIfPresent("a"));
+        assertNull(cache.getIfPresent("b"));
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+        assertEquals(0.5, cache.stats().hitRate());
+    }
+
+    @Test
+    void get_loaderCumaDipanggilSaatMiss() {
+        WTinyLfuCache<Long, String> cache = WTinyLfuCache.<Long, String>builder().maximumSize(10).build();
+        List<Long> loaded = new ArrayList<>();
+
+        cache.get(1L, key -> { loaded.add(key); return "satu"; });
+        String value = cache.get(1L, key -> { loaded.add(key); return "lagi"; });
+
+        assertEquals("satu", value);
+        assertEquals(List.of(1L), loaded);
+    }
+
+    @Test
+    void jumlahEntryTidakPernahLewatBatas() {
+        WTinyLfuCache<Integer, Integer> cache = WTinyLfuCache.<Integer, Integer>builder().maximumSize(50).build();
+
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, i);
+        }
+
+        assertEquals(50, cache.estimatedSize());
+        assertEquals(950, cache.stats().evictionCount());
+    }
+
+    @Test
+    void keyYangSeringDipakai_selamatDariScan() {
+        WTinyLfuCache<Integer, Integer> cache = WTinyLfuCache.<Integer, Integer>builder().maximumSize(100).build();
+        for (int hot = 0; hot < 10; hot++) {
+            cache.put(hot, hot);
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int hot = 0; hot < 10; hot++) {
+                cache.getIfPresent(hot);
+            }
+        }
+        cache.cleanUp();
+
+        // scan sekali lewat 10x kapasitas: di LRU biasa semua key panas sudah terdepak
+        for (int cold = 1000; cold < 2000; cold++) {
+            cache.put(cold, cold);
+        }
+
+        for (int hot = 0; hot < 10; hot++) {
+            assertNotNull(cache.getIfPresent(hot), "key panas " + hot + " terdepak");
+        }
+    }
+
+    @Test
+    void batasBobot_entryBeratMendepakLebihBanyak() {
+        WTinyLfuCache<String, String> cache = WTinyLfuCache.<String, String>builder()
+                .maximumWeight(10, (key, value) -> value.length())
+                .build();
+
+        cache.put("a", "xxx");
+        cache.put("b", "xxx");
+        cache.put("c", "xxx");
+        cache.put("d", "xxxxxxx");
+
+        assertTrue(cache.weightedSize() <= 10);
+    }
+
+    @Test
+    void putUlang_bobotnyaIkutDiperbarui() {
+        WTinyLfuCache<String, String> cache = WTinyLfuCache.<String, String>builder()
+                .maximumWeight(100, (key, value) -> value.length())
+                .build();
+
+        cache.put("a", "xx");
+        cache.put("a", "xxxxx");
+
+        assertEquals(5, cache.weightedSize());
+        assertEquals("xxxxx", cache.getIfPresent("a"));
+    }
+
+    @Test
+    void ttl_entryKedaluwarsaTidakTersaji() {
+        FakeTimerClock clock = new FakeTimerClock();
+        WTinyLfuCache<String, Integer> cache = WTinyLfuCache.<String, Integer>builder()
+                .maximumSize(10)
+                .expireAfterWrite(Duration.ofMinutes(5))
+                .clock(clock)
+                .build();
+        cache.put("a", 1);
+
+        clock.advanceSeconds(299);
+        assertEquals(1, cache.getIfPresent("a"));
+
+        clock.advanceSeconds(1);
+        assertNull(cache.getIfPresent("a"));
+        assertEquals(0, cache.estimatedSize());
+    }
+
+    @Test
+    void invalidate_entryHilang() {
+        WTinyLfuCache<String, Integer> cache = WTinyLfuCache.<String, Integer>builder().maximumSize(10).build();
+        cache.put("a", 1);
+        cache.put("b", 2);
+
+        cache.invalidate("a");
+        assertNull(cache.getIfPresent("a"));
+        assertEquals(2, cache.getIfPresent("b"));
+
+        cache.invalidateAll();
+        assertEquals(0, cache.estimatedSize());
+        assertEquals(0, cache.weightedSize());
+    }
+
+    @Test
+    void tanpaBatas_ditolak() {
+        assertThrows(IllegalArgumentException.class, () -> WTinyLfuCache.builder().build());
+        assertThrows(IllegalArgumentException.class, () -> WTinyLfuCache.builder().expireAfterWrite(Duration.ZERO));
+    }
+
+    @Test
+    void sketch_frekuensiNaikDanDiHalvePeriodik() {
+        WTinyLfuCache.FrequencySketch sketch = new WTinyLfuCache.FrequencySketch(16);
+        for (int i = 0; i < 5; i++) {
+            sketch.increment("a");
+        }
+        assertEquals(5, sketch.frequency("a"));
+
+        // counter 4 bit mentok di 15
+        for (int i = 0; i < 20; i++) {
+            sketch.increment("a");
+        }
+        assertEquals(15, sketch.frequency("a"));
+
+        for (int i = 0; i < 1000; i++) {
+            sketch.increment(i);
+        }
+        assertTrue(sketch.frequency("a") < 15);
+    }
+
+    @Test
+    void banyakThread_bacaTulisBarengTetapDalamBatas() throws Exception {
+        WTinyLfuCache<Integer, Integer> cache = WTinyLfuCache.<Integer, Integer>builder().maximumSize(200).build();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(pool.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 20_000; i++) {
+                        int key = random.nextInt(1000);
+                        Integer value = cache.get(key, k -> k * 2);
+                        assertEquals(key * 2, value);
+                        if (i % 100 == 0) {
+                            cache.invalidate(random.nextInt(1000));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        cache.cleanUp();
+
+        assertTrue(cache.estimatedSize() <= 200);
+        assertEquals(cache.estimatedSize(), cache.weightedSize());
+    }
+}
@@ -0,0 +1,141 @@
+package com.pomodone.view.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncScopeTest {
+
+    private List<Runnable> ioQueue;
+    private List<Runnable> uiQueue;
+    private AsyncScope scope;
+
+    @BeforeEach
+    void setUp() {
+        ioQueue = new ArrayList<>();
+        uiQueue = new ArrayList<>();
+        scope = new AsyncScope(ioQueue::add, uiQueue::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scope.close();
+    }
+
+    @Test
+    void load_hasilDikirimLewatThreadUi() {
+        List<String> results = new ArrayList<>();
+
+        scope.load(() -> "halo", results::add, e -> results.add("gagal"));
+        drain(ioQueue);
+        assertTrue(results.isEmpty());
+        drain(uiQueue);
+
+        assertEquals(List.of("halo"), results);
+    }
+
+    @Test
+    void load_errorDiteruskanApaAdanya() {
+        List<Throwable> errors = new ArrayList<>();
+
+        scope.load(() -> {
+            throw new SQLException("db mati");
+        }, result -> { }, errors::add);
+        drain(ioQueue);
+        drain(uiQueue);
+
+        assertEquals(1, errors.size());
+        assertInstanceOf(SQLException.class, errors.get(0));
+    }
+
+    @Test
+    void close_kerjaanBelumJalanTidakDieksekusi() {
+        List<String> calls = new ArrayList<>();
+
+        scope.load(() -> {
+            calls.add("kerja");
+            return "x";
+        }, calls::add, e -> calls.add("gagal"));
+        scope.close();
+        drain(ioQueue);
+        drain(uiQueue);
+
+        assertTrue(calls.isEmpty());
+    }
+
+    @Test
+    void close_hasilYangTelatDatangDibuang() {
+        List<String> results = new ArrayList<>();
+
+        scope.load(() -> "telat", results::add, e -> results.add("gagal"));
+        drain(ioQueue);
+        scope.close();
+        drain(uiQueue);
+
+        assertTrue(results.isEmpty());
+    }
+
+    @Test
+    void cancel_satuRequestSaja() {
+        List<String> results = new ArrayList<>();
+
+        Future<String> lama = scope.load(() -> "lama", results::add, e -> results.add("gagal"));
+        scope.load(() -> "baru", results::add, e -> results.add("gagal"));
+        lama.cancel(true);
+        drain(ioQueue);
+        drain(uiQueue);
+
+        assertEquals(List.of("baru"), results);
+    }
+
+    @Test
+    void run_tulisanTetapJalanWalauViewDitutup() {
+        List<String> calls = new ArrayList<>();
+
+        scope.run(() -> calls.add("tulis"), () -> calls.add("callback"), e -> calls.add("gagal"));
+        scope.close();
+        drain(ioQueue);
+        drain(uiQueue);
+
+        assertEquals(List.of("tulis"), calls);
+    }
+
+    @Test
+    void cancelPending_loadLamaBatalTapiScopeMasihBisaDipakai() {
+        List<String> results = new ArrayList<>();
+
+        scope.load(() -> "lama", results::add, e -> results.add("gagal"));
+        scope.run(() -> results.add("tulis"), () -> results.add("tulis selesai"), e -> results.add("gagal"));
+        scope.cancelPending();
+        scope.load(() -> "baru", results::add, e -> results.add("gagal"));
+        drain(ioQueue);
+        drain(uiQueue);
+
+        assertEquals(List.of("tulis", "tulis selesai", "baru"), results);
+    }
+
+    @Test
+    void load_setelahClose_langsungBatal() {
+        scope.close();
+
+        Future<String> future = scope.load(() -> "x", r -> { }, e -> { });
+
+        assertTrue(future.isCancelled());
+        assertTrue(ioQueue.isEmpty());
+    }
+
+    private static void drain(List<Runnable> queue) {
+        List<Runnable> pending = new ArrayList<>(queue);
+        queue.clear();
+        pending.forEach(Runnable::run);
+    }
+}
@@ -12,11 +12,13 @@ class SearchContextTest {
     @BeforeEach
     void setUp() {
         SearchContext.setPendingQuery(null);
+        SearchContext.setPendingTaskId(null);
     }
 
     @AfterEach
     void tearDown() {
         SearchContext.setPendingQuery(null);
+        SearchContext.setPendingTaskId(null);
     }
 
     @Test
@@ -25,4 +27,11 @@ class SearchContextTest {
         assertEquals("halo", SearchContext.consumePendingQuery());
         assertNull(SearchContext.consumePendingQuery()); // sudah dikosongkan
     }
+
+    @Test
+    void pendingTaskId_sekaliPakai() {
+        SearchContext.setPendingTaskId(42L);
+        assertEquals(42L, SearchContext.consumePendingTaskId());
+        assertNull(SearchContext.consumePendingTaskId());
+    }
 }
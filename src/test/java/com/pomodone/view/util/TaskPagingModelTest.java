@@ -0,0 +1,179 @@
+package com.pomodone.view.util;
+
+import com.pomodone.model.task.Task;
+import com.pomodone.model.task.TaskDifficulty;
+import com.pomodone.model.task.TaskPage;
+import com.pomodone.model.task.TaskPageCursor;
+import com.pomodone.model.task.TaskStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskPagingModelTest {
+
+    // fetch "background" ditahan di list ini sampai runScheduled(), callback UI langsung jalan
+    private List<Runnable> scheduled;
+    private TaskPagingModel model;
+    private FakeFetcher fetcher;
+
+    @BeforeEach
+    void setUp() {
+        scheduled = new ArrayList<>();
+        model = new TaskPagingModel(10, 3, new AsyncScope(scheduled::add, Runnable::run));
+        fetcher = new FakeFetcher(25);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduled = null;
+        model = null;
+        fetcher = null;
+    }
+
+    @Test
+    void reset_ambilHalamanPertamaSaja() {
+        model.reset(fetcher);
+        assertTrue(model.isLoading());
+        assertTrue(model.getItems().isEmpty());
+        runScheduled();
+
+        assertFalse(model.isLoading());
+        assertEquals(10, model.getItems().size());
+        assertEquals(1, fetcher.calls);
+        assertFalse(model.isExhausted());
+    }
+
+    @Test
+    void scrollDekatAkhir_ambilHalamanBerikutnya() {
+        model.reset(fetcher);
+        runScheduled();
+
+        model.onIndexShown(2); // masih jauh dari akhir
+        assertTrue(scheduled.isEmpty());
+
+        model.onIndexShown(7);
+        model.onIndexShown(8); // request kedua diabaikan selama masih loading
+        assertEquals(1, scheduled.size());
+        runScheduled();
+
+        assertEquals(20, model.getItems().size());
+        assertEquals(2, fetcher.calls);
+    }
+
+    @Test
+    void halamanTerakhir_tidakFetchLagi() {
+        model.reset(fetcher);
+        runScheduled();
+        model.onIndexShown(9);
+        runScheduled();
+        model.onIndexShown(19);
+        runScheduled();
+
+        assertEquals(25, model.getItems().size());
+        assertTrue(model.isExhausted());
+
+        model.onIndexShown(24);
+        assertTrue(scheduled.isEmpty());
+        assertEquals(3, fetcher.calls);
+    }
+
+    @Test
+    void resetSaatLoading_requestLamaDibuang() {
+        model.reset(fetcher);
+        runScheduled();
+        model.onIndexShown(9);
+
+        FakeFetcher baru = new FakeFetcher(4);
+        model.reset(baru);
+        runScheduled();
+
+        assertEquals(4, model.getItems().size());
+        assertEquals(1, baru.calls);
+        // fetch halaman kedua yang lama dibatalkan sebelum sempat jalan
+        assertEquals(1, fetcher.calls);
+    }
+
+    @Test
+    void resume_fetchYangDibatalkanDiulang() {
+        AsyncScope scope = new AsyncScope(scheduled::add, Runnable::run);
+        model = new TaskPagingModel(10, 3, scope);
+        model.reset(fetcher);
+        scope.cancelPending();
+        runScheduled();
+        assertTrue(model.isLoading());
+        assertTrue(model.getItems().isEmpty());
+
+        model.resume();
+        runScheduled();
+
+        assertFalse(model.isLoading());
+        assertEquals(10, model.getItems().size());
+        assertEquals(1, fetcher.calls);
+    }
+
+    @Test
+    void fetchGagal_listenerDikabariDanBerhenti() {
+        List<Throwable> errors = new ArrayList<>();
+        model.setListener(new TaskPagingModel.Listener() {
+            @Override
+            public void pageLoaded(boolean firstPage) {
+                // tidak dipakai
+            }
+
+            @Override
+            public void loadFailed(Throwable error) {
+                errors.add(error);
+            }
+        });
+
+        model.reset((after, size) -> {
+            throw new IllegalStateException("db mati");
+        });
+        runScheduled();
+
+        assertEquals(1, errors.size());
+        assertEquals("db mati", errors.get(0).getMessage());
+        assertTrue(model.isExhausted());
+        assertFalse(model.isLoading());
+    }
+
+    private void runScheduled() {
+        List<Runnable> pending = new ArrayList<>(scheduled);
+        scheduled.clear();
+        pending.forEach(Runnable::run);
+    }
+
+    private static class FakeFetcher implements TaskPagingModel.PageFetcher {
+        private final int total;
+        int calls;
+
+        FakeFetcher(int total) {
+            this.total = total;
+        }
+
+        @Override
+        public TaskPage fetch(TaskPageCursor after, int pageSize) {
+            calls++;
+            int start = after == null ? 0 : ((Number) after.getKeyValues().get(0)).intValue();
+            int end = Math.min(total, start + pageSize);
+            List<Task> items = new ArrayList<>();
+            for (int i = start; i < end; i++) {
+                items.add(Task.builder()
+                        .id(i + 1)
+                        .title("Task " + i)
+                        .difficulty(TaskDifficulty.SEDANG)
+                        .status(TaskStatus.BELUM_SELESAI)
+                        .build());
+            }
+            TaskPageCursor next = end < total ? new TaskPageCursor(List.of(end)) : null;
+            return new TaskPage(items, next);
+        }
+    }
+}
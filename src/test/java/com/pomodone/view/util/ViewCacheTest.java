@@ -0,0 +1,92 @@
+package com.pomodone.view.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ViewCacheTest {
+
+    private List<String> loads;
+    private List<Runnable> scheduled;
+    private String failing;
+    private ViewCache cache;
+
+    @BeforeEach
+    void setUp() {
+        loads = new ArrayList<>();
+        scheduled = new ArrayList<>();
+        cache = new ViewCache(fxmlFile -> {
+            loads.add(fxmlFile);
+            if (fxmlFile.equals(failing)) {
+                throw new IOException("fxml rusak");
+            }
+            // root tidak dipakai di test, cukup controller-nya
+            return new ViewCache.CachedView(null, new Object());
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        loads = null;
+        scheduled = null;
+        failing = null;
+        cache = null;
+    }
+
+    @Test
+    void get_keduaKalinyaPakaiCache() throws IOException {
+        ViewCache.CachedView first = cache.get("TaskListView.fxml");
+        ViewCache.CachedView second = cache.get("TaskListView.fxml");
+
+        assertSame(first, second);
+        assertEquals(List.of("TaskListView.fxml"), loads);
+    }
+
+    @Test
+    void preload_satuViewPerGiliran() {
+        cache.preload(List.of("PomodoroView.fxml", "TaskListView.fxml"), scheduled::add);
+        assertTrue(loads.isEmpty());
+
+        runNext();
+        assertEquals(List.of("PomodoroView.fxml"), loads);
+        runNext();
+        assertEquals(List.of("PomodoroView.fxml", "TaskListView.fxml"), loads);
+        assertTrue(scheduled.isEmpty());
+    }
+
+    @Test
+    void preload_viewYangSudahAdaDilewati() throws IOException {
+        cache.get("TaskListView.fxml");
+
+        cache.preload(List.of("TaskListView.fxml", "SettingsView.fxml"), Runnable::run);
+
+        assertEquals(List.of("TaskListView.fxml", "SettingsView.fxml"), loads);
+    }
+
+    @Test
+    void preload_gagal_lanjutDanDicobaLagiSaatDibuka() throws IOException {
+        failing = "PomodoroView.fxml";
+
+        cache.preload(List.of("PomodoroView.fxml", "SettingsView.fxml"), Runnable::run);
+
+        assertFalse(cache.isCached("PomodoroView.fxml"));
+        assertTrue(cache.isCached("SettingsView.fxml"));
+
+        failing = null;
+        cache.get("PomodoroView.fxml");
+        assertTrue(cache.isCached("PomodoroView.fxml"));
+    }
+
+    private void runNext() {
+        scheduled.remove(0).run();
+    }
+}